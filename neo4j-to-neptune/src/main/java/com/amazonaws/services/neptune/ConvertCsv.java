@@ -20,11 +20,14 @@ import com.amazonaws.services.neptune.util.Timer;
 import com.github.rvesse.airline.annotations.Command;
 import com.github.rvesse.airline.annotations.Option;
 import com.github.rvesse.airline.annotations.restrictions.*;
+import com.github.rvesse.airline.annotations.restrictions.ranges.IntegerRange;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Iterator;
+import java.util.function.IntFunction;
 
 @Command(name = "convert-csv", description = "Converts CSV file exported from Neo4j via 'apoc.export.csv.all' to Neptune Gremlin import CSV files")
 public class ConvertCsv implements Runnable {
@@ -35,8 +38,7 @@ public class ConvertCsv implements Runnable {
     @Once
     private File outputDirectory;
 
-    @Option(name = {"-i", "--input"}, description = "Path to Neo4j CSV file")
-    @Required
+    @Option(name = {"-i", "--input"}, description = "Path to Neo4j CSV file (optional, if not supplied, the Neo4j CSV is read from stdin)")
     @Path(mustExist = true, kind = PathKind.FILE)
     @Once
     private File inputFile;
@@ -60,52 +62,107 @@ public class ConvertCsv implements Runnable {
     @Once
     private boolean inferTypes = false;
 
+    @Option(name = {"--parallelism"}, description = "Number of worker threads used to convert the input file (optional, default 1). With a value greater than 1, the input is split into chunks and each worker writes its own vertices-N.csv and edges-N.csv files.")
+    @Once
+    @IntegerRange(min = 1, minInclusive = true)
+    private int parallelism = 1;
+
+    @Option(name = {"--edge-id-strategy"}, description = "Strategy for generating edge IDs (optional, default 'Random'). 'Random' generates random UUIDs. 'Hash' generates UUIDs from each relationship's start, end, type and property values, so that converting the same input always produces the same IDs. 'Counter' generates sequential IDs beginning with the --edge-id-prefix.")
+    @Once
+    @AllowedValues(allowedValues = {"Random", "Hash", "Counter"})
+    private EdgeIdStrategy edgeIdStrategy = EdgeIdStrategy.Random;
+
+    @Option(name = {"--edge-id-prefix"}, description = "Prefix for edge IDs generated by the 'Counter' edge ID strategy (optional, default 'e')")
+    @Once
+    private String edgeIdPrefix = "e";
+
+    @Option(name = {"--shard-size"}, description = "Maximum size, in MB, of each output file (optional). Size is counted in characters before encoding and compression, so files with multi-byte characters can be larger. If supplied, vertices-N.csv and edges-N.csv files are completed as soon as they reach this size, so that they can be uploaded and loaded while the conversion continues. Cannot be combined with --parallelism.")
+    @Once
+    @IntegerRange(min = 1, minInclusive = true)
+    private Integer shardSize;
+
+    @Option(name = {"--gzip"}, description = "Compress output files using gzip (optional, requires --shard-size)")
+    @Once
+    private boolean gzip = false;
+
+    private IntFunction<EdgeIdGenerator> edgeIdGenerators;
+
     @Override
     public void run() {
         try {
 
+            if (inputFile == null && parallelism > 1) {
+                throw new IllegalArgumentException("--parallelism requires an --input file");
+            }
+
+            if (shardSize != null && parallelism > 1) {
+                throw new IllegalArgumentException("--shard-size cannot be combined with --parallelism");
+            }
+
+            if (gzip && shardSize == null) {
+                throw new IllegalArgumentException("--gzip requires --shard-size");
+            }
+
+            edgeIdGenerators = edgeIdStrategy.generatorsFor(edgeIdPrefix);
+
             Directories directories = Directories.createFor(outputDirectory);
 
+            if (shardSize != null) {
+                try (Timer timer = new Timer();
+                     CSVParser parser = newParser()) {
+
+                    ShardingCsvConverter converter = new ShardingCsvConverter(
+                            directories,
+                            shardSize * 1024L * 1024L,
+                            gzip,
+                            this::newVertexMetadata,
+                            this::newEdgeMetadata,
+                            path -> System.err.println("Shard   : " + path));
+                    converter.convert(parser.iterator());
+
+                    printSummary(converter.vertexCount(), converter.edgeCount(), directories);
+                }
+                return;
+            }
+
+            if (parallelism > 1) {
+                try (Timer timer = new Timer()) {
+
+                    ParallelCsvConverter converter = new ParallelCsvConverter(
+                            inputFile,
+                            directories,
+                            parallelism,
+                            this::newVertexMetadata,
+                            this::newEdgeMetadata);
+                    converter.convert();
+
+                    printSummary(converter.vertexCount(), converter.edgeCount(), directories);
+                }
+                return;
+            }
+
             try (Timer timer = new Timer();
-                 OutputFile vertexFile = new OutputFile(directories, "vertices");
-                 OutputFile edgeFile = new OutputFile(directories, "edges");
-                 CSVParser parser = CSVUtils.newParser(inputFile)) {
+                 CSVParser parser = newParser()) {
 
                 Iterator<CSVRecord> iterator = parser.iterator();
 
-                long vertexCount = 0;
-                long edgeCount = 0;
-
                 if (iterator.hasNext()) {
                     CSVRecord headers = iterator.next();
 
-                    VertexMetadata vertexMetadata = VertexMetadata.parse(
-                            headers,
-                            new PropertyValueParser(multiValuedNodePropertyPolicy, semiColonReplacement, inferTypes));
-                    EdgeMetadata edgeMetadata = EdgeMetadata.parse(
-                            headers,
-                            new PropertyValueParser(multiValuedRelationshipPropertyPolicy, semiColonReplacement, inferTypes));
-
-                    while (iterator.hasNext()) {
-                        CSVRecord record = iterator.next();
-                        if (vertexMetadata.isVertex(record)) {
-                            vertexFile.printRecord(vertexMetadata.toIterable(record));
-                            vertexCount++;
-                        } else if (edgeMetadata.isEdge(record)) {
-                            edgeFile.printRecord(edgeMetadata.toIterable(record));
-                            edgeCount++;
-                        } else {
-                            throw new IllegalStateException("Unable to parse record: " + record.toString());
-                        }
-                    }
+                    VertexMetadata vertexMetadata = newVertexMetadata(headers);
+                    EdgeMetadata edgeMetadata = newEdgeMetadata(headers, 0);
 
-                    vertexFile.printHeaders(vertexMetadata.headers());
-                    edgeFile.printHeaders(edgeMetadata.headers());
+                    try (CsvRecordConverter converter = new CsvRecordConverter(
+                            vertexMetadata,
+                            edgeMetadata,
+                            new OutputFile(directories, "vertices", null, false, vertexMetadata.widestHeaders()),
+                            new OutputFile(directories, "edges", null, false, edgeMetadata.widestHeaders()))) {
 
-                    System.err.println("Vertices: " + vertexCount);
-                    System.err.println("Edges   : " + edgeCount);
-                    System.err.println("Output  : " + directories.outputDirectory());
-                    System.out.println(directories.outputDirectory());
+                        converter.convert(iterator);
+                        converter.printHeaders();
+
+                        printSummary(converter.vertexCount(), converter.edgeCount(), directories);
+                    }
                 }
             }
 
@@ -115,4 +172,30 @@ public class ConvertCsv implements Runnable {
             e.printStackTrace();
         }
     }
+
+    private CSVParser newParser() throws IOException {
+        return inputFile == null ?
+                CSVUtils.newParser(System.in) :
+                CSVUtils.newParser(inputFile);
+    }
+
+    private VertexMetadata newVertexMetadata(CSVRecord headers) {
+        return VertexMetadata.parse(
+                headers,
+                new PropertyValueParser(multiValuedNodePropertyPolicy, semiColonReplacement, inferTypes));
+    }
+
+    private EdgeMetadata newEdgeMetadata(CSVRecord headers, int index) {
+        return EdgeMetadata.parse(
+                headers,
+                edgeIdGenerators.apply(index),
+                new PropertyValueParser(multiValuedRelationshipPropertyPolicy, semiColonReplacement, inferTypes));
+    }
+
+    private static void printSummary(long vertexCount, long edgeCount, Directories directories) {
+        System.err.println("Vertices: " + vertexCount);
+        System.err.println("Edges   : " + edgeCount);
+        System.err.println("Output  : " + directories.outputDirectory());
+        System.out.println(directories.outputDirectory());
+    }
 }
@@ -0,0 +1,84 @@
+/*
+Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune;
+
+import com.amazonaws.services.neptune.io.OutputFile;
+import com.amazonaws.services.neptune.metadata.EdgeMetadata;
+import com.amazonaws.services.neptune.metadata.VertexMetadata;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+class CsvRecordConverter implements AutoCloseable {
+
+    private final VertexMetadata vertexMetadata;
+    private final EdgeMetadata edgeMetadata;
+    private final OutputFile vertexFile;
+    private final OutputFile edgeFile;
+
+    private long vertexCount = 0;
+    private long edgeCount = 0;
+
+    CsvRecordConverter(VertexMetadata vertexMetadata,
+                       EdgeMetadata edgeMetadata,
+                       OutputFile vertexFile,
+                       OutputFile edgeFile) {
+        this.vertexMetadata = vertexMetadata;
+        this.edgeMetadata = edgeMetadata;
+        this.vertexFile = vertexFile;
+        this.edgeFile = edgeFile;
+    }
+
+    void convert(Iterator<CSVRecord> iterator) throws IOException {
+        while (iterator.hasNext()) {
+            CSVRecord record = iterator.next();
+            if (vertexMetadata.isVertex(record)) {
+                vertexFile.printRecord(vertexMetadata.toIterable(record));
+                vertexCount++;
+            } else if (edgeMetadata.isEdge(record)) {
+                edgeFile.printRecord(edgeMetadata.toIterable(record));
+                edgeCount++;
+            } else {
+                throw new IllegalStateException("Unable to parse record: " + record.toString());
+            }
+        }
+    }
+
+    void printHeaders() throws IOException {
+        vertexFile.printHeaders(vertexMetadata.headers());
+        edgeFile.printHeaders(edgeMetadata.headers());
+    }
+
+    VertexMetadata vertexMetadata() {
+        return vertexMetadata;
+    }
+
+    EdgeMetadata edgeMetadata() {
+        return edgeMetadata;
+    }
+
+    long vertexCount() {
+        return vertexCount;
+    }
+
+    long edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public void close() throws Exception {
+        vertexFile.close();
+        edgeFile.close();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune;
+
+import com.amazonaws.services.neptune.io.CsvChunk;
+import com.amazonaws.services.neptune.io.CsvChunker;
+import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.OutputFile;
+import com.amazonaws.services.neptune.metadata.EdgeMetadata;
+import com.amazonaws.services.neptune.metadata.VertexMetadata;
+import com.amazonaws.services.neptune.util.CSVUtils;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Converts byte-range chunks of a Neo4j CSV file on a worker pool. Each worker writes its own
+ * vertices-N.csv and edges-N.csv shard. Once every chunk has been converted, the column data types and
+ * multi-valued flags inferred by each worker are merged, and the merged headers written to every shard.
+ */
+class ParallelCsvConverter {
+
+    private final File inputFile;
+    private final Directories directories;
+    private final int parallelism;
+    private final Function<CSVRecord, VertexMetadata> vertexMetadataFactory;
+    private final BiFunction<CSVRecord, Integer, EdgeMetadata> edgeMetadataFactory;
+
+    private long vertexCount = 0;
+    private long edgeCount = 0;
+
+    ParallelCsvConverter(File inputFile,
+                         Directories directories,
+                         int parallelism,
+                         Function<CSVRecord, VertexMetadata> vertexMetadataFactory,
+                         BiFunction<CSVRecord, Integer, EdgeMetadata> edgeMetadataFactory) {
+        this.inputFile = inputFile;
+        this.directories = directories;
+        this.parallelism = parallelism;
+        this.vertexMetadataFactory = vertexMetadataFactory;
+        this.edgeMetadataFactory = edgeMetadataFactory;
+    }
+
+    void convert() throws Exception {
+
+        CSVRecord headers;
+        try (CSVParser parser = CSVUtils.newParser(inputFile)) {
+            Iterator<CSVRecord> iterator = parser.iterator();
+            if (!iterator.hasNext()) {
+                return;
+            }
+            headers = iterator.next();
+        }
+
+        List<CsvChunk> chunks = CsvChunker.split(inputFile.toPath(), parallelism);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+        List<CsvRecordConverter> converters = new ArrayList<>();
+
+        try {
+
+            List<Future<CsvRecordConverter>> futures = new ArrayList<>();
+
+            for (CsvChunk chunk : chunks) {
+                futures.add(executorService.submit(() -> {
+                    VertexMetadata vertexMetadata = vertexMetadataFactory.apply(headers);
+                    EdgeMetadata edgeMetadata = edgeMetadataFactory.apply(headers, chunk.index());
+                    CsvRecordConverter converter = new CsvRecordConverter(
+                            vertexMetadata,
+                            edgeMetadata,
+                            new OutputFile(directories, "vertices", chunk.index(), false, vertexMetadata.widestHeaders()),
+                            new OutputFile(directories, "edges", chunk.index(), false, edgeMetadata.widestHeaders()));
+                    try (CSVParser parser = chunk.newParser()) {
+                        converter.convert(parser.iterator());
+                    } catch (Exception e) {
+                        converter.close();
+                        throw e;
+                    }
+                    return converter;
+                }));
+            }
+
+            ExecutionException firstError = null;
+
+            for (Future<CsvRecordConverter> future : futures) {
+                try {
+                    converters.add(future.get());
+                } catch (ExecutionException e) {
+                    if (firstError == null) {
+                        firstError = e;
+                    }
+                }
+            }
+
+            if (firstError != null) {
+                throw new RuntimeException("Error converting chunk", firstError.getCause());
+            }
+
+            if (converters.isEmpty()) {
+                return;
+            }
+
+            VertexMetadata vertexMetadata = converters.get(0).vertexMetadata();
+            EdgeMetadata edgeMetadata = converters.get(0).edgeMetadata();
+
+            for (CsvRecordConverter converter : converters.subList(1, converters.size())) {
+                vertexMetadata.mergeHeaders(converter.vertexMetadata());
+                edgeMetadata.mergeHeaders(converter.edgeMetadata());
+            }
+
+            for (CsvRecordConverter converter : converters) {
+                converter.vertexMetadata().mergeHeaders(vertexMetadata);
+                converter.edgeMetadata().mergeHeaders(edgeMetadata);
+                converter.printHeaders();
+                vertexCount += converter.vertexCount();
+                edgeCount += converter.edgeCount();
+            }
+
+        } finally {
+            executorService.shutdownNow();
+            for (CsvRecordConverter converter : converters) {
+                converter.close();
+            }
+        }
+    }
+
+    long vertexCount() {
+        return vertexCount;
+    }
+
+    long edgeCount() {
+        return edgeCount;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune;
+
+import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.OutputFile;
+import com.amazonaws.services.neptune.metadata.EdgeMetadata;
+import com.amazonaws.services.neptune.metadata.VertexMetadata;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Converts a stream of Neo4j CSV records into size-bounded vertices-N.csv and edges-N.csv shards. Each shard is
+ * completed (its headers written and the file moved into place) as soon as it fills, so that uploading and
+ * loading completed shards can overlap with the rest of the conversion. Column data types are inferred per shard,
+ * and each shard carries its own headers.
+ */
+class ShardingCsvConverter {
+
+    private final Shards<VertexMetadata> vertexShards;
+    private final Shards<EdgeMetadata> edgeShards;
+
+    ShardingCsvConverter(Directories directories,
+                         long maxShardSize,
+                         boolean compress,
+                         Function<CSVRecord, VertexMetadata> vertexMetadataFactory,
+                         BiFunction<CSVRecord, Integer, EdgeMetadata> edgeMetadataFactory,
+                         Consumer<Path> onShardCompleted) {
+        this.vertexShards = new Shards<>(
+                directories, "vertices", maxShardSize, compress, onShardCompleted,
+                (headers, index) -> vertexMetadataFactory.apply(headers), VertexMetadata::toIterable,
+                VertexMetadata::headers, VertexMetadata::widestHeaders);
+        this.edgeShards = new Shards<>(
+                directories, "edges", maxShardSize, compress, onShardCompleted,
+                edgeMetadataFactory, EdgeMetadata::toIterable,
+                EdgeMetadata::headers, EdgeMetadata::widestHeaders);
+    }
+
+    void convert(Iterator<CSVRecord> iterator) throws Exception {
+
+        if (!iterator.hasNext()) {
+            return;
+        }
+
+        CSVRecord headers = iterator.next();
+
+        VertexMetadata vertexMetadata = vertexShards.start(headers);
+        EdgeMetadata edgeMetadata = edgeShards.start(headers);
+
+        try {
+            while (iterator.hasNext()) {
+                CSVRecord record = iterator.next();
+                if (vertexMetadata.isVertex(record)) {
+                    vertexShards.printRecord(record);
+                } else if (edgeMetadata.isEdge(record)) {
+                    edgeShards.printRecord(record);
+                } else {
+                    throw new IllegalStateException("Unable to parse record: " + record.toString());
+                }
+            }
+
+            vertexShards.complete();
+            edgeShards.complete();
+
+        } catch (Exception e) {
+            // Don't publish the partial shards: they have no headers
+            try {
+                vertexShards.abort();
+            } catch (IOException abortException) {
+                e.addSuppressed(abortException);
+            }
+            try {
+                edgeShards.abort();
+            } catch (IOException abortException) {
+                e.addSuppressed(abortException);
+            }
+            throw e;
+        }
+    }
+
+    long vertexCount() {
+        return vertexShards.recordCount;
+    }
+
+    long edgeCount() {
+        return edgeShards.recordCount;
+    }
+
+    private static class Shards<M> {
+
+        private final Directories directories;
+        private final String filename;
+        private final long maxShardSize;
+        private final boolean compress;
+        private final Consumer<Path> onShardCompleted;
+        private final BiFunction<CSVRecord, Integer, M> metadataFactory;
+        private final BiFunction<M, CSVRecord, Iterable<String>> toIterable;
+        private final Function<M, Iterable<String>> headers;
+        private final Function<M, Iterable<String>> widestHeaders;
+
+        private CSVRecord headerRecord;
+        private M metadata;
+        private OutputFile outputFile;
+        private int shardIndex = 0;
+        private long shardRecordCount = 0;
+        private long recordCount = 0;
+
+        private Shards(Directories directories,
+                       String filename,
+                       long maxShardSize,
+                       boolean compress,
+                       Consumer<Path> onShardCompleted,
+                       BiFunction<CSVRecord, Integer, M> metadataFactory,
+                       BiFunction<M, CSVRecord, Iterable<String>> toIterable,
+                       Function<M, Iterable<String>> headers,
+                       Function<M, Iterable<String>> widestHeaders) {
+            this.directories = directories;
+            this.filename = filename;
+            this.maxShardSize = maxShardSize;
+            this.compress = compress;
+            this.onShardCompleted = onShardCompleted;
+            this.metadataFactory = metadataFactory;
+            this.toIterable = toIterable;
+            this.headers = headers;
+            this.widestHeaders = widestHeaders;
+        }
+
+        M start(CSVRecord headerRecord) {
+            this.headerRecord = headerRecord;
+            this.metadata = metadataFactory.apply(headerRecord, shardIndex);
+            return metadata;
+        }
+
+        void printRecord(CSVRecord record) throws IOException {
+
+            if (outputFile == null) {
+                outputFile = new OutputFile(directories, filename, shardIndex++, compress, widestHeaders.apply(metadata));
+            }
+
+            outputFile.printRecord(toIterable.apply(metadata, record));
+            shardRecordCount++;
+            recordCount++;
+
+            if (outputFile.size() >= maxShardSize) {
+                complete();
+            }
+        }
+
+        void complete() throws IOException {
+
+            if (outputFile == null || shardRecordCount == 0) {
+                return;
+            }
+
+            outputFile.printHeaders(headers.apply(metadata));
+
+            try {
+                outputFile.close();
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+
+            Path completedShard = outputFile.path();
+
+            // Infer data types afresh for the next shard
+            outputFile = null;
+            shardRecordCount = 0;
+            metadata = metadataFactory.apply(headerRecord, shardIndex);
+
+            onShardCompleted.accept(completedShard);
+        }
+
+        void abort() throws IOException {
+            if (outputFile != null) {
+                OutputFile partialFile = outputFile;
+                outputFile = null;
+                partialFile.abort();
+            }
+        }
+    }
+}
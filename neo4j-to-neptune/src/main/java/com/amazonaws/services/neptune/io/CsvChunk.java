@@ -0,0 +1,109 @@
+/*
+Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import com.amazonaws.services.neptune.util.CSVUtils;
+import org.apache.commons.csv.CSVParser;
+
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class CsvChunk {
+
+    private final Path filePath;
+    private final int index;
+    private final long start;
+    private final long end;
+
+    CsvChunk(Path filePath, int index, long start, long end) {
+        this.filePath = filePath;
+        this.index = index;
+        this.start = start;
+        this.end = end;
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public long start() {
+        return start;
+    }
+
+    public long end() {
+        return end;
+    }
+
+    public CSVParser newParser() throws IOException {
+        return CSVUtils.newParser(new BoundedInputStream(new FileInputStream(filePath.toFile()), start, end - start));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%s-%s]", index, start, end);
+    }
+
+    private static class BoundedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private BoundedInputStream(FileInputStream inputStream, long start, long length) throws IOException {
+            super(inputStream);
+            inputStream.getChannel().position(start);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int bytesRead = super.read(b, off, (int) Math.min(len, remaining));
+            if (bytesRead > 0) {
+                remaining -= bytesRead;
+            }
+            return bytesRead;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits a CSV file into byte ranges whose boundaries fall between records. Each boundary is found by seeking
+ * to an approximate offset and resynchronising to the next line break outside a quoted field, so line breaks
+ * inside quoted fields are never mistaken for record separators. Whether an offset falls inside a quoted field
+ * is detected from the bytes that follow it: a quote either opens or closes a field, and only one reading holds
+ * where the quote is preceded or followed by anything other than a delimiter, line break or another quote. Where
+ * those bytes don't decide (a run without quotes, for example), the quote state is carried forward from the
+ * previous offset by counting the quotes in between. Offsets are examined, and quotes counted, in parallel. The
+ * first record (the column headers) is excluded from every chunk.
+ */
+public class CsvChunker {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int DETECTION_WINDOW = 1 << 16;
+    private static final int EOF = -1;
+
+    public static List<CsvChunk> split(Path filePath, int chunkCount) throws IOException {
+        return split(filePath, chunkCount, DETECTION_WINDOW);
+    }
+
+    static List<CsvChunk> split(Path filePath, int chunkCount, int detectionWindow) throws IOException {
+
+        if (chunkCount < 1) {
+            throw new IllegalArgumentException("Chunk count must be at least 1");
+        }
+
+        long fileSize = Files.size(filePath);
+
+        List<Long> boundaries = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+
+            long headersEnd = nextRecordStart(channel, 0, false, fileSize);
+
+            if (headersEnd < 0) {
+                // Headers only, with no trailing line separator
+                return new ArrayList<>();
+            }
+
+            boundaries.add(headersEnd);
+
+            if (chunkCount > 1) {
+                boundaries.addAll(findBoundaries(channel, headersEnd, fileSize, chunkCount, detectionWindow));
+            }
+        }
+
+        boundaries.add(fileSize);
+
+        List<CsvChunk> chunks = new ArrayList<>();
+        for (int i = 0; i < boundaries.size() - 1; i++) {
+            long start = boundaries.get(i);
+            long end = boundaries.get(i + 1);
+            if (end > start) {
+                chunks.add(new CsvChunk(filePath, chunks.size(), start, end));
+            }
+        }
+
+        return chunks;
+    }
+
+    private static List<Long> findBoundaries(FileChannel channel,
+                                             long headersEnd,
+                                             long fileSize,
+                                             int chunkCount,
+                                             int detectionWindow) throws IOException {
+
+        long targetChunkSize = Math.max(1, (fileSize - headersEnd) / chunkCount);
+
+        long[] offsets = new long[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            offsets[i] = Math.min(fileSize, headersEnd + (targetChunkSize * i));
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(chunkCount - 1);
+
+        try {
+
+            List<Callable<Boolean>> detections = new ArrayList<>();
+            for (int i = 1; i < chunkCount; i++) {
+                long offset = offsets[i];
+                detections.add(() -> detectQuoteState(channel, offset, fileSize, detectionWindow));
+            }
+            List<Boolean> detectedStates = invokeAll(executorService, detections);
+
+            // Offsets whose quote state could not be detected take the state of the previous offset, flipped
+            // if an odd number of quotes lies between the two
+            List<Callable<Boolean>> parities = new ArrayList<>();
+            for (int i = 1; i < chunkCount; i++) {
+                long from = offsets[i - 1];
+                long to = offsets[i];
+                parities.add(detectedStates.get(i - 1) == null ?
+                        () -> hasOddQuoteCount(channel, from, to) :
+                        () -> false);
+            }
+            List<Boolean> oddQuoteCounts = invokeAll(executorService, parities);
+
+            boolean[] inQuotes = new boolean[chunkCount];
+            for (int i = 1; i < chunkCount; i++) {
+                Boolean detectedState = detectedStates.get(i - 1);
+                inQuotes[i] = detectedState != null ?
+                        detectedState :
+                        inQuotes[i - 1] ^ oddQuoteCounts.get(i - 1);
+            }
+
+            List<Callable<Long>> resyncs = new ArrayList<>();
+            for (int i = 1; i < chunkCount; i++) {
+                long offset = offsets[i];
+                boolean offsetInQuotes = inQuotes[i];
+                resyncs.add(() -> nextRecordStart(channel, offset, offsetInQuotes, fileSize));
+            }
+
+            List<Long> boundaries = new ArrayList<>();
+            long previousBoundary = headersEnd;
+            for (Long boundary : invokeAll(executorService, resyncs)) {
+                if (boundary > previousBoundary && boundary < fileSize) {
+                    boundaries.add(boundary);
+                    previousBoundary = boundary;
+                }
+            }
+            return boundaries;
+
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns true if the offset falls inside a quoted field, false if it falls outside, or null if the bytes
+     * in the detection window that follows the offset are consistent with both.
+     */
+    private static Boolean detectQuoteState(FileChannel channel, long offset, long fileSize, int detectionWindow) throws IOException {
+
+        long windowStart = Math.max(0, offset - 1);
+        long windowEnd = Math.min(fileSize, offset + detectionWindow + 1);
+        byte[] bytes = read(channel, windowStart, (int) (windowEnd - windowStart));
+
+        int prev = offset > 0 ? bytes[0] : '\n';
+        int start = (int) (offset - windowStart);
+        int end = (int) (Math.min(fileSize, offset + detectionWindow) - windowStart);
+
+        // Quote state assuming the offset falls outside a quoted field; the other reading is always its opposite
+        boolean inQuotes = false;
+        boolean outsideIsValid = true;
+        boolean insideIsValid = true;
+
+        for (int i = start; i < end; i++) {
+            int b = bytes[i];
+            if (b == '"') {
+                int next = i + 1 < bytes.length ? bytes[i + 1] : EOF;
+                boolean canOpen = prev == ',' || prev == '\n' || prev == '"';
+                boolean canClose = next == ',' || next == '\n' || next == '\r' || next == '"' || next == EOF;
+                if (inQuotes) {
+                    outsideIsValid &= canClose;
+                    insideIsValid &= canOpen;
+                } else {
+                    outsideIsValid &= canOpen;
+                    insideIsValid &= canClose;
+                }
+                inQuotes = !inQuotes;
+                if (outsideIsValid != insideIsValid) {
+                    return insideIsValid;
+                }
+                if (!outsideIsValid) {
+                    return null;
+                }
+            }
+            prev = b;
+        }
+
+        if (windowEnd == fileSize && end == bytes.length) {
+            // A quoted field must be closed by the end of the file
+            return inQuotes;
+        }
+
+        return null;
+    }
+
+    private static boolean hasOddQuoteCount(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = from;
+        int quoteCount = 0;
+        while (position < to) {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, to - position));
+            int bytesRead = channel.read(buffer, position);
+            if (bytesRead < 0) {
+                break;
+            }
+            byte[] bytes = buffer.array();
+            for (int i = 0; i < bytesRead; i++) {
+                if (bytes[i] == '"') {
+                    quoteCount++;
+                }
+            }
+            position += bytesRead;
+        }
+        return (quoteCount & 1) == 1;
+    }
+
+    private static long nextRecordStart(FileChannel channel, long from, boolean inQuotes, long fileSize) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = from;
+        while (position < fileSize) {
+            buffer.clear();
+            int bytesRead = channel.read(buffer, position);
+            if (bytesRead < 0) {
+                break;
+            }
+            byte[] bytes = buffer.array();
+            for (int i = 0; i < bytesRead; i++) {
+                byte b = bytes[i];
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == '\n' && !inQuotes) {
+                    return position + i + 1;
+                }
+            }
+            position += bytesRead;
+        }
+        return -1;
+    }
+
+    private static byte[] read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException(String.format("Unexpected end of file at %s", position + buffer.position()));
+            }
+        }
+        return buffer.array();
+    }
+
+    private static <T> List<T> invokeAll(ExecutorService executorService, List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>();
+        try {
+            for (Future<T> future : executorService.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while splitting CSV file", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Error while splitting CSV file", e.getCause());
+        }
+        return results;
+    }
+}
@@ -12,58 +12,235 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.io;
 
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.stream.Stream;
-
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Headers are only known once every record has been converted, but the bulk loader requires them at the start
+ * of each file. The column names are known up front, however, and only their data types widen as records are
+ * converted, so the widest headers the columns can produce bound the length of the final headers. A region of
+ * that length is reserved at the start of a temp file, records are written after it, and
+ * {@link #printHeaders(Iterable)} patches the headers into the region in place before moving the temp file into
+ * place. Every record is written to disk once, and the output file only ever appears complete.
+ * <p>
+ * In an uncompressed file, any part of the region not used by the headers is filled with blank lines. In a
+ * compressed file, the region holds a gzip member of its own containing just the headers, stored uncompressed,
+ * and padded to the length of the region with a gzip file comment; the records follow in a second gzip member.
+ * Gzip readers decompress concatenated members as a single stream. A compressed file cannot be appended to once
+ * its headers have been printed.
+ */
 public class OutputFile implements AutoCloseable {
 
+    private static final int GZIP_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_STORED_BLOCK_SIZE = 0xFFFF;
+    private static final byte PADDING = '\n';
+
     private RawCsvPrinter printer;
 
-    private final Directories directories;
-    private final String filename;
+    private final Path filePath;
+    private final Path tempFilePath;
+    private final boolean compress;
+    private final int reservedBytes;
+    private boolean headersPrinted = false;
+    private boolean aborted = false;
 
     public OutputFile(Directories directories, String filename) throws IOException {
+        this(directories, filename, null);
+    }
 
-        this.directories = directories;
-        this.filename = filename;
+    public OutputFile(Directories directories, String filename, Object index) throws IOException {
+        this(directories, filename, index, false);
+    }
 
-        this.printer = RawCsvPrinter.newPrinter(directories.createFilePath(filename));
+    public OutputFile(Directories directories, String filename, Object index, boolean compress) throws IOException {
+        this(directories, filename, index, compress, null);
+    }
+
+    /**
+     * @param widestHeaders the longest headers that can be printed to this file, or null if headers will not be
+     *                      printed
+     */
+    public OutputFile(Directories directories,
+                      String filename,
+                      Object index,
+                      boolean compress,
+                      Iterable<String> widestHeaders) throws IOException {
+
+        Path csvFilePath = directories.createFilePath(filename, index);
+
+        this.filePath = compress ?
+                csvFilePath.resolveSibling(csvFilePath.getFileName() + ".gz") :
+                csvFilePath;
+        this.tempFilePath = directories.createFilePath(filename, index == null ? "temp" : index + "-temp");
+        this.compress = compress;
+
+        int maxHeaderBytes = widestHeaders == null ? 0 : headerBytes(widestHeaders).length;
+
+        if (compress) {
+            this.reservedBytes = gzipMemberLength(maxHeaderBytes, 0);
+            Files.write(tempFilePath, gzipMember(new byte[0], reservedBytes));
+            this.printer = RawCsvPrinter.newPrinter(
+                    new GZIPOutputStream(new FileOutputStream(tempFilePath.toFile(), true), GZIP_BUFFER_SIZE));
+        } else {
+            this.reservedBytes = maxHeaderBytes;
+            Files.write(tempFilePath, padding(maxHeaderBytes));
+            this.printer = RawCsvPrinter.newPrinter(tempFilePath, true);
+        }
     }
 
     public void printRecord(Iterable<String> values) throws IOException {
+        if (printer == null) {
+            throw new IllegalStateException("Unable to append to compressed file: " + filePath);
+        }
         printer.printRecord(values);
     }
 
+    /**
+     * Approximate size of the records printed so far, counted in characters.
+     */
+    public long size() {
+        return printer == null ? 0 : printer.charsWritten();
+    }
+
+    public Path path() {
+        return filePath;
+    }
+
     public void printHeaders(Iterable<String> headers) throws IOException {
 
-        Path originalFilePath = directories.createFilePath(filename);
-        Path tempFilePath = directories.createFilePath(filename, "temp");
+        if (headersPrinted) {
+            throw new IllegalStateException("Headers have already been printed to " + filePath);
+        }
+
+        byte[] headerBytes = headerBytes(headers);
+        byte[] region = compress ?
+                gzipMember(headerBytes, reservedBytes) :
+                pad(headerBytes, reservedBytes);
 
         printer.flush();
         printer.close();
 
-        try (Stream<String> stream = Files.lines(originalFilePath);
-             RawCsvPrinter tempFilePrinter = RawCsvPrinter.newPrinter(tempFilePath)) {
+        try (FileChannel channel = FileChannel.open(tempFilePath, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(region);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, buffer.position());
+            }
+        }
+
+        Files.move(tempFilePath, filePath, StandardCopyOption.ATOMIC_MOVE);
 
-            tempFilePrinter.printRecord(headers);
-            stream.forEach(tempFilePrinter::printRecord);
+        headersPrinted = true;
+        printer = compress ? null : RawCsvPrinter.newPrinter(filePath, true);
+    }
 
-            tempFilePrinter.flush();
+    private byte[] pad(byte[] headerBytes, int length) {
+        if (headerBytes.length > length) {
+            throw new IllegalStateException(String.format(
+                    "Headers for %s are %s bytes long, but only %s bytes were reserved for them",
+                    filePath, headerBytes.length, length));
         }
+        byte[] region = padding(length);
+        System.arraycopy(headerBytes, 0, region, 0, headerBytes.length);
+        return region;
+    }
+
+    private byte[] gzipMember(byte[] data, int length) {
+
+        int paddingLength = length - gzipMemberLength(data.length, 0);
 
-        Files.deleteIfExists(originalFilePath);
-        if (!tempFilePath.toFile().renameTo(originalFilePath.toFile())) {
-            throw new RuntimeException("Unable to rename temp file: " + tempFilePath);
+        if (paddingLength < 0) {
+            throw new IllegalStateException(String.format(
+                    "Headers for %s are %s bytes long, but only %s bytes were reserved for them",
+                    filePath, data.length, length));
         }
 
-        printer = RawCsvPrinter.newPrinter(originalFilePath, true);
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+
+        // Member header with FCOMMENT set: the zero-terminated comment pads the member to the reserved length
+        buffer.put(new byte[]{0x1f, (byte) 0x8b, 8, 0x10, 0, 0, 0, 0, 0, (byte) 0xff});
+        byte[] comment = new byte[paddingLength];
+        Arrays.fill(comment, (byte) ' ');
+        buffer.put(comment);
+        buffer.put((byte) 0);
+
+        // Stored (uncompressed) deflate blocks, so that the member's length depends only on the length of the data
+        int offset = 0;
+        do {
+            int blockLength = Math.min(MAX_STORED_BLOCK_SIZE, data.length - offset);
+            boolean isFinal = offset + blockLength == data.length;
+            buffer.put((byte) (isFinal ? 1 : 0));
+            buffer.putShort((short) blockLength);
+            buffer.putShort((short) ~blockLength);
+            buffer.put(data, offset, blockLength);
+            offset += blockLength;
+        } while (offset < data.length);
+
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        buffer.putInt((int) crc.getValue());
+        buffer.putInt(data.length);
+
+        return buffer.array();
+    }
+
+    private static int gzipMemberLength(int dataLength, int paddingLength) {
+        int blocks = Math.max(1, (dataLength + MAX_STORED_BLOCK_SIZE - 1) / MAX_STORED_BLOCK_SIZE);
+        // Member header, comment terminator, stored block headers, data, and CRC and size trailer
+        return 10 + paddingLength + 1 + (blocks * 5) + dataLength + 8;
+    }
+
+    private static byte[] headerBytes(Iterable<String> headers) {
+        // Use the same (platform default) encoding as RawCsvPrinter
+        return (String.join(",", headers) + System.lineSeparator()).getBytes(Charset.defaultCharset());
+    }
+
+    private static byte[] padding(int length) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, PADDING);
+        return bytes;
+    }
+
+    /**
+     * Discards the file after a failure, so that no partial output is left in place: deletes the temp file, or the
+     * output file if the headers have already been printed.
+     */
+    public void abort() throws IOException {
+        aborted = true;
+        try {
+            if (printer != null) {
+                printer.close();
+            }
+        } finally {
+            printer = null;
+            Files.deleteIfExists(tempFilePath);
+            if (headersPrinted) {
+                Files.deleteIfExists(filePath);
+            }
+        }
     }
 
     @Override
     public void close() throws Exception {
-        printer.flush();
-        printer.close();
+        if (printer != null) {
+            printer.flush();
+            printer.close();
+            printer = null;
+        }
+
+        if (!headersPrinted && !aborted) {
+            Files.move(tempFilePath, filePath, StandardCopyOption.ATOMIC_MOVE);
+            headersPrinted = true;
+        }
     }
 }
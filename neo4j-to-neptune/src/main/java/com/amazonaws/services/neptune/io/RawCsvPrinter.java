@@ -15,6 +15,8 @@ package com.amazonaws.services.neptune.io;
 import java.io.FileWriter;
 import java.io.Flushable;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.nio.file.Path;
 
@@ -28,20 +30,35 @@ public class RawCsvPrinter implements Flushable, AutoCloseable {
         return newPrinter(filePath, false);
     }
 
+    static RawCsvPrinter newPrinter(OutputStream outputStream) {
+        return new RawCsvPrinter(new PrintWriter(new OutputStreamWriter(outputStream)));
+    }
+
+    private static final int LINE_SEPARATOR_LENGTH = System.lineSeparator().length();
+
     private final PrintWriter printer;
+    private long charsWritten = 0;
 
     private RawCsvPrinter(Path filePath, boolean append) throws IOException {
-        this.printer = new PrintWriter(new FileWriter(filePath.toFile(), append));
+        this(new PrintWriter(new FileWriter(filePath.toFile(), append)));
+    }
+
+    private RawCsvPrinter(PrintWriter printer) {
+        this.printer = printer;
     }
 
     void printRecord(Iterable<String> values){
-        printer.write(String.join(",", values));
-        printer.write(System.lineSeparator());
+        printRecord(String.join(",", values));
     }
 
     void printRecord(String value){
         printer.write(value);
         printer.write(System.lineSeparator());
+        charsWritten += value.length() + LINE_SEPARATOR_LENGTH;
+    }
+
+    long charsWritten() {
+        return charsWritten;
     }
 
     @Override
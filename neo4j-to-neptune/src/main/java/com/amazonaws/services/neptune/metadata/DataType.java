@@ -14,7 +14,8 @@ package com.amazonaws.services.neptune.metadata;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.regex.Pattern;
+import java.util.Arrays;
+import java.util.Comparator;
 
 public enum DataType {
     None {
@@ -65,84 +66,253 @@ public enum DataType {
         return java.lang.String.format(":%s", name().toLowerCase());
     }
 
+    static String widestTypeDescription() {
+        return Arrays.stream(values())
+                .map(DataType::typeDescription)
+                .max(Comparator.comparingInt(java.lang.String::length))
+                .orElse("");
+    }
+
+    /**
+     * Identifies the narrowest type of the supplied value in a single pass over its characters, without relying
+     * on parse exceptions. Values are classified as booleans, integers (by width), doubles (following the grammar
+     * accepted by {@link java.lang.Double#parseDouble(java.lang.String)}), ISO dates or strings.
+     */
     public static DataType identifyType(String s) {
 
+        if (StringUtils.isEmpty(s)) {
+            return DataType.None;
+        }
+
         if (isBoolean(s)) {
             return DataType.Boolean;
-        } else if (isByte(s)) {
+        }
+
+        DataType integerType = identifyIntegerType(s);
+        if (integerType != null) {
+            return integerType;
+        }
+
+        if (isDouble(s)) {
+            return DataType.Double;
+        }
+
+        if (DateTimeUtils.isISODate(s)) {
+            return DataType.Date;
+        }
+
+        return DataType.String;
+    }
+
+    /**
+     * Returns the broadest of the current type and the type of the supplied value. Once a column has been
+     * broadened to a string, every subsequent value is covered, and classification is skipped.
+     */
+    public static DataType identifyType(String s, DataType currentType) {
+        if (currentType == DataType.String) {
+            return DataType.String;
+        }
+        return getBroadestType(currentType, identifyType(s));
+    }
+
+    private static final String MAX_LONG_DIGITS = java.lang.String.valueOf(java.lang.Long.MAX_VALUE);
+    private static final String MIN_LONG_DIGITS = java.lang.String.valueOf(java.lang.Long.MIN_VALUE).substring(1);
+
+    private static boolean isBoolean(String s) {
+        int length = s.length();
+        return (length == 4 && s.equalsIgnoreCase("true")) || (length == 5 && s.equalsIgnoreCase("false"));
+    }
+
+    private static DataType identifyIntegerType(String s) {
+
+        int length = s.length();
+        boolean negative = false;
+        int index = 0;
+
+        char first = s.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            index++;
+        }
+
+        if (index == length) {
+            return null;
+        }
+
+        boolean asciiDigitsOnly = true;
+        for (int i = index; i < length; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) {
+                if (Character.digit(c, 10) < 0) {
+                    return null;
+                }
+                asciiDigitsOnly = false;
+            }
+        }
+
+        if (!asciiDigitsOnly) {
+            // Long.parseLong() accepts any Unicode decimal digit, but Double.parseDouble() only accepts ASCII digits
+            DataType dataType = identifyIntegerType(toAsciiDigits(s));
+            return dataType == DataType.Double ? DataType.String : dataType;
+        }
+
+        while (index < length - 1 && s.charAt(index) == '0') {
+            index++;
+        }
+
+        int digitCount = length - index;
+
+        if (digitCount > MAX_LONG_DIGITS.length()) {
+            return DataType.Double;
+        }
+
+        if (digitCount == MAX_LONG_DIGITS.length()) {
+            String limit = negative ? MIN_LONG_DIGITS : MAX_LONG_DIGITS;
+            return s.substring(index).compareTo(limit) <= 0 ?
+                    DataType.Long :
+                    DataType.Double;
+        }
+
+        long value = 0;
+        for (int i = index; i < length; i++) {
+            value = (value * 10) + (s.charAt(i) - '0');
+        }
+        if (negative) {
+            value = -value;
+        }
+
+        if (value >= java.lang.Byte.MIN_VALUE && value <= java.lang.Byte.MAX_VALUE) {
             return DataType.Byte;
-        } else if (isShort(s)) {
+        } else if (value >= java.lang.Short.MIN_VALUE && value <= java.lang.Short.MAX_VALUE) {
             return DataType.Short;
-        } else if (isInt(s)) {
+        } else if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
             return DataType.Int;
-        } else if (isLong(s)) {
-            return DataType.Long;
-        } else if (isDouble(s)) {
-            return DataType.Double;
         } else {
-            if (StringUtils.isEmpty(s)) {
-                return DataType.None;
-            }
-            try {
-                DateTimeUtils.parseISODate(s);
-                return DataType.Date;
-            } catch (Exception e) {
-                return DataType.String;
-            }
+            return DataType.Long;
+        }
+    }
+
+    private static String toAsciiDigits(String s) {
+        StringBuilder builder = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            int digit = Character.digit(c, 10);
+            builder.append(digit < 0 ? c : (char) ('0' + digit));
         }
+        return builder.toString();
     }
 
-    private static final String BOOLEAN_PATTERN = "true|false";
-    private static final Pattern boolPattern = Pattern.compile(BOOLEAN_PATTERN, Pattern.CASE_INSENSITIVE);
+    private static boolean isDouble(String s) {
 
+        int start = 0;
+        int end = s.length();
 
-    private static boolean isBoolean(String s) {
-        return boolPattern.matcher(s).matches();
-    }
+        // Double.parseDouble() ignores leading and trailing whitespace and control characters
+        while (start < end && s.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
 
-    private static boolean isByte(String s) {
-        try {
-            java.lang.Byte.parseByte(s);
-            return true;
-        } catch (NumberFormatException e) {
+        if (start == end) {
             return false;
         }
-    }
 
-    private static boolean isShort(String s) {
-        try {
-            java.lang.Short.parseShort(s);
-            return true;
-        } catch (NumberFormatException e) {
+        int index = start;
+        char c = s.charAt(index);
+        if (c == '-' || c == '+') {
+            index++;
+        }
+
+        if (s.startsWith("NaN", index)) {
+            return index + 3 == end;
+        }
+
+        if (s.startsWith("Infinity", index)) {
+            return index + 8 == end;
+        }
+
+        if (end - index > 2 && s.charAt(index) == '0' && (s.charAt(index + 1) == 'x' || s.charAt(index + 1) == 'X')) {
+            return isHexDouble(s, index + 2, end);
+        }
+
+        int digitCount = 0;
+        while (index < end && isDigit(s.charAt(index))) {
+            index++;
+            digitCount++;
+        }
+        if (index < end && s.charAt(index) == '.') {
+            index++;
+            while (index < end && isDigit(s.charAt(index))) {
+                index++;
+                digitCount++;
+            }
+        }
+
+        if (digitCount == 0) {
             return false;
         }
+
+        if (index < end && (s.charAt(index) == 'e' || s.charAt(index) == 'E')) {
+            index = skipExponent(s, index + 1, end);
+            if (index < 0) {
+                return false;
+            }
+        }
+
+        return isEndOfDouble(s, index, end);
     }
 
-    private static boolean isInt(String s) {
-        try {
-            java.lang.Integer.parseInt(s);
-            return true;
-        } catch (NumberFormatException e) {
+    private static boolean isHexDouble(String s, int index, int end) {
+
+        int digitCount = 0;
+        while (index < end && isHexDigit(s.charAt(index))) {
+            index++;
+            digitCount++;
+        }
+        if (index < end && s.charAt(index) == '.') {
+            index++;
+            while (index < end && isHexDigit(s.charAt(index))) {
+                index++;
+                digitCount++;
+            }
+        }
+
+        if (digitCount == 0 || index == end || (s.charAt(index) != 'p' && s.charAt(index) != 'P')) {
             return false;
         }
+
+        index = skipExponent(s, index + 1, end);
+
+        return index >= 0 && isEndOfDouble(s, index, end);
     }
 
-    private static boolean isLong(String s) {
-        try {
-            java.lang.Long.parseLong(s);
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
+    private static int skipExponent(String s, int index, int end) {
+        if (index < end && (s.charAt(index) == '-' || s.charAt(index) == '+')) {
+            index++;
+        }
+        int exponentStart = index;
+        while (index < end && isDigit(s.charAt(index))) {
+            index++;
         }
+        return index == exponentStart ? -1 : index;
     }
 
-    private static boolean isDouble(String s) {
-        try {
-            java.lang.Double.parseDouble(s);
+    private static boolean isEndOfDouble(String s, int index, int end) {
+        if (index == end) {
             return true;
-        } catch (NumberFormatException e) {
-            return false;
         }
+        char suffix = s.charAt(index);
+        return index + 1 == end && (suffix == 'f' || suffix == 'F' || suffix == 'd' || suffix == 'D');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
     }
 
     public static DataType getBroadestType(DataType oldType, DataType newType) {
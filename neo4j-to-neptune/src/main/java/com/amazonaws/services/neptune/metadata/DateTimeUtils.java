@@ -12,7 +12,10 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.metadata;
 
+import org.joda.time.chrono.ISOChronology;
 import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.DateTimeParser;
+import org.joda.time.format.DateTimeParserBucket;
 import org.joda.time.format.ISODateTimeFormat;
 
 import java.util.Date;
@@ -24,4 +27,60 @@ public class DateTimeUtils {
     public static Date parseISODate(final String dateStr) {
         return dateTimeFormatter.parseDateTime(dateStr).toDate();
     }
+
+    /**
+     * Returns true if the value would be parsed by {@link #parseISODate(String)}, without throwing and catching a
+     * parse exception for values that are not dates. Values are first checked for the shape of an ISO date or
+     * date-time, and the remainder are parsed by Joda's {@link DateTimeParser}, which reports failure through the
+     * position it returns. Only date-shaped values with out-of-range fields, such as 2020-13-45, throw.
+     */
+    public static boolean isISODate(final String dateStr) {
+        if (!isISODateCandidate(dateStr)) {
+            return false;
+        }
+
+        DateTimeParser parser = dateTimeFormatter.getParser();
+        DateTimeParserBucket bucket = new DateTimeParserBucket(
+                0,
+                ISOChronology.getInstanceUTC(),
+                dateTimeFormatter.getLocale(),
+                dateTimeFormatter.getPivotYear(),
+                dateTimeFormatter.getDefaultYear());
+
+        if (parser.parseInto(bucket, dateStr, 0) != dateStr.length()) {
+            return false;
+        }
+
+        try {
+            bucket.computeMillis(true, dateStr);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Cheap lexical check that rejects values that cannot be ISO dates before they reach the Joda parser. Only
+     * characters that can appear in an ISO date or date-time are allowed, and the value must start as a date
+     * (a digit or a sign) or a time ('T') does.
+     */
+    private static boolean isISODateCandidate(final String dateStr) {
+        if (dateStr == null || dateStr.isEmpty()) {
+            return false;
+        }
+        char first = dateStr.charAt(0);
+        if (!Character.isDigit(first) && "-+Tt".indexOf(first) < 0) {
+            return false;
+        }
+        boolean hasDigit = false;
+        for (int i = 0; i < dateStr.length(); i++) {
+            char c = dateStr.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigit = true;
+            } else if ("-+:.,TtWwZz".indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return hasDigit;
+    }
 }
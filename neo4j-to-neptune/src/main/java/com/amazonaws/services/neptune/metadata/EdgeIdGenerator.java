@@ -0,0 +1,24 @@
+/*
+Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.metadata;
+
+import org.apache.commons.csv.CSVRecord;
+
+public interface EdgeIdGenerator {
+
+    /**
+     * Generates an ID for the relationship in the supplied record. The relationship's _start, _end and _type
+     * columns begin at firstColumnIndex, followed by its property columns.
+     */
+    String generateId(CSVRecord record, int firstColumnIndex);
+}
@@ -0,0 +1,147 @@
+/*
+Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.metadata;
+
+import org.apache.commons.csv.CSVRecord;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+public enum EdgeIdStrategy {
+    Random {
+        @Override
+        public EdgeIdGenerator newGenerator(String prefix, int generatorIndex) {
+            // Version 4 UUIDs from ThreadLocalRandom, avoiding contention on the SecureRandom behind UUID.randomUUID()
+            return (record, firstColumnIndex) -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long mostSigBits = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+                long leastSigBits = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+                return new UUID(mostSigBits, leastSigBits).toString();
+            };
+        }
+    },
+    Hash {
+        @Override
+        public EdgeIdGenerator newGenerator(String prefix, int generatorIndex) {
+            return new HashEdgeIdGenerator(HashEdgeIdGenerator.DEFAULT_REPEAT_WINDOW);
+        }
+    },
+    Counter {
+        @Override
+        public EdgeIdGenerator newGenerator(String prefix, int generatorIndex) {
+            String generatorPrefix = prefix + generatorIndex + "-";
+            long[] count = {0};
+            return (record, firstColumnIndex) -> generatorPrefix + (++count[0]);
+        }
+    };
+
+    /**
+     * Creates a generator for a single EdgeMetadata instance. Generators are not thread-safe. The generator index
+     * distinguishes the IDs created by generators used for different input chunks or output shards.
+     */
+    public abstract EdgeIdGenerator newGenerator(String prefix, int generatorIndex);
+
+    /**
+     * Returns a function that creates the generators for a single conversion, indexed by input chunk or output shard.
+     */
+    public IntFunction<EdgeIdGenerator> generatorsFor(String prefix) {
+        return generatorIndex -> newGenerator(prefix, generatorIndex);
+    }
+
+    static EdgeIdGenerator newHashGenerator(int repeatWindow) {
+        return new HashEdgeIdGenerator(repeatWindow);
+    }
+
+    /**
+     * Name-based (version 3) UUIDs computed from the full 128-bit digest of the relationship's start, end, type and
+     * property values, in column order. Converting the same input always produces the same IDs, so loads can be
+     * repeated idempotently. Neo4j allows parallel relationships with the same start, end, type and property values.
+     * Their IDs are interchangeable, so repeats are only detected within a bounded window of the most recently seen
+     * relationships: the first keeps the ID computed from its values, and each repeat in the window is given an ID
+     * computed from that ID and its occurrence ordinal. Repeats further apart than the window, or converted by
+     * different generators, are given the same ID, and are loaded as a single edge.
+     */
+    private static class HashEdgeIdGenerator implements EdgeIdGenerator {
+
+        private static final int DEFAULT_REPEAT_WINDOW = 1 << 16;
+
+        private final MessageDigest digest;
+        private final Map<UUID, int[]> recentOrdinals;
+
+        private HashEdgeIdGenerator(int repeatWindow) {
+            try {
+                this.digest = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("MD5 not supported", e);
+            }
+            this.recentOrdinals = new LinkedHashMap<UUID, int[]>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, int[]> eldest) {
+                    return size() > repeatWindow;
+                }
+            };
+        }
+
+        @Override
+        public String generateId(CSVRecord record, int firstColumnIndex) {
+
+            for (int i = firstColumnIndex; i < record.size(); i++) {
+                byte[] bytes = record.get(i).getBytes(StandardCharsets.UTF_8);
+                // Length-prefix each value so that different column splits of the same characters hash differently
+                digest.update((byte) (bytes.length >>> 24));
+                digest.update((byte) (bytes.length >>> 16));
+                digest.update((byte) (bytes.length >>> 8));
+                digest.update((byte) bytes.length);
+                digest.update(bytes);
+            }
+
+            byte[] hash = digest.digest();
+
+            int ordinal = recentOrdinals.computeIfAbsent(toUuid(hash), k -> new int[1])[0]++;
+
+            if (ordinal > 0) {
+                digest.update(hash);
+                digest.update((byte) (ordinal >>> 24));
+                digest.update((byte) (ordinal >>> 16));
+                digest.update((byte) (ordinal >>> 8));
+                digest.update((byte) ordinal);
+                hash = digest.digest();
+            }
+
+            hash[6] &= 0x0f;
+            hash[6] |= 0x30;
+            hash[8] &= 0x3f;
+            hash[8] |= 0x80;
+
+            return toUuid(hash).toString();
+        }
+
+        private static UUID toUuid(byte[] hash) {
+            long mostSigBits = 0;
+            long leastSigBits = 0;
+            for (int i = 0; i < 8; i++) {
+                mostSigBits = (mostSigBits << 8) | (hash[i] & 0xff);
+            }
+            for (int i = 8; i < 16; i++) {
+                leastSigBits = (leastSigBits << 8) | (hash[i] & 0xff);
+            }
+            return new UUID(mostSigBits, leastSigBits);
+        }
+    }
+}
@@ -16,14 +16,15 @@ import org.apache.commons.csv.CSVRecord;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.UUID;
 import java.util.function.Supplier;
 
 public class EdgeMetadata {
 
-    private static final Supplier<String> ID_GENERATOR = () -> UUID.randomUUID().toString();
-
     static EdgeMetadata parse(CSVRecord record, Supplier<String> idGenerator, PropertyValueParser parser) {
+        return parse(record, (r, firstColumnIndex) -> idGenerator.get(), parser);
+    }
+
+    public static EdgeMetadata parse(CSVRecord record, EdgeIdGenerator idGenerator, PropertyValueParser parser) {
 
         Headers headers = new Headers();
         headers.add(Token.ID);
@@ -57,17 +58,17 @@ public class EdgeMetadata {
     }
 
     public static EdgeMetadata parse(CSVRecord record, PropertyValueParser parser) {
-        return parse(record, ID_GENERATOR, parser);
+        return parse(record, EdgeIdStrategy.Random.newGenerator("", 0), parser);
     }
 
     private final Headers headers;
     private final int firstColumnIndex;
-    private final Supplier<String> idGenerator;
+    private final EdgeIdGenerator idGenerator;
     private final PropertyValueParser propertyValueParser;
 
     private EdgeMetadata(Headers headers,
                          int firstColumnIndex,
-                         Supplier<String> idGenerator,
+                         EdgeIdGenerator idGenerator,
                          PropertyValueParser parser) {
         this.headers = headers;
         this.firstColumnIndex = firstColumnIndex;
@@ -79,6 +80,14 @@ public class EdgeMetadata {
         return headers.values();
     }
 
+    public List<String> widestHeaders() {
+        return headers.widestValues();
+    }
+
+    public void mergeHeaders(EdgeMetadata other) {
+        headers.merge(other.headers);
+    }
+
     int firstColumnIndex() {
         return firstColumnIndex;
     }
@@ -102,11 +111,11 @@ public class EdgeMetadata {
             public String next() {
                 if (currentColumnIndex < firstColumnIndex) {
                     currentColumnIndex++;
-                    return idGenerator.get();
+                    return idGenerator.generateId(record, firstColumnIndex);
                 } else {
                     int headerIndex = currentColumnIndex - firstColumnIndex + 1;
                     Header header = headers.get(headerIndex);
-                    PropertyValue propertyValue = propertyValueParser.parse(record.get(currentColumnIndex));
+                    PropertyValue propertyValue = propertyValueParser.parse(record.get(currentColumnIndex), header.dataType());
                     header.updateDataType(propertyValue.dataType());
                     currentColumnIndex++;
                     return propertyValue.value();
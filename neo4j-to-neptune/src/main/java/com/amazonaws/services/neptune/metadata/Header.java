@@ -16,7 +16,14 @@ public interface Header {
 
     void updateDataType(DataType newDataType);
 
+    DataType dataType();
+
     void setIsMultiValued(boolean isMultiValued);
 
     String value();
+
+    /**
+     * The longest value this header can have once its data type has been widened as far as it can go.
+     */
+    String widestValue();
 }
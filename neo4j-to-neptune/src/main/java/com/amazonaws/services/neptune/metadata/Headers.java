@@ -28,7 +28,23 @@ class Headers {
         return headers.get(index);
     }
 
+    void merge(Headers other) {
+        if (other.headers.size() != headers.size()) {
+            throw new IllegalArgumentException("Unable to merge headers with different numbers of columns");
+        }
+        for (int i = 0; i < headers.size(); i++) {
+            Header header = headers.get(i);
+            if (header instanceof Property) {
+                ((Property) header).merge((Property) other.headers.get(i));
+            }
+        }
+    }
+
     List<String> values(){
         return headers.stream().map(Header::value).collect(Collectors.toList());
     }
+
+    List<String> widestValues(){
+        return headers.stream().map(Header::widestValue).collect(Collectors.toList());
+    }
 }
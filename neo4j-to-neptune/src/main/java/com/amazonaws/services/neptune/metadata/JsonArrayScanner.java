@@ -0,0 +1,240 @@
+/*
+Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.metadata;
+
+/**
+ * Single-pass scanner for the JSON array literals Neo4j uses to export list properties. Elements are decoded
+ * one at a time into a reusable buffer, with semicolons replaced as they are copied, and handed to an
+ * {@link ElementHandler}, without building an intermediate tree. Nested arrays and objects are not supported:
+ * a literal containing them is not treated as an array. Null elements are skipped.
+ *
+ * Instances are not thread-safe.
+ */
+class JsonArrayScanner {
+
+    interface ElementHandler {
+        void handle(String element);
+    }
+
+    private final String semicolonReplacement;
+    private final StringBuilder element = new StringBuilder();
+
+    JsonArrayScanner(String semicolonReplacement) {
+        this.semicolonReplacement = semicolonReplacement;
+    }
+
+    /**
+     * Scans the supplied literal, passing each element to the handler. Returns false if the literal is not a
+     * flat JSON array, in which case the handler may already have received some of the elements.
+     */
+    boolean scan(String s, ElementHandler handler) {
+
+        int length = s.length();
+        int index = skipWhitespace(s, 0, length);
+
+        if (index == length || s.charAt(index) != '[') {
+            return false;
+        }
+
+        index = skipWhitespace(s, index + 1, length);
+
+        if (index < length && s.charAt(index) == ']') {
+            return skipWhitespace(s, index + 1, length) == length;
+        }
+
+        while (index < length) {
+
+            element.setLength(0);
+
+            boolean isNull = false;
+            if (s.charAt(index) == '"') {
+                index = scanString(s, index + 1, length);
+            } else {
+                int start = index;
+                index = scanLiteral(s, index, length);
+                isNull = index > 0 && s.startsWith("null", start) && index - start == 4;
+            }
+
+            if (index < 0) {
+                return false;
+            }
+
+            if (handler != null && !isNull) {
+                handler.handle(element.toString());
+            }
+
+            index = skipWhitespace(s, index, length);
+
+            if (index == length) {
+                return false;
+            }
+
+            char c = s.charAt(index);
+            if (c == ']') {
+                return skipWhitespace(s, index + 1, length) == length;
+            } else if (c != ',') {
+                return false;
+            }
+
+            index = skipWhitespace(s, index + 1, length);
+        }
+
+        return false;
+    }
+
+    private int scanString(String s, int index, int length) {
+        while (index < length) {
+            char c = s.charAt(index++);
+            if (c == '"') {
+                return index;
+            } else if (c == '\\') {
+                if (index == length) {
+                    return -1;
+                }
+                char escaped = s.charAt(index++);
+                switch (escaped) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        element.append(escaped);
+                        break;
+                    case 'b':
+                        element.append('\b');
+                        break;
+                    case 'f':
+                        element.append('\f');
+                        break;
+                    case 'n':
+                        element.append('\n');
+                        break;
+                    case 'r':
+                        element.append('\r');
+                        break;
+                    case 't':
+                        element.append('\t');
+                        break;
+                    case 'u':
+                        if (index + 4 > length) {
+                            return -1;
+                        }
+                        int codePoint = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(s.charAt(index++), 16);
+                            if (digit < 0) {
+                                return -1;
+                            }
+                            codePoint = (codePoint << 4) + digit;
+                        }
+                        appendChar((char) codePoint);
+                        break;
+                    default:
+                        return -1;
+                }
+            } else if (c < ' ') {
+                return -1;
+            } else {
+                appendChar(c);
+            }
+        }
+        return -1;
+    }
+
+    private int scanLiteral(String s, int index, int length) {
+
+        int start = index;
+        while (index < length && s.charAt(index) != ',' && s.charAt(index) != ']' && !isWhitespace(s.charAt(index))) {
+            index++;
+        }
+
+        if (index == start) {
+            return -1;
+        }
+
+        element.append(s, start, index);
+
+        if (isKeyword(s, start, index) || isNumber(s, start, index)) {
+            return index;
+        }
+
+        return -1;
+    }
+
+    private void appendChar(char c) {
+        if (c == ';') {
+            element.append(semicolonReplacement);
+        } else {
+            element.append(c);
+        }
+    }
+
+    private static boolean isKeyword(String s, int start, int end) {
+        int length = end - start;
+        return (length == 4 && (s.startsWith("true", start) || s.startsWith("null", start))) ||
+                (length == 5 && s.startsWith("false", start));
+    }
+
+    private static boolean isNumber(String s, int start, int end) {
+
+        int index = start;
+
+        if (s.charAt(index) == '-') {
+            index++;
+        }
+
+        int integerStart = index;
+        index = skipDigits(s, index, end);
+        if (index == integerStart || (s.charAt(integerStart) == '0' && index - integerStart > 1)) {
+            return false;
+        }
+
+        if (index < end && s.charAt(index) == '.') {
+            int fractionStart = index + 1;
+            index = skipDigits(s, fractionStart, end);
+            if (index == fractionStart) {
+                return false;
+            }
+        }
+
+        if (index < end && (s.charAt(index) == 'e' || s.charAt(index) == 'E')) {
+            index++;
+            if (index < end && (s.charAt(index) == '+' || s.charAt(index) == '-')) {
+                index++;
+            }
+            int exponentStart = index;
+            index = skipDigits(s, exponentStart, end);
+            if (index == exponentStart) {
+                return false;
+            }
+        }
+
+        return index == end;
+    }
+
+    private static int skipDigits(String s, int index, int end) {
+        while (index < end && s.charAt(index) >= '0' && s.charAt(index) <= '9') {
+            index++;
+        }
+        return index;
+    }
+
+    private static int skipWhitespace(String s, int index, int length) {
+        while (index < length && isWhitespace(s.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+}
@@ -12,36 +12,37 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.metadata;
 
-import com.fasterxml.jackson.databind.node.ArrayNode;
-
 public enum MultiValuedRelationshipPropertyPolicy implements PropertyValueParserPolicy {
 
     LeaveAsString {
         @Override
-        public PropertyValue handleArray(String s, ArrayNode arrayNode, PropertyValueParser parser) {
+        public PropertyValue handleArray(String s, PropertyValueParser parser) {
             return parser.stringValue(s);
         }
 
         @Override
-        public void handleDuplicates(String s, ArrayNode arrayNode, PropertyValueParser parser) {
+        public void handleDuplicates(String s, PropertyValueParser parser) {
             // Do nothing
         }
     },
     Halt {
         @Override
-        public PropertyValue handleArray(String s, ArrayNode arrayNode, PropertyValueParser parser) {
-            throw new RuntimeException("Halt: found multivalued relationship property value");
+        public PropertyValue handleArray(String s, PropertyValueParser parser) {
+            if (parser.isArray(s)) {
+                throw new RuntimeException("Halt: found multivalued relationship property value");
+            }
+            return parser.stringValue(s);
         }
 
         @Override
-        public void handleDuplicates(String s, ArrayNode arrayNode, PropertyValueParser parser) {
+        public void handleDuplicates(String s, PropertyValueParser parser) {
             // Do nothing
         }
     };
 
     @Override
-    public abstract PropertyValue handleArray(String s, ArrayNode arrayNode, PropertyValueParser parser);
+    public abstract PropertyValue handleArray(String s, PropertyValueParser parser);
 
     @Override
-    public abstract void handleDuplicates(String s, ArrayNode arrayNode, PropertyValueParser parser);
+    public abstract void handleDuplicates(String s, PropertyValueParser parser);
 }
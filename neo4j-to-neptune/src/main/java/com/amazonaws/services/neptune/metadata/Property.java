@@ -27,15 +27,32 @@ public class Property implements Header {
         this.dataType = DataType.getBroadestType(dataType, newDataType);
     }
 
+    @Override
+    public DataType dataType() {
+        return dataType;
+    }
+
     @Override
     public void setIsMultiValued(boolean isMultiValued) {
         this.isMultiValued = isMultiValued;
     }
 
+    void merge(Property other) {
+        updateDataType(other.dataType);
+        if (other.isMultiValued) {
+            setIsMultiValued(true);
+        }
+    }
+
     @Override
     public String value() {
         return isMultiValued ?
                 String.format("%s%s[]", name, dataType.typeDescription()) :
                 String.format("%s%s", name, dataType.typeDescription());
     }
+
+    @Override
+    public String widestValue() {
+        return String.format("%s%s[]", name, DataType.widestTypeDescription());
+    }
 }
@@ -12,80 +12,97 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.metadata;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-
 import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * Parses Neo4j property values. Array literals are scanned with a {@link JsonArrayScanner}, and their
+ * de-duplicated elements written straight into a reusable output buffer.
+ *
+ * Instances are not thread-safe: use one parser per conversion thread.
+ */
 public class PropertyValueParser {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper();
-
     private final PropertyValueParserPolicy policy;
-    private final String semicolonReplacement;
     private final boolean inferType;
+    private final JsonArrayScanner arrayScanner;
+
+    private final JsonArrayScanner.ElementHandler arrayValueHandler = this::addArrayValue;
+    private final StringBuilder arrayValueBuilder = new StringBuilder();
+    private final Set<String> arrayValues = new HashSet<>();
+    private boolean arrayHasDuplicates;
+    private DataType arrayDataType;
 
     public PropertyValueParser(PropertyValueParserPolicy policy, String semicolonReplacement, boolean inferType) {
         this.policy = policy;
-        this.semicolonReplacement = semicolonReplacement;
         this.inferType = inferType;
+        this.arrayScanner = new JsonArrayScanner(semicolonReplacement);
     }
 
     public PropertyValue parse(String s){
+        return parse(s, DataType.None);
+    }
+
+    public PropertyValue parse(String s, DataType currentDataType){
         if (isArrayCandidate(s)){
-            try {
-                JsonNode jsonNode = MAPPER.readTree(s);
-                if (isArray(jsonNode)){
-                    return policy.handleArray(s, (ArrayNode) jsonNode, this);
-                } else {
-                    return stringValue(s);
-                }
-            } catch (JsonProcessingException e) {
-                return stringValue(s);
-            }
+            return policy.handleArray(s, this);
         } else {
-            return stringValue(s);
+            return stringValue(s, currentDataType);
         }
     }
 
-    PropertyValue parseArrayValue(String s, ArrayNode arrayNode) {
-        Set<String> values = new HashSet<>();
-        for (JsonNode node : arrayNode) {
-            values.add(format(node.textValue().replace(";", semicolonReplacement)));
+    boolean isArray(String s) {
+        return arrayScanner.scan(s, null);
+    }
+
+    PropertyValue parseArrayValue(String s) {
+
+        arrayValues.clear();
+        arrayValueBuilder.setLength(0);
+        arrayHasDuplicates = false;
+        arrayDataType = DataType.None;
+
+        if (!arrayScanner.scan(s, arrayValueHandler)) {
+            return stringValue(s);
         }
-        if (values.size() < arrayNode.size()){
-            policy.handleDuplicates(s, arrayNode, this);
+
+        if (arrayHasDuplicates){
+            policy.handleDuplicates(s, this);
         }
-        return arrayValue(values);
-    }
 
-    PropertyValue stringValue(String s){
-        DataType dataType = inferType ? DataType.identifyType(s) : DataType.None;
-        return new PropertyValue(format(s), false, dataType);
+        return new PropertyValue(arrayValueBuilder.toString(), true, arrayDataType);
     }
 
-    private PropertyValue arrayValue(Set<String> values) {
+    private void addArrayValue(String element) {
 
-        DataType dataType = DataType.None;
+        String value = format(element);
+
+        if (!arrayValues.add(value)) {
+            arrayHasDuplicates = true;
+            return;
+        }
 
-        if (inferType){
-            for (String value : values) {
-                dataType = DataType.getBroadestType(dataType, DataType.identifyType(value));
-            }
+        if (arrayValues.size() > 1) {
+            arrayValueBuilder.append(';');
         }
+        arrayValueBuilder.append(value);
 
-        return new PropertyValue(String.join(";", values), true, dataType);
+        if (inferType) {
+            arrayDataType = DataType.identifyType(value, arrayDataType);
+        }
     }
 
-    private static boolean isArrayCandidate(String s) {
-        return s.startsWith("[") && s.endsWith("]");
+    PropertyValue stringValue(String s){
+        return stringValue(s, DataType.None);
+    }
+
+    private PropertyValue stringValue(String s, DataType currentDataType){
+        DataType dataType = inferType ? DataType.identifyType(s, currentDataType) : DataType.None;
+        return new PropertyValue(format(s), false, dataType);
     }
 
-    private static boolean isArray(JsonNode jsonNode) {
-        return jsonNode.isArray();
+    private static boolean isArrayCandidate(String s) {
+        return s.startsWith("[") && s.endsWith("]");
     }
 
     private static String format(String s){
@@ -95,7 +112,7 @@ public class PropertyValueParser {
         }
 
         if (s.contains("\"") || s.contains(",") || s.contains(System.lineSeparator())){
-            s = String.format("\"%s\"", s);
+            s = "\"" + s + "\"";
         }
 
         return s;
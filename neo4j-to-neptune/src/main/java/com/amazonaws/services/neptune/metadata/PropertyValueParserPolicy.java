@@ -12,9 +12,13 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.metadata;
 
-import com.fasterxml.jackson.databind.node.ArrayNode;
-
+/**
+ * Handles values that look like array literals (begin with '[' and end with ']'). Implementations that need
+ * the elements call {@link PropertyValueParser#parseArrayValue(String)}, which falls back to a string value if
+ * the literal is not a valid array; those that only need to know whether the value is an array call
+ * {@link PropertyValueParser#isArray(String)}.
+ */
 public interface PropertyValueParserPolicy {
-    PropertyValue handleArray(String s, ArrayNode arrayNode, PropertyValueParser parser);
-    void handleDuplicates(String s, ArrayNode arrayNode, PropertyValueParser parser);
+    PropertyValue handleArray(String s, PropertyValueParser parser);
+    void handleDuplicates(String s, PropertyValueParser parser);
 }
@@ -30,6 +30,11 @@ public class Token implements Header {
         // Do nothing
     }
 
+    @Override
+    public DataType dataType() {
+        return DataType.None;
+    }
+
     @Override
     public void setIsMultiValued(boolean isMultiValued) {
         // Do nothing
@@ -39,4 +44,9 @@ public class Token implements Header {
     public String value() {
         return name;
     }
+
+    @Override
+    public String widestValue() {
+        return name;
+    }
 }
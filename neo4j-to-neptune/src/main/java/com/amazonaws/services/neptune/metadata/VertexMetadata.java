@@ -62,6 +62,14 @@ public class VertexMetadata {
         return headers.values();
     }
 
+    public List<String> widestHeaders() {
+        return headers.widestValues();
+    }
+
+    public void mergeHeaders(VertexMetadata other) {
+        headers.merge(other.headers);
+    }
+
     int lastColumnIndex() {
         return lastColumnIndex;
     }
@@ -88,7 +96,7 @@ public class VertexMetadata {
                             .filter(s -> !s.isEmpty())
                             .collect(Collectors.joining(";"));
                 } else {
-                    PropertyValue propertyValue = propertyValueParser.parse(record.get(index));
+                    PropertyValue propertyValue = propertyValueParser.parse(record.get(index), header.dataType());
                     if (propertyValue.isMultiValued()) {
                         header.setIsMultiValued(true);
                     }
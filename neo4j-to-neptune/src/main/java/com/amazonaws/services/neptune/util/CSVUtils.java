@@ -17,8 +17,11 @@ import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.csv.QuoteMode;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
@@ -35,6 +38,12 @@ public class CSVUtils {
         return CSVParser.parse(filePath, StandardCharsets.UTF_8, CSVFormat.DEFAULT);
     }
 
+    public static CSVParser newParser(InputStream inputStream) throws IOException {
+        return CSVParser.parse(
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 1 << 16),
+                CSVFormat.DEFAULT);
+    }
+
     public static CSVRecord firstRecord(String s) {
         try {
             CSVParser parser = CSVParser.parse(s, CSVFormat.DEFAULT);
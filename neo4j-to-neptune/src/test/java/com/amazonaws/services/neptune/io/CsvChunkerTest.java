@@ -0,0 +1,193 @@
+/*
+Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import com.amazonaws.services.neptune.util.CSVUtils;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CsvChunkerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldExcludeHeadersFromChunks() throws IOException {
+
+        File file = createFile("_id,name\n1,a\n2,b\n3,c\n4,d\n");
+
+        List<String> ids = readFirstColumn(CsvChunker.split(file.toPath(), 2));
+
+        assertEquals("[1, 2, 3, 4]", ids.toString());
+    }
+
+    @Test
+    public void shouldNotSplitQuotedFieldsContainingLineBreaks() throws IOException {
+
+        StringBuilder builder = new StringBuilder("_id,description\n");
+        for (int i = 0; i < 100; i++) {
+            builder.append(i).append(",\"line one\nline \"\"two\"\"\nline three\"\n");
+        }
+        File file = createFile(builder.toString());
+
+        List<CsvChunk> chunks = CsvChunker.split(file.toPath(), 7);
+
+        assertTrue(chunks.size() > 1);
+        assertTrue(chunks.size() <= 7);
+
+        List<String> ids = new ArrayList<>();
+        for (CsvChunk chunk : chunks) {
+            try (CSVParser parser = chunk.newParser()) {
+                for (CSVRecord record : parser) {
+                    ids.add(record.get(0));
+                    assertEquals("line one\nline \"two\"\nline three", record.get(1));
+                }
+            }
+        }
+
+        assertEquals(100, ids.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(String.valueOf(i), ids.get(i));
+        }
+    }
+
+    @Test
+    public void shouldCreateContiguousChunks() throws IOException {
+
+        StringBuilder builder = new StringBuilder("_id,name\n");
+        for (int i = 0; i < 1000; i++) {
+            builder.append(i).append(",name-").append(i).append("\n");
+        }
+        File file = createFile(builder.toString());
+
+        List<CsvChunk> chunks = CsvChunker.split(file.toPath(), 4);
+
+        assertEquals(4, chunks.size());
+        assertEquals("_id,name\n".length(), chunks.get(0).start());
+        for (int i = 1; i < chunks.size(); i++) {
+            assertEquals(chunks.get(i - 1).end(), chunks.get(i).start());
+        }
+        assertEquals(file.length(), chunks.get(chunks.size() - 1).end());
+        assertEquals(1000, readFirstColumn(chunks).size());
+    }
+
+    @Test
+    public void shouldReturnNoChunksForHeadersOnlyFile() throws IOException {
+
+        File file = createFile("_id,name\n");
+
+        assertTrue(CsvChunker.split(file.toPath(), 4).isEmpty());
+    }
+
+    @Test
+    public void shouldIncludeLastRecordWithoutTrailingLineBreak() throws IOException {
+
+        File file = createFile("_id,name\n1,a\n2,b");
+
+        assertEquals("[1, 2]", readFirstColumn(CsvChunker.split(file.toPath(), 3)).toString());
+    }
+
+    @Test
+    public void shouldProduceSameRecordsAsSerialParseWhereverOffsetsFall() throws IOException {
+
+        StringBuilder builder = new StringBuilder("_id,name,description\n");
+        for (int i = 0; i < 300; i++) {
+            builder.append(i).append(',');
+            if (i % 3 == 0) {
+                builder.append("\"name, ").append(i).append("\",\"line one\nline \"\"two\"\"\",\"\"\n");
+            } else if (i % 3 == 1) {
+                builder.append("name-").append(i).append(",\"\"\"quoted\"\"\nwith\n\nbreaks\"\n");
+            } else {
+                builder.append("name-").append(i).append(",plain\n");
+            }
+        }
+        File file = createFile(builder.toString());
+
+        List<List<String>> expected = new ArrayList<>();
+        try (CSVParser parser = CSVUtils.newParser(file)) {
+            for (CSVRecord record : parser) {
+                expected.add(values(record));
+            }
+        }
+        expected.remove(0);
+
+        for (int detectionWindow : new int[]{1, 8, 64, 1 << 16}) {
+            for (int chunkCount = 1; chunkCount <= 32; chunkCount++) {
+                List<List<String>> actual = new ArrayList<>();
+                for (CsvChunk chunk : CsvChunker.split(file.toPath(), chunkCount, detectionWindow)) {
+                    try (CSVParser parser = chunk.newParser()) {
+                        for (CSVRecord record : parser) {
+                            actual.add(values(record));
+                        }
+                    }
+                }
+                assertEquals(String.format("%s chunks, window %s", chunkCount, detectionWindow), expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void shouldCarryQuoteStateAcrossOffsetsThatCannotBeDetected() throws IOException {
+
+        StringBuilder builder = new StringBuilder("_id,description\n");
+        for (int i = 0; i < 10; i++) {
+            builder.append(i).append(",\"");
+            for (int line = 0; line < 50; line++) {
+                builder.append("unquoted looking line ").append(line).append('\n');
+            }
+            builder.append("\"\n");
+        }
+        File file = createFile(builder.toString());
+
+        List<CsvChunk> chunks = CsvChunker.split(file.toPath(), 20, 16);
+
+        assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]", readFirstColumn(chunks).toString());
+    }
+
+    private File createFile(String contents) throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<String> values(CSVRecord record) {
+        List<String> values = new ArrayList<>();
+        record.forEach(values::add);
+        return values;
+    }
+
+    private static List<String> readFirstColumn(List<CsvChunk> chunks) throws IOException {
+        List<String> values = new ArrayList<>();
+        for (CsvChunk chunk : chunks) {
+            try (CSVParser parser = chunk.newParser()) {
+                for (CSVRecord record : parser) {
+                    values.add(record.get(0));
+                }
+            }
+        }
+        return values;
+    }
+}
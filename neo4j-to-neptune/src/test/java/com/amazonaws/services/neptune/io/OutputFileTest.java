@@ -0,0 +1,153 @@
+/*
+Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class OutputFileTest {
+
+    private static final List<String> WIDEST_HEADERS = Arrays.asList("~id", "~label", "name:string[]");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldPrintHeadersBeforeRecords() throws Exception {
+
+        Directories directories = Directories.createFor(folder.getRoot());
+
+        try (OutputFile outputFile = new OutputFile(directories, "vertices", 1, false, WIDEST_HEADERS)) {
+            outputFile.printRecord(Arrays.asList("1", "Person", "Alice"));
+            outputFile.printRecord(Arrays.asList("2", "Person", "Bob"));
+            outputFile.printHeaders(WIDEST_HEADERS);
+        }
+
+        assertEquals(
+                Arrays.asList("~id,~label,name:string[]", "1,Person,Alice", "2,Person,Bob"),
+                readLines(directories.outputDirectory().resolve("vertices-1.csv")));
+        assertEquals(Arrays.asList("vertices-1.csv"), listFiles(directories));
+    }
+
+    @Test
+    public void shouldPadNarrowerHeadersWithBlankLines() throws Exception {
+
+        Directories directories = Directories.createFor(folder.getRoot());
+
+        try (OutputFile outputFile = new OutputFile(directories, "vertices", 1, false, WIDEST_HEADERS)) {
+            outputFile.printRecord(Arrays.asList("1", "Person", "Alice"));
+            outputFile.printHeaders(Arrays.asList("~id", "~label", "name"));
+            outputFile.printRecord(Arrays.asList("2", "Person", "Bob"));
+        }
+
+        List<String> lines = readLines(directories.outputDirectory().resolve("vertices-1.csv"));
+
+        assertEquals("~id,~label,name", lines.get(0));
+        assertEquals(
+                Arrays.asList("1,Person,Alice", "2,Person,Bob"),
+                lines.stream().skip(1).filter(line -> !line.isEmpty()).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("vertices-1.csv"), listFiles(directories));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowExceptionIfHeadersExceedReservedRegion() throws Exception {
+
+        Directories directories = Directories.createFor(folder.getRoot());
+
+        try (OutputFile outputFile = new OutputFile(directories, "vertices", 1, false, Arrays.asList("~id", "~label"))) {
+            outputFile.printRecord(Arrays.asList("1", "Person"));
+            outputFile.printHeaders(WIDEST_HEADERS);
+        }
+    }
+
+    @Test
+    public void shouldKeepRecordsIfHeadersAreNeverPrinted() throws Exception {
+
+        Directories directories = Directories.createFor(folder.getRoot());
+
+        try (OutputFile outputFile = new OutputFile(directories, "edges")) {
+            outputFile.printRecord(Arrays.asList("e1", "1", "2", "KNOWS"));
+        }
+
+        assertEquals(
+                Arrays.asList("e1,1,2,KNOWS"),
+                readLines(directories.outputDirectory().resolve("edges.csv")));
+        assertEquals(Arrays.asList("edges.csv"), listFiles(directories));
+    }
+
+    @Test
+    public void shouldDeleteRecordsOnAbort() throws Exception {
+
+        Directories directories = Directories.createFor(folder.getRoot());
+
+        OutputFile uncompressed = new OutputFile(directories, "vertices", 1, false, WIDEST_HEADERS);
+        uncompressed.printRecord(Arrays.asList("1", "Person", "Alice"));
+
+        OutputFile compressed = new OutputFile(directories, "vertices", 2, true, WIDEST_HEADERS);
+        compressed.printRecord(Arrays.asList("2", "Person", "Bob"));
+
+        uncompressed.abort();
+        compressed.abort();
+        uncompressed.close();
+        compressed.close();
+
+        assertEquals(Collections.emptyList(), listFiles(directories));
+    }
+
+    @Test
+    public void shouldWriteCompressedFileWithHeadersBeforeRecords() throws Exception {
+
+        Directories directories = Directories.createFor(folder.getRoot());
+
+        OutputFile outputFile = new OutputFile(directories, "vertices", 0, true, WIDEST_HEADERS);
+        outputFile.printRecord(Arrays.asList("1", "Person", "Alice"));
+        outputFile.printRecord(Arrays.asList("2", "Person", "Bob"));
+        outputFile.printHeaders(Arrays.asList("~id", "~label", "name:string"));
+        outputFile.close();
+
+        Path path = directories.outputDirectory().resolve("vertices-0.csv.gz");
+        assertEquals(path, outputFile.path());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(path))))) {
+            assertEquals(
+                    Arrays.asList("~id,~label,name:string", "1,Person,Alice", "2,Person,Bob"),
+                    reader.lines().collect(Collectors.toList()));
+        }
+        assertEquals(Arrays.asList("vertices-0.csv.gz"), listFiles(directories));
+    }
+
+    private static List<String> readLines(Path path) throws IOException {
+        return Files.readAllLines(path);
+    }
+
+    private static List<String> listFiles(Directories directories) throws IOException {
+        try (Stream<Path> paths = Files.list(directories.outputDirectory())) {
+            return paths.map(Path::getFileName).map(Path::toString).sorted().collect(Collectors.toList());
+        }
+    }
+}
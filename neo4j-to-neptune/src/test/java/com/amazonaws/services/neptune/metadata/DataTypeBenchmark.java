@@ -0,0 +1,101 @@
+/*
+Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.metadata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares lexical type inference with the previous parse-and-catch classification on a mixed corpus of
+ * the kinds of values found in Neo4j exports. Not a unit test: after mvn test-compile, run its main method
+ * with target/test-classes, target/classes and the module's dependencies on the classpath.
+ */
+public class DataTypeBenchmark {
+
+    private static final int VALUES = 100_000;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) {
+
+        List<String> values = corpus(new Random(42));
+
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += classifyParseBased(values) + classifyLexically(values);
+        }
+
+        long parseBasedNanos = 0;
+        long lexicalNanos = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            sink += classifyParseBased(values);
+            parseBasedNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sink += classifyLexically(values);
+            lexicalNanos += System.nanoTime() - start;
+        }
+
+        System.out.printf("Values per round : %d%n", values.size());
+        System.out.printf("Parse-based      : %.1f ms per round%n", parseBasedNanos / 1e6 / MEASURED_ROUNDS);
+        System.out.printf("Lexical          : %.1f ms per round%n", lexicalNanos / 1e6 / MEASURED_ROUNDS);
+        System.out.printf("(checksum %d)%n", sink);
+    }
+
+    private static long classifyParseBased(List<String> values) {
+        long ordinals = 0;
+        for (String value : values) {
+            ordinals += DataTypeTest.parseBasedIdentifyType(value).ordinal();
+        }
+        return ordinals;
+    }
+
+    private static long classifyLexically(List<String> values) {
+        long ordinals = 0;
+        for (String value : values) {
+            ordinals += DataType.identifyType(value).ordinal();
+        }
+        return ordinals;
+    }
+
+    private static List<String> corpus(Random random) {
+        String[] names = {"Alice", "Bob", "Keanu Reeves", "The Matrix", "London", "555-1234", "N/A", "Person"};
+        List<String> values = new ArrayList<>(VALUES);
+        for (int i = 0; i < VALUES; i++) {
+            switch (i % 6) {
+                case 0:
+                    values.add(names[random.nextInt(names.length)]);
+                    break;
+                case 1:
+                    values.add(String.valueOf(random.nextInt(100000)));
+                    break;
+                case 2:
+                    values.add(String.valueOf(random.nextDouble() * 1000));
+                    break;
+                case 3:
+                    values.add(String.format("20%02d-%02d-%02dT%02d:%02d:%02dZ", random.nextInt(25),
+                            1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24),
+                            random.nextInt(60), random.nextInt(60)));
+                    break;
+                case 4:
+                    values.add(random.nextBoolean() ? "true" : "false");
+                    break;
+                default:
+                    values.add(String.valueOf(random.nextLong()));
+            }
+        }
+        return values;
+    }
+}
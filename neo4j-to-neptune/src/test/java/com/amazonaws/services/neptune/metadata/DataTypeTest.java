@@ -12,8 +12,12 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.metadata;
 
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 
@@ -219,5 +223,77 @@ public class DataTypeTest {
         assertEquals(DataType.String, DataType.getBroadestType(DataType.String, DataType.String));
     }
 
+    @Test
+    public void shouldIdentifySameTypesAsParseBasedClassification() {
+
+        List<String> values = Arrays.asList(
+                "", " ", "true", "FALSE", "True ", "yes",
+                "0", "-0", "+0", "007", "+127", "-128", "128", "-", "+", "--1", "1-",
+                "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+                "09223372036854775807", "123456789012345678901234567890",
+                "1.5", ".5", "5.", ".", "1e10", "1E-10", "1e", "1e+", "1.5f", "2D", "1x", " 12 ", "\t3.0\n",
+                "NaN", "-Infinity", "+NaN", "NaNx", "Infinityf", "0x1p3", "0X1.8P-1", "0x.8p1d", "0x1", "0xp1",
+                "2015-06-24T12:50:35.556+01:00", "2015-07-04T19:32:24", "1984-10-11", "1984-13-11", "2015-W01",
+                "2015-001", "T12:50", "12:50:35.556+01:00", "P14DT16H12M", "01:42:19Z", "2015-06-24t12:50z",
+                "555-1234", "2020-13-45", "2019-02-29", "2020-02-29", "2020-W53", "2021-W53", "2020-366", "T24:00",
+                "Person", "[1,2,3]", "a,b", "\u0661\u0662");
+
+        for (String value : values) {
+            assertEquals(value, parseBasedIdentifyType(value), DataType.identifyType(value));
+        }
+    }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldSkipClassificationOnceTypeIsString() {
+        assertEquals(DataType.String, DataType.identifyType("1", DataType.String));
+        assertEquals(DataType.Short, DataType.identifyType("1", DataType.Short));
+        assertEquals(DataType.Double, DataType.identifyType("1", DataType.Double));
+        assertEquals(DataType.String, DataType.identifyType("true", DataType.Int));
+        assertEquals(DataType.Int, DataType.identifyType("", DataType.Int));
+    }
+
+    static DataType parseBasedIdentifyType(String s) {
+        if (s.equalsIgnoreCase("true") || s.equalsIgnoreCase("false")) {
+            return DataType.Boolean;
+        }
+        try {
+            Byte.parseByte(s);
+            return DataType.Byte;
+        } catch (NumberFormatException e) {
+            // Try next type
+        }
+        try {
+            Short.parseShort(s);
+            return DataType.Short;
+        } catch (NumberFormatException e) {
+            // Try next type
+        }
+        try {
+            Integer.parseInt(s);
+            return DataType.Int;
+        } catch (NumberFormatException e) {
+            // Try next type
+        }
+        try {
+            Long.parseLong(s);
+            return DataType.Long;
+        } catch (NumberFormatException e) {
+            // Try next type
+        }
+        try {
+            Double.parseDouble(s);
+            return DataType.Double;
+        } catch (NumberFormatException e) {
+            // Try next type
+        }
+        if (StringUtils.isEmpty(s)) {
+            return DataType.None;
+        }
+        try {
+            DateTimeUtils.parseISODate(s);
+            return DataType.Date;
+        } catch (Exception e) {
+            return DataType.String;
+        }
+    }
+}
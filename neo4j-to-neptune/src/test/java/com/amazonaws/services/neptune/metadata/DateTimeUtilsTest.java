@@ -0,0 +1,108 @@
+/*
+Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.metadata;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DateTimeUtilsTest {
+
+    private static final String[] TEMPLATES = {
+            "dddd-dd-dd", "dddd-Wdd-d", "dddd-ddd", "dddd-dd-ddTdd:dd:dd.dddZ", "Tdd:dd", "dddd-dd-ddTdd:dd+dd:dd",
+            "dddd-dd-ddTdd:dd:dd,ddd-dddd", "dd-dd", "dddd-dd-ddT", "dddd-dd-ddTZ", "-dddd-dd-dd", "dddd-Wdd",
+            "dddd-dd-ddTdd.ddd", "dddd-dd-ddTdd:dd.d+dd:dd:dd.ddd", "Tdd+dddddd", "dddddddddd-dd"};
+
+    private static final String ALPHABET = "0123456789-+:.,TtWwZz";
+
+    @Test
+    public void shouldRejectInvalidDates() {
+        assertFalse(DateTimeUtils.isISODate("555-1234"));
+        assertFalse(DateTimeUtils.isISODate("2020-13-45"));
+        assertFalse(DateTimeUtils.isISODate("2019-02-29"));
+        assertFalse(DateTimeUtils.isISODate("2021-W53"));
+        assertFalse(DateTimeUtils.isISODate("2019-366"));
+        assertFalse(DateTimeUtils.isISODate("2020-01-01T24:00"));
+        assertFalse(DateTimeUtils.isISODate("2020-01-01T10:00+24:00"));
+        assertFalse(DateTimeUtils.isISODate("2020-01-01T10:00:00.1234567890"));
+        assertFalse(DateTimeUtils.isISODate("Person"));
+        assertFalse(DateTimeUtils.isISODate(""));
+        assertFalse(DateTimeUtils.isISODate(null));
+    }
+
+    @Test
+    public void shouldAcceptValidDates() {
+        assertTrue(DateTimeUtils.isISODate("2020-02-29"));
+        assertTrue(DateTimeUtils.isISODate("2020-W53-7"));
+        assertTrue(DateTimeUtils.isISODate("2020-366"));
+        assertTrue(DateTimeUtils.isISODate("2015-06-24t12:50:35,556z"));
+        assertTrue(DateTimeUtils.isISODate("-0044-03-15"));
+        assertTrue(DateTimeUtils.isISODate("T12:50+0130"));
+        assertTrue(DateTimeUtils.isISODate("2020-1-5T1"));
+    }
+
+    @Test
+    public void shouldAgreeWithJodaParser() {
+
+        Random random = new Random(42);
+        int dates = 0;
+
+        for (int n = 0; n < 50000; n++) {
+            String value = random.nextBoolean() ? randomValue(random) : templateValue(random);
+            boolean parses = parses(value);
+            assertEquals(value, parses, DateTimeUtils.isISODate(value));
+            if (parses) {
+                dates++;
+            }
+        }
+
+        assertTrue(dates > 1000);
+    }
+
+    private static String randomValue(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = 1 + random.nextInt(16);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+
+    private static String templateValue(Random random) {
+        StringBuilder builder = new StringBuilder();
+        for (char c : TEMPLATES[random.nextInt(TEMPLATES.length)].toCharArray()) {
+            if (c == 'd') {
+                // Skew towards low digits, so that many generated fields are in range
+                if (random.nextInt(30) != 0) {
+                    builder.append((char) ('0' + (random.nextInt(3) == 0 ? random.nextInt(3) : random.nextInt(10))));
+                }
+            } else if (random.nextInt(40) == 0) {
+                builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static boolean parses(String value) {
+        try {
+            DateTimeUtils.parseISODate(value);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
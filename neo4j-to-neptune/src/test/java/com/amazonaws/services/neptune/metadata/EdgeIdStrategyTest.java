@@ -0,0 +1,137 @@
+/*
+Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.metadata;
+
+import com.amazonaws.services.neptune.util.CSVUtils;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.*;
+
+public class EdgeIdStrategyTest {
+
+    private static final CSVRecord EDGE_RECORD = CSVUtils.firstRecord(",,,,,,\"1\",\"2\",\"KNOWS\",\"10\",\"12345\"");
+    private static final int FIRST_COLUMN_INDEX = 6;
+
+    @Test
+    public void shouldGenerateSameHashIdForSameRelationship() {
+
+        String id1 = EdgeIdStrategy.Hash.newGenerator("", 0).generateId(EDGE_RECORD, FIRST_COLUMN_INDEX);
+        String id2 = EdgeIdStrategy.Hash.newGenerator("", 1).generateId(EDGE_RECORD, FIRST_COLUMN_INDEX);
+
+        assertEquals(id1, id2);
+        assertEquals(3, UUID.fromString(id1).version());
+    }
+
+    @Test
+    public void shouldGenerateDifferentHashIdsForDifferentRelationships() {
+
+        EdgeIdGenerator generator = EdgeIdStrategy.Hash.newGenerator("", 0);
+
+        CSVRecord differentProperty = CSVUtils.firstRecord(",,,,,,\"1\",\"2\",\"KNOWS\",\"11\",\"12345\"");
+        CSVRecord differentColumnSplit = CSVUtils.firstRecord(",,,,,,\"1\",\"2\",\"KNOWS\",\"101\",\"2345\"");
+
+        String id = generator.generateId(EDGE_RECORD, FIRST_COLUMN_INDEX);
+
+        assertNotEquals(id, generator.generateId(differentProperty, FIRST_COLUMN_INDEX));
+        assertNotEquals(id, generator.generateId(differentColumnSplit, FIRST_COLUMN_INDEX));
+    }
+
+    @Test
+    public void shouldGenerateDifferentHashIdsForParallelRelationships() {
+
+        EdgeIdGenerator generator = EdgeIdStrategy.Hash.newGenerator("", 0);
+
+        Set<String> ids = new HashSet<>();
+        ids.add(generator.generateId(EDGE_RECORD, FIRST_COLUMN_INDEX));
+        ids.add(generator.generateId(EDGE_RECORD, FIRST_COLUMN_INDEX));
+        ids.add(generator.generateId(EDGE_RECORD, FIRST_COLUMN_INDEX));
+
+        assertEquals(3, ids.size());
+
+        // The first occurrence keeps the ID computed from the relationship's values
+        assertTrue(ids.contains(EdgeIdStrategy.Hash.newGenerator("", 1).generateId(EDGE_RECORD, FIRST_COLUMN_INDEX)));
+    }
+
+    @Test
+    public void shouldOnlyDetectParallelRelationshipsWithinRepeatWindow() {
+
+        EdgeIdGenerator generator = EdgeIdStrategy.newHashGenerator(2);
+
+        CSVRecord other1 = CSVUtils.firstRecord(",,,,,,\"1\",\"3\",\"KNOWS\",\"10\",\"12345\"");
+        CSVRecord other2 = CSVUtils.firstRecord(",,,,,,\"1\",\"4\",\"KNOWS\",\"10\",\"12345\"");
+
+        String first = generator.generateId(EDGE_RECORD, FIRST_COLUMN_INDEX);
+        generator.generateId(other1, FIRST_COLUMN_INDEX);
+        String repeat = generator.generateId(EDGE_RECORD, FIRST_COLUMN_INDEX);
+        generator.generateId(other1, FIRST_COLUMN_INDEX);
+        generator.generateId(other2, FIRST_COLUMN_INDEX);
+        String repeatOutsideWindow = generator.generateId(EDGE_RECORD, FIRST_COLUMN_INDEX);
+
+        assertNotEquals(first, repeat);
+        assertEquals(first, repeatOutsideWindow);
+    }
+
+    @Test
+    public void shouldGenerateSameHashIdsForParallelRelationshipsWhenConvertedAgain() {
+
+        EdgeIdGenerator generator1 = EdgeIdStrategy.Hash.generatorsFor("").apply(0);
+        EdgeIdGenerator generator2 = EdgeIdStrategy.Hash.generatorsFor("").apply(0);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(generator1.generateId(EDGE_RECORD, FIRST_COLUMN_INDEX),
+                    generator2.generateId(EDGE_RECORD, FIRST_COLUMN_INDEX));
+        }
+    }
+
+    @Test
+    public void shouldGenerateUniqueHashIdsForManyRelationships() {
+
+        EdgeIdGenerator generator = EdgeIdStrategy.Hash.newGenerator("", 0);
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            CSVRecord record = CSVUtils.firstRecord(",,,,,,\"" + (i % 100) + "\",\"2\",\"KNOWS\",\"10\",\"12345\"");
+            ids.add(generator.generateId(record, FIRST_COLUMN_INDEX));
+        }
+
+        assertEquals(5000, ids.size());
+    }
+
+    @Test
+    public void shouldGenerateSequentialCounterIdsWithPrefixAndGeneratorIndex() {
+
+        EdgeIdGenerator generator = EdgeIdStrategy.Counter.newGenerator("edge-", 3);
+
+        assertEquals("edge-3-1", generator.generateId(EDGE_RECORD, FIRST_COLUMN_INDEX));
+        assertEquals("edge-3-2", generator.generateId(EDGE_RECORD, FIRST_COLUMN_INDEX));
+    }
+
+    @Test
+    public void shouldGenerateRandomVersion4Uuids() {
+
+        EdgeIdGenerator generator = EdgeIdStrategy.Random.newGenerator("", 0);
+
+        String id1 = generator.generateId(EDGE_RECORD, FIRST_COLUMN_INDEX);
+        String id2 = generator.generateId(EDGE_RECORD, FIRST_COLUMN_INDEX);
+
+        assertNotEquals(id1, id2);
+        assertEquals(4, UUID.fromString(id1).version());
+        assertEquals(2, UUID.fromString(id1).variant());
+    }
+}
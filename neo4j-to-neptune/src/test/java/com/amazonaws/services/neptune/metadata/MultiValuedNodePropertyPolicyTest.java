@@ -52,7 +52,7 @@ public class MultiValuedNodePropertyPolicyTest {
         PropertyValueParser parser = new PropertyValueParser(MultiValuedNodePropertyPolicy.PutInSetIgnoringDuplicates, "", false);
         PropertyValue propertyValue = parser.parse(value);
 
-        assertEquals("electronics;toy;gifts", propertyValue.value());
+        assertEquals("toy;electronics;gifts", propertyValue.value());
         assertTrue(propertyValue.isMultiValued());
     }
 
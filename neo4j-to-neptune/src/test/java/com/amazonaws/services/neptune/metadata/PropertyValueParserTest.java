@@ -54,4 +54,55 @@ public class PropertyValueParserTest {
         assertTrue(propertyValue.isMultiValued());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldRemoveDuplicatesFromMultiValuePropertiesPreservingOrderOfFirstOccurrence() {
+        String originalValue = "[\"b\", \"a\", \"b\", \"c\", \"a\"]";
+        PropertyValue propertyValue = new PropertyValueParser(MultiValuedNodePropertyPolicy.PutInSetIgnoringDuplicates, "", false).parse(originalValue);
+
+        assertEquals("b;a;c", propertyValue.value());
+        assertTrue(propertyValue.isMultiValued());
+    }
+
+    @Test
+    public void shouldDecodeEscapedCharactersInMultiValueProperties() {
+        String originalValue = "[\"say \\\"hi\\\"\",\"a,b\",\"caf\\u00e9\"]";
+        PropertyValue propertyValue = new PropertyValueParser(MultiValuedNodePropertyPolicy.PutInSetIgnoringDuplicates, "", false).parse(originalValue);
+
+        assertEquals("\"say \"\"hi\"\"\";\"a,b\";caf\u00e9", propertyValue.value());
+        assertTrue(propertyValue.isMultiValued());
+    }
+
+    @Test
+    public void shouldParseNumericMultiValueProperties() {
+        String originalValue = "[1, 2, 300, null]";
+        PropertyValue propertyValue = new PropertyValueParser(MultiValuedNodePropertyPolicy.PutInSetIgnoringDuplicates, "", true).parse(originalValue);
+
+        assertEquals("1;2;300", propertyValue.value());
+        assertTrue(propertyValue.isMultiValued());
+        assertEquals(DataType.Short, propertyValue.dataType());
+    }
+
+    @Test
+    public void shouldTreatInvalidArrayLiteralsAsStrings() {
+        for (String originalValue : new String[]{"[abc]", "[\"a\",]", "[\"a\" \"b\"]", "[[\"a\"]]", "[01]", "[\"a]"}) {
+            PropertyValue propertyValue = new PropertyValueParser(MultiValuedNodePropertyPolicy.PutInSetIgnoringDuplicates, "", false).parse(originalValue);
+            assertFalse(originalValue, propertyValue.isMultiValued());
+        }
+    }
+
+    @Test
+    public void shouldNotHaltForInvalidArrayLiterals() {
+        PropertyValue propertyValue = new PropertyValueParser(MultiValuedNodePropertyPolicy.Halt, "", false).parse("[not an array]");
+
+        assertEquals("[not an array]", propertyValue.value());
+        assertFalse(propertyValue.isMultiValued());
+    }
+
+    @Test
+    public void shouldParseEmptyArray() {
+        PropertyValue propertyValue = new PropertyValueParser(MultiValuedNodePropertyPolicy.PutInSetIgnoringDuplicates, "", false).parse("[ ]");
+
+        assertEquals("", propertyValue.value());
+        assertTrue(propertyValue.isMultiValued());
+    }
+}
@@ -69,6 +69,9 @@ public class ExportPropertyGraph extends NeptuneExportBaseCommand implements Run
     @Inject
     private PropertyGraphSerializationModule serialization = new PropertyGraphSerializationModule();
 
+    @Inject
+    private PropertyGraphMemoryModule memory = new PropertyGraphMemoryModule();
+
     @Inject
     private PropertyGraphRangeModule range = new PropertyGraphRangeModule();
 
@@ -88,7 +91,10 @@ public class ExportPropertyGraph extends NeptuneExportBaseCommand implements Run
                     Directories directories = target.createDirectories(DirectoryStructure.PropertyGraph);
                     JsonResource<GraphSchema> configFileResource = directories.configFileResource();
 
-                    PropertyGraphTargetConfig targetConfig = target.config(directories, printerOptions.config());
+                    PropertyGraphTargetConfig targetConfig = target.config(
+                            directories,
+                            printerOptions.config(profiles()),
+                            memory.governor(clusterStrategy.concurrencyConfig(), serialization.config()));
 
                     GraphSchema graphSchema = graphSchemaProvider.graphSchema();
                     ExportStats stats = new ExportStats();
@@ -104,7 +110,8 @@ public class ExportPropertyGraph extends NeptuneExportBaseCommand implements Run
                                 g,
                                 range.config(),
                                 clusterStrategy.concurrencyConfig(),
-                                targetConfig);
+                                targetConfig,
+                                outputFileListener(directories));
 
                         graphSchema = exportJob.execute();
 
@@ -61,6 +61,9 @@ public class ExportPropertyGraphFromConfig extends NeptuneExportBaseCommand impl
     @Inject
     private PropertyGraphSerializationModule serialization = new PropertyGraphSerializationModule();
 
+    @Inject
+    private PropertyGraphMemoryModule memory = new PropertyGraphMemoryModule();
+
     @Inject
     private PropertyGraphRangeModule range = new PropertyGraphRangeModule();
 
@@ -80,7 +83,10 @@ public class ExportPropertyGraphFromConfig extends NeptuneExportBaseCommand impl
                     Directories directories = target.createDirectories(DirectoryStructure.PropertyGraph);
                     JsonResource<GraphSchema> configFileResource = directories.configFileResource();
 
-                    PropertyGraphTargetConfig targetConfig = target.config(directories, printerOptions.config());
+                    PropertyGraphTargetConfig targetConfig = target.config(
+                            directories,
+                            printerOptions.config(profiles()),
+                            memory.governor(clusterStrategy.concurrencyConfig(), serialization.config()));
 
                     GraphSchema graphSchema = graphSchemaProvider.graphSchema();
                     ExportStats stats = new ExportStats();
@@ -96,7 +102,8 @@ public class ExportPropertyGraphFromConfig extends NeptuneExportBaseCommand impl
                                 g,
                                 range.config(),
                                 clusterStrategy.concurrencyConfig(),
-                                targetConfig);
+                                targetConfig,
+                                outputFileListener(directories));
 
                         graphSchema = exportJob.execute();
 
@@ -14,9 +14,9 @@ package com.amazonaws.services.neptune;
 
 import com.amazonaws.services.neptune.cli.CloneClusterModule;
 import com.amazonaws.services.neptune.cli.CommonConnectionModule;
+import com.amazonaws.services.neptune.cli.RdfConcurrencyModule;
 import com.amazonaws.services.neptune.cli.RdfTargetModule;
 import com.amazonaws.services.neptune.cluster.ClusterStrategy;
-import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
 import com.amazonaws.services.neptune.io.Directories;
 import com.amazonaws.services.neptune.io.DirectoryStructure;
 import com.amazonaws.services.neptune.propertygraph.ExportStats;
@@ -48,18 +48,21 @@ public class ExportRdfGraph extends NeptuneExportBaseCommand implements Runnable
     @Inject
     private RdfTargetModule target = new RdfTargetModule();
 
+    @Inject
+    private RdfConcurrencyModule concurrency = new RdfConcurrencyModule();
+
     @Override
     public void run() {
 
         try {
             Timer.timedActivity("exporting property graph from queries", (CheckedActivity.Runnable) () -> {
-                try (ClusterStrategy clusterStrategy = cloneStrategy.cloneCluster(connection.config(), new ConcurrencyConfig(1))) {
+                try (ClusterStrategy clusterStrategy = cloneStrategy.cloneCluster(connection.config(), concurrency.config())) {
 
                     Directories directories = target.createDirectories(DirectoryStructure.Rdf);
 
-                    try (NeptuneSparqlClient client = NeptuneSparqlClient.create(clusterStrategy.connectionConfig())) {
+                    try (NeptuneSparqlClient client = NeptuneSparqlClient.create(clusterStrategy.connectionConfig(), concurrency.config())) {
 
-                        ExportRdfGraphJob job = new ExportRdfGraphJob(client, target.config(directories));
+                        ExportRdfGraphJob job = new ExportRdfGraphJob(client, target.config(directories), concurrency.config());
                         job.execute();
                     }
 
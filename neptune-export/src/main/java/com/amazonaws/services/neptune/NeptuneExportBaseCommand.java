@@ -18,6 +18,9 @@ import com.amazonaws.services.neptune.cli.LabModeModule;
 import com.amazonaws.services.neptune.cli.ProfilesModule;
 import com.amazonaws.services.neptune.export.LabModeFeatures;
 import com.amazonaws.services.neptune.export.NeptuneExportEventHandler;
+import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.OutputFileListener;
+import com.amazonaws.services.neptune.profiles.ProfilesConfig;
 import com.amazonaws.services.neptune.propertygraph.ExportStats;
 import com.amazonaws.services.neptune.propertygraph.schema.GraphSchema;
 import com.github.rvesse.airline.annotations.Option;
@@ -26,6 +29,7 @@ import com.github.rvesse.airline.annotations.restrictions.Once;
 import org.apache.tinkerpop.gremlin.process.remote.RemoteConnectionException;
 
 import javax.inject.Inject;
+import java.io.File;
 import java.nio.file.Path;
 import java.util.Collection;
 
@@ -63,6 +67,15 @@ public abstract class NeptuneExportBaseCommand implements NeptuneExportEventHand
         eventHandler.onExportComplete(outputPath, stats);
     }
 
+    public void onExportFileComplete(Path outputPath, File file) {
+        eventHandler.onExportFileComplete(outputPath, file);
+    }
+
+    OutputFileListener outputFileListener(Directories directories) {
+        Path outputPath = directories.rootDirectory();
+        return file -> onExportFileComplete(outputPath, file);
+    }
+
     void handleException(Throwable e) {
         if (e.getCause() != null && RemoteConnectionException.class.isAssignableFrom(e.getCause().getClass())) {
             e.printStackTrace();
@@ -78,4 +91,8 @@ public abstract class NeptuneExportBaseCommand implements NeptuneExportEventHand
     LabModeFeatures labModeFeatures() {
         return labModeModule.labFeatures();
     }
+
+    ProfilesConfig profiles() {
+        return profilesModule.config();
+    }
 }
@@ -27,6 +27,7 @@ import com.github.rvesse.airline.help.Help;
                 ExportPropertyGraphFromConfig.class,
                 ExportPropertyGraphFromGremlinQueries.class,
                 ExportRdfGraph.class,
+                SyncPropertyGraphFromStreams.class,
                 RunNeptuneExportSvc.class,
                 GetClusterInfo.class,
                 AddClone.class,
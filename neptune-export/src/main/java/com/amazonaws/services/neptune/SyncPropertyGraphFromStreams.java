@@ -0,0 +1,98 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune;
+
+import com.amazonaws.services.neptune.cli.CommonConnectionModule;
+import com.amazonaws.services.neptune.cli.PropertyGraphSerializationModule;
+import com.amazonaws.services.neptune.cli.PropertyGraphStreamsSyncModule;
+import com.amazonaws.services.neptune.cluster.ClusterStrategy;
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import com.amazonaws.services.neptune.cluster.ConnectionConfig;
+import com.amazonaws.services.neptune.cluster.DoNotCloneCluster;
+import com.amazonaws.services.neptune.propertygraph.NeptuneGremlinClient;
+import com.amazonaws.services.neptune.propertygraph.streams.*;
+import com.amazonaws.services.neptune.util.CheckedActivity;
+import com.amazonaws.services.neptune.util.Timer;
+import com.github.rvesse.airline.annotations.Command;
+import com.github.rvesse.airline.annotations.help.Examples;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+
+import javax.inject.Inject;
+
+@Examples(examples = {
+        "bin/neptune-export.sh sync-pg-from-streams -e neptunedbcluster-xxxxxxxxxxxx.cluster-yyyyyyyyyyyy.us-east-1.neptune.amazonaws.com --export-dir /home/ec2-user/output/31f5e4c2 --from-commit-num 1024",
+        "bin/neptune-export.sh sync-pg-from-streams -e neptunedbcluster-xxxxxxxxxxxx.cluster-yyyyyyyyyyyy.us-east-1.neptune.amazonaws.com --export-dir /home/ec2-user/output/31f5e4c2",
+        "bin/neptune-export.sh sync-pg-from-streams --export-dir /home/ec2-user/output/31f5e4c2 --streams-file /home/ec2-user/changes.json --from-commit-num 1"
+}, descriptions = {
+        "Apply Neptune Streams changes from commit 1024 onwards to a previous export",
+        "Apply the Neptune Streams changes made since the last sync to a previous export",
+        "Apply the Neptune Streams records in a local file to a previous export"
+})
+@Command(name = "sync-pg-from-streams", description = "Apply Neptune Streams changes to a previous property graph export, writing per-label delta files and updating the export's schema and stats.")
+public class SyncPropertyGraphFromStreams extends NeptuneExportBaseCommand implements Runnable {
+
+    @Inject
+    private CommonConnectionModule connection = new CommonConnectionModule(awsCli);
+
+    @Inject
+    private PropertyGraphSerializationModule serialization = new PropertyGraphSerializationModule();
+
+    @Inject
+    private PropertyGraphStreamsSyncModule streams = new PropertyGraphStreamsSyncModule();
+
+    @Override
+    public void run() {
+
+        try {
+            Timer.timedActivity("syncing property graph export from Neptune Streams", (CheckedActivity.Runnable) () -> {
+
+                IncrementalSync.Result result;
+
+                if (streams.hasStreamsFile()) {
+                    try (StreamRecordSource source = streams.fileSource()) {
+                        result = sync(source, ElementLabelResolver.NONE);
+                    }
+                } else {
+                    ConnectionConfig connectionConfig = connection.config();
+                    try (ClusterStrategy clusterStrategy = new DoNotCloneCluster().cloneCluster(connectionConfig, new ConcurrencyConfig(1));
+                         NeptuneGremlinClient client = NeptuneGremlinClient.create(clusterStrategy, serialization.config());
+                         GraphTraversalSource g = client.newTraversalSource();
+                         StreamRecordSource source = HttpStreamRecordSource.create(connectionConfig, streams.batchSize())) {
+                        result = sync(source, new GremlinElementLabelResolver(g, NeptuneGremlinClient.DEFAULT_BATCH_SIZE));
+                    }
+                }
+
+                if (!result.hasChanges()) {
+                    streams.writeMessage("No new changes");
+                    return;
+                }
+
+                streams.writeMessage("Delta files : " + result.deltaDirectory().toAbsolutePath().toString());
+
+                System.err.println();
+                System.err.println(String.format("Records: %s", result.recordCount()));
+                System.err.println(result.stats().formatStats());
+
+                streams.writeReturnValue(result.deltaDirectory().toAbsolutePath().toString());
+            });
+        } catch (Exception e) {
+            handleException(e);
+        }
+    }
+
+    private IncrementalSync.Result sync(StreamRecordSource source, ElementLabelResolver labelResolver) throws Exception {
+        return new IncrementalSync(streams.exportDirectory(), source, labelResolver, streams.maxRecords())
+                .execute(streams.fromEventId());
+    }
+}
@@ -3,6 +3,7 @@ package com.amazonaws.services.neptune.cli;
 import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.neptune.AmazonNeptune;
 import com.amazonaws.services.neptune.AmazonNeptuneClientBuilder;
+import com.amazonaws.services.neptune.util.ClientCache;
 import com.github.rvesse.airline.annotations.Option;
 import com.github.rvesse.airline.annotations.restrictions.Once;
 import org.apache.commons.lang.StringUtils;
@@ -23,7 +24,7 @@ public class AwsCliModule implements Supplier<AmazonNeptune> {
         return StringUtils.isNotEmpty(awsCliEndpointUrl) && StringUtils.isNotEmpty(awsCliRegion) ?
                 AmazonNeptuneClientBuilder.standard().withEndpointConfiguration(
                         new AwsClientBuilder.EndpointConfiguration(awsCliEndpointUrl, awsCliRegion)).build() :
-                AmazonNeptuneClientBuilder.defaultClient();
+                ClientCache.neptune();
     }
 
 }
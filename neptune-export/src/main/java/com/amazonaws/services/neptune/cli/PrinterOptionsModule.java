@@ -12,12 +12,15 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.cli;
 
+import com.amazonaws.services.neptune.profiles.ProfilesConfig;
 import com.amazonaws.services.neptune.propertygraph.io.CsvPrinterOptions;
 import com.amazonaws.services.neptune.propertygraph.io.JsonPrinterOptions;
 import com.amazonaws.services.neptune.propertygraph.io.PrinterOptions;
 import com.github.rvesse.airline.annotations.Option;
 import com.github.rvesse.airline.annotations.restrictions.Once;
 
+import static com.amazonaws.services.neptune.profiles.neptune_ml.NeptuneMachineLearningExportEventHandler.NEPTUNE_ML_PROFILE_NAME;
+
 public class PrinterOptionsModule {
 
     @Option(name = {"--exclude-type-definitions"}, description = "Exclude type definitions from CSV column headers (optional, default 'false').")
@@ -36,16 +39,21 @@ public class PrinterOptionsModule {
     @Once
     private String multiValueSeparator = ";";
 
-    public PrinterOptions config(){
+    public PrinterOptions config(ProfilesConfig profiles){
+
+        // Value statistics are only consumed by the neptune_ml training configuration
+        boolean collectValueStats = profiles.containsProfile(NEPTUNE_ML_PROFILE_NAME);
 
         CsvPrinterOptions csvPrinterOptions = CsvPrinterOptions.builder()
                 .setMultiValueSeparator(multiValueSeparator)
                 .setIncludeTypeDefinitions(!excludeTypeDefinitions)
                 .setEscapeCsvHeaders(escapeCsvHeaders)
+                .setCollectValueStats(collectValueStats)
                 .build();
 
         JsonPrinterOptions jsonPrinterOptions = JsonPrinterOptions.builder()
                 .setStrictCardinality(strictCardinality)
+                .setCollectValueStats(collectValueStats)
                 .build();
 
         return new PrinterOptions(csvPrinterOptions, jsonPrinterOptions);
@@ -0,0 +1,37 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.cli;
+
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import com.amazonaws.services.neptune.io.MemoryGovernor;
+import com.amazonaws.services.neptune.propertygraph.io.SerializationConfig;
+import com.github.rvesse.airline.annotations.Option;
+import com.github.rvesse.airline.annotations.restrictions.Once;
+import com.github.rvesse.airline.annotations.restrictions.ranges.IntegerRange;
+
+public class PropertyGraphMemoryModule {
+
+    @Option(name = {"--heap-budget-mb"}, description = "Heap budget in MB for output file buffers and query results (optional, default half the maximum heap size). " +
+            "Within this budget, the export limits the number of files each task keeps open, and reduces the query batch size for large elements.")
+    @Once
+    @IntegerRange(min = 1)
+    private Integer heapBudgetMb;
+
+    public MemoryGovernor governor(ConcurrencyConfig concurrencyConfig, SerializationConfig serializationConfig) {
+        long heapBudgetBytes = heapBudgetMb != null ?
+                heapBudgetMb * 1024L * 1024L :
+                MemoryGovernor.defaultHeapBudgetBytes();
+        return new MemoryGovernor(heapBudgetBytes, concurrencyConfig.concurrency(), serializationConfig.batchSize());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.cli;
+
+import com.amazonaws.services.neptune.io.CommandWriter;
+import com.amazonaws.services.neptune.io.Target;
+import com.amazonaws.services.neptune.propertygraph.streams.EventId;
+import com.amazonaws.services.neptune.propertygraph.streams.FileStreamRecordSource;
+import com.amazonaws.services.neptune.propertygraph.streams.StreamRecordSource;
+import com.github.rvesse.airline.annotations.Option;
+import com.github.rvesse.airline.annotations.restrictions.*;
+import com.github.rvesse.airline.annotations.restrictions.ranges.IntegerRange;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class PropertyGraphStreamsSyncModule implements CommandWriter {
+
+    @Option(name = {"--export-dir"}, description = "Directory containing a previous property graph export and its config.json file.")
+    @Required
+    @com.github.rvesse.airline.annotations.restrictions.Path(mustExist = true, kind = PathKind.DIRECTORY)
+    @Once
+    private File exportDirectory;
+
+    @Option(name = {"--streams-file"}, description = "Local file containing Neptune Streams property graph records, or Neptune Streams API responses, to apply instead of reading from the Neptune Streams endpoint.")
+    @RequireSome(tag = "endpoint or clusterId")
+    @com.github.rvesse.airline.annotations.restrictions.Path(mustExist = true, kind = PathKind.FILE)
+    @Once
+    private File streamsFile;
+
+    @Option(name = {"--from-commit-num"}, description = "Commit number of the first change to apply (optional: by default changes are applied from the last event applied by the previous sync).")
+    @Once
+    private long fromCommitNum = -1;
+
+    @Option(name = {"--from-op-num"}, description = "Op number of the first change to apply within the --from-commit-num commit (optional, default 1).")
+    @Once
+    private long fromOpNum = 1;
+
+    @Option(name = {"--streams-batch-size"}, description = "Number of change records to fetch per Neptune Streams request (optional, default 10000).")
+    @IntegerRange(min = 1, minInclusive = true, max = 100000, maxInclusive = true)
+    @Once
+    private int batchSize = 10000;
+
+    @Option(name = {"--max-records"}, description = "Maximum number of change records to apply in this sync (optional, default all available records).")
+    @Once
+    private long maxRecords = -1;
+
+    public Path exportDirectory() {
+        return exportDirectory.toPath();
+    }
+
+    public boolean hasStreamsFile() {
+        return streamsFile != null;
+    }
+
+    public StreamRecordSource fileSource() throws IOException {
+        return new FileStreamRecordSource(streamsFile, batchSize);
+    }
+
+    public EventId fromEventId() {
+        return fromCommitNum < 0 ? null : new EventId(fromCommitNum, fromOpNum);
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public long maxRecords() {
+        return maxRecords;
+    }
+
+    @Override
+    public void writeReturnValue(String value) {
+        Target.files.writeReturnValue(value);
+    }
+
+    @Override
+    public void writeMessage(String value) {
+        Target.files.writeMessage(value);
+    }
+}
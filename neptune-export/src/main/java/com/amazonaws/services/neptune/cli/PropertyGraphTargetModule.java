@@ -72,8 +72,12 @@ public class PropertyGraphTargetModule implements CommandWriter {
     }
 
     public PropertyGraphTargetConfig config(Directories directories, PrinterOptions printerOptions){
+        return config(directories, printerOptions, MemoryGovernor.UNLIMITED);
+    }
+
+    public PropertyGraphTargetConfig config(Directories directories, PrinterOptions printerOptions, MemoryGovernor memoryGovernor){
         KinesisConfig kinesisConfig = new KinesisConfig(streamName, region);
-        return new PropertyGraphTargetConfig(directories, kinesisConfig, printerOptions, format, output, inferSchema, mergeFiles);
+        return new PropertyGraphTargetConfig(directories, kinesisConfig, printerOptions, format, output, inferSchema, mergeFiles, memoryGovernor);
     }
 
     public String description(){
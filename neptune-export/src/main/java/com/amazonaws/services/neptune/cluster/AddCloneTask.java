@@ -15,6 +15,7 @@ package com.amazonaws.services.neptune.cluster;
 import com.amazonaws.services.neptune.AmazonNeptune;
 import com.amazonaws.services.neptune.model.*;
 import com.amazonaws.services.neptune.util.Activity;
+import com.amazonaws.services.neptune.util.ClientCache;
 import com.amazonaws.services.neptune.util.Timer;
 import org.apache.commons.lang.StringUtils;
 
@@ -101,7 +102,7 @@ public class AddCloneTask {
                     createReplicas(sourceClusterMetadata, instanceType, neptune, dbParameterGroup, targetDbCluster));
         }
 
-        neptune.shutdown();
+        ClientCache.shutdown(neptune);
 
         return NeptuneClusterMetadata.createFromClusterId(targetClusterId, amazonNeptuneClientSupplier);
     }
@@ -15,4 +15,9 @@ package com.amazonaws.services.neptune.cluster;
 public interface ClusterStrategy extends AutoCloseable {
     ConnectionConfig connectionConfig();
     ConcurrencyConfig concurrencyConfig();
+
+    // Connections to a cloned cluster can't be reused by later exports, because the clone is deleted
+    default boolean canShareConnections() {
+        return false;
+    }
 }
@@ -13,6 +13,7 @@ permissions and limitations under the License.
 package com.amazonaws.services.neptune.cluster;
 
 import com.amazonaws.services.neptune.propertygraph.RangeConfig;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.tinkerpop.gremlin.driver.Cluster;
 
 import static java.lang.Math.max;
@@ -52,4 +53,14 @@ public class ConcurrencyConfig {
                 minConnectionPoolSize(minPoolSize).
                 maxConnectionPoolSize(maxPoolSize);
     }
+
+    public HttpClientBuilder applyTo(HttpClientBuilder httpClientBuilder){
+        // Each HTTP client connects to a single endpoint, and failover can direct every concurrent
+        // request to the same endpoint, so both the per-route and total limits track the concurrency
+        int poolSize = max(concurrency, 2);
+
+        return httpClientBuilder.
+                setMaxConnPerRoute(poolSize).
+                setMaxConnTotal(poolSize);
+    }
 }
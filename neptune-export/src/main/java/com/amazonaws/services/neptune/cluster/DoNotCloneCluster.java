@@ -26,6 +26,11 @@ public class DoNotCloneCluster implements CloneClusterStrategy {
                 return concurrencyConfig;
             }
 
+            @Override
+            public boolean canShareConnections() {
+                return true;
+            }
+
             @Override
             public void close() throws Exception {
                 //Do nothing
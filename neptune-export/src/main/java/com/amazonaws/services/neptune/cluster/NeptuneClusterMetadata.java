@@ -16,6 +16,7 @@ import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.neptune.AmazonNeptune;
 import com.amazonaws.services.neptune.AmazonNeptuneClientBuilder;
 import com.amazonaws.services.neptune.model.*;
+import com.amazonaws.services.neptune.util.ClientCache;
 import org.apache.commons.lang.StringUtils;
 
 import java.util.*;
@@ -93,7 +94,7 @@ public class NeptuneClusterMetadata {
                                 c.getEndpoint())
                 ));
 
-        neptune.shutdown();
+        ClientCache.shutdown(neptune);
 
         return new NeptuneClusterMetadata(clusterId,
                 port,
@@ -17,6 +17,7 @@ import com.amazonaws.services.neptune.AmazonNeptune;
 import com.amazonaws.services.neptune.AmazonNeptuneClientBuilder;
 import com.amazonaws.services.neptune.model.*;
 import com.amazonaws.services.neptune.util.Activity;
+import com.amazonaws.services.neptune.util.ClientCache;
 import com.amazonaws.services.neptune.util.Timer;
 import org.apache.commons.lang.StringUtils;
 
@@ -44,9 +45,7 @@ public class RemoveCloneTask {
             Timer.timedActivity("deleting cloned cluster", false,
                     (Activity.Runnable) () -> deleteCluster(neptune));
         } finally {
-            if (neptune != null) {
-                neptune.shutdown();
-            }
+            ClientCache.shutdown(neptune);
         }
     }
 
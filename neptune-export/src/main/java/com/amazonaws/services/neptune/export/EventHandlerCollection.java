@@ -16,6 +16,7 @@ import com.amazonaws.services.neptune.propertygraph.ExportStats;
 import com.amazonaws.services.neptune.propertygraph.schema.GraphSchema;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -70,6 +71,24 @@ public class EventHandlerCollection implements NeptuneExportServiceEventHandler
         }
     }
 
+    @Override
+    public void onExportFileComplete(Path outputPath, File file) {
+        boolean error = false;
+
+        for (NeptuneExportEventHandler handler : exportHandlers) {
+            try {
+                handler.onExportFileComplete(outputPath, file);
+            } catch (Exception e) {
+                error = true;
+                logger.error("Error while executing {}", handler.getClass().getSimpleName(), e);
+            }
+        }
+
+        if (error){
+            throw new RuntimeException("One or more errors occurred while executing onExportFileComplete event handlers. See the logs for details.");
+        }
+    }
+
     @Override
     public void onBeforeExport(Args args) {
         boolean error = false;
@@ -43,7 +43,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import static com.amazonaws.services.neptune.export.NeptuneExportService.NEPTUNE_EXPORT_TAGS;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHandler {
+public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHandler, AutoCloseable {
 
     public static ObjectTagging createObjectTags(Collection<String> profiles){
         List<Tag> tags = new ArrayList<>(NEPTUNE_EXPORT_TAGS);
@@ -56,6 +56,8 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
 
     private static final org.slf4j.Logger logger = LoggerFactory.getLogger(ExportToS3NeptuneExportEventHandler.class);
 
+    private static final String UPLOAD_MANIFEST_FILE = "upload-manifest.json";
+
     private final String localOutputPath;
     private final String outputS3Path;
     private final boolean createExportSubdirectory;
@@ -63,6 +65,7 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
     private final ObjectNode completionFilePayload;
     private final Collection<String> profiles;
     private final AtomicReference<S3ObjectInfo> result = new AtomicReference<>();
+    private S3UploadScheduler uploadScheduler;
 
     public ExportToS3NeptuneExportEventHandler(String localOutputPath,
                                                String outputS3Path,
@@ -84,6 +87,16 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
         onExportComplete(outputPath, stats, new GraphSchema());
     }
 
+    @Override
+    public void onExportFileComplete(Path outputPath, File file) {
+
+        if (StringUtils.isEmpty(outputS3Path)){
+            return;
+        }
+
+        uploadScheduler(outputPath).schedule(file);
+    }
+
     @Override
     public void onExportComplete(Path outputPath, ExportStats stats, GraphSchema graphSchema) throws Exception {
 
@@ -99,20 +112,34 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
             return;
         }
 
-        try (TransferManagerWrapper transferManager = new TransferManagerWrapper()) {
+        File outputDirectory = outputPath.toFile();
+
+        if (!outputDirectory.exists()) {
+            logger.warn("Ignoring request to upload files to S3 because upload directory from which to upload files does not exist");
+            return;
+        }
+
+        try (S3UploadScheduler uploadScheduler = uploadScheduler(outputPath);
+             TransferManagerWrapper transferManager = new TransferManagerWrapper()) {
 
-            File outputDirectory = outputPath.toFile();
-            S3ObjectInfo outputS3ObjectInfo = calculateOutputS3Path(outputDirectory);
+            S3ObjectInfo outputS3ObjectInfo = uploadScheduler.outputS3ObjectInfo();
 
             Timer.timedActivity("uploading files to S3", (CheckedActivity.Runnable) () -> {
-                uploadExportFilesToS3(transferManager.get(), outputDirectory, outputS3ObjectInfo);
-                uploadCompletionFileToS3(transferManager.get(), outputDirectory, outputS3ObjectInfo, stats, graphSchema);
+                S3ObjectInfo manifestS3ObjectInfo = uploadExportFilesToS3(transferManager.get(), uploadScheduler, outputDirectory);
+                uploadCompletionFileToS3(transferManager.get(), outputDirectory, outputS3ObjectInfo, manifestS3ObjectInfo, stats, graphSchema);
             });
 
             result.set(outputS3ObjectInfo);
         }
     }
 
+    @Override
+    public synchronized void close() {
+        if (uploadScheduler != null) {
+            uploadScheduler.close();
+        }
+    }
+
     public S3ObjectInfo result() {
         return result.get();
     }
@@ -126,25 +153,32 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
         }
     }
 
+    private synchronized S3UploadScheduler uploadScheduler(Path outputPath) {
+        if (uploadScheduler == null) {
+            uploadScheduler = new S3UploadScheduler(
+                    calculateOutputS3Path(outputPath.toFile()),
+                    outputPath,
+                    createObjectTags(profiles));
+        }
+        return uploadScheduler;
+    }
+
     private void uploadCompletionFileToS3(TransferManager transferManager,
                                           File directory,
                                           S3ObjectInfo outputS3ObjectInfo,
+                                          S3ObjectInfo manifestS3ObjectInfo,
                                           ExportStats stats, GraphSchema graphSchema) throws IOException {
 
         if (StringUtils.isEmpty(completionFileS3Path)) {
             return;
         }
 
-        if (directory == null || !directory.exists()) {
-            logger.warn("Ignoring request to upload completion file to S3 because directory from which to upload files does not exist");
-            return;
-        }
-
         File completionFile = new File(localOutputPath, directory.getName() + ".json");
 
         ObjectNode neptuneExportNode = JsonNodeFactory.instance.objectNode();
         completionFilePayload.set("neptuneExport", neptuneExportNode);
         neptuneExportNode.put("outputS3Path", outputS3ObjectInfo.toString());
+        neptuneExportNode.put("uploadManifest", manifestS3ObjectInfo.toString());
         stats.addTo(neptuneExportNode, graphSchema);
 
         try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(completionFile), UTF_8))) {
@@ -158,53 +192,49 @@ public class ExportToS3NeptuneExportEventHandler implements NeptuneExportEventHa
                         FilenameUtils.getBaseName(completionFile.getName()),
                         completionFile.getName());
 
+        uploadFileToS3(transferManager, completionFile, completionFileS3ObjectInfo);
+    }
 
-        try (InputStream inputStream = new FileInputStream(completionFile)) {
-
-            ObjectMetadata objectMetadata = new ObjectMetadata();
-            objectMetadata.setContentLength(completionFile.length());
-            objectMetadata.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
+    private S3ObjectInfo uploadExportFilesToS3(TransferManager transferManager,
+                                               S3UploadScheduler uploadScheduler,
+                                               File directory) throws IOException, InterruptedException {
 
-            PutObjectRequest putObjectRequest = new PutObjectRequest(completionFileS3ObjectInfo.bucket(),
-                    completionFileS3ObjectInfo.key(),
-                    inputStream,
-                    objectMetadata).withTagging(createObjectTags(profiles));
+        // Files that were not reported as complete during the export, such as the config file, are uploaded now
+        uploadScheduler.scheduleRemaining();
 
-            Upload upload = transferManager.upload(putObjectRequest);
+        Collection<S3UploadScheduler.UploadedFile> uploadedFiles = uploadScheduler.awaitCompletion();
 
-            upload.waitForUploadResult();
+        File manifestFile = new File(localOutputPath, directory.getName() + "-" + UPLOAD_MANIFEST_FILE);
 
-        } catch (InterruptedException e) {
-            logger.warn(e.getMessage());
-            Thread.currentThread().interrupt();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(manifestFile), UTF_8))) {
+            ObjectWriter objectWriter = new ObjectMapper().writer().withDefaultPrettyPrinter();
+            writer.write(objectWriter.writeValueAsString(uploadScheduler.createManifest(uploadedFiles)));
         }
+
+        S3ObjectInfo manifestS3ObjectInfo = uploadScheduler.outputS3ObjectInfo().withNewKeySuffix(UPLOAD_MANIFEST_FILE);
+
+        uploadFileToS3(transferManager, manifestFile, manifestS3ObjectInfo);
+
+        return manifestS3ObjectInfo;
     }
 
-    private void uploadExportFilesToS3(TransferManager transferManager, File directory, S3ObjectInfo outputS3ObjectInfo) {
+    private void uploadFileToS3(TransferManager transferManager, File file, S3ObjectInfo s3ObjectInfo) throws IOException {
 
-        if (directory == null || !directory.exists()) {
-            logger.warn("Ignoring request to upload files to S3 because upload directory from which to upload files does not exist");
-            return;
-        }
+        try (InputStream inputStream = new FileInputStream(file)) {
 
-        try {
+            ObjectMetadata objectMetadata = new ObjectMetadata();
+            objectMetadata.setContentLength(file.length());
+            objectMetadata.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
 
-            ObjectMetadataProvider metadataProvider = (file, objectMetadata) -> {
-                objectMetadata.setContentLength(file.length());
-                objectMetadata.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
-            };
+            PutObjectRequest putObjectRequest = new PutObjectRequest(s3ObjectInfo.bucket(),
+                    s3ObjectInfo.key(),
+                    inputStream,
+                    objectMetadata).withTagging(createObjectTags(profiles));
 
-            ObjectTaggingProvider taggingProvider = uploadContext -> createObjectTags(profiles);
+            Upload upload = transferManager.upload(putObjectRequest);
 
-            MultipleFileUpload upload = transferManager.uploadDirectory(
-                    outputS3ObjectInfo.bucket(),
-                    outputS3ObjectInfo.key(),
-                    directory,
-                    true,
-                    metadataProvider,
-                    taggingProvider);
+            upload.waitForUploadResult();
 
-            upload.waitForCompletion();
         } catch (InterruptedException e) {
             logger.warn(e.getMessage());
             Thread.currentThread().interrupt();
@@ -15,6 +15,7 @@ package com.amazonaws.services.neptune.export;
 import com.amazonaws.services.neptune.propertygraph.ExportStats;
 import com.amazonaws.services.neptune.propertygraph.schema.GraphSchema;
 
+import java.io.File;
 import java.nio.file.Path;
 
 public interface NeptuneExportEventHandler {
@@ -35,4 +36,8 @@ public interface NeptuneExportEventHandler {
     void onExportComplete(Path outputPath, ExportStats stats) throws Exception;
 
     void onExportComplete(Path outputPath, ExportStats stats, GraphSchema graphSchema) throws Exception;
+
+    default void onExportFileComplete(Path outputPath, File file) {
+        // Do nothing
+    }
 }
@@ -14,6 +14,7 @@ package com.amazonaws.services.neptune.export;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.amazonaws.services.neptune.util.ClientCache;
 import com.amazonaws.services.neptune.util.EnvironmentVariableUtils;
 import com.amazonaws.services.neptune.util.S3ObjectInfo;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -29,6 +30,8 @@ public class NeptuneExportLambda implements RequestStreamHandler {
 
     public static final String TEMP_PATH = "/tmp/neptune";
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private final String localOutputPath;
     private final boolean cleanOutputPath;
 
@@ -39,6 +42,9 @@ public class NeptuneExportLambda implements RequestStreamHandler {
     public NeptuneExportLambda(String localOutputPath, boolean cleanOutputPath) {
         this.localOutputPath = localOutputPath;
         this.cleanOutputPath = cleanOutputPath;
+
+        // The execution environment is reused across invocations, so clients can be shared between exports
+        ClientCache.enable();
     }
 
     @Override
@@ -46,9 +52,7 @@ public class NeptuneExportLambda implements RequestStreamHandler {
 
         Logger logger = s -> context.getLogger().log(s);
 
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        JsonNode json = objectMapper.readTree(inputStream);
+        JsonNode json = OBJECT_MAPPER.readTree(inputStream);
 
         String cmd = json.has("command") ?
                 json.path("command").textValue() :
@@ -56,7 +60,7 @@ public class NeptuneExportLambda implements RequestStreamHandler {
 
         ObjectNode params = json.has("params") ?
                 (ObjectNode) json.get("params") :
-                objectMapper.readTree("{}").deepCopy();
+                OBJECT_MAPPER.readTree("{}").deepCopy();
 
         String outputS3Path = json.has("outputS3Path") ?
                 json.path("outputS3Path").textValue() :
@@ -86,7 +90,7 @@ public class NeptuneExportLambda implements RequestStreamHandler {
 
         ObjectNode completionFilePayload = json.has("completionFilePayload") ?
                 json.path("completionFilePayload").deepCopy() :
-                objectMapper.readTree(
+                OBJECT_MAPPER.readTree(
                         EnvironmentVariableUtils.getOptionalEnv(
                                 "COMPLETION_FILE_PAYLOAD",
                                 "{}")).
@@ -94,7 +98,7 @@ public class NeptuneExportLambda implements RequestStreamHandler {
 
         ObjectNode additionalParams = json.has("additionalParams") ?
                 json.path("additionalParams").deepCopy() :
-                objectMapper.readTree("{}").deepCopy();
+                OBJECT_MAPPER.readTree("{}").deepCopy();
 
         int maxConcurrency = json.has("jobSize") ?
                 JobSize.parse(json.path("jobSize").textValue()).maxConcurrency() :
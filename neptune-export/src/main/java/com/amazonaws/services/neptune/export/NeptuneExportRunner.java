@@ -17,6 +17,9 @@ import com.amazonaws.services.neptune.NeptuneExportCli;
 
 public class NeptuneExportRunner {
 
+    // Building the command metadata is expensive, so it is shared by every run in the process
+    private static final com.github.rvesse.airline.Cli<Runnable> CLI = new com.github.rvesse.airline.Cli<>(NeptuneExportCli.class);
+
     private final String[] args;
     private final NeptuneExportEventHandler eventHandler;
 
@@ -30,10 +33,8 @@ public class NeptuneExportRunner {
     }
 
     public void run(){
-        com.github.rvesse.airline.Cli<Runnable> cli = new com.github.rvesse.airline.Cli<>(NeptuneExportCli.class);
-
         try {
-            Runnable cmd = cli.parse(args);
+            Runnable cmd = CLI.parse(args);
 
             if (NeptuneExportBaseCommand.class.isAssignableFrom(cmd.getClass())) {
                 NeptuneExportBaseCommand baseCommand = (NeptuneExportBaseCommand) cmd;
@@ -13,10 +13,10 @@ permissions and limitations under the License.
 package com.amazonaws.services.neptune.export;
 
 import com.amazonaws.services.neptune.profiles.neptune_ml.NeptuneMachineLearningExportEventHandler;
+import com.amazonaws.services.neptune.util.ClientCache;
 import com.amazonaws.services.neptune.util.S3ObjectInfo;
 import com.amazonaws.services.neptune.util.TransferManagerWrapper;
 import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
 import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.Tag;
@@ -137,38 +137,39 @@ public class NeptuneExportService {
 
         EventHandlerCollection eventHandlerCollection = new EventHandlerCollection();
 
-        ExportToS3NeptuneExportEventHandler eventHandler = new ExportToS3NeptuneExportEventHandler(
+        try (ExportToS3NeptuneExportEventHandler eventHandler = new ExportToS3NeptuneExportEventHandler(
                 localOutputPath,
                 outputS3Path,
                 createExportSubdirectory,
                 completionFileS3Path,
                 completionFilePayload,
-                profiles);
-
-        eventHandlerCollection.addHandler(eventHandler);
-
-        if (profiles.contains(NEPTUNE_ML_PROFILE_NAME)){
-            NeptuneMachineLearningExportEventHandler neptuneMlEventHandler =
-                    new NeptuneMachineLearningExportEventHandler(
-                            outputS3Path,
-                            createExportSubdirectory,
-                            additionalParams,
-                            args,
-                            profiles);
-            eventHandlerCollection.addHandler(neptuneMlEventHandler);
-        }
+                profiles)) {
+
+            eventHandlerCollection.addHandler(eventHandler);
+
+            if (profiles.contains(NEPTUNE_ML_PROFILE_NAME)) {
+                NeptuneMachineLearningExportEventHandler neptuneMlEventHandler =
+                        new NeptuneMachineLearningExportEventHandler(
+                                outputS3Path,
+                                createExportSubdirectory,
+                                additionalParams,
+                                args,
+                                profiles);
+                eventHandlerCollection.addHandler(neptuneMlEventHandler);
+            }
 
-        eventHandlerCollection.onBeforeExport(args);
+            eventHandlerCollection.onBeforeExport(args);
 
-        logger.info("Args after service init: {}", String.join(" ", args.values()));
+            logger.info("Args after service init: {}", String.join(" ", args.values()));
 
-        new NeptuneExportRunner(args.values(), eventHandlerCollection).run();
+            new NeptuneExportRunner(args.values(), eventHandlerCollection).run();
 
-        return eventHandler.result();
+            return eventHandler.result();
+        }
     }
 
     private void checkS3OutputIsEmpty() {
-        AmazonS3 s3 = AmazonS3ClientBuilder.defaultClient();
+        AmazonS3 s3 = ClientCache.s3();
         S3ObjectInfo s3ObjectInfo = new S3ObjectInfo(outputS3Path);
         ObjectListing listing = s3.listObjects(
                 new ListObjectsRequest(
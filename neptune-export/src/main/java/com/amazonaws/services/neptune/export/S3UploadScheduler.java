@@ -0,0 +1,544 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.export;
+
+import com.amazonaws.services.neptune.util.ClientCache;
+import com.amazonaws.services.neptune.util.EnvironmentVariableUtils;
+import com.amazonaws.services.neptune.util.S3ObjectInfo;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import com.amazonaws.util.BinaryUtils;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Uploads the files of an export to S3 as soon as each file is complete, rather than waiting for the whole export
+ * directory to be written.
+ * <p>
+ * Small files are uploaded with a single request; larger files are split into parts sized so that a single large
+ * file can keep every upload thread busy, while staying within S3's limit on the number of parts. The MD5 and SHA-256
+ * digests of each file or part are calculated while the upload is in progress: the MD5 digest is sent with the
+ * request so that S3 rejects corrupted data, and both digests are recorded in a manifest for downstream integrity
+ * checks. A file's "sha256" is the SHA-256 digest of the whole file, as printed by sha256sum; for a multipart upload
+ * it is calculated by a sequential pass over the file that runs alongside the part uploads. A multipart file's "md5"
+ * follows S3's multipart ETag convention: the MD5 digest of the concatenated binary part digests, suffixed with the
+ * number of parts.
+ * <p>
+ * The number of upload threads defaults to four per processor, and can be set using the S3_UPLOAD_MAX_CONCURRENCY
+ * environment variable. Every upload thread holds a connection for the duration of its request, so the scheduler
+ * uses an S3 client with a connection pool sized to the number of threads, rather than the default pool of 50
+ * connections. The client is shared between exports when the {@link ClientCache} is enabled.
+ */
+public class S3UploadScheduler implements AutoCloseable {
+
+    static final long MB = 1024 * 1024;
+    static final long MULTIPART_UPLOAD_THRESHOLD = 16 * MB;
+    static final long MIN_PART_SIZE = 8 * MB;
+    static final long MAX_PREFERRED_PART_SIZE = 256 * MB;
+    static final int MAX_PARTS = 10000;
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int DEFAULT_CONCURRENCY =
+            Math.min(64, Math.max(8, Runtime.getRuntime().availableProcessors() * 4));
+
+    private static final org.slf4j.Logger logger = LoggerFactory.getLogger(S3UploadScheduler.class);
+
+    public static int defaultConcurrency() {
+        return Integer.parseInt(EnvironmentVariableUtils.getOptionalEnv(
+                "S3_UPLOAD_MAX_CONCURRENCY", String.valueOf(DEFAULT_CONCURRENCY)));
+    }
+
+    /**
+     * Returns the part size for a file of the given length, or the length of the file itself if it should be
+     * uploaded with a single request.
+     */
+    public static long partSize(long fileLength, int concurrency) {
+        if (fileLength <= MULTIPART_UPLOAD_THRESHOLD) {
+            return fileLength;
+        }
+        long preferredPartSize = Math.min(MAX_PREFERRED_PART_SIZE,
+                Math.max(MIN_PART_SIZE, divideRoundingUp(fileLength, concurrency)));
+        long partSize = Math.max(preferredPartSize, divideRoundingUp(fileLength, MAX_PARTS));
+        return divideRoundingUp(partSize, MB) * MB;
+    }
+
+    private static long divideRoundingUp(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    private final AmazonS3 s3;
+    private final boolean isSharedClient;
+    private final S3ObjectInfo outputS3ObjectInfo;
+    private final Path localDirectory;
+    private final ObjectTagging tagging;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final Map<String, ScheduledUpload> uploads = new LinkedHashMap<>();
+    private final long startTime = System.currentTimeMillis();
+    private volatile boolean isClosed = false;
+
+    public S3UploadScheduler(S3ObjectInfo outputS3ObjectInfo, Path localDirectory, ObjectTagging tagging) {
+        this(outputS3ObjectInfo, localDirectory, tagging, defaultConcurrency());
+    }
+
+    private S3UploadScheduler(S3ObjectInfo outputS3ObjectInfo, Path localDirectory, ObjectTagging tagging, int concurrency) {
+        this(ClientCache.s3(concurrency), ClientCache.isEnabled(), outputS3ObjectInfo, localDirectory, tagging, concurrency);
+    }
+
+    S3UploadScheduler(AmazonS3 s3,
+                      boolean isSharedClient,
+                      S3ObjectInfo outputS3ObjectInfo,
+                      Path localDirectory,
+                      ObjectTagging tagging,
+                      int concurrency) {
+        this.s3 = s3;
+        this.isSharedClient = isSharedClient;
+        this.outputS3ObjectInfo = outputS3ObjectInfo;
+        this.localDirectory = localDirectory.toAbsolutePath();
+        this.tagging = tagging;
+        this.concurrency = concurrency;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "s3-upload-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public S3ObjectInfo outputS3ObjectInfo() {
+        return outputS3ObjectInfo;
+    }
+
+    /**
+     * Queues a file for upload. A file that has already been queued is uploaded again only if it has changed since.
+     */
+    public synchronized void schedule(File file) {
+        if (isClosed) {
+            throw new IllegalStateException("Upload scheduler has been closed");
+        }
+
+        Path path = file.toPath().toAbsolutePath();
+        if (!path.startsWith(localDirectory)) {
+            throw new IllegalArgumentException(
+                    String.format("File %s is not in upload directory %s", path, localDirectory));
+        }
+
+        String relativePath = localDirectory.relativize(path).toString().replace(File.separatorChar, '/');
+        long length = file.length();
+        long lastModified = file.lastModified();
+
+        ScheduledUpload previous = uploads.get(relativePath);
+        if (previous != null && previous.length == length && previous.lastModified == lastModified) {
+            return;
+        }
+
+        String key = outputS3ObjectInfo.key().isEmpty() ?
+                relativePath :
+                String.format("%s/%s", stripTrailingSlash(outputS3ObjectInfo.key()), relativePath);
+
+        logger.debug("Scheduling upload of {} to s3://{}/{}", relativePath, outputS3ObjectInfo.bucket(), key);
+
+        long partSize = partSize(length, concurrency);
+        CompletableFuture<UploadedFile> future = partSize >= length ?
+                CompletableFuture.supplyAsync(() -> putObject(file, relativePath, key), executor) :
+                uploadParts(file, relativePath, key, length, partSize);
+
+        uploads.put(relativePath, new ScheduledUpload(length, lastModified, future));
+    }
+
+    /**
+     * Queues every file in the upload directory that has not already been queued, or that has changed since it was
+     * queued.
+     */
+    public void scheduleRemaining() throws IOException {
+        List<File> files = Files.walk(localDirectory)
+                .filter(Files::isRegularFile)
+                .map(Path::toFile)
+                .collect(Collectors.toList());
+        for (File file : files) {
+            schedule(file);
+        }
+    }
+
+    /**
+     * Waits for every queued upload to complete, and returns the uploaded files ordered by path.
+     */
+    public Collection<UploadedFile> awaitCompletion() throws InterruptedException {
+        Collection<ScheduledUpload> scheduledUploads;
+        synchronized (this) {
+            scheduledUploads = new ArrayList<>(uploads.values());
+        }
+
+        List<UploadedFile> uploadedFiles = new ArrayList<>();
+        for (ScheduledUpload scheduledUpload : scheduledUploads) {
+            try {
+                uploadedFiles.add(scheduledUpload.future.get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+                throw new RuntimeException("Error while uploading export files to S3: " + cause.getMessage(), cause);
+            }
+        }
+
+        uploadedFiles.sort(Comparator.comparing(f -> f.relativePath));
+
+        long totalBytes = uploadedFiles.stream().mapToLong(f -> f.size).sum();
+        long millis = Math.max(1, System.currentTimeMillis() - startTime);
+        logger.info("Uploaded {} files ({}) to {} using {} threads ({}/s)",
+                uploadedFiles.size(),
+                FileUtils.byteCountToDisplaySize(totalBytes),
+                outputS3ObjectInfo,
+                concurrency,
+                FileUtils.byteCountToDisplaySize(totalBytes * 1000 / millis));
+
+        return uploadedFiles;
+    }
+
+    public ObjectNode createManifest(Collection<UploadedFile> uploadedFiles) {
+        ObjectNode manifest = JsonNodeFactory.instance.objectNode();
+        manifest.put("outputS3Path", outputS3ObjectInfo.toString());
+        ArrayNode filesNode = manifest.putArray("files");
+        for (UploadedFile uploadedFile : uploadedFiles) {
+            filesNode.add(uploadedFile.toJson());
+        }
+        return manifest;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+        }
+        executor.shutdownNow();
+        if (!isSharedClient) {
+            s3.shutdown();
+        }
+    }
+
+    private UploadedFile putObject(File file, String relativePath, String key) {
+        FileDigest digest = FileDigest.calculate(file, 0, file.length());
+
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentLength(file.length());
+        objectMetadata.setContentMD5(digest.md5Base64());
+        objectMetadata.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
+
+        PutObjectRequest request = new PutObjectRequest(outputS3ObjectInfo.bucket(), key, file)
+                .withMetadata(objectMetadata)
+                .withTagging(tagging);
+
+        PutObjectResult result = s3.putObject(request);
+
+        return new UploadedFile(relativePath, key, file.length(), result.getETag(), digest, Collections.emptyList());
+    }
+
+    private CompletableFuture<UploadedFile> uploadParts(File file,
+                                                        String relativePath,
+                                                        String key,
+                                                        long length,
+                                                        long partSize) {
+
+        CompletableFuture<String> uploadId = CompletableFuture.supplyAsync(() -> {
+            ObjectMetadata objectMetadata = new ObjectMetadata();
+            objectMetadata.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
+            InitiateMultipartUploadRequest request =
+                    new InitiateMultipartUploadRequest(outputS3ObjectInfo.bucket(), key, objectMetadata)
+                            .withTagging(tagging);
+            return s3.initiateMultipartUpload(request).getUploadId();
+        }, executor);
+
+        return uploadId.thenCompose(id -> {
+
+            // Started before the parts, so that the pass over the whole file is not left until last
+            CompletableFuture<String> fileSha256 =
+                    CompletableFuture.supplyAsync(() -> FileDigest.sha256(file, length), executor);
+
+            List<CompletableFuture<UploadedPart>> parts = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < length; offset += partSize) {
+                long size = Math.min(partSize, length - offset);
+                parts.add(uploadPart(file, key, id, partNumber++, offset, size));
+            }
+
+            List<CompletableFuture<?>> tasks = new ArrayList<>(parts);
+            tasks.add(fileSha256);
+
+            return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]))
+                    .thenApplyAsync(v -> {
+                        List<UploadedPart> uploadedParts = parts.stream()
+                                .map(CompletableFuture::join)
+                                .collect(Collectors.toList());
+
+                        CompleteMultipartUploadResult result = s3.completeMultipartUpload(
+                                new CompleteMultipartUploadRequest(
+                                        outputS3ObjectInfo.bucket(),
+                                        key,
+                                        id,
+                                        uploadedParts.stream().map(p -> p.partETag).collect(Collectors.toList())));
+
+                        FileDigest digest = FileDigest.combine(
+                                uploadedParts.stream().map(p -> p.digest).collect(Collectors.toList()),
+                                fileSha256.join());
+
+                        return new UploadedFile(relativePath, key, length, result.getETag(), digest, uploadedParts);
+                    }, executor)
+                    .whenComplete((uploadedFile, e) -> {
+                        if (e != null) {
+                            abortQuietly(key, id);
+                        }
+                    });
+        });
+    }
+
+    private CompletableFuture<UploadedPart> uploadPart(File file,
+                                                       String key,
+                                                       String uploadId,
+                                                       int partNumber,
+                                                       long offset,
+                                                       long size) {
+        return CompletableFuture.supplyAsync(() -> {
+
+            FileDigest digest = FileDigest.calculate(file, offset, size);
+
+            UploadPartRequest request = new UploadPartRequest()
+                    .withBucketName(outputS3ObjectInfo.bucket())
+                    .withKey(key)
+                    .withUploadId(uploadId)
+                    .withPartNumber(partNumber)
+                    .withFile(file)
+                    .withFileOffset(offset)
+                    .withPartSize(size)
+                    .withMD5Digest(digest.md5Base64());
+
+            UploadPartResult result = s3.uploadPart(request);
+
+            return new UploadedPart(result.getPartETag(), offset, size, digest);
+        }, executor);
+    }
+
+    private void abortQuietly(String key, String uploadId) {
+        try {
+            s3.abortMultipartUpload(new AbortMultipartUploadRequest(outputS3ObjectInfo.bucket(), key, uploadId));
+        } catch (Exception e) {
+            logger.warn("Unable to abort multipart upload of {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static String stripTrailingSlash(String key) {
+        return key.endsWith("/") ? key.substring(0, key.length() - 1) : key;
+    }
+
+    private static class ScheduledUpload {
+        private final long length;
+        private final long lastModified;
+        private final CompletableFuture<UploadedFile> future;
+
+        private ScheduledUpload(long length, long lastModified, CompletableFuture<UploadedFile> future) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.future = future;
+        }
+    }
+
+    static class FileDigest {
+
+        /**
+         * Digests a range of a file. A part's range is read immediately before it is uploaded from the same file,
+         * so the upload reads the data from the page cache rather than from disk.
+         */
+        static FileDigest calculate(File file, long offset, long size) {
+            MessageDigest md5 = messageDigest("MD5");
+            MessageDigest sha256 = messageDigest("SHA-256");
+            update(file, offset, size, md5, sha256);
+            return new FileDigest(BinaryUtils.toHex(md5.digest()), BinaryUtils.toHex(sha256.digest()), 1);
+        }
+
+        /**
+         * Calculates the SHA-256 digest of the first length bytes of a file.
+         */
+        static String sha256(File file, long length) {
+            MessageDigest sha256 = messageDigest("SHA-256");
+            update(file, 0, length, sha256);
+            return BinaryUtils.toHex(sha256.digest());
+        }
+
+        private static void update(File file, long offset, long size, MessageDigest... digests) {
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+                 FileChannel channel = randomAccessFile.getChannel()) {
+
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                long position = offset;
+                long end = offset + size;
+
+                while (position < end) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(BUFFER_SIZE, end - position));
+                    int bytesRead = channel.read(buffer, position);
+                    if (bytesRead < 0) {
+                        throw new IllegalStateException(
+                                String.format("File %s is shorter than expected: it may have changed during upload", file));
+                    }
+                    for (MessageDigest digest : digests) {
+                        digest.update(buffer.array(), 0, bytesRead);
+                    }
+                    position += bytesRead;
+                }
+
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        /**
+         * Combines part MD5 digests the way S3 does for multipart uploads: the combined digest is the digest of the
+         * concatenated binary part digests, suffixed with the number of parts. SHA-256 digests can't be combined
+         * this way and still match the digest of the whole file, so the file's SHA-256 digest is supplied.
+         */
+        static FileDigest combine(List<FileDigest> partDigests, String fileSha256) {
+            MessageDigest md5 = messageDigest("MD5");
+            for (FileDigest partDigest : partDigests) {
+                md5.update(BinaryUtils.fromHex(partDigest.md5));
+            }
+            return new FileDigest(BinaryUtils.toHex(md5.digest()), fileSha256, partDigests.size());
+        }
+
+        private static MessageDigest messageDigest(String algorithm) {
+            try {
+                return MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private final String md5;
+        private final String sha256;
+        private final int parts;
+
+        private FileDigest(String md5, String sha256, int parts) {
+            this.md5 = md5;
+            this.sha256 = sha256;
+            this.parts = parts;
+        }
+
+        String md5() {
+            return parts > 1 ? String.format("%s-%s", md5, parts) : md5;
+        }
+
+        String sha256() {
+            return sha256;
+        }
+
+        String md5Base64() {
+            return BinaryUtils.toBase64(BinaryUtils.fromHex(md5));
+        }
+    }
+
+    static class UploadedPart {
+        private final PartETag partETag;
+        private final long offset;
+        private final long size;
+        private final FileDigest digest;
+
+        private UploadedPart(PartETag partETag, long offset, long size, FileDigest digest) {
+            this.partETag = partETag;
+            this.offset = offset;
+            this.size = size;
+            this.digest = digest;
+        }
+
+        ObjectNode toJson() {
+            ObjectNode json = JsonNodeFactory.instance.objectNode();
+            json.put("partNumber", partETag.getPartNumber());
+            json.put("offset", offset);
+            json.put("size", size);
+            json.put("md5", digest.md5());
+            json.put("sha256", digest.sha256());
+            return json;
+        }
+    }
+
+    public static class UploadedFile {
+        private final String relativePath;
+        private final String key;
+        private final long size;
+        private final String eTag;
+        private final FileDigest digest;
+        private final List<UploadedPart> parts;
+
+        UploadedFile(String relativePath, String key, long size, String eTag, FileDigest digest, List<UploadedPart> parts) {
+            this.relativePath = relativePath;
+            this.key = key;
+            this.size = size;
+            this.eTag = eTag;
+            this.digest = digest;
+            this.parts = parts;
+        }
+
+        public String relativePath() {
+            return relativePath;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public long size() {
+            return size;
+        }
+
+        public String md5() {
+            return digest.md5();
+        }
+
+        public String sha256() {
+            return digest.sha256();
+        }
+
+        ObjectNode toJson() {
+            ObjectNode json = JsonNodeFactory.instance.objectNode();
+            json.put("path", relativePath);
+            json.put("key", key);
+            json.put("size", size);
+            json.put("eTag", eTag);
+            json.put("md5", digest.md5());
+            json.put("sha256", digest.sha256());
+            if (!parts.isEmpty()) {
+                ArrayNode partsNode = json.putArray("parts");
+                for (UploadedPart part : parts) {
+                    partsNode.add(part.toJson());
+                }
+            }
+            return json;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output for binary formats, which are written directly to the underlying output stream. Unlike
+ * {@link OutputWriter}, it has no character writer and no commit framing, so it can only be used by targets
+ * that write whole files.
+ */
+public class BinaryOutputWriter implements AutoCloseable {
+
+    private final String outputId;
+    private final OutputStream outputStream;
+    private final boolean closeStream;
+
+    BinaryOutputWriter(String outputId, OutputStream outputStream, boolean closeStream) {
+        this.outputId = outputId;
+        this.outputStream = outputStream;
+        this.closeStream = closeStream;
+    }
+
+    public String outputId() {
+        return outputId;
+    }
+
+    public OutputStream outputStream() {
+        return outputStream;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closeStream) {
+            outputStream.close();
+        } else {
+            outputStream.flush();
+        }
+    }
+}
@@ -81,6 +81,10 @@ public class Directories {
         writer.writeMessage(fileType + " files : " + directory.toAbsolutePath().toString());
     }
 
+    public Path rootDirectory(){
+        return directory.toAbsolutePath();
+    }
+
     public Path writeRootDirectoryPathAsReturnValue(CommandWriter writer){
         Path path = directory.toAbsolutePath();
         writer.writeReturnValue(path.toString());
@@ -0,0 +1,46 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+public class FilePrintOutputWriter extends PrintOutputWriter implements Utf8StreamOutputWriter {
+
+    private final SuspendableFileOutputStream outputStream;
+
+    FilePrintOutputWriter(String outputId, SuspendableFileOutputStream out) {
+        super(outputId, new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        this.outputStream = out;
+    }
+
+    @Override
+    public OutputStream outputStream() {
+        return outputStream;
+    }
+
+    @Override
+    public boolean requiresFlushOnCommit() {
+        return false;
+    }
+
+    @Override
+    public void suspend() throws IOException {
+        super.suspend();
+        outputStream.suspend();
+    }
+}
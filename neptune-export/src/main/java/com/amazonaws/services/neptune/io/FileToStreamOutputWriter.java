@@ -15,6 +15,7 @@ package com.amazonaws.services.neptune.io;
 import org.apache.commons.io.input.Tailer;
 import org.apache.commons.io.input.TailerListenerAdapter;
 
+import java.io.IOException;
 import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -73,6 +74,16 @@ public class FileToStreamOutputWriter implements OutputWriter {
         innerOutputWriter.endOp();
     }
 
+    @Override
+    public boolean requiresFlushOnCommit() {
+        return innerOutputWriter.requiresFlushOnCommit();
+    }
+
+    @Override
+    public void suspend() throws IOException {
+        innerOutputWriter.suspend();
+    }
+
     @Override
     public void close() throws Exception {
         innerOutputWriter.close();
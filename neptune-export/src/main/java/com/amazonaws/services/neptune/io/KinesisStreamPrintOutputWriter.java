@@ -51,4 +51,9 @@ public class KinesisStreamPrintOutputWriter extends PrintOutputWriter {
     @Override
     public void endOp(){
     }
+
+    @Override
+    public boolean requiresFlushOnCommit() {
+        return true;
+    }
 }
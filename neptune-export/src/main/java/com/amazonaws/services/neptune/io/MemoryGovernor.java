@@ -0,0 +1,133 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.io;
+
+import org.apache.commons.io.FileUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the memory used by an export's file buffers and query result batches inside a heap budget.
+ * <p>
+ * Half of the budget is reserved for file buffers: each file is given a buffer sized from the part of this half that
+ * is not already held by other open files, so buffers shrink as more files are opened. Each export task may keep only
+ * as many files open as the budget allows with the smallest buffers, and suspends its least recently used file,
+ * releasing its buffer, before opening another. The other
+ * half is reserved for query results: the result batch size is reduced when the batches that would be held by all
+ * tasks, estimated from the average size of the elements exported so far, would exceed it.
+ */
+public class MemoryGovernor {
+
+    public static final MemoryGovernor UNLIMITED = new MemoryGovernor(Long.MAX_VALUE, 1, Integer.MAX_VALUE);
+
+    // Buffers that a suspended writer keeps: character buffers, the charset encoder and JSON generator state
+    static final long WRITER_OVERHEAD_BYTES = 64 * 1024;
+
+    // The smallest buffer a file is given, however many files are open
+    public static final int MIN_WRITER_BUFFER_SIZE = 16 * 1024;
+
+    // Query results are held as deserialized objects, which take several times the space of their serialized form
+    static final long RESULT_HEAP_EXPANSION = 4;
+    static final long DEFAULT_ELEMENT_HEAP_BYTES = 4 * 1024;
+
+    public static long defaultHeapBudgetBytes() {
+        return Runtime.getRuntime().maxMemory() / 2;
+    }
+
+    private final long heapBudgetBytes;
+    private final int concurrency;
+    private final int configuredBatchSize;
+    private final AtomicLong bufferBytes = new AtomicLong();
+    private final AtomicLong peakBufferBytes = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong elementsWritten = new AtomicLong();
+
+    public MemoryGovernor(long heapBudgetBytes, int concurrency, int configuredBatchSize) {
+        if (heapBudgetBytes <= 0) {
+            throw new IllegalArgumentException(String.format("Heap budget must be greater than zero: %s", heapBudgetBytes));
+        }
+        this.heapBudgetBytes = heapBudgetBytes;
+        this.concurrency = Math.max(1, concurrency);
+        this.configuredBatchSize = configuredBatchSize;
+    }
+
+    public void reserveBuffer(long bytes) {
+        long current = bufferBytes.addAndGet(bytes);
+        peakBufferBytes.accumulateAndGet(current, Math::max);
+    }
+
+    public void releaseBuffer(long bytes) {
+        bufferBytes.addAndGet(-bytes);
+    }
+
+    public long bufferBytes() {
+        return bufferBytes.get();
+    }
+
+    public long peakBufferBytes() {
+        return peakBufferBytes.get();
+    }
+
+    public void recordBytesWritten(long bytes) {
+        bytesWritten.addAndGet(bytes);
+    }
+
+    public void recordElementsWritten(long count) {
+        elementsWritten.addAndGet(count);
+    }
+
+    /**
+     * The size of the buffer for a file that is being opened, between {@link #MIN_WRITER_BUFFER_SIZE} and
+     * maxBufferSize. Each file takes a share of the buffer budget not already held by other open files, so that
+     * buffers shrink as files are opened and grow again as they are suspended.
+     */
+    public int writerBufferSize(int maxBufferSize) {
+        long available = Math.max(0, (heapBudgetBytes / 2) - bufferBytes.get());
+        long bufferSize = available / (2L * concurrency);
+        return (int) Math.min(maxBufferSize, Math.max(MIN_WRITER_BUFFER_SIZE, bufferSize));
+    }
+
+    /**
+     * The number of files each export task can keep open, given the size of each file's buffer.
+     */
+    public int maxOpenWritersPerTask(long writerBufferSize) {
+        long writers = (heapBudgetBytes / 2) / ((writerBufferSize + WRITER_OVERHEAD_BYTES) * concurrency);
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, writers));
+    }
+
+    public long estimatedElementHeapBytes() {
+        long elements = elementsWritten.get();
+        if (elements == 0) {
+            return DEFAULT_ELEMENT_HEAP_BYTES;
+        }
+        return Math.max(1, bytesWritten.get() / elements) * RESULT_HEAP_EXPANSION;
+    }
+
+    public int resultBatchSize() {
+        long batchSize = (heapBudgetBytes / 2) / (estimatedElementHeapBytes() * concurrency);
+        return (int) Math.max(1, Math.min(configuredBatchSize, batchSize));
+    }
+
+    public boolean limitsResultBatchSize() {
+        return resultBatchSize() < configuredBatchSize;
+    }
+
+    public String usageSummary() {
+        return String.format("Heap budget: %s, peak file buffers: %s, estimated element size: %s, result batch size: %s",
+                FileUtils.byteCountToDisplaySize(heapBudgetBytes),
+                FileUtils.byteCountToDisplaySize(peakBufferBytes.get()),
+                FileUtils.byteCountToDisplaySize(estimatedElementHeapBytes()),
+                resultBatchSize());
+    }
+}
@@ -0,0 +1,28 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.io;
+
+import java.io.File;
+
+public interface OutputFileListener {
+
+    OutputFileListener NULL_LISTENER = file -> {
+        // Do nothing
+    };
+
+    /**
+     * Called once a file has been written and will no longer be renamed, rewritten or merged.
+     */
+    void onOutputFileComplete(File file);
+}
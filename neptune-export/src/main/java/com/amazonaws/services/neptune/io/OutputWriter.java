@@ -12,6 +12,7 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.io;
 
+import java.io.IOException;
 import java.io.Writer;
 
 public interface OutputWriter extends AutoCloseable {
@@ -30,5 +31,18 @@ public interface OutputWriter extends AutoCloseable {
 
     void endOp();
 
+    /**
+     * True if anything buffered on top of this writer (a JSON generator, for example) must be flushed at
+     * every commit boundary, either because the writer frames commits itself or because its consumer
+     * expects to see complete records as soon as they are committed.
+     */
+    boolean requiresFlushOnCommit();
+
+    /**
+     * Flushes buffered output and, for writers that support it, releases the writer's file buffer and handle.
+     * A suspended writer can still be written to: it reopens its file in append mode when it next needs it.
+     */
+    void suspend() throws IOException;
+
     void close() throws Exception;
 }
@@ -87,4 +87,14 @@ public class PrintOutputWriter extends PrintWriter implements OutputWriter {
     public void endOp() {
         // Do nothing
     }
+
+    @Override
+    public boolean requiresFlushOnCommit() {
+        return true;
+    }
+
+    @Override
+    public void suspend() throws IOException {
+        flush();
+    }
 }
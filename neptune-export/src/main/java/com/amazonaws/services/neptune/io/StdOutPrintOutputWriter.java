@@ -64,4 +64,9 @@ public class StdOutPrintOutputWriter extends PrintOutputWriter {
         flush();
     }
 
+    @Override
+    public boolean requiresFlushOnCommit() {
+        return true;
+    }
+
 }
@@ -0,0 +1,128 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.io;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A buffered file output stream that can release its buffer and file handle between writes. A suspended stream
+ * reopens its file in append mode the next time it is written to, so callers can suspend a stream without
+ * having to reopen it themselves. The buffer is sized by the {@link MemoryGovernor} each time the stream is
+ * opened, up to maxBufferSize.
+ */
+class SuspendableFileOutputStream extends OutputStream {
+
+    private final File file;
+    private final int maxBufferSize;
+    private final MemoryGovernor memoryGovernor;
+    private FileOutputStream out;
+    private byte[] buffer;
+    private int bufferSize;
+    private int count;
+    private boolean isClosed = false;
+
+    SuspendableFileOutputStream(File file, int maxBufferSize, MemoryGovernor memoryGovernor) throws IOException {
+        this.file = file;
+        this.maxBufferSize = maxBufferSize;
+        this.memoryGovernor = memoryGovernor;
+        open(false);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (count == buffer.length) {
+            drainBuffer();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (len >= buffer.length) {
+            drainBuffer();
+            out.write(b, off, len);
+            memoryGovernor.recordBytesWritten(len);
+            return;
+        }
+        if (len > buffer.length - count) {
+            drainBuffer();
+        }
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            drainBuffer();
+            out.flush();
+        }
+    }
+
+    public void suspend() throws IOException {
+        if (out == null) {
+            return;
+        }
+        try {
+            drainBuffer();
+            out.close();
+        } finally {
+            out = null;
+            buffer = null;
+            memoryGovernor.releaseBuffer(bufferSize);
+        }
+    }
+
+    public boolean isSuspended() {
+        return out == null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!isClosed) {
+            isClosed = true;
+            suspend();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (isClosed) {
+            throw new IOException(String.format("Stream has been closed: %s", file));
+        }
+        if (out == null) {
+            open(true);
+        }
+    }
+
+    private void open(boolean append) throws IOException {
+        out = new FileOutputStream(file, append);
+        bufferSize = memoryGovernor.writerBufferSize(maxBufferSize);
+        buffer = new byte[bufferSize];
+        count = 0;
+        memoryGovernor.reserveBuffer(bufferSize);
+    }
+
+    private void drainBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            memoryGovernor.recordBytesWritten(count);
+            count = 0;
+        }
+    }
+}
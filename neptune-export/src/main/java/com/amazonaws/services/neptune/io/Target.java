@@ -12,7 +12,9 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.io;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -24,9 +26,20 @@ public enum Target implements CommandWriter {
 
     files {
         @Override
-        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig) throws IOException {
+        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, MemoryGovernor memoryGovernor) throws IOException {
             File file = pathSupplier.get().toFile();
-            return new PrintOutputWriter(file.getAbsolutePath(), new FileWriter(file));
+            return new FilePrintOutputWriter(
+                    file.getAbsolutePath(),
+                    new SuspendableFileOutputStream(file, FILE_BUFFER_SIZE, memoryGovernor));
+        }
+
+        @Override
+        public BinaryOutputWriter createBinaryOutputWriter(Supplier<Path> pathSupplier) throws IOException {
+            File file = pathSupplier.get().toFile();
+            return new BinaryOutputWriter(
+                    file.getAbsolutePath(),
+                    new BufferedOutputStream(new FileOutputStream(file), FILE_BUFFER_SIZE),
+                    true);
         }
 
         @Override
@@ -36,10 +49,15 @@ public enum Target implements CommandWriter {
     },
     stdout {
         @Override
-        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig) throws IOException {
+        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, MemoryGovernor memoryGovernor) throws IOException {
             return new StdOutPrintOutputWriter();
         }
 
+        @Override
+        public BinaryOutputWriter createBinaryOutputWriter(Supplier<Path> pathSupplier) {
+            return new BinaryOutputWriter("StdOut", System.out, false);
+        }
+
         @Override
         public void writeReturnValue(String value) {
             System.err.println(value);
@@ -47,7 +65,7 @@ public enum Target implements CommandWriter {
     },
     stream {
         @Override
-        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig) throws IOException {
+        public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, MemoryGovernor memoryGovernor) throws IOException {
 
             Path filePath = pathSupplier.get();
             File file = filePath.toFile();
@@ -58,6 +76,11 @@ public enum Target implements CommandWriter {
                     kinesisConfig);
         }
 
+        @Override
+        public BinaryOutputWriter createBinaryOutputWriter(Supplier<Path> pathSupplier) {
+            throw new IllegalArgumentException("Binary output formats cannot be published to a stream: use a text-based format");
+        }
+
         @Override
         public void writeReturnValue(String value) {
             System.out.println(value);
@@ -69,7 +92,15 @@ public enum Target implements CommandWriter {
         System.err.println(value);
     }
 
-    public abstract OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig) throws IOException;
+    public static final int FILE_BUFFER_SIZE = 1024 * 1024;
+
+    public OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig) throws IOException {
+        return createOutputWriter(pathSupplier, kinesisConfig, MemoryGovernor.UNLIMITED);
+    }
+
+    public abstract OutputWriter createOutputWriter(Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, MemoryGovernor memoryGovernor) throws IOException;
+
+    public abstract BinaryOutputWriter createBinaryOutputWriter(Supplier<Path> pathSupplier) throws IOException;
 
     @Override
     public abstract void writeReturnValue(String value);
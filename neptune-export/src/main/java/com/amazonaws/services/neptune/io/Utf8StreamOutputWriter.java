@@ -0,0 +1,26 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.io;
+
+import java.io.OutputStream;
+
+/**
+ * An output writer that encodes its text as UTF-8 onto an output stream that callers can write to directly,
+ * skipping the character encoder beneath {@link #writer()}. A caller should write through one or the other,
+ * never both.
+ */
+public interface Utf8StreamOutputWriter extends OutputWriter {
+
+    OutputStream outputStream();
+}
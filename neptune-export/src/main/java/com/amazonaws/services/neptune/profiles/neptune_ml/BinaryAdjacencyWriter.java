@@ -0,0 +1,418 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.profiles.neptune_ml;
+
+import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.io.PrinterOptions;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementSchemas;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementTypes;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.PropertySchema;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the exported graph as memory-mappable little-endian arrays that graph ML frameworks can load
+ * without re-parsing the CSV files: a string table mapping dense node indexes back to Neptune IDs and a
+ * float32 feature matrix per node type, and COO and CSR adjacency arrays per edge type. A manifest.json
+ * file describes the location, dtype and shape of every array. The arrays are written after the export, once the
+ * schema (and therefore the feature columns) is final. Edge endpoints are mapped to dense indexes with a
+ * {@link NodeIdTable} per node type, which is backed by the memory-mapped string tables.
+ */
+public class BinaryAdjacencyWriter {
+
+    public static final String DIRECTORY_NAME = "binary";
+    public static final String MANIFEST_FILE = "manifest.json";
+
+    private static final org.slf4j.Logger logger = LoggerFactory.getLogger(BinaryAdjacencyWriter.class);
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final long MAPPED_SEGMENT_SIZE = 1L << 30;
+
+    private final GraphSchema graphSchema;
+    private final PropertyName propertyName;
+    private final PrinterOptions printerOptions;
+
+    public BinaryAdjacencyWriter(GraphSchema graphSchema, PropertyName propertyName, PrinterOptions printerOptions) {
+        this.graphSchema = graphSchema;
+        this.propertyName = propertyName;
+        this.printerOptions = printerOptions;
+    }
+
+    public File write(Path outputPath) throws IOException {
+
+        File binaryDirectory = new File(outputPath.toFile(), DIRECTORY_NAME);
+        File nodesDirectory = new File(binaryDirectory, "nodes");
+        File edgesDirectory = new File(binaryDirectory, "edges");
+
+        if (!nodesDirectory.mkdirs() && !nodesDirectory.isDirectory()) {
+            throw new IllegalStateException(String.format("Unable to create directory %s", nodesDirectory));
+        }
+        if (!edgesDirectory.mkdirs() && !edgesDirectory.isDirectory()) {
+            throw new IllegalStateException(String.format("Unable to create directory %s", edgesDirectory));
+        }
+
+        NodeIndex nodeIndex = new NodeIndex();
+
+        try (Writer writer = new OutputStreamWriter(
+                new FileOutputStream(new File(binaryDirectory, MANIFEST_FILE)), StandardCharsets.UTF_8);
+             JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+
+            generator.setPrettyPrinter(new DefaultPrettyPrinter());
+            generator.writeStartObject();
+            generator.writeNumberField("version", 1);
+            generator.writeStringField("byte_order", "little_endian");
+
+            generator.writeArrayFieldStart("nodes");
+            if (graphSchema.hasNodeSchemas()) {
+                GraphElementSchemas nodeSchemas = graphSchema.graphElementSchemasFor(GraphElementTypes.Nodes);
+                for (LabelSchema labelSchema : nodeSchemas.labelSchemas()) {
+                    writeNodes(labelSchema,
+                            nodeSchemas.getOutputIdsFor(labelSchema.label()),
+                            nodesDirectory,
+                            nodeIndex,
+                            generator);
+                }
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("edges");
+            if (graphSchema.hasEdgeSchemas()) {
+                GraphElementSchemas edgeSchemas = graphSchema.graphElementSchemasFor(GraphElementTypes.Edges);
+                int edgeTypeIndex = 0;
+                for (LabelSchema labelSchema : edgeSchemas.labelSchemas()) {
+                    writeEdges(labelSchema,
+                            edgeSchemas.getOutputIdsFor(labelSchema.label()),
+                            edgesDirectory,
+                            edgeTypeIndex++,
+                            nodeIndex,
+                            generator);
+                }
+            }
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+            generator.flush();
+        }
+
+        return binaryDirectory;
+    }
+
+    private void writeNodes(LabelSchema labelSchema,
+                            Collection<String> outputIds,
+                            File nodesDirectory,
+                            NodeIndex nodeIndex,
+                            JsonGenerator generator) throws IOException {
+
+        Label label = labelSchema.label();
+        int nodeType = nodeIndex.nodeTypeCount();
+        NodeIdTable nodeIdTable = new NodeIdTable();
+        String filename = Directories.fileName(label.fullyQualifiedLabel(), nodeType);
+
+        List<PropertySchema> featureProperties = labelSchema.propertySchemas().stream()
+                .filter(p -> p.dataType().isNumeric() && !p.isMultiValue())
+                .collect(Collectors.toList());
+        List<String> featureColumns = featureProperties.stream()
+                .map(p -> propertyName.escaped(p, printerOptions))
+                .collect(Collectors.toList());
+
+        File offsetsFile = new File(nodesDirectory, filename + ".ids.i64");
+        File idsFile = new File(nodesDirectory, filename + ".ids.utf8");
+        File featuresFile = new File(nodesDirectory, filename + ".features.f32");
+
+        int count = 0;
+        long offset = 0;
+
+        try (LittleEndianOutput offsets = new LittleEndianOutput(offsetsFile);
+             LittleEndianOutput ids = new LittleEndianOutput(idsFile);
+             LittleEndianOutput features = new LittleEndianOutput(featuresFile)) {
+
+            offsets.writeLong(offset);
+
+            for (String outputId : outputIds) {
+                try (CSVParser parser = ExportedCsvFiles.parse(outputId, "Binary adjacency output")) {
+                    for (CSVRecord record : parser) {
+                        String id = record.get("~id");
+                        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+                        nodeIdTable.add(bytes, count);
+                        count = Math.addExact(count, 1);
+
+                        ids.write(bytes);
+                        offset += bytes.length;
+                        offsets.writeLong(offset);
+
+                        for (String column : featureColumns) {
+                            features.writeFloat(parseFeature(record, column));
+                        }
+                    }
+                }
+            }
+        }
+
+        nodeIdTable.map(offsetsFile, idsFile);
+        nodeIndex.addNodeType(label.labelsAsString(), nodeIdTable);
+
+        if (featureColumns.isEmpty()) {
+            featuresFile.delete();
+        }
+
+        generator.writeStartObject();
+        generator.writeStringField("node_type", label.labelsAsString());
+        generator.writeNumberField("count", count);
+        generator.writeObjectFieldStart("ids");
+        generator.writeStringField("offsets", "nodes/" + offsetsFile.getName());
+        generator.writeStringField("offsets_dtype", "int64");
+        generator.writeStringField("data", "nodes/" + idsFile.getName());
+        generator.writeStringField("encoding", "utf-8");
+        generator.writeEndObject();
+        if (!featureColumns.isEmpty()) {
+            generator.writeObjectFieldStart("features");
+            generator.writeStringField("file", "nodes/" + featuresFile.getName());
+            generator.writeStringField("dtype", "float32");
+            generator.writeArrayFieldStart("shape");
+            generator.writeNumber(count);
+            generator.writeNumber(featureColumns.size());
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("columns");
+            for (PropertySchema featureProperty : featureProperties) {
+                generator.writeString(propertyName.unescaped(featureProperty));
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeEdges(LabelSchema labelSchema,
+                            Collection<String> outputIds,
+                            File edgesDirectory,
+                            int edgeTypeIndex,
+                            NodeIndex nodeIndex,
+                            JsonGenerator generator) throws IOException {
+
+        Label label = labelSchema.label();
+        int fromType = nodeIndex.nodeTypeFor(label.fromLabelsAsString());
+        int toType = nodeIndex.nodeTypeFor(label.toLabelsAsString());
+
+        if (fromType < 0 || toType < 0) {
+            logger.warn("Skipping binary adjacency for edge type {} because its vertex types were not exported",
+                    label.fullyQualifiedLabel());
+            return;
+        }
+
+        String filename = Directories.fileName(label.fullyQualifiedLabel(), edgeTypeIndex);
+
+        File srcFile = new File(edgesDirectory, filename + ".coo.src.i32");
+        File dstFile = new File(edgesDirectory, filename + ".coo.dst.i32");
+        File indptrFile = new File(edgesDirectory, filename + ".csr.indptr.i64");
+        File indicesFile = new File(edgesDirectory, filename + ".csr.indices.i32");
+
+        int fromCount = nodeIndex.countFor(fromType);
+        long[] degrees = new long[fromCount];
+        long count = 0;
+        long skipped = 0;
+
+        try (LittleEndianOutput src = new LittleEndianOutput(srcFile);
+             LittleEndianOutput dst = new LittleEndianOutput(dstFile)) {
+
+            for (String outputId : outputIds) {
+                try (CSVParser parser = ExportedCsvFiles.parse(outputId, "Binary adjacency output")) {
+                    for (CSVRecord record : parser) {
+                        int from = nodeIndex.indexOf(record.get("~from"), fromType);
+                        int to = nodeIndex.indexOf(record.get("~to"), toType);
+                        if (from < 0 || to < 0) {
+                            skipped++;
+                            continue;
+                        }
+                        src.writeInt(from);
+                        dst.writeInt(to);
+                        degrees[from]++;
+                        count++;
+                    }
+                }
+            }
+        }
+
+        if (skipped > 0) {
+            logger.warn("Skipped {} {} edges whose endpoints were not exported", skipped, label.fullyQualifiedLabel());
+        }
+
+        writeCsr(srcFile, dstFile, indptrFile, indicesFile, degrees, count);
+
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("edge_type");
+        generator.writeString(label.fromLabelsAsString());
+        generator.writeString(label.labelsAsString());
+        generator.writeString(label.toLabelsAsString());
+        generator.writeEndArray();
+        generator.writeNumberField("count", count);
+        generator.writeNumberField("skipped", skipped);
+        generator.writeObjectFieldStart("coo");
+        generator.writeStringField("src", "edges/" + srcFile.getName());
+        generator.writeStringField("dst", "edges/" + dstFile.getName());
+        generator.writeStringField("dtype", "int32");
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("csr");
+        generator.writeStringField("indptr", "edges/" + indptrFile.getName());
+        generator.writeStringField("indptr_dtype", "int64");
+        generator.writeStringField("indices", "edges/" + indicesFile.getName());
+        generator.writeStringField("indices_dtype", "int32");
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeCsr(File srcFile,
+                          File dstFile,
+                          File indptrFile,
+                          File indicesFile,
+                          long[] degrees,
+                          long count) throws IOException {
+
+        // Counting sort: the degree prefix sums become indptr, and each source node's slice of the
+        // indices array is then filled in COO order
+        long[] cursors = new long[degrees.length];
+        long position = 0;
+
+        try (LittleEndianOutput indptr = new LittleEndianOutput(indptrFile)) {
+            indptr.writeLong(position);
+            for (int i = 0; i < degrees.length; i++) {
+                cursors[i] = position;
+                position += degrees[i];
+                indptr.writeLong(position);
+            }
+        }
+
+        try (RandomAccessFile indicesOutput = new RandomAccessFile(indicesFile, "rw");
+             DataInputStream src = new DataInputStream(new BufferedInputStream(new FileInputStream(srcFile), BUFFER_SIZE));
+             DataInputStream dst = new DataInputStream(new BufferedInputStream(new FileInputStream(dstFile), BUFFER_SIZE))) {
+
+            long size = count * Integer.BYTES;
+            indicesOutput.setLength(size);
+            FileChannel channel = indicesOutput.getChannel();
+
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + MAPPED_SEGMENT_SIZE - 1) / MAPPED_SEGMENT_SIZE)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = i * MAPPED_SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, start, Math.min(MAPPED_SEGMENT_SIZE, size - start));
+                segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            for (long i = 0; i < count; i++) {
+                int from = Integer.reverseBytes(src.readInt());
+                int to = Integer.reverseBytes(dst.readInt());
+                long bytePosition = cursors[from]++ * Integer.BYTES;
+                segments[(int) (bytePosition / MAPPED_SEGMENT_SIZE)].putInt((int) (bytePosition % MAPPED_SEGMENT_SIZE), to);
+            }
+
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        }
+    }
+
+    private static float parseFeature(CSVRecord record, String column) {
+        if (!record.isMapped(column)) {
+            return Float.NaN;
+        }
+        String value = record.get(column);
+        if (value == null || value.isEmpty()) {
+            return Float.NaN;
+        }
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            return Float.NaN;
+        }
+    }
+
+    private static class NodeIndex {
+
+        private final Map<String, Integer> nodeTypes = new HashMap<>();
+        private final List<NodeIdTable> tables = new ArrayList<>();
+
+        void addNodeType(String labels, NodeIdTable table) {
+            nodeTypes.put(labels, tables.size());
+            tables.add(table);
+        }
+
+        int nodeTypeCount() {
+            return tables.size();
+        }
+
+        int nodeTypeFor(String labels) {
+            return nodeTypes.getOrDefault(labels, -1);
+        }
+
+        int countFor(int nodeType) {
+            return tables.get(nodeType).size();
+        }
+
+        int indexOf(String id, int nodeType) {
+            return tables.get(nodeType).indexOf(id);
+        }
+    }
+
+    private static class LittleEndianOutput implements Closeable {
+
+        private final OutputStream outputStream;
+        private final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        LittleEndianOutput(File file) throws FileNotFoundException {
+            this.outputStream = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+        }
+
+        void writeInt(int value) throws IOException {
+            buffer.clear();
+            buffer.putInt(value);
+            outputStream.write(buffer.array(), 0, Integer.BYTES);
+        }
+
+        void writeLong(long value) throws IOException {
+            buffer.clear();
+            buffer.putLong(value);
+            outputStream.write(buffer.array(), 0, Long.BYTES);
+        }
+
+        void writeFloat(float value) throws IOException {
+            buffer.clear();
+            buffer.putFloat(value);
+            outputStream.write(buffer.array(), 0, Float.BYTES);
+        }
+
+        void write(byte[] bytes) throws IOException {
+            outputStream.write(bytes);
+        }
+
+        @Override
+        public void close() throws IOException {
+            outputStream.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.profiles.neptune_ml;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Re-reads the CSV files written by an export, for the neptune_ml artifacts that are produced after the export.
+ */
+class ExportedCsvFiles {
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    static CSVParser parse(String outputId, String feature) throws IOException {
+        File file = new File(outputId);
+        if (!file.getName().endsWith(".csv")) {
+            throw new IllegalStateException(
+                    String.format("%s requires CSV export files, but found %s", feature, outputId));
+        }
+        Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8);
+        return CSVFormat.RFC4180.withFirstRecordAsHeader().parse(new BufferedReader(reader, BUFFER_SIZE));
+    }
+}
@@ -51,6 +51,9 @@ public class JobTrainingConfigurationFileWriter {
         }
     };
 
+    private static final double[] STATS_QUANTILES = {0.01, 0.25, 0.5, 0.75, 0.99};
+    private static final int STATS_TOP_VALUES = 10;
+
     private final GraphSchema graphSchema;
     private final JsonGenerator generator;
     private final PropertyName propertyName;
@@ -202,7 +205,7 @@ public class JobTrainingConfigurationFileWriter {
 
         if (propertySchema.dataType() == DataType.String ||
                 propertySchema.dataType() == DataType.Boolean) {
-            writeCategoricalNodeFeature(label, Collections.singletonList(propertySchema));
+            writeCategoricalNodeFeature(label, Collections.singletonList(propertySchema), labelSchema);
         }
     }
 
@@ -223,7 +226,7 @@ public class JobTrainingConfigurationFileWriter {
             } else {
                 FeatureType featureType = featureOverride.featureType();
                 if (FeatureType.category == featureType) {
-                    writeCategoricalNodeFeature(label, Collections.singletonList(propertySchema), featureOverride.separator());
+                    writeCategoricalNodeFeature(label, Collections.singletonList(propertySchema), labelSchema, featureOverride.separator());
                 } else if (FeatureType.numerical == featureType) {
                     writeNumericalNodeFeature(label, Collections.singletonList(propertySchema), featureOverride.norm(), labelSchema, featureOverride.separator());
                 }
@@ -245,7 +248,7 @@ public class JobTrainingConfigurationFileWriter {
                         .filter(p -> featureOverride.properties().contains(p.nameWithoutDataType()))
                         .collect(Collectors.toList());
                 if (FeatureType.category == featureType) {
-                    writeCategoricalNodeFeature(label, multiPropertySchemas);
+                    writeCategoricalNodeFeature(label, multiPropertySchemas, labelSchema);
                 } else if (FeatureType.numerical == featureType) {
                     writeNumericalNodeFeature(label, multiPropertySchemas, featureOverride.norm(), labelSchema);
                 }
@@ -254,11 +257,11 @@ public class JobTrainingConfigurationFileWriter {
 
     }
 
-    private void writeCategoricalNodeFeature(Label label, Collection<PropertySchema> propertySchemas) throws IOException {
-        writeCategoricalNodeFeature(label, propertySchemas, null);
+    private void writeCategoricalNodeFeature(Label label, Collection<PropertySchema> propertySchemas, LabelSchema labelSchema) throws IOException {
+        writeCategoricalNodeFeature(label, propertySchemas, labelSchema, null);
     }
 
-    private void writeCategoricalNodeFeature(Label label, Collection<PropertySchema> propertySchemas, String separator) throws IOException {
+    private void writeCategoricalNodeFeature(Label label, Collection<PropertySchema> propertySchemas, LabelSchema labelSchema, String separator) throws IOException {
 
         boolean isSinglePropertyFeature = propertySchemas.size() == 1;
         PropertySchema firstPropertySchema = propertySchemas.iterator().next();
@@ -281,6 +284,7 @@ public class JobTrainingConfigurationFileWriter {
                 } else if (StringUtils.isNotEmpty(separator)) {
                     writeSeparator(separator);
                 }
+                writeCategoricalStats(labelSchema, firstPropertySchema);
             }
             generator.writeStringField("node_type", label.labelsAsString());
             generator.writeEndObject();
@@ -317,7 +321,7 @@ public class JobTrainingConfigurationFileWriter {
         PropertySchema firstPropertySchema = propertySchemas.iterator().next();
 
         if (isSinglePropertyFeature && config.hasNumericalBucketSpecification(label, firstPropertySchema.nameWithoutDataType())) {
-            writeNumericalBucketFeature(label, firstPropertySchema);
+            writeNumericalBucketFeature(label, firstPropertySchema, labelSchema);
         } else {
 
             List<String> multiValueProperties = propertySchemas.stream()
@@ -352,6 +356,9 @@ public class JobTrainingConfigurationFileWriter {
             }
             generator.writeEndArray();
             norm.addTo(generator);
+            if (isSinglePropertyFeature) {
+                writeNumericalStats(labelSchema, firstPropertySchema);
+            }
 //            if (isSinglePropertyFeature) {
 //                if (firstPropertySchema.isMultiValue()) {
 //                    writeSeparator(";");
@@ -364,7 +371,7 @@ public class JobTrainingConfigurationFileWriter {
         }
     }
 
-    private void writeNumericalBucketFeature(Label label, PropertySchema propertySchema) throws IOException {
+    private void writeNumericalBucketFeature(Label label, PropertySchema propertySchema, LabelSchema labelSchema) throws IOException {
         TrainingJobWriterConfig.NumericalBucketFeatureConfig featureConfig =
                 config.getNumericalBucketSpecification(label, propertySchema.nameWithoutDataType());
 
@@ -387,6 +394,7 @@ public class JobTrainingConfigurationFileWriter {
             generator.writeEndArray();
             generator.writeNumberField("bucket_cnt", featureConfig.bucketCount());
             generator.writeNumberField("slide_window_size", featureConfig.slideWindowSize());
+            writeNumericalStats(labelSchema, propertySchema);
             generator.writeStringField("node_type", label.labelsAsString());
             generator.writeEndObject();
         }
@@ -533,6 +541,7 @@ public class JobTrainingConfigurationFileWriter {
             } else if (StringUtils.isNotEmpty(separator)) {
                 writeSeparator(separator);
             }
+            writeNumericalStats(labelSchema, firstPropertySchema);
         }
         writeEdgeType(label);
         generator.writeEndObject();
@@ -568,6 +577,54 @@ public class JobTrainingConfigurationFileWriter {
         }
     }
 
+    private void writeNumericalStats(LabelSchema labelSchema, PropertySchema propertySchema) throws IOException {
+
+        PropertySchemaStats propertySchemaStats = labelSchema.getPropertySchemaStats(propertySchema.property());
+
+        if (propertySchemaStats == null || !propertySchemaStats.valueStats().hasNumericValues()) {
+            return;
+        }
+
+        PropertyValueStats valueStats = propertySchemaStats.valueStats();
+
+        generator.writeObjectFieldStart("stats");
+        generator.writeNumberField("count", valueStats.numericCount());
+        generator.writeNumberField("min", valueStats.min());
+        generator.writeNumberField("max", valueStats.max());
+        generator.writeNumberField("mean", valueStats.mean());
+        generator.writeNumberField("variance", valueStats.variance());
+        generator.writeObjectFieldStart("quantiles");
+        for (double quantile : STATS_QUANTILES) {
+            generator.writeNumberField(String.valueOf(quantile), valueStats.quantile(quantile));
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeCategoricalStats(LabelSchema labelSchema, PropertySchema propertySchema) throws IOException {
+
+        PropertySchemaStats propertySchemaStats = labelSchema.getPropertySchemaStats(propertySchema.property());
+
+        if (propertySchemaStats == null || !propertySchemaStats.valueStats().hasCategoricalValues()) {
+            return;
+        }
+
+        PropertyValueStats valueStats = propertySchemaStats.valueStats();
+
+        generator.writeObjectFieldStart("stats");
+        generator.writeNumberField("count", valueStats.categoricalCount());
+        generator.writeNumberField("distinct_count", valueStats.distinctCount());
+        generator.writeArrayFieldStart("top_values");
+        for (Map.Entry<String, Long> entry : valueStats.topValues(STATS_TOP_VALUES)) {
+            generator.writeStartObject();
+            generator.writeStringField("value", entry.getKey());
+            generator.writeNumberField("count", entry.getValue());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
     private void writeSeparator(String separator) throws IOException {
         generator.writeStringField("separator", separator);
     }
@@ -27,6 +27,9 @@ import com.amazonaws.services.neptune.util.Timer;
 import com.amazonaws.services.neptune.util.TransferManagerWrapper;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.transfer.MultipleFileUpload;
+import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
+import com.amazonaws.services.s3.transfer.ObjectTaggingProvider;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.Upload;
 import com.fasterxml.jackson.core.JsonFactory;
@@ -47,6 +50,7 @@ import java.util.Date;
 public class NeptuneMachineLearningExportEventHandler implements NeptuneExportServiceEventHandler {
 
     public static final String NEPTUNE_ML_PROFILE_NAME = "neptune_ml";
+    public static final String BINARY_ADJACENCY = "binaryAdjacency";
 
     private static final org.slf4j.Logger logger = LoggerFactory.getLogger(NeptuneMachineLearningExportEventHandler.class);
 
@@ -56,6 +60,7 @@ public class NeptuneMachineLearningExportEventHandler implements NeptuneExportSe
     private final Collection<String> profiles;
     private final boolean createExportSubdirectory;
     private final PrinterOptions printerOptions;
+    private final boolean binaryAdjacency;
 
     public NeptuneMachineLearningExportEventHandler(String outputS3Path,
                                                     boolean createExportSubdirectory,
@@ -78,6 +83,21 @@ public class NeptuneMachineLearningExportEventHandler implements NeptuneExportSe
         this.trainingJobWriterConfigCollection = createTrainingJobConfigCollection(additionalParams);
         this.profiles = profiles;
         this.printerOptions = new PrinterOptions(csvPrinterOptions, jsonPrinterOptions);
+        this.binaryAdjacency = isBinaryAdjacencyRequested(additionalParams);
+    }
+
+    private boolean isBinaryAdjacencyRequested(ObjectNode additionalParams) {
+        JsonNode neptuneMlNode = additionalParams.path(NEPTUNE_ML_PROFILE_NAME);
+        if (neptuneMlNode.isArray()) {
+            for (JsonNode node : neptuneMlNode) {
+                if (node.path(BINARY_ADJACENCY).asBoolean(false)) {
+                    return true;
+                }
+            }
+            return false;
+        } else {
+            return neptuneMlNode.path(BINARY_ADJACENCY).asBoolean(false);
+        }
     }
 
     private Collection<TrainingJobWriterConfig> createTrainingJobConfigCollection(ObjectNode additionalParams) {
@@ -137,10 +157,85 @@ public class NeptuneMachineLearningExportEventHandler implements NeptuneExportSe
         try (TransferManagerWrapper transferManager = new TransferManagerWrapper()) {
             for (TrainingJobWriterConfig trainingJobWriterConfig : trainingJobWriterConfigCollection) {
                 createTrainingJobConfigurationFile(trainingJobWriterConfig, outputPath, graphSchema, propertyName, transferManager);
+                createSplitMaskFiles(trainingJobWriterConfig, outputPath, graphSchema, propertyName, transferManager);
+            }
+            if (binaryAdjacency) {
+                createBinaryAdjacencyFiles(outputPath, graphSchema, propertyName, transferManager);
             }
         }
     }
 
+    private void createSplitMaskFiles(TrainingJobWriterConfig trainingJobWriterConfig,
+                                      Path outputPath,
+                                      GraphSchema graphSchema,
+                                      PropertyName propertyName,
+                                      TransferManagerWrapper transferManager) throws Exception {
+
+        SplitMaskWriter splitMaskWriter = new SplitMaskWriter(graphSchema, propertyName, printerOptions, trainingJobWriterConfig);
+
+        if (!splitMaskWriter.hasSplitAssignments()) {
+            return;
+        }
+
+        File splitsDirectory = Timer.timedActivity("writing split mask files",
+                (CheckedActivity.Callable<File>) () -> splitMaskWriter.write(outputPath));
+
+        if (StringUtils.isNotEmpty(outputS3Path)) {
+            Timer.timedActivity("uploading split mask files to S3",
+                    (CheckedActivity.Runnable) () -> {
+                        S3ObjectInfo outputS3ObjectInfo = calculateOutputS3Path(outputPath.toFile())
+                                .withNewKeySuffix(SplitMaskWriter.DIRECTORY_NAME)
+                                .withNewKeySuffix(trainingJobWriterConfig.name());
+                        uploadDirectoryToS3(transferManager.get(), splitsDirectory, outputS3ObjectInfo);
+                    });
+        }
+    }
+
+    private void createBinaryAdjacencyFiles(Path outputPath,
+                                            GraphSchema graphSchema,
+                                            PropertyName propertyName,
+                                            TransferManagerWrapper transferManager) throws Exception {
+
+        File binaryDirectory = Timer.timedActivity("writing binary adjacency files",
+                (CheckedActivity.Callable<File>) () ->
+                        new BinaryAdjacencyWriter(graphSchema, propertyName, printerOptions).write(outputPath));
+
+        if (StringUtils.isNotEmpty(outputS3Path)) {
+            Timer.timedActivity("uploading binary adjacency files to S3",
+                    (CheckedActivity.Runnable) () -> {
+                        S3ObjectInfo outputS3ObjectInfo = calculateOutputS3Path(outputPath.toFile())
+                                .withNewKeySuffix(BinaryAdjacencyWriter.DIRECTORY_NAME);
+                        uploadDirectoryToS3(transferManager.get(), binaryDirectory, outputS3ObjectInfo);
+                    });
+        }
+    }
+
+    private void uploadDirectoryToS3(TransferManager transferManager,
+                                     File directory,
+                                     S3ObjectInfo outputS3ObjectInfo) {
+
+        ObjectMetadataProvider metadataProvider = (file, objectMetadata) ->
+                objectMetadata.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
+        ObjectTaggingProvider taggingProvider = uploadContext ->
+                ExportToS3NeptuneExportEventHandler.createObjectTags(profiles);
+
+        try {
+            MultipleFileUpload upload = transferManager.uploadDirectory(
+                    outputS3ObjectInfo.bucket(),
+                    outputS3ObjectInfo.key(),
+                    directory,
+                    true,
+                    metadataProvider,
+                    taggingProvider);
+
+            upload.waitForCompletion();
+
+        } catch (InterruptedException e) {
+            logger.warn(e.getMessage());
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void createTrainingJobConfigurationFile(TrainingJobWriterConfig trainingJobWriterConfig,
                                                     Path outputPath,
                                                     GraphSchema graphSchema,
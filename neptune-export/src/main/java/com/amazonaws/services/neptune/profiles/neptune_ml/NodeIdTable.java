@@ -0,0 +1,151 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.profiles.neptune_ml;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Maps the IDs of a single node type to their dense indexes. The IDs themselves are not held on the heap: the table
+ * holds a 32-bit hash and an index per slot (16 to 32 bytes per node), and candidate matches are compared against
+ * the memory-mapped offsets and UTF-8 string table files written for the node type.
+ */
+class NodeIdTable {
+
+    private static final int EMPTY = -1;
+    private static final long MAPPED_SEGMENT_SIZE = 1L << 30;
+
+    private int[] hashes = new int[1024];
+    private int[] indexes = newIndexes(1024);
+    private int size = 0;
+
+    private MappedByteBuffer[] offsets;
+    private MappedByteBuffer[] ids;
+
+    void add(byte[] id, int index) {
+        if ((size + 1) * 2 > indexes.length) {
+            resize();
+        }
+        insert(hash(id), index);
+        size++;
+    }
+
+    /**
+     * Maps the files to which the node type's IDs were written, in index order. Must be called after the last
+     * add() and before the first indexOf().
+     */
+    void map(File offsetsFile, File idsFile) throws IOException {
+        offsets = map(offsetsFile);
+        ids = map(idsFile);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int indexOf(String id) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(bytes);
+        int mask = indexes.length - 1;
+        int slot = hash & mask;
+        while (indexes[slot] != EMPTY) {
+            if (hashes[slot] == hash && matches(indexes[slot], bytes)) {
+                return indexes[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private boolean matches(int index, byte[] bytes) {
+        long start = getLong(offsets, (long) index * Long.BYTES);
+        long end = getLong(offsets, (long) (index + 1) * Long.BYTES);
+        if (end - start != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            long position = start + i;
+            if (ids[(int) (position / MAPPED_SEGMENT_SIZE)].get((int) (position % MAPPED_SEGMENT_SIZE)) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(int hash, int index) {
+        int mask = indexes.length - 1;
+        int slot = hash & mask;
+        while (indexes[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        hashes[slot] = hash;
+        indexes[slot] = index;
+    }
+
+    private void resize() {
+        int[] oldHashes = hashes;
+        int[] oldIndexes = indexes;
+        hashes = new int[oldIndexes.length * 2];
+        indexes = newIndexes(oldIndexes.length * 2);
+        for (int i = 0; i < oldIndexes.length; i++) {
+            if (oldIndexes[i] != EMPTY) {
+                insert(oldHashes[i], oldIndexes[i]);
+            }
+        }
+    }
+
+    private static int[] newIndexes(int length) {
+        int[] indexes = new int[length];
+        Arrays.fill(indexes, EMPTY);
+        return indexes;
+    }
+
+    private static int hash(byte[] bytes) {
+        // FNV-1a, with a final mix so that the low bits used to pick a slot depend on every byte
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+
+    private static long getLong(MappedByteBuffer[] segments, long position) {
+        // Offsets are 8-byte aligned and the segment size is a multiple of 8, so a value never spans two segments
+        return segments[(int) (position / MAPPED_SEGMENT_SIZE)].getLong((int) (position % MAPPED_SEGMENT_SIZE));
+    }
+
+    private static MappedByteBuffer[] map(File file) throws IOException {
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            FileChannel channel = input.getChannel();
+            long size = channel.size();
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + MAPPED_SEGMENT_SIZE - 1) / MAPPED_SEGMENT_SIZE)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = i * MAPPED_SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(MAPPED_SEGMENT_SIZE, size - start));
+                segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return segments;
+        }
+    }
+}
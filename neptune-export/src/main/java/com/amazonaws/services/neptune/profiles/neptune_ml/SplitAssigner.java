@@ -0,0 +1,142 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.profiles.neptune_ml;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns graph elements to the train (0), validation (1) or test (2) split from a seeded hash of their ID,
+ * so that the same ID always lands in the same split for a given seed. When stratifying, every ID must first
+ * be added with its label value: within each label value, IDs are ranked by their hash and the splits take
+ * their quotas of that ranking in turn. The split for an ID depends only on the seed, the label value and the
+ * set of IDs with that value, never on the order in which the IDs are seen.
+ */
+public class SplitAssigner {
+
+    public static final int TRAIN = 0;
+    public static final int VALIDATION = 1;
+    public static final int TEST = 2;
+
+    private final double[] rates;
+    private final long seed;
+    private final boolean stratify;
+    private final Map<String, Stratum> strata = new HashMap<>();
+
+    public SplitAssigner(Collection<Double> splitRates, TrainingJobWriterConfig.SplitAssignmentConfig config) {
+        this.rates = splitRates.stream().mapToDouble(Double::doubleValue).toArray();
+        this.seed = config.seed();
+        this.stratify = config.stratify();
+
+        if (rates.length != 3) {
+            throw new IllegalArgumentException("splitRates must contain 3 values");
+        }
+    }
+
+    public boolean isStratified() {
+        return stratify;
+    }
+
+    public void add(String id, String labelValue) {
+        if (!stratify) {
+            return;
+        }
+        Stratum stratum = strata.computeIfAbsent(labelValue, k -> new Stratum());
+        if (stratum.thresholds != null) {
+            throw new IllegalStateException("Cannot add IDs after splits have been assigned");
+        }
+        stratum.add(uniform(id));
+    }
+
+    public int assign(String id, String labelValue) {
+
+        double u = uniform(id);
+
+        if (!stratify) {
+            return splitFor(u);
+        }
+
+        Stratum stratum = strata.get(labelValue);
+        if (stratum == null) {
+            throw new IllegalStateException(
+                    String.format("No IDs have been added for label value '%s'", labelValue));
+        }
+
+        double[] thresholds = stratum.thresholds(rates);
+        for (int i = 0; i < thresholds.length; i++) {
+            if (u < thresholds[i]) {
+                return i;
+            }
+        }
+        return rates.length - 1;
+    }
+
+    private int splitFor(double u) {
+        double cumulative = 0.0;
+        for (int i = 0; i < rates.length - 1; i++) {
+            cumulative += rates[i];
+            if (u < cumulative) {
+                return i;
+            }
+        }
+        return rates.length - 1;
+    }
+
+    private double uniform(String id) {
+        // FNV-1a over the seed and characters, followed by a 64-bit finalizer to spread the bits
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    private static class Stratum {
+
+        private double[] hashes = new double[16];
+        private int size = 0;
+        private double[] thresholds;
+
+        void add(double hash) {
+            if (size == hashes.length) {
+                hashes = Arrays.copyOf(hashes, size * 2);
+            }
+            hashes[size++] = hash;
+        }
+
+        double[] thresholds(double[] rates) {
+            if (thresholds == null) {
+                // The upper bound of each split but the last is the hash at the end of that split's quota
+                Arrays.sort(hashes, 0, size);
+                thresholds = new double[rates.length - 1];
+                double cumulative = 0.0;
+                for (int i = 0; i < thresholds.length; i++) {
+                    cumulative += rates[i];
+                    int end = (int) Math.round(cumulative * size);
+                    thresholds[i] = end < size ? hashes[end] : Double.POSITIVE_INFINITY;
+                }
+                hashes = null;
+            }
+            return thresholds;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.profiles.neptune_ml;
+
+import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.io.PrinterOptions;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementSchemas;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementTypes;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Writes a one-byte-per-row split mask for every classification target that has a split_assignment, aligned
+ * with the rows of the target's exported CSV files: 0 = train, 1 = validation, 2 = test, and 255 for rows
+ * with no value for the label property. A manifest.json file lists the masks and their split counts.
+ */
+public class SplitMaskWriter {
+
+    public static final String DIRECTORY_NAME = "splits";
+    public static final String MANIFEST_FILE = "manifest.json";
+    public static final int UNLABELLED = 255;
+
+    private static final org.slf4j.Logger logger = LoggerFactory.getLogger(SplitMaskWriter.class);
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final GraphSchema graphSchema;
+    private final PropertyName propertyName;
+    private final PrinterOptions printerOptions;
+    private final TrainingJobWriterConfig config;
+
+    public SplitMaskWriter(GraphSchema graphSchema,
+                           PropertyName propertyName,
+                           PrinterOptions printerOptions,
+                           TrainingJobWriterConfig config) {
+        this.graphSchema = graphSchema;
+        this.propertyName = propertyName;
+        this.printerOptions = printerOptions;
+        this.config = config;
+    }
+
+    public boolean hasSplitAssignments() {
+        return config.nodeClassLabels().values().stream().anyMatch(TrainingJobWriterConfig.LabelConfig::hasSplitAssignment) ||
+                config.edgeClassLabels().values().stream().anyMatch(TrainingJobWriterConfig.LabelConfig::hasSplitAssignment);
+    }
+
+    public File write(Path outputPath) throws IOException {
+
+        File splitsDirectory = new File(new File(outputPath.toFile(), DIRECTORY_NAME), config.name());
+
+        if (!splitsDirectory.mkdirs() && !splitsDirectory.isDirectory()) {
+            throw new IllegalStateException(String.format("Unable to create directory %s", splitsDirectory));
+        }
+
+        try (Writer writer = new OutputStreamWriter(
+                new FileOutputStream(new File(splitsDirectory, MANIFEST_FILE)), StandardCharsets.UTF_8);
+             JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+
+            generator.setPrettyPrinter(new DefaultPrettyPrinter());
+            generator.writeStartObject();
+            generator.writeNumberField("version", 1);
+            generator.writeObjectFieldStart("values");
+            generator.writeNumberField("train", SplitAssigner.TRAIN);
+            generator.writeNumberField("validation", SplitAssigner.VALIDATION);
+            generator.writeNumberField("test", SplitAssigner.TEST);
+            generator.writeNumberField("unlabelled", UNLABELLED);
+            generator.writeEndObject();
+
+            generator.writeArrayFieldStart("targets");
+            int index = 0;
+            index = writeMasks(GraphElementTypes.Nodes, config.nodeClassLabels(), splitsDirectory, index, generator);
+            writeMasks(GraphElementTypes.Edges, config.edgeClassLabels(), splitsDirectory, index, generator);
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+            generator.flush();
+        }
+
+        return splitsDirectory;
+    }
+
+    private int writeMasks(GraphElementType<?> graphElementType,
+                           Map<Label, TrainingJobWriterConfig.LabelConfig> labelConfigs,
+                           File splitsDirectory,
+                           int index,
+                           JsonGenerator generator) throws IOException {
+
+        GraphElementSchemas graphElementSchemas = graphSchema.graphElementSchemasFor(graphElementType);
+
+        for (Map.Entry<Label, TrainingJobWriterConfig.LabelConfig> entry : labelConfigs.entrySet()) {
+            Label label = entry.getKey();
+            TrainingJobWriterConfig.LabelConfig labelConfig = entry.getValue();
+
+            if (!labelConfig.hasSplitAssignment()) {
+                continue;
+            }
+
+            if (!graphElementSchemas.hasSchemaFor(label)) {
+                logger.warn("Skipping split assignment for {} because it was not exported", label.fullyQualifiedLabel());
+                continue;
+            }
+
+            writeMask(graphElementType,
+                    graphElementSchemas.getSchemaFor(label),
+                    graphElementSchemas.getOutputIdsFor(label),
+                    labelConfig,
+                    new File(splitsDirectory, Directories.fileName(label.fullyQualifiedLabel(), index++) + ".split.u8"),
+                    generator);
+        }
+
+        return index;
+    }
+
+    private void writeMask(GraphElementType<?> graphElementType,
+                           LabelSchema labelSchema,
+                           Iterable<String> outputIds,
+                           TrainingJobWriterConfig.LabelConfig labelConfig,
+                           File maskFile,
+                           JsonGenerator generator) throws IOException {
+
+        Label label = labelSchema.label();
+        String column = labelSchema.containsProperty(labelConfig.property()) ?
+                propertyName.escaped(labelSchema.getPropertySchema(labelConfig.property()), printerOptions) :
+                null;
+
+        SplitAssigner splitAssigner = new SplitAssigner(labelConfig.splitRates(), labelConfig.splitAssignment());
+        long[] counts = new long[4];
+        long rows = 0;
+
+        if (splitAssigner.isStratified()) {
+            // Stratified splits rank each ID within its label value, so every ID must be seen before any is assigned
+            for (String outputId : outputIds) {
+                try (CSVParser parser = ExportedCsvFiles.parse(outputId, "Split assignment")) {
+                    for (CSVRecord record : parser) {
+                        String value = labelValue(record, column);
+                        if (!value.isEmpty()) {
+                            splitAssigner.add(record.get("~id"), value);
+                        }
+                    }
+                }
+            }
+        }
+
+        try (OutputStream mask = new BufferedOutputStream(new FileOutputStream(maskFile), BUFFER_SIZE)) {
+            for (String outputId : outputIds) {
+                try (CSVParser parser = ExportedCsvFiles.parse(outputId, "Split assignment")) {
+                    for (CSVRecord record : parser) {
+                        String value = labelValue(record, column);
+                        if (value.isEmpty()) {
+                            mask.write(UNLABELLED);
+                            counts[3]++;
+                        } else {
+                            int split = splitAssigner.assign(record.get("~id"), value);
+                            mask.write(split);
+                            counts[split]++;
+                        }
+                        rows++;
+                    }
+                }
+            }
+        }
+
+        generator.writeStartObject();
+        if (graphElementType.equals(GraphElementTypes.Nodes)) {
+            generator.writeStringField("node", label.labelsAsString());
+        } else {
+            generator.writeArrayFieldStart("edge");
+            generator.writeString(label.fromLabelsAsString());
+            generator.writeString(label.labelsAsString());
+            generator.writeString(label.toLabelsAsString());
+            generator.writeEndArray();
+        }
+        generator.writeStringField("property", labelConfig.property());
+        generator.writeStringField("file", maskFile.getName());
+        generator.writeNumberField("rows", rows);
+        generator.writeNumberField("seed", labelConfig.splitAssignment().seed());
+        generator.writeBooleanField("stratified", labelConfig.splitAssignment().stratify());
+        generator.writeObjectFieldStart("counts");
+        generator.writeNumberField("train", counts[SplitAssigner.TRAIN]);
+        generator.writeNumberField("validation", counts[SplitAssigner.VALIDATION]);
+        generator.writeNumberField("test", counts[SplitAssigner.TEST]);
+        generator.writeNumberField("unlabelled", counts[3]);
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private String labelValue(CSVRecord record, String column) {
+        return column != null && record.isMapped(column) ? record.get(column) : "";
+    }
+}
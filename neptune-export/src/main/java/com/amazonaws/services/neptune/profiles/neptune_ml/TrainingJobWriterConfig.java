@@ -152,6 +152,14 @@ public class TrainingJobWriterConfig {
         }
     }
 
+    public Map<Label, LabelConfig> nodeClassLabels() {
+        return nodeClassLabels;
+    }
+
+    public Map<Label, LabelConfig> edgeClassLabels() {
+        return edgeClassLabels;
+    }
+
     public boolean hasEdgeClassificationSpecificationForEdge(Label edgeType) {
         return edgeClassLabels.containsKey(edgeType);
     }
@@ -291,11 +299,20 @@ public class TrainingJobWriterConfig {
         private final String labelType;
         private final String property;
         private final Collection<Double> splitRates;
+        private final SplitAssignmentConfig splitAssignment;
 
         public LabelConfig(String labelType, String property, Collection<Double> splitRates) {
+            this(labelType, property, splitRates, null);
+        }
+
+        public LabelConfig(String labelType,
+                           String property,
+                           Collection<Double> splitRates,
+                           SplitAssignmentConfig splitAssignment) {
             this.labelType = labelType;
             this.property = property;
             this.splitRates = splitRates;
+            this.splitAssignment = splitAssignment;
 
             if (this.splitRates.size() != 3) {
                 throw new IllegalArgumentException("splitRates must contain 3 values");
@@ -319,6 +336,40 @@ public class TrainingJobWriterConfig {
         public String labelType() {
             return labelType;
         }
+
+        public boolean hasSplitAssignment() {
+            return splitAssignment != null;
+        }
+
+        public SplitAssignmentConfig splitAssignment() {
+            return splitAssignment;
+        }
+    }
+
+    public static class SplitAssignmentConfig {
+        private final long seed;
+        private final boolean stratify;
+
+        public SplitAssignmentConfig(long seed, boolean stratify) {
+            this.seed = seed;
+            this.stratify = stratify;
+        }
+
+        public long seed() {
+            return seed;
+        }
+
+        public boolean stratify() {
+            return stratify;
+        }
+
+        @Override
+        public String toString() {
+            return "SplitAssignmentConfig{" +
+                    "seed=" + seed +
+                    ", stratify=" + stratify +
+                    '}';
+        }
     }
 
     public static class Range {
@@ -39,7 +39,8 @@ public class ParseLabels {
                 String property = new ParseProperty(node, description).parseSingleProperty();
                 String labelType = new ParseLabelType("node", node).parseLabel();
                 Collection<Double> splitRates = new ParseSplitRate(node, defaultSplitRates).parseSplitRates();
-                nodeClassLabels.put(nodeType, new TrainingJobWriterConfig.LabelConfig(labelType, property, splitRates));
+                TrainingJobWriterConfig.SplitAssignmentConfig splitAssignment = new ParseSplitAssignment(node, description).parseSplitAssignment();
+                nodeClassLabels.put(nodeType, new TrainingJobWriterConfig.LabelConfig(labelType, property, splitRates, splitAssignment));
             }
         }
         return nodeClassLabels;
@@ -54,7 +55,8 @@ public class ParseLabels {
                 String property = new ParseProperty(node, description).parseSingleProperty();
                 String labelType = new ParseLabelType("edge", node).parseLabel();
                 Collection<Double> splitRates = new ParseSplitRate(node, defaultSplitRates).parseSplitRates();
-                edgeClassLabels.put(edgeType, new TrainingJobWriterConfig.LabelConfig(labelType, property, splitRates));
+                TrainingJobWriterConfig.SplitAssignmentConfig splitAssignment = new ParseSplitAssignment(node, description).parseSplitAssignment();
+                edgeClassLabels.put(edgeType, new TrainingJobWriterConfig.LabelConfig(labelType, property, splitRates, splitAssignment));
             }
         }
         return edgeClassLabels;
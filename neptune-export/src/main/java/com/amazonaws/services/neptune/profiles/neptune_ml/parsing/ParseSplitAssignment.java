@@ -0,0 +1,54 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.profiles.neptune_ml.parsing;
+
+import com.amazonaws.services.neptune.profiles.neptune_ml.TrainingJobWriterConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+
+public class ParseSplitAssignment {
+
+    private final JsonNode json;
+    private final String description;
+
+    public ParseSplitAssignment(JsonNode json, String description) {
+        this.json = json;
+        this.description = description;
+    }
+
+    public TrainingJobWriterConfig.SplitAssignmentConfig parseSplitAssignment() {
+        if (!json.has("split_assignment")) {
+            return null;
+        }
+
+        JsonNode splitAssignment = json.get("split_assignment");
+
+        if (splitAssignment.isBoolean()) {
+            return splitAssignment.booleanValue() ?
+                    new TrainingJobWriterConfig.SplitAssignmentConfig(0, false) :
+                    null;
+        } else if (splitAssignment.isObject()) {
+            JsonNode seed = splitAssignment.path("seed");
+            if (!seed.isMissingNode() && !seed.isIntegralNumber()) {
+                throw new IllegalArgumentException(String.format("Error parsing 'split_assignment' field: expected an integer 'seed' value for %s", description));
+            }
+            JsonNode stratify = splitAssignment.path("stratify");
+            if (!stratify.isMissingNode() && !stratify.isBoolean()) {
+                throw new IllegalArgumentException(String.format("Error parsing 'split_assignment' field: expected a boolean 'stratify' value for %s", description));
+            }
+            return new TrainingJobWriterConfig.SplitAssignmentConfig(seed.asLong(0), stratify.asBoolean(false));
+        } else {
+            throw new IllegalArgumentException(String.format("Error parsing 'split_assignment' field: expected a boolean or object value for %s", description));
+        }
+    }
+}
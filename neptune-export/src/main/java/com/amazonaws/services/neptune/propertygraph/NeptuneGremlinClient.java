@@ -16,6 +16,7 @@ import com.amazonaws.services.neptune.cluster.ClusterStrategy;
 import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
 import com.amazonaws.services.neptune.cluster.ConnectionConfig;
 import com.amazonaws.services.neptune.propertygraph.io.SerializationConfig;
+import com.amazonaws.services.neptune.util.ClientCache;
 import org.apache.tinkerpop.gremlin.driver.*;
 import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -23,6 +24,10 @@ import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public class NeptuneGremlinClient implements AutoCloseable {
 
     public static final int DEFAULT_BATCH_SIZE = 64;
@@ -62,13 +67,40 @@ public class NeptuneGremlinClient implements AutoCloseable {
 
         int numberOfEndpoints = connectionConfig.endpoints().size();
 
-        return new NeptuneGremlinClient(concurrencyConfig.applyTo(builder, numberOfEndpoints).create());
+        Cluster.Builder clusterBuilder = concurrencyConfig.applyTo(builder, numberOfEndpoints);
+
+        if (ClientCache.isEnabled() && clusterStrategy.canShareConnections()) {
+            String key = cacheKey(connectionConfig, concurrencyConfig, serializationConfig);
+            return new NeptuneGremlinClient(ClientCache.acquireGremlinCluster(key, clusterBuilder::create), key);
+        }
+
+        return new NeptuneGremlinClient(clusterBuilder.create(), null);
+    }
+
+    private static String cacheKey(ConnectionConfig connectionConfig,
+                                   ConcurrencyConfig concurrencyConfig,
+                                   SerializationConfig serializationConfig) {
+        List<String> endpoints = new ArrayList<>(connectionConfig.endpoints());
+        Collections.sort(endpoints);
+
+        return String.join("|",
+                String.join(",", endpoints),
+                String.valueOf(connectionConfig.port()),
+                String.valueOf(connectionConfig.useSsl()),
+                String.valueOf(connectionConfig.useIamAuth()),
+                connectionConfig.isDirectConnection() ? "" : connectionConfig.handshakeRequestConfig().value(),
+                String.valueOf(concurrencyConfig.concurrency()),
+                serializationConfig.serializer(),
+                String.valueOf(serializationConfig.batchSize()),
+                String.valueOf(serializationConfig.maxContentLength()));
     }
 
     private final Cluster cluster;
+    private final String cacheKey;
 
-    private NeptuneGremlinClient(Cluster cluster) {
+    private NeptuneGremlinClient(Cluster cluster, String cacheKey) {
         this.cluster = cluster;
+        this.cacheKey = cacheKey;
     }
 
     public GraphTraversalSource newTraversalSource() {
@@ -81,7 +113,9 @@ public class NeptuneGremlinClient implements AutoCloseable {
 
     @Override
     public void close() throws Exception {
-        if (cluster != null && !cluster.isClosed() && !cluster.isClosing()) {
+        if (cacheKey != null) {
+            ClientCache.releaseGremlinCluster(cacheKey);
+        } else if (cluster != null && !cluster.isClosed() && !cluster.isClosing()) {
             cluster.close();
         }
     }
@@ -23,13 +23,15 @@ public class CsvPrinterOptions {
     private final boolean escapeCsvHeaders;
     private final boolean includeHeaders;
     private final boolean isSemicolonSeparator;
+    private final boolean collectValueStats;
 
-    private CsvPrinterOptions(String multiValueSeparator, boolean includeTypeDefinitions, boolean escapeCsvHeaders, boolean includeHeaders) {
+    private CsvPrinterOptions(String multiValueSeparator, boolean includeTypeDefinitions, boolean escapeCsvHeaders, boolean includeHeaders, boolean collectValueStats) {
         this.multiValueSeparator = multiValueSeparator;
         this.includeTypeDefinitions = includeTypeDefinitions;
         this.escapeCsvHeaders = escapeCsvHeaders;
         this.includeHeaders = includeHeaders;
         this.isSemicolonSeparator = multiValueSeparator.equalsIgnoreCase(";");
+        this.collectValueStats = collectValueStats;
     }
 
     public String multiValueSeparator() {
@@ -52,12 +54,17 @@ public class CsvPrinterOptions {
         return isSemicolonSeparator;
     }
 
+    public boolean collectValueStats() {
+        return collectValueStats;
+    }
+
     public Builder copy(){
         return new Builder()
                 .setMultiValueSeparator(multiValueSeparator)
                 .setIncludeTypeDefinitions(includeTypeDefinitions)
                 .setEscapeCsvHeaders(escapeCsvHeaders)
-                .setIncludeHeaders(includeHeaders);
+                .setIncludeHeaders(includeHeaders)
+                .setCollectValueStats(collectValueStats);
     }
 
     public static class Builder {
@@ -66,6 +73,7 @@ public class CsvPrinterOptions {
         private boolean includeTypeDefinitions = false;
         private boolean escapeCsvHeaders = false;
         private boolean includeHeaders = false;
+        private boolean collectValueStats = false;
 
         public Builder setMultiValueSeparator(String multiValueSeparator) {
             this.multiValueSeparator = multiValueSeparator;
@@ -87,8 +95,13 @@ public class CsvPrinterOptions {
             return this;
         }
 
+        public Builder setCollectValueStats(boolean collectValueStats) {
+            this.collectValueStats = collectValueStats;
+            return this;
+        }
+
         public CsvPrinterOptions build(){
-            return new CsvPrinterOptions(multiValueSeparator, includeTypeDefinitions, escapeCsvHeaders, includeHeaders);
+            return new CsvPrinterOptions(multiValueSeparator, includeTypeDefinitions, escapeCsvHeaders, includeHeaders, collectValueStats);
         }
 
     }
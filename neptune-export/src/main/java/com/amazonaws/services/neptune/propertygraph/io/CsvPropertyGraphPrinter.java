@@ -92,7 +92,7 @@ public class CsvPropertyGraphPrinter implements PropertyGraphPrinter {
             if (properties.containsKey(property)) {
                 Object value = properties.get(property);
                 int size = propertySchema.accept(value, allowUpdateSchema);
-                labelSchema.recordObservation(propertySchema, value, size);
+                labelSchema.recordObservation(propertySchema, value, size, printerOptions.csv().collectValueStats());
                 printProperty(propertySchema, value, applyFormatting);
             } else {
                 commaPrinter.printComma();
@@ -191,6 +191,11 @@ public class CsvPropertyGraphPrinter implements PropertyGraphPrinter {
         return value instanceof List<?>;
     }
 
+    @Override
+    public void suspend() throws IOException {
+        writer.suspend();
+    }
+
     @Override
     public void close() throws Exception {
         writer.close();
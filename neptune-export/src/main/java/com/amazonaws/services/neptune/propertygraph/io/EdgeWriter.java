@@ -58,6 +58,11 @@ public class EdgeWriter implements LabelWriter<Map<String, Object>> {
         propertyGraphPrinter.printEndRow();
     }
 
+    @Override
+    public void suspend() throws IOException {
+        propertyGraphPrinter.suspend();
+    }
+
     @Override
     public void close() throws Exception {
         propertyGraphPrinter.close();
@@ -13,15 +13,22 @@ permissions and limitations under the License.
 package com.amazonaws.services.neptune.propertygraph.io;
 
 import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import com.amazonaws.services.neptune.io.MemoryGovernor;
+import com.amazonaws.services.neptune.io.OutputFileListener;
 import com.amazonaws.services.neptune.io.Status;
+import com.amazonaws.services.neptune.propertygraph.Label;
 import com.amazonaws.services.neptune.propertygraph.RangeConfig;
 import com.amazonaws.services.neptune.propertygraph.RangeFactory;
 import com.amazonaws.services.neptune.propertygraph.schema.*;
 import com.amazonaws.services.neptune.util.Activity;
 import com.amazonaws.services.neptune.util.CheckedActivity;
 import com.amazonaws.services.neptune.util.Timer;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -33,12 +40,15 @@ import java.util.concurrent.TimeUnit;
 
 public class ExportPropertyGraphJob {
 
+    private static final Logger logger = LoggerFactory.getLogger(ExportPropertyGraphJob.class);
+
     private final Collection<ExportSpecification<?>> exportSpecifications;
     private final GraphSchema graphSchema;
     private final GraphTraversalSource g;
     private final RangeConfig rangeConfig;
     private final ConcurrencyConfig concurrencyConfig;
     private final PropertyGraphTargetConfig targetConfig;
+    private final OutputFileListener outputFileListener;
 
     public ExportPropertyGraphJob(Collection<ExportSpecification<?>> exportSpecifications,
                                   GraphSchema graphSchema,
@@ -46,12 +56,23 @@ public class ExportPropertyGraphJob {
                                   RangeConfig rangeConfig,
                                   ConcurrencyConfig concurrencyConfig,
                                   PropertyGraphTargetConfig targetConfig) {
+        this(exportSpecifications, graphSchema, g, rangeConfig, concurrencyConfig, targetConfig, OutputFileListener.NULL_LISTENER);
+    }
+
+    public ExportPropertyGraphJob(Collection<ExportSpecification<?>> exportSpecifications,
+                                  GraphSchema graphSchema,
+                                  GraphTraversalSource g,
+                                  RangeConfig rangeConfig,
+                                  ConcurrencyConfig concurrencyConfig,
+                                  PropertyGraphTargetConfig targetConfig,
+                                  OutputFileListener outputFileListener) {
         this.exportSpecifications = exportSpecifications;
         this.graphSchema = graphSchema;
         this.g = g;
         this.rangeConfig = rangeConfig;
         this.concurrencyConfig = concurrencyConfig;
         this.targetConfig = targetConfig;
+        this.outputFileListener = outputFileListener;
     }
 
     public GraphSchema execute() throws Exception {
@@ -64,17 +85,20 @@ public class ExportPropertyGraphJob {
             revisedGraphElementSchemas.put(masterLabelSchemas.graphElementType(), masterLabelSchemas.toGraphElementSchemas());
         }
 
+        logger.info(targetConfig.memoryGovernor().usageSummary());
+
         return new GraphSchema(revisedGraphElementSchemas);
     }
 
     private MasterLabelSchemas export(ExportSpecification<?> exportSpecification) throws Exception {
         Collection<FileSpecificLabelSchemas> fileSpecificLabelSchemas = new ArrayList<>();
-
+        RewriteCommand rewriteCommand = targetConfig.createRewriteCommand(concurrencyConfig);
 
         for (ExportSpecification<?> labelSpecificExportSpecification : exportSpecification.splitByLabel()) {
             Collection<Future<FileSpecificLabelSchemas>> futures = new ArrayList<>();
             RangeFactory rangeFactory = labelSpecificExportSpecification.createRangeFactory(g, rangeConfig, concurrencyConfig);
             Status status = new Status();
+            GraphTraversalSource taskTraversalSource = withResultBatchSize(g);
 
             String description = String.format("writing %s as %s to %s",
                     labelSpecificExportSpecification.description(),
@@ -89,7 +113,7 @@ public class ExportPropertyGraphJob {
                 for (int index = 1; index <= rangeFactory.concurrency(); index++) {
                     ExportPropertyGraphTask<?> exportTask = labelSpecificExportSpecification.createExportTask(
                             graphSchema,
-                            g,
+                            taskTraversalSource,
                             targetConfig,
                             rangeFactory,
                             status,
@@ -108,13 +132,55 @@ public class ExportPropertyGraphJob {
                 }
 
                 updateFileSpecificLabelSchemas(futures, fileSpecificLabelSchemas);
+
+                // Files that won't be rewritten are complete as soon as their writers close
+                if (rewriteCommand == RewriteCommand.NULL_COMMAND) {
+                    for (Future<FileSpecificLabelSchemas> future : futures) {
+                        FileSpecificLabelSchemas schemas = future.get();
+                        for (Label label : schemas.labels()) {
+                            for (FileSpecificLabelSchema schema : schemas.fileSpecificLabelSchemasFor(label)) {
+                                notifyOutputFileComplete(schema.outputId());
+                            }
+                        }
+                    }
+                }
             });
         }
 
         MasterLabelSchemas masterLabelSchemas = exportSpecification.createMasterLabelSchemas(fileSpecificLabelSchemas);
-        RewriteCommand rewriteCommand = targetConfig.createRewriteCommand(concurrencyConfig);
 
-        return rewriteCommand.execute(masterLabelSchemas);
+        if (rewriteCommand == RewriteCommand.NULL_COMMAND) {
+            return masterLabelSchemas;
+        }
+
+        MasterLabelSchemas rewrittenMasterLabelSchemas = rewriteCommand.execute(masterLabelSchemas);
+
+        for (MasterLabelSchema masterLabelSchema : rewrittenMasterLabelSchemas.schemas()) {
+            for (String outputId : masterLabelSchema.outputIds()) {
+                notifyOutputFileComplete(outputId);
+            }
+        }
+
+        return rewrittenMasterLabelSchemas;
+    }
+
+    // Reduces the batch size of the queries for the next label if the result batches held by all tasks
+    // would otherwise exceed the heap budget, given the size of the elements exported so far
+    private GraphTraversalSource withResultBatchSize(GraphTraversalSource g) {
+        MemoryGovernor memoryGovernor = targetConfig.memoryGovernor();
+        if (!memoryGovernor.limitsResultBatchSize()) {
+            return g;
+        }
+        int batchSize = memoryGovernor.resultBatchSize();
+        logger.info("Reducing result batch size to {} to stay within heap budget", batchSize);
+        return g.with(Tokens.ARGS_BATCH_SIZE, batchSize);
+    }
+
+    private void notifyOutputFileComplete(String outputId) {
+        File file = new File(outputId);
+        if (file.isFile()) {
+            outputFileListener.onOutputFileComplete(file);
+        }
     }
 
     private void updateFileSpecificLabelSchemas(
@@ -13,6 +13,7 @@ permissions and limitations under the License.
 package com.amazonaws.services.neptune.propertygraph.io;
 
 import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.MemoryGovernor;
 import com.amazonaws.services.neptune.io.Status;
 import com.amazonaws.services.neptune.propertygraph.*;
 import com.amazonaws.services.neptune.propertygraph.schema.FileSpecificLabelSchemas;
@@ -23,6 +24,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
@@ -75,6 +78,9 @@ public class ExportPropertyGraphTask<T extends Map<?, ?>> implements Callable<Fi
                         index
                 ));
 
+        MemoryGovernor memoryGovernor = targetConfig.memoryGovernor();
+        long elementsRecorded = 0;
+
         try {
             while (status.allowContinue()) {
                 Range range = rangeFactory.nextRange();
@@ -82,6 +88,8 @@ public class ExportPropertyGraphTask<T extends Map<?, ?>> implements Callable<Fi
                     status.halt();
                 } else {
                     graphClient.queryForValues(handler, range, labelsFilter, graphElementSchemas);
+                    memoryGovernor.recordElementsWritten(handler.numberProcessed() - elementsRecorded);
+                    elementsRecorded = handler.numberProcessed();
                     if (range.sizeExceeds(handler.numberProcessed()) || rangeFactory.isExhausted()) {
                         status.halt();
                     }
@@ -105,6 +113,8 @@ public class ExportPropertyGraphTask<T extends Map<?, ?>> implements Callable<Fi
         private final PropertyGraphTargetConfig targetConfig;
         private final WriterFactory<T> writerFactory;
         private final Map<Label, LabelWriter<T>> labelWriters;
+        private final Map<Label, LabelWriter<T>> openLabelWriters = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxOpenLabelWriters;
         private final GraphClient<T> graphClient;
         private final Status status;
         private final int index;
@@ -122,6 +132,7 @@ public class ExportPropertyGraphTask<T extends Map<?, ?>> implements Callable<Fi
             this.targetConfig = targetConfig;
             this.writerFactory = writerFactory;
             this.labelWriters = labelWriters;
+            this.maxOpenLabelWriters = targetConfig.memoryGovernor().maxOpenWritersPerTask(MemoryGovernor.MIN_WRITER_BUFFER_SIZE);
             this.graphClient = graphClient;
             this.status = status;
             this.index = index;
@@ -131,11 +142,33 @@ public class ExportPropertyGraphTask<T extends Map<?, ?>> implements Callable<Fi
         public void handle(T input, boolean allowTokens) throws IOException {
             status.update();
             Label label = graphClient.getLabelFor(input, labelsFilter);
+            LabelWriter<T> labelWriter = openLabelWriter(label);
+            graphClient.updateStats(label);
+            labelWriter.handle(input, allowTokens);
+        }
+
+        // Keeps at most maxOpenLabelWriters writers open, suspending the least recently used writer to make
+        // room for another. A suspended writer reopens its file in append mode when it is next written to, with
+        // a buffer sized for the number of writers then open.
+        private LabelWriter<T> openLabelWriter(Label label) throws IOException {
+            LabelWriter<T> labelWriter = openLabelWriters.get(label);
+            if (labelWriter != null) {
+                return labelWriter;
+            }
+
+            if (openLabelWriters.size() >= maxOpenLabelWriters) {
+                Iterator<LabelWriter<T>> leastRecentlyUsed = openLabelWriters.values().iterator();
+                leastRecentlyUsed.next().suspend();
+                leastRecentlyUsed.remove();
+            }
+
             if (!labelWriters.containsKey(label)) {
                 createWriterFor(label);
             }
-            graphClient.updateStats(label);
-            labelWriters.get(label).handle(input, allowTokens);
+
+            labelWriter = labelWriters.get(label);
+            openLabelWriters.put(label, labelWriter);
+            return labelWriter;
         }
 
         @Override
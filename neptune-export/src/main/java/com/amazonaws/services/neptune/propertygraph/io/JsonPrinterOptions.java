@@ -19,29 +19,43 @@ public class JsonPrinterOptions {
     }
 
     private final boolean strictCardinality;
+    private final boolean collectValueStats;
 
-    private JsonPrinterOptions(boolean strictCardinality) {
+    private JsonPrinterOptions(boolean strictCardinality, boolean collectValueStats) {
         this.strictCardinality = strictCardinality;
+        this.collectValueStats = collectValueStats;
     }
 
     public boolean strictCardinality() {
         return strictCardinality;
     }
 
+    public boolean collectValueStats() {
+        return collectValueStats;
+    }
+
     public Builder copy(){
-        return new Builder().setStrictCardinality(strictCardinality);
+        return new Builder()
+                .setStrictCardinality(strictCardinality)
+                .setCollectValueStats(collectValueStats);
     }
 
     public static class Builder{
         private boolean strictCardinality = false;
+        private boolean collectValueStats = false;
 
         public Builder setStrictCardinality(boolean strictCardinality) {
             this.strictCardinality = strictCardinality;
             return this;
         }
 
+        public Builder setCollectValueStats(boolean collectValueStats) {
+            this.collectValueStats = collectValueStats;
+            return this;
+        }
+
         public JsonPrinterOptions build(){
-            return new JsonPrinterOptions(strictCardinality);
+            return new JsonPrinterOptions(strictCardinality, collectValueStats);
         }
 
     }
@@ -72,7 +72,7 @@ public class JsonPropertyGraphPrinter implements PropertyGraphPrinter {
 
             if (properties.containsKey(key)) {
                 int size = propertySchema.accept(value, allowUpdateSchema);
-                labelSchema.recordObservation(propertySchema, value, size);
+                labelSchema.recordObservation(propertySchema, value, size, printerOptions.json().collectValueStats());
                 printProperty(value, propertySchema);
             } else {
                 if (allowUpdateSchema) {
@@ -98,7 +98,7 @@ public class JsonPropertyGraphPrinter implements PropertyGraphPrinter {
                     }
 
                     labelSchema.put(key, propertySchema);
-                    labelSchema.recordObservation(propertySchema, value, size);
+                    labelSchema.recordObservation(propertySchema, value, size, printerOptions.json().collectValueStats());
 
                     printProperty(value, propertySchema);
                 }
@@ -194,10 +194,18 @@ public class JsonPropertyGraphPrinter implements PropertyGraphPrinter {
     @Override
     public void printEndRow() throws IOException {
         generator.writeEndObject();
-        generator.flush();
+        if (writer.requiresFlushOnCommit()) {
+            generator.flush();
+        }
         writer.endCommit();
     }
 
+    @Override
+    public void suspend() throws IOException {
+        generator.flush();
+        writer.suspend();
+    }
+
     @Override
     public void close() throws Exception {
         generator.close();
@@ -13,9 +13,9 @@ permissions and limitations under the License.
 package com.amazonaws.services.neptune.propertygraph.io;
 
 import com.amazonaws.services.neptune.io.CommandWriter;
+import com.amazonaws.services.neptune.util.ClientCache;
 import com.amazonaws.services.neptune.util.S3ObjectInfo;
 import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
@@ -115,7 +115,7 @@ public class JsonResource<T extends Jsonizable> {
 
     private JsonNode getFromS3() throws IOException {
         S3ObjectInfo s3ObjectInfo = new S3ObjectInfo(resourcePath.toString());
-        AmazonS3 s3 = AmazonS3ClientBuilder.defaultClient();
+        AmazonS3 s3 = ClientCache.s3();
         try (InputStream stream  = s3.getObject(s3ObjectInfo.bucket(), s3ObjectInfo.key()).getObjectContent()){
             return new ObjectMapper().readTree(stream);
         }
@@ -12,6 +12,10 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.propertygraph.io;
 
+import java.io.IOException;
+
 public interface LabelWriter<T> extends GraphElementHandler<T> {
     String outputId();
+
+    void suspend() throws IOException;
 }
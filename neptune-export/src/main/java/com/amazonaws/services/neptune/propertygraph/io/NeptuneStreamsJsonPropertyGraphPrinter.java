@@ -16,8 +16,10 @@ import com.amazonaws.services.neptune.io.OutputWriter;
 import com.amazonaws.services.neptune.propertygraph.schema.DataType;
 import com.amazonaws.services.neptune.propertygraph.schema.PropertySchema;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -27,10 +29,32 @@ public class NeptuneStreamsJsonPropertyGraphPrinter implements PropertyGraphPrin
 
     private final static AtomicLong COMMIT_NUM_GENERATOR = new AtomicLong(1);
 
+    // Each printer reserves commit numbers in blocks so that threads don't contend on the shared generator
+    private final static int COMMIT_NUM_BLOCK_SIZE = 1024;
+
+    private final static SerializedString EVENT_ID = new SerializedString("eventId");
+    private final static SerializedString COMMIT_NUM = new SerializedString("commitNum");
+    private final static SerializedString OP_NUM = new SerializedString("opNum");
+    private final static SerializedString DATA = new SerializedString("data");
+    private final static SerializedString ID = new SerializedString("id");
+    private final static SerializedString TYPE = new SerializedString("type");
+    private final static SerializedString KEY = new SerializedString("key");
+    private final static SerializedString VALUE = new SerializedString("value");
+    private final static SerializedString DATA_TYPE = new SerializedString("dataType");
+    private final static SerializedString FROM = new SerializedString("from");
+    private final static SerializedString TO = new SerializedString("to");
+    private final static SerializedString OP = new SerializedString("op");
+    private final static SerializedString ADD = new SerializedString("ADD");
+    private final static SerializedString[] DATA_TYPE_NAMES = Arrays.stream(DataType.values())
+            .map(dataType -> new SerializedString(dataType.name()))
+            .toArray(SerializedString[]::new);
+
     private final OutputWriter writer;
     private final JsonGenerator generator;
 
     private long commitNum = 1;
+    private long nextCommitNum = 0;
+    private long commitNumBlockEnd = 0;
     private int opNum = 1;
 
     public NeptuneStreamsJsonPropertyGraphPrinter(OutputWriter writer, JsonGenerator generator) throws IOException {
@@ -71,18 +95,11 @@ public class NeptuneStreamsJsonPropertyGraphPrinter implements PropertyGraphPrin
             Object value = entry.getValue();
 
             if (isList(value)) {
-
-                List<?> values = (List<?>) value;
-                for (Object o : values) {
-                    PropertySchema propertySchema = new PropertySchema(key);
-                    propertySchema.accept(o, true);
-                    printRecord(id, streamOperation, key, o, propertySchema.dataType());
+                for (Object o : (List<?>) value) {
+                    printRecord(id, streamOperation, key, o, DataType.dataTypeFor(o.getClass()));
                 }
-
             } else {
-                PropertySchema propertySchema = new PropertySchema(key);
-                propertySchema.accept(value, true);
-                printRecord(id, streamOperation, key, value, propertySchema.dataType());
+                printRecord(id, streamOperation, key, value, DataType.dataTypeFor(value.getClass()));
             }
         }
     }
@@ -106,7 +123,11 @@ public class NeptuneStreamsJsonPropertyGraphPrinter implements PropertyGraphPrin
 
     @Override
     public void printStartRow() throws IOException {
-        commitNum = COMMIT_NUM_GENERATOR.getAndIncrement();
+        if (nextCommitNum >= commitNumBlockEnd) {
+            nextCommitNum = COMMIT_NUM_GENERATOR.getAndAdd(COMMIT_NUM_BLOCK_SIZE);
+            commitNumBlockEnd = nextCommitNum + COMMIT_NUM_BLOCK_SIZE;
+        }
+        commitNum = nextCommitNum++;
         opNum = 1;
 
         writer.startCommit();
@@ -114,10 +135,18 @@ public class NeptuneStreamsJsonPropertyGraphPrinter implements PropertyGraphPrin
 
     @Override
     public void printEndRow() throws IOException {
-        generator.flush();
+        if (writer.requiresFlushOnCommit()) {
+            generator.flush();
+        }
         writer.endCommit();
     }
 
+    @Override
+    public void suspend() throws IOException {
+        generator.flush();
+        writer.suspend();
+    }
+
     @Override
     public void close() throws Exception {
         generator.close();
@@ -133,33 +162,52 @@ public class NeptuneStreamsJsonPropertyGraphPrinter implements PropertyGraphPrin
         writer.startOp();
         generator.writeStartObject();
 
-        generator.writeObjectFieldStart("eventId");
-        generator.writeNumberField("commitNum", commitNum);
-        generator.writeNumberField("opNum", opNum++);
+        generator.writeFieldName(EVENT_ID);
+        generator.writeStartObject();
+        generator.writeFieldName(COMMIT_NUM);
+        generator.writeNumber(commitNum);
+        generator.writeFieldName(OP_NUM);
+        generator.writeNumber(opNum++);
         generator.writeEndObject();
 
-        generator.writeObjectFieldStart("data");
-        generator.writeStringField("id", id);
-        generator.writeStringField("type", streamOperation);
-        generator.writeStringField("key", key);
-
-        generator.writeObjectFieldStart("value");
-        dataType.printTo(generator, "value", value);
-        generator.writeStringField("dataType", dataType.name());
+        generator.writeFieldName(DATA);
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeString(id);
+        generator.writeFieldName(TYPE);
+        generator.writeString(streamOperation);
+        generator.writeFieldName(KEY);
+        generator.writeString(key);
+
+        generator.writeFieldName(VALUE);
+        generator.writeStartObject();
+        generator.writeFieldName(VALUE);
+        dataType.printTo(generator, value);
+        generator.writeFieldName(DATA_TYPE);
+        generator.writeString(DATA_TYPE_NAMES[dataType.ordinal()]);
         generator.writeEndObject();
 
         if (from != null) {
-            generator.writeStringField("from", from);
+            generator.writeFieldName(FROM);
+            generator.writeString(from);
         }
         if (to != null) {
-            generator.writeStringField("to", to);
+            generator.writeFieldName(TO);
+            generator.writeString(to);
         }
 
         generator.writeEndObject();
 
-        generator.writeStringField("op", "ADD");
+        generator.writeFieldName(OP);
+        generator.writeString(ADD);
         generator.writeEndObject();
-        generator.flush();
+
+        // Framed writers (Kinesis) interleave their own separators with the records, so the generator has to
+        // be drained before each one; otherwise records accumulate in the generator and target buffers and
+        // are written in large batches
+        if (writer.requiresFlushOnCommit()) {
+            generator.flush();
+        }
         writer.endOp();
     }
 
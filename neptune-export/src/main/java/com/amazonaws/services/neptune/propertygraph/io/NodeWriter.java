@@ -45,6 +45,11 @@ public class NodeWriter implements LabelWriter<Map<String, Object>> {
         propertyGraphPrinter.printEndRow();
     }
 
+    @Override
+    public void suspend() throws IOException {
+        propertyGraphPrinter.suspend();
+    }
+
     @Override
     public void close() throws Exception {
         propertyGraphPrinter.close();
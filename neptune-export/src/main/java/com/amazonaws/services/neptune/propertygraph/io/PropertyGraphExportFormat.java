@@ -15,7 +15,9 @@ package com.amazonaws.services.neptune.propertygraph.io;
 import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
 import com.amazonaws.services.neptune.io.FileExtension;
 import com.amazonaws.services.neptune.io.OutputWriter;
+import com.amazonaws.services.neptune.io.Utf8StreamOutputWriter;
 import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
@@ -159,8 +161,13 @@ public enum PropertyGraphExportFormat implements FileExtension {
         }
     };
 
+    // JsonFactory is thread-safe and recycles generator buffers per thread, so one instance serves every printer
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private static JsonGenerator createJsonGenerator(OutputWriter writer, String s) throws IOException {
-        JsonGenerator generator = new JsonFactory().createGenerator(writer.writer());
+        JsonGenerator generator = writer instanceof Utf8StreamOutputWriter ?
+                JSON_FACTORY.createGenerator(((Utf8StreamOutputWriter) writer).outputStream(), JsonEncoding.UTF8) :
+                JSON_FACTORY.createGenerator(writer.writer());
         generator.setPrettyPrinter(new MinimalPrettyPrinter(s));
         generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
         return generator;
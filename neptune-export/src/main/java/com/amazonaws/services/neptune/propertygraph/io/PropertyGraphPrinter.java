@@ -42,4 +42,9 @@ public interface PropertyGraphPrinter extends AutoCloseable {
     void printStartRow() throws IOException;
 
     void printEndRow() throws IOException;
+
+    /**
+     * Flushes the printer and releases its output buffers until it is next written to.
+     */
+    void suspend() throws IOException;
 }
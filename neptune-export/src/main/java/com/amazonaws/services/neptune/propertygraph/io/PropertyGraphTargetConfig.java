@@ -30,6 +30,7 @@ public class PropertyGraphTargetConfig {
     private final boolean inferSchema;
     private final boolean mergeFiles;
     private final boolean useTempFiles;
+    private final MemoryGovernor memoryGovernor;
 
     public PropertyGraphTargetConfig(Directories directories,
                                      KinesisConfig kinesisConfig,
@@ -38,7 +39,18 @@ public class PropertyGraphTargetConfig {
                                      Target output,
                                      boolean inferSchema,
                                      boolean mergeFiles) {
-        this(directories, kinesisConfig, printerOptions, format, output, inferSchema, mergeFiles, false);
+        this(directories, kinesisConfig, printerOptions, format, output, inferSchema, mergeFiles, MemoryGovernor.UNLIMITED);
+    }
+
+    public PropertyGraphTargetConfig(Directories directories,
+                                     KinesisConfig kinesisConfig,
+                                     PrinterOptions printerOptions,
+                                     PropertyGraphExportFormat format,
+                                     Target output,
+                                     boolean inferSchema,
+                                     boolean mergeFiles,
+                                     MemoryGovernor memoryGovernor) {
+        this(directories, kinesisConfig, printerOptions, format, output, inferSchema, mergeFiles, false, memoryGovernor);
     }
 
     private PropertyGraphTargetConfig(Directories directories,
@@ -48,7 +60,8 @@ public class PropertyGraphTargetConfig {
                                       Target output,
                                       boolean inferSchema,
                                       boolean mergeFiles,
-                                      boolean useTempFiles) {
+                                      boolean useTempFiles,
+                                      MemoryGovernor memoryGovernor) {
         this.directories = directories;
         this.format = format;
         this.output = output;
@@ -57,6 +70,7 @@ public class PropertyGraphTargetConfig {
         this.inferSchema = inferSchema;
         this.mergeFiles = mergeFiles;
         this.useTempFiles = useTempFiles;
+        this.memoryGovernor = memoryGovernor;
     }
 
     public Target output() {
@@ -71,12 +85,16 @@ public class PropertyGraphTargetConfig {
         return mergeFiles;
     }
 
+    public MemoryGovernor memoryGovernor() {
+        return memoryGovernor;
+    }
+
     public PropertyGraphPrinter createPrinterForQueries(String name, LabelSchema labelSchema) throws IOException {
         return createPrinterForQueries(() -> directories.createQueryResultsFilePath(name, fileExtension(useTempFiles)), labelSchema);
     }
 
     private PropertyGraphPrinter createPrinterForQueries(Supplier<Path> pathSupplier, LabelSchema labelSchema) throws IOException {
-        OutputWriter outputWriter = output.createOutputWriter(pathSupplier, kinesisConfig);
+        OutputWriter outputWriter = output.createOutputWriter(pathSupplier, kinesisConfig, memoryGovernor);
         return createPrinter(labelSchema, outputWriter);
     }
 
@@ -85,7 +103,7 @@ public class PropertyGraphTargetConfig {
     }
 
     private PropertyGraphPrinter createPrinterForEdges(Supplier<Path> pathSupplier, LabelSchema labelSchema) throws IOException {
-        OutputWriter outputWriter = output.createOutputWriter(pathSupplier, kinesisConfig);
+        OutputWriter outputWriter = output.createOutputWriter(pathSupplier, kinesisConfig, memoryGovernor);
         return createPrinter(labelSchema, outputWriter);
     }
 
@@ -94,12 +112,12 @@ public class PropertyGraphTargetConfig {
     }
 
     private PropertyGraphPrinter createPrinterForNodes(Supplier<Path> pathSupplier, LabelSchema labelSchema) throws IOException {
-        OutputWriter outputWriter = output.createOutputWriter(pathSupplier, kinesisConfig);
+        OutputWriter outputWriter = output.createOutputWriter(pathSupplier, kinesisConfig, memoryGovernor);
         return createPrinter(labelSchema, outputWriter);
     }
 
     public PropertyGraphTargetConfig forFileConsolidation() {
-        return new PropertyGraphTargetConfig(directories, kinesisConfig, printerOptions, format, output, false, mergeFiles, true);
+        return new PropertyGraphTargetConfig(directories, kinesisConfig, printerOptions, format, output, false, mergeFiles, true, memoryGovernor);
     }
 
     private PropertyGraphPrinter createPrinter(LabelSchema labelSchema, OutputWriter outputWriter) throws IOException {
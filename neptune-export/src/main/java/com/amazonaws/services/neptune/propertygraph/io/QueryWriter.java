@@ -31,6 +31,11 @@ public class QueryWriter implements LabelWriter<Map<?, ?>> {
         propertyGraphPrinter.printEndRow();
     }
 
+    @Override
+    public void suspend() throws IOException {
+        propertyGraphPrinter.suspend();
+    }
+
     @Override
     public void close() throws Exception {
         propertyGraphPrinter.close();
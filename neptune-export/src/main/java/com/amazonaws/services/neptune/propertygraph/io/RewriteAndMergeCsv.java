@@ -96,13 +96,16 @@ public class RewriteAndMergeCsv implements RewriteCommand {
                 targetConfig.format().suffix()));
 
         RenameableFiles renameableFiles = new RenameableFiles();
+        File mergedFile;
 
         try (PropertyGraphPrinter printer = graphElementType.writerFactory().createPrinter(
                 filename,
                 masterSchema,
                 targetConfig.forFileConsolidation())) {
 
-            renameableFiles.add(new File(printer.outputId()), filename);
+            File tempFile = new File(printer.outputId());
+            mergedFile = new File(tempFile.getParentFile(), filename);
+            renameableFiles.add(tempFile, filename);
 
             for (FileSpecificLabelSchema fileSpecificLabelSchema : masterLabelSchema.fileSpecificLabelSchemas()) {
 
@@ -163,7 +166,7 @@ public class RewriteAndMergeCsv implements RewriteCommand {
 
         return new MasterLabelSchema(
                 masterSchema,
-                Collections.singletonList(new FileSpecificLabelSchema(filename, targetConfig.format(), masterSchema)));
+                Collections.singletonList(new FileSpecificLabelSchema(mergedFile.getAbsolutePath(), targetConfig.format(), masterSchema)));
     }
 
 }
@@ -26,6 +26,7 @@ public class VariableRowCsvPropertyGraphPrinter implements PropertyGraphPrinter
     private final CsvPropertyGraphPrinter csvPropertyGraphPrinter;
     private final OutputWriter writer;
     private final LabelSchema labelSchema;
+    private final boolean collectValueStats;
     private boolean isNullable = false;
 
     public VariableRowCsvPropertyGraphPrinter(OutputWriter writer,
@@ -34,10 +35,12 @@ public class VariableRowCsvPropertyGraphPrinter implements PropertyGraphPrinter
 
         CsvPrinterOptions csvPrinterOptions = CsvPrinterOptions.builder()
                 .setMultiValueSeparator(printerOptions.csv().multiValueSeparator())
+                .setCollectValueStats(printerOptions.csv().collectValueStats())
                 .build();
 
         this.writer = writer;
         this.labelSchema = labelSchema;
+        this.collectValueStats = printerOptions.csv().collectValueStats();
         this.csvPropertyGraphPrinter = new CsvPropertyGraphPrinter(
                 writer,
                 labelSchema,
@@ -89,7 +92,7 @@ public class VariableRowCsvPropertyGraphPrinter implements PropertyGraphPrinter
                 }
 
                 labelSchema.put(key, propertySchema);
-                labelSchema.recordObservation(propertySchema, value, size);
+                labelSchema.recordObservation(propertySchema, value, size, collectValueStats);
 
                 csvPropertyGraphPrinter.printProperty(propertySchema, value);
             }
@@ -133,6 +136,11 @@ public class VariableRowCsvPropertyGraphPrinter implements PropertyGraphPrinter
         csvPropertyGraphPrinter.printEndRow();
     }
 
+    @Override
+    public void suspend() throws IOException {
+        writer.suspend();
+    }
+
     @Override
     public void close() throws Exception {
         writer.close();
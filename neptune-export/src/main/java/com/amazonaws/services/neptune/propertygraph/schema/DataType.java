@@ -323,13 +323,20 @@ public enum DataType {
         }
     };
 
-    public static DataType dataTypeFor(Class<?> cls) {
-        String name = cls.getSimpleName();
-        try {
-            return DataType.valueOf(name);
-        } catch (IllegalArgumentException e) {
-            return DataType.String;
+    private static final ClassValue<DataType> DATA_TYPES_BY_CLASS = new ClassValue<DataType>() {
+        @Override
+        protected DataType computeValue(Class<?> cls) {
+            String name = cls.getSimpleName();
+            try {
+                return DataType.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                return DataType.String;
+            }
         }
+    };
+
+    public static DataType dataTypeFor(Class<?> cls) {
+        return DATA_TYPES_BY_CLASS.get(cls);
     }
 
     public static DataType getBroadestType(DataType oldType, DataType newType) {
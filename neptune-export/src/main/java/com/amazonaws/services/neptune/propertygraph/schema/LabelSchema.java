@@ -49,12 +49,18 @@ public class LabelSchema {
     }
 
     public void recordObservation(PropertySchema propertySchema, Object value, int size) {
-        if (propertySchema.isNullable()) {
-            if (StringUtils.isNotEmpty(String.valueOf(value))) {
-                propertySchemaStats.get(propertySchema.property()).recordObservation(size);
-            }
+        recordObservation(propertySchema, value, size, false);
+    }
+
+    public void recordObservation(PropertySchema propertySchema, Object value, int size, boolean recordValueStats) {
+        if (propertySchema.isNullable() && StringUtils.isEmpty(String.valueOf(value))) {
+            return;
+        }
+        PropertySchemaStats stats = propertySchemaStats.get(propertySchema.property());
+        if (recordValueStats) {
+            stats.recordObservation(value, size);
         } else {
-            propertySchemaStats.get(propertySchema.property()).recordObservation(size);
+            stats.recordObservation(size);
         }
     }
 
@@ -64,6 +64,13 @@ public class PropertySchema {
         return size;
     }
 
+    public void accept(DataType valueDataType, int size) {
+        if (size != 1) {
+            isMultiValue = true;
+        }
+        dataType = DataType.getBroadestType(dataType, valueDataType);
+    }
+
     public void makeNullable(){
         isNullable = true;
     }
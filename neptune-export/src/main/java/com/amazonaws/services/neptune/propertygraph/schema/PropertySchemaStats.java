@@ -19,17 +19,36 @@ public class PropertySchemaStats {
     private int minMultiValueSize;
     private int maxMultiValueSize;
     private int observationCount;
+    private final PropertyValueStats valueStats;
 
     public PropertySchemaStats(Object property) {
         this(property, -1, -1, 0, false);
     }
 
     public PropertySchemaStats(Object property, int minMultiValueSize, int maxMultiValueSize, int observationCount, boolean lockMultiValueSizes) {
+        this(property, minMultiValueSize, maxMultiValueSize, observationCount, lockMultiValueSizes, new PropertyValueStats());
+    }
+
+    private PropertySchemaStats(Object property,
+                                int minMultiValueSize,
+                                int maxMultiValueSize,
+                                int observationCount,
+                                boolean lockMultiValueSizes,
+                                PropertyValueStats valueStats) {
         this.property = property;
         this.minMultiValueSize = minMultiValueSize;
         this.maxMultiValueSize = maxMultiValueSize;
         this.observationCount = observationCount;
         this.lockMultiValueSizes = lockMultiValueSizes;
+        this.valueStats = valueStats;
+    }
+
+    public void recordObservation(Object value, int size) {
+        recordObservation(size);
+        // Locked copies re-observe values that have already been recorded during the export
+        if (!lockMultiValueSizes) {
+            valueStats.record(value);
+        }
     }
 
     public void recordObservation(int size) {
@@ -68,15 +87,19 @@ public class PropertySchemaStats {
         return minMultiValueSize == maxMultiValueSize;
     }
 
+    public PropertyValueStats valueStats() {
+        return valueStats;
+    }
+
     public PropertySchemaStats union(PropertySchemaStats other) {
         int newMinMultiValueSize = Math.min(minMultiValueSize, other.minMultiValueSize());
         int newMaxMultiValueSize = Math.max(maxMultiValueSize, other.maxMultiValueSize());
         int newObservationCount = observationCount + other.observationCount();
-        return new PropertySchemaStats(property, newMinMultiValueSize, newMaxMultiValueSize, newObservationCount, false);
+        return new PropertySchemaStats(property, newMinMultiValueSize, newMaxMultiValueSize, newObservationCount, false, valueStats.union(other.valueStats()));
     }
 
     public PropertySchemaStats createCopy() {
-        return new PropertySchemaStats(property, minMultiValueSize, maxMultiValueSize, observationCount, false);
+        return new PropertySchemaStats(property, minMultiValueSize, maxMultiValueSize, observationCount, false, valueStats.createCopy());
     }
 
     public PropertySchemaStats createLockedCopyForFreshObservations(){
@@ -85,7 +108,8 @@ public class PropertySchemaStats {
                 minMultiValueSize,
                 maxMultiValueSize,
                 0,
-                true);
+                true,
+                valueStats.createCopy());
     }
 
     @Override
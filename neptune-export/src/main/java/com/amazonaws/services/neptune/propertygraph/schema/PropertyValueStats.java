@@ -0,0 +1,193 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.schema;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming, mergeable statistics for the values of a property: count, min, max, mean and variance, and
+ * approximate quantiles for numeric values; approximate distinct count and most frequent values for string and
+ * boolean values. Each export task accumulates its own instance, and instances are merged when label schemas
+ * are unioned, so the statistics are available without a further pass over the exported data.
+ */
+public class PropertyValueStats {
+
+    private long numericCount = 0;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private double mean = 0.0;
+    private double m2 = 0.0;
+    private QuantileSketch quantiles;
+
+    private long categoricalCount = 0;
+    private DistinctCountSketch distinctValues;
+    private TopKSketch topValues;
+
+    public void record(Object value) {
+        if (value instanceof List<?>) {
+            for (Object v : (List<?>) value) {
+                recordValue(v);
+            }
+        } else {
+            recordValue(value);
+        }
+    }
+
+    private void recordValue(Object value) {
+        if (value instanceof Number) {
+            recordNumber(((Number) value).doubleValue());
+        } else if (value instanceof String || value instanceof Boolean) {
+            recordCategory(String.valueOf(value));
+        }
+    }
+
+    private void recordNumber(double value) {
+
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return;
+        }
+
+        numericCount++;
+
+        if (numericCount == 1) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        // Welford's online algorithm
+        double delta = value - mean;
+        mean += delta / numericCount;
+        m2 += delta * (value - mean);
+
+        if (quantiles == null) {
+            quantiles = new QuantileSketch();
+        }
+        quantiles.add(value);
+    }
+
+    private void recordCategory(String value) {
+
+        categoricalCount++;
+
+        if (distinctValues == null) {
+            distinctValues = new DistinctCountSketch();
+            topValues = new TopKSketch();
+        }
+        distinctValues.add(value);
+        topValues.add(value);
+    }
+
+    public boolean hasNumericValues() {
+        return numericCount > 0;
+    }
+
+    public boolean hasCategoricalValues() {
+        return categoricalCount > 0;
+    }
+
+    public long numericCount() {
+        return numericCount;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    public double mean() {
+        return numericCount == 0 ? Double.NaN : mean;
+    }
+
+    public double variance() {
+        return numericCount == 0 ? Double.NaN : m2 / numericCount;
+    }
+
+    public double quantile(double q) {
+        if (quantiles == null) {
+            return Double.NaN;
+        }
+        return Math.max(min, Math.min(max, quantiles.quantile(q)));
+    }
+
+    public long categoricalCount() {
+        return categoricalCount;
+    }
+
+    public long distinctCount() {
+        return distinctValues == null ? 0 : distinctValues.estimate();
+    }
+
+    public List<Map.Entry<String, Long>> topValues(int k) {
+        return topValues == null ? Collections.emptyList() : topValues.top(k);
+    }
+
+    public PropertyValueStats union(PropertyValueStats other) {
+
+        PropertyValueStats result = createCopy();
+
+        if (other.numericCount > 0) {
+            if (result.numericCount == 0) {
+                result.min = other.min;
+                result.max = other.max;
+                result.mean = other.mean;
+                result.m2 = other.m2;
+                result.quantiles = other.quantiles.createCopy();
+            } else {
+                // Chan et al. parallel combination of mean and sum of squared differences
+                long count = result.numericCount + other.numericCount;
+                double delta = other.mean - result.mean;
+                result.mean = result.mean + delta * other.numericCount / count;
+                result.m2 = result.m2 + other.m2 + delta * delta * result.numericCount * other.numericCount / count;
+                result.min = Math.min(result.min, other.min);
+                result.max = Math.max(result.max, other.max);
+                result.quantiles = result.quantiles.union(other.quantiles);
+            }
+            result.numericCount += other.numericCount;
+        }
+
+        if (other.categoricalCount > 0) {
+            if (result.categoricalCount == 0) {
+                result.distinctValues = other.distinctValues.createCopy();
+                result.topValues = other.topValues.createCopy();
+            } else {
+                result.distinctValues = result.distinctValues.union(other.distinctValues);
+                result.topValues = result.topValues.union(other.topValues);
+            }
+            result.categoricalCount += other.categoricalCount;
+        }
+
+        return result;
+    }
+
+    public PropertyValueStats createCopy() {
+        PropertyValueStats copy = new PropertyValueStats();
+        copy.numericCount = numericCount;
+        copy.min = min;
+        copy.max = max;
+        copy.mean = mean;
+        copy.m2 = m2;
+        copy.quantiles = quantiles == null ? null : quantiles.createCopy();
+        copy.categoricalCount = categoricalCount;
+        copy.distinctValues = distinctValues == null ? null : distinctValues.createCopy();
+        copy.topValues = topValues == null ? null : topValues.createCopy();
+        return copy;
+    }
+}
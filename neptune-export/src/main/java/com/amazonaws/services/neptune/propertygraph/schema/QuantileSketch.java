@@ -0,0 +1,161 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.schema;
+
+/**
+ * Mergeable quantile sketch with relative-error guarantees (after DDSketch). Values are counted in logarithmically
+ * sized buckets, so that any quantile estimate is within the relative accuracy of the true value. Sketches from
+ * different export tasks are merged by adding their bucket counts.
+ */
+public class QuantileSketch {
+
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final int MAX_BUCKETS = 2048;
+
+    private final Buckets positive;
+    private final Buckets negative;
+    private long zeroCount;
+
+    public QuantileSketch() {
+        this(new Buckets(), new Buckets(), 0);
+    }
+
+    private QuantileSketch(Buckets positive, Buckets negative, long zeroCount) {
+        this.positive = positive;
+        this.negative = negative;
+        this.zeroCount = zeroCount;
+    }
+
+    public void add(double value) {
+        if (value > Double.MIN_NORMAL) {
+            positive.increment(key(value), 1);
+        } else if (value < -Double.MIN_NORMAL) {
+            negative.increment(key(-value), 1);
+        } else {
+            zeroCount++;
+        }
+    }
+
+    public long count() {
+        return positive.total + negative.total + zeroCount;
+    }
+
+    public double quantile(double q) {
+
+        long count = count();
+
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        long rank = (long) (q * (count - 1));
+        long seen = 0;
+
+        for (int i = negative.counts.length - 1; i >= 0; i--) {
+            seen += negative.counts[i];
+            if (seen > rank) {
+                return -value(negative.offset + i);
+            }
+        }
+
+        seen += zeroCount;
+        if (seen > rank) {
+            return 0.0;
+        }
+
+        for (int i = 0; i < positive.counts.length; i++) {
+            seen += positive.counts[i];
+            if (seen > rank) {
+                return value(positive.offset + i);
+            }
+        }
+
+        return value(positive.offset + positive.counts.length - 1);
+    }
+
+    public QuantileSketch union(QuantileSketch other) {
+        QuantileSketch result = createCopy();
+        result.positive.addAll(other.positive);
+        result.negative.addAll(other.negative);
+        result.zeroCount += other.zeroCount;
+        return result;
+    }
+
+    public QuantileSketch createCopy() {
+        return new QuantileSketch(positive.createCopy(), negative.createCopy(), zeroCount);
+    }
+
+    private static int key(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    private static double value(int key) {
+        return 2 * Math.pow(GAMMA, key) / (GAMMA + 1);
+    }
+
+    private static class Buckets {
+
+        private long[] counts = new long[0];
+        private int offset = 0;
+        private long total = 0;
+
+        void increment(int key, long count) {
+
+            if (counts.length == 0) {
+                counts = new long[1];
+                offset = key;
+            } else if (key < offset) {
+                grow(key, offset + counts.length - 1);
+            } else if (key >= offset + counts.length) {
+                grow(offset, key);
+            }
+
+            // Buckets collapsed into the lowest bucket lose accuracy only for the smallest magnitudes
+            int index = Math.max(key - offset, 0);
+            counts[index] += count;
+            total += count;
+        }
+
+        void addAll(Buckets other) {
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] > 0) {
+                    increment(other.offset + i, other.counts[i]);
+                }
+            }
+        }
+
+        Buckets createCopy() {
+            Buckets copy = new Buckets();
+            copy.counts = counts.clone();
+            copy.offset = offset;
+            copy.total = total;
+            return copy;
+        }
+
+        private void grow(int minKey, int maxKey) {
+
+            int newMinKey = Math.max(minKey, maxKey - MAX_BUCKETS + 1);
+            long[] newCounts = new long[maxKey - newMinKey + 1];
+
+            for (int i = 0; i < counts.length; i++) {
+                int newIndex = Math.max(offset + i - newMinKey, 0);
+                newCounts[newIndex] += counts[i];
+            }
+
+            counts = newCounts;
+            offset = newMinKey;
+        }
+    }
+}
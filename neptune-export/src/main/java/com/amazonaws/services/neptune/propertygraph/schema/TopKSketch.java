@@ -0,0 +1,189 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.schema;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Approximate most-frequent values (Space-Saving). Tracks a bounded number of candidate values; when a new value
+ * arrives and the sketch is full, it replaces the least frequent candidate and inherits its count, so counts are
+ * upper bounds. Candidates are kept in a Stream-Summary: a list of buckets of equal count, in ascending count
+ * order, so that incrementing a candidate and finding the least frequent candidate are both constant time.
+ * Sketches from different export tasks are merged by adding counts and keeping the largest.
+ */
+public class TopKSketch {
+
+    private static final int CAPACITY = 64;
+
+    private final Map<String, Counter> counters = new HashMap<>();
+    private Bucket minBucket;
+
+    public void add(String value) {
+
+        Counter counter = counters.get(value);
+
+        if (counter != null) {
+            increment(counter);
+        } else if (counters.size() < CAPACITY) {
+            counter = new Counter(value);
+            counters.put(value, counter);
+            if (minBucket == null || minBucket.count != 1) {
+                Bucket bucket = new Bucket(1);
+                bucket.next = minBucket;
+                if (minBucket != null) {
+                    minBucket.prev = bucket;
+                }
+                minBucket = bucket;
+            }
+            minBucket.attach(counter);
+        } else {
+            counter = minBucket.head;
+            counters.remove(counter.value);
+            counter.value = value;
+            counters.put(value, counter);
+            increment(counter);
+        }
+    }
+
+    private void increment(Counter counter) {
+
+        Bucket bucket = counter.bucket;
+        long newCount = bucket.count + 1;
+
+        Bucket target = bucket.next;
+        if (target == null || target.count != newCount) {
+            target = new Bucket(newCount);
+            target.prev = bucket;
+            target.next = bucket.next;
+            if (bucket.next != null) {
+                bucket.next.prev = target;
+            }
+            bucket.next = target;
+        }
+
+        bucket.detach(counter);
+        if (bucket.head == null) {
+            unlink(bucket);
+        }
+        target.attach(counter);
+    }
+
+    private void unlink(Bucket bucket) {
+        if (bucket.prev != null) {
+            bucket.prev.next = bucket.next;
+        } else {
+            minBucket = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.prev = bucket.prev;
+        }
+    }
+
+    public List<Map.Entry<String, Long>> top(int k) {
+        return counters.values().stream()
+                .map(c -> new AbstractMap.SimpleImmutableEntry<>(c.value, c.bucket.count))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(k)
+                .collect(Collectors.toList());
+    }
+
+    public TopKSketch union(TopKSketch other) {
+
+        Map<String, Long> merged = new HashMap<>();
+        for (Counter counter : counters.values()) {
+            merged.put(counter.value, counter.bucket.count);
+        }
+        for (Counter counter : other.counters.values()) {
+            merged.merge(counter.value, counter.bucket.count, Long::sum);
+        }
+
+        List<Map.Entry<String, Long>> kept = merged.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(CAPACITY)
+                .collect(Collectors.toList());
+
+        // Rebuild the buckets in ascending count order
+        TopKSketch result = new TopKSketch();
+        Bucket last = null;
+        for (int i = kept.size() - 1; i >= 0; i--) {
+            Map.Entry<String, Long> entry = kept.get(i);
+            if (last == null || last.count != entry.getValue()) {
+                Bucket bucket = new Bucket(entry.getValue());
+                bucket.prev = last;
+                if (last != null) {
+                    last.next = bucket;
+                } else {
+                    result.minBucket = bucket;
+                }
+                last = bucket;
+            }
+            Counter counter = new Counter(entry.getKey());
+            last.attach(counter);
+            result.counters.put(entry.getKey(), counter);
+        }
+
+        return result;
+    }
+
+    public TopKSketch createCopy() {
+        return union(new TopKSketch());
+    }
+
+    private static class Bucket {
+
+        private final long count;
+        private Bucket prev;
+        private Bucket next;
+        private Counter head;
+
+        private Bucket(long count) {
+            this.count = count;
+        }
+
+        void attach(Counter counter) {
+            counter.bucket = this;
+            counter.prev = null;
+            counter.next = head;
+            if (head != null) {
+                head.prev = counter;
+            }
+            head = counter;
+        }
+
+        void detach(Counter counter) {
+            if (counter.prev != null) {
+                counter.prev.next = counter.next;
+            } else {
+                head = counter.next;
+            }
+            if (counter.next != null) {
+                counter.next.prev = counter.prev;
+            }
+            counter.prev = null;
+            counter.next = null;
+        }
+    }
+
+    private static class Counter {
+
+        private String value;
+        private Bucket bucket;
+        private Counter prev;
+        private Counter next;
+
+        private Counter(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes net element changes to one JSON lines file per graph element type and label. Each line contains the
+ * operation ('add', 'update' or 'delete'), the element ID and label and, for edges, the from and to vertex IDs
+ * when known. Adds carry the complete set of property values; updates carry the values that have been added
+ * and removed.
+ */
+class DeltaFileWriter implements AutoCloseable {
+
+    static final String UNRESOLVED_LABEL = "_unresolved";
+
+    private static final JsonFactory JSON_FACTORY = new ObjectMapper().getFactory();
+    private static final int BUFFER_SIZE = 65536;
+
+    private final Path deltaDirectory;
+    private final Map<Path, JsonGenerator> generators = new HashMap<>();
+
+    DeltaFileWriter(Path deltaDirectory) {
+        this.deltaDirectory = deltaDirectory;
+    }
+
+    void write(ElementChange change) throws IOException {
+
+        JsonGenerator generator = generatorFor(change.graphElementType(), change.label());
+
+        generator.writeStartObject();
+        generator.writeStringField("~op", change.operation().name());
+        generator.writeStringField("~id", change.id());
+        if (change.label() != null) {
+            generator.writeStringField("~label", change.label().fullyQualifiedLabel());
+        }
+        if (change.from() != null) {
+            generator.writeStringField("~from", change.from());
+            generator.writeStringField("~to", change.to());
+        }
+
+        if (change.operation() != ElementChange.Operation.delete) {
+            generator.writeObjectFieldStart("add");
+            for (Map.Entry<String, ElementChange.PropertyChange> entry : change.properties().entrySet()) {
+                if (!entry.getValue().added().isEmpty()) {
+                    generator.writeArrayFieldStart(entry.getKey());
+                    for (JsonNode value : entry.getValue().added().keySet()) {
+                        generator.writeTree(value);
+                    }
+                    generator.writeEndArray();
+                }
+            }
+            generator.writeEndObject();
+        }
+
+        if (change.operation() == ElementChange.Operation.update) {
+            generator.writeObjectFieldStart("remove");
+            for (Map.Entry<String, ElementChange.PropertyChange> entry : change.properties().entrySet()) {
+                if (!entry.getValue().removed().isEmpty()) {
+                    generator.writeArrayFieldStart(entry.getKey());
+                    for (JsonNode value : entry.getValue().removed()) {
+                        generator.writeTree(value);
+                    }
+                    generator.writeEndArray();
+                }
+            }
+            generator.writeEndObject();
+        }
+
+        generator.writeEndObject();
+    }
+
+    private JsonGenerator generatorFor(GraphElementType<?> graphElementType, Label label) throws IOException {
+
+        String name = label == null ? UNRESOLVED_LABEL : label.fullyQualifiedLabel();
+        Path file = deltaDirectory
+                .resolve(graphElementType.name())
+                .resolve(String.format("%s.json", Directories.fileName(name)));
+
+        JsonGenerator generator = generators.get(file);
+
+        if (generator == null) {
+            Files.createDirectories(file.getParent());
+            generator = JSON_FACTORY.createGenerator(
+                    new BufferedOutputStream(new FileOutputStream(file.toFile()), BUFFER_SIZE),
+                    JsonEncoding.UTF8);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(System.lineSeparator()));
+            generators.put(file, generator);
+        }
+
+        return generator;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (JsonGenerator generator : generators.values()) {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.DataType;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementTypes;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.*;
+
+/**
+ * The net effect of a sequence of change records on a single node or edge.
+ */
+public class ElementChange {
+
+    public enum Operation {
+        add,
+        update,
+        delete,
+        none
+    }
+
+    private final GraphElementType<?> graphElementType;
+    private final String id;
+    private final Set<String> labels = new LinkedHashSet<>();
+    private final Map<String, PropertyChange> properties = new LinkedHashMap<>();
+    private Operation operation = Operation.none;
+    private String from;
+    private String to;
+    private boolean touched = false;
+    private boolean replaced = false;
+    private Label resolvedLabel;
+
+    ElementChange(GraphElementType<?> graphElementType, String id) {
+        this.graphElementType = graphElementType;
+        this.id = id;
+    }
+
+    void apply(StreamRecord record) {
+
+        if (record.isLabelRecord()) {
+            applyLabel(record);
+        } else {
+            applyProperty(record);
+        }
+    }
+
+    private void applyLabel(StreamRecord record) {
+
+        if (record.from() != null) {
+            from = record.from();
+            to = record.to();
+        }
+
+        if (record.op() == StreamRecord.Operation.ADD) {
+            if (operation == Operation.delete) {
+                // Dropped and recreated with the same ID: the add replaces the existing element
+                operation = Operation.add;
+                replaced = true;
+                labels.clear();
+            } else if (!touched || operation == Operation.none) {
+                // New element, or created, dropped and then created again within the same set of changes
+                operation = Operation.add;
+            }
+            labels.add(record.value().asText());
+        } else {
+            if (operation == Operation.add && !replaced) {
+                // Created and dropped within the same set of changes
+                operation = Operation.none;
+                labels.clear();
+            } else {
+                if (operation != Operation.delete) {
+                    labels.clear();
+                }
+                operation = Operation.delete;
+                labels.add(record.value().asText());
+            }
+            properties.clear();
+        }
+
+        touched = true;
+    }
+
+    private void applyProperty(StreamRecord record) {
+
+        if (operation == Operation.delete) {
+            return;
+        }
+
+        if (!touched) {
+            operation = Operation.update;
+            touched = true;
+        }
+
+        PropertyChange change = properties.computeIfAbsent(record.key(), k -> new PropertyChange());
+
+        if (record.op() == StreamRecord.Operation.ADD) {
+            change.add(record.value(), record.dataType());
+        } else {
+            change.remove(record.value());
+        }
+    }
+
+    public GraphElementType<?> graphElementType() {
+        return graphElementType;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public Operation operation() {
+        if (operation == Operation.update &&
+                !hasLabels() &&
+                properties.values().stream().allMatch(PropertyChange::isEmpty)) {
+            return Operation.none;
+        }
+        return operation;
+    }
+
+    public boolean hasLabels() {
+        return !labels.isEmpty();
+    }
+
+    public Label label() {
+        if (resolvedLabel != null) {
+            return resolvedLabel;
+        }
+        if (labels.isEmpty()) {
+            return null;
+        }
+        return graphElementType == GraphElementTypes.Nodes ?
+                new Label(Label.fixLabelsIssue(new ArrayList<>(labels))) :
+                new Label(labels.iterator().next());
+    }
+
+    void resolveLabel(Label label) {
+        this.resolvedLabel = label;
+    }
+
+    public String from() {
+        return from;
+    }
+
+    public String to() {
+        return to;
+    }
+
+    public Map<String, PropertyChange> properties() {
+        return properties;
+    }
+
+    public static class PropertyChange {
+
+        private final Map<JsonNode, DataType> added = new LinkedHashMap<>();
+        private final Set<JsonNode> removed = new LinkedHashSet<>();
+
+        void add(JsonNode value, DataType dataType) {
+            if (!removed.remove(value)) {
+                added.put(value, dataType);
+            }
+        }
+
+        void remove(JsonNode value) {
+            if (added.remove(value) == null) {
+                removed.add(value);
+            }
+        }
+
+        public Map<JsonNode, DataType> added() {
+            return added;
+        }
+
+        public Collection<JsonNode> removed() {
+            return removed;
+        }
+
+        public boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Looks up the labels of elements whose property changes arrived without a label record.
+ */
+public interface ElementLabelResolver {
+
+    ElementLabelResolver NONE = (graphElementType, ids) -> Collections.emptyMap();
+
+    Map<String, Label> resolve(GraphElementType<?> graphElementType, Collection<String> ids) throws Exception;
+}
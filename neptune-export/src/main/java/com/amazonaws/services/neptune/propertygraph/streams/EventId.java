@@ -0,0 +1,78 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Objects;
+
+public class EventId implements Comparable<EventId> {
+
+    public static EventId fromJson(JsonNode json) {
+        if (!json.has("commitNum")) {
+            throw new IllegalArgumentException(String.format("Event ID is missing a commitNum: %s", json));
+        }
+        return new EventId(json.path("commitNum").asLong(), json.path("opNum").asLong(1));
+    }
+
+    private final long commitNum;
+    private final long opNum;
+
+    public EventId(long commitNum, long opNum) {
+        this.commitNum = commitNum;
+        this.opNum = opNum;
+    }
+
+    public long commitNum() {
+        return commitNum;
+    }
+
+    public long opNum() {
+        return opNum;
+    }
+
+    public JsonNode toJson() {
+        ObjectNode json = JsonNodeFactory.instance.objectNode();
+        json.put("commitNum", commitNum);
+        json.put("opNum", opNum);
+        return json;
+    }
+
+    @Override
+    public int compareTo(EventId other) {
+        int result = Long.compare(commitNum, other.commitNum);
+        return result != 0 ? result : Long.compare(opNum, other.opNum);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EventId eventId = (EventId) o;
+        return commitNum == eventId.commitNum &&
+                opNum == eventId.opNum;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(commitNum, opNum);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s_%s", commitNum, opNum);
+    }
+}
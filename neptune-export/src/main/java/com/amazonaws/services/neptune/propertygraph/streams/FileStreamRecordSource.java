@@ -0,0 +1,85 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reads Neptune Streams property graph records from a local file. The file can contain either a sequence of
+ * records (as written by the neptune-streams-json format) or one or more Streams API responses, each with a
+ * 'records' array. Records must appear in event ID order.
+ */
+public class FileStreamRecordSource implements StreamRecordSource {
+
+    private final MappingIterator<JsonNode> iterator;
+    private final int batchSize;
+    private Iterator<JsonNode> currentResponse = null;
+
+    public FileStreamRecordSource(File file, int batchSize) throws IOException {
+        if (!file.isFile()) {
+            throw new IllegalArgumentException(String.format("Neptune Streams file does not exist: %s", file));
+        }
+        this.iterator = new ObjectMapper().readerFor(JsonNode.class).readValues(file);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public List<StreamRecord> nextBatch(EventId position, boolean inclusive) throws IOException {
+
+        List<StreamRecord> results = new ArrayList<>();
+
+        while (results.size() < batchSize) {
+            StreamRecord record = nextRecord();
+            if (record == null) {
+                break;
+            }
+            int compare = record.eventId().compareTo(position);
+            if (compare > 0 || (compare == 0 && inclusive)) {
+                results.add(record);
+            }
+        }
+
+        return results;
+    }
+
+    private StreamRecord nextRecord() {
+
+        while (currentResponse == null || !currentResponse.hasNext()) {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            JsonNode json = iterator.next();
+            if (json.has("records")) {
+                currentResponse = json.path("records").elements();
+            } else {
+                return StreamRecord.fromJson(json);
+            }
+        }
+
+        return StreamRecord.fromJson(currentResponse.next());
+    }
+
+    @Override
+    public void close() throws Exception {
+        iterator.close();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementTypes;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.*;
+
+public class GremlinElementLabelResolver implements ElementLabelResolver {
+
+    private final GraphTraversalSource g;
+    private final int batchSize;
+
+    public GremlinElementLabelResolver(GraphTraversalSource g, int batchSize) {
+        this.g = g;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Map<String, Label> resolve(GraphElementType<?> graphElementType, Collection<String> ids) {
+
+        Map<String, Label> results = new HashMap<>();
+        List<String> allIds = new ArrayList<>(ids);
+
+        for (int start = 0; start < allIds.size(); start += batchSize) {
+
+            Object[] batch = allIds.subList(start, Math.min(start + batchSize, allIds.size())).toArray();
+
+            GraphTraversal<?, ?> t = graphElementType == GraphElementTypes.Nodes ? g.V(batch) : g.E(batch);
+
+            t.project("id", "label").by(T.id).by(T.label).toList().forEach(m -> {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> row = (Map<String, Object>) m;
+                String label = String.valueOf(row.get("label"));
+                results.put(
+                        String.valueOf(row.get("id")),
+                        new Label(Label.fixLabelsIssue(Collections.singletonList(label))));
+            });
+        }
+
+        return results;
+    }
+}
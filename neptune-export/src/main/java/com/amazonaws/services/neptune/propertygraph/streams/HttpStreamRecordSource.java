@@ -0,0 +1,121 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.neptune.auth.NeptuneApacheHttpSigV4Signer;
+import com.amazonaws.neptune.auth.NeptuneSigV4SignerException;
+import com.amazonaws.services.neptune.cluster.ConnectionConfig;
+import com.amazonaws.services.neptune.util.EnvironmentVariableUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads property graph change records from a Neptune Streams endpoint.
+ */
+public class HttpStreamRecordSource implements StreamRecordSource {
+
+    public static HttpStreamRecordSource create(ConnectionConfig config, int batchSize) throws NeptuneSigV4SignerException {
+
+        String endpoint = config.endpoints().iterator().next();
+        String streamsEndpoint = String.format("%s://%s:%s/propertygraph/stream",
+                config.useSsl() ? "https" : "http",
+                endpoint,
+                config.port());
+
+        HttpClientBuilder builder = HttpClientBuilder.create().useSystemProperties();
+
+        if (config.useIamAuth()) {
+            String serviceRegion = EnvironmentVariableUtils.getMandatoryEnv("SERVICE_REGION");
+            NeptuneApacheHttpSigV4Signer signer =
+                    new NeptuneApacheHttpSigV4Signer(serviceRegion, new DefaultAWSCredentialsProviderChain());
+            builder.addInterceptorLast((HttpRequestInterceptor) (request, context) -> {
+                if (request instanceof HttpUriRequest) {
+                    try {
+                        signer.signRequest((HttpUriRequest) request);
+                    } catch (NeptuneSigV4SignerException e) {
+                        throw new HttpException("Problem signing the request: ", e);
+                    }
+                } else {
+                    throw new HttpException("Not an HttpUriRequest");
+                }
+            });
+        }
+
+        return new HttpStreamRecordSource(builder.build(), streamsEndpoint, batchSize);
+    }
+
+    private static final String RECORDS_NOT_FOUND = "StreamRecordsNotFoundException";
+
+    private final CloseableHttpClient httpClient;
+    private final String streamsEndpoint;
+    private final int batchSize;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private HttpStreamRecordSource(CloseableHttpClient httpClient, String streamsEndpoint, int batchSize) {
+        this.httpClient = httpClient;
+        this.streamsEndpoint = streamsEndpoint;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public List<StreamRecord> nextBatch(EventId position, boolean inclusive) throws IOException {
+
+        HttpGet request = new HttpGet(String.format("%s?iteratorType=%s&commitNum=%s&opNum=%s&limit=%s",
+                streamsEndpoint,
+                inclusive ? "AT_SEQUENCE_NUMBER" : "AFTER_SEQUENCE_NUMBER",
+                position.commitNum(),
+                position.opNum(),
+                batchSize));
+
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+
+            String body = response.getEntity() == null ? "" : EntityUtils.toString(response.getEntity(), UTF_8);
+            int statusCode = response.getStatusLine().getStatusCode();
+
+            if (statusCode != 200) {
+                // Neptune reports a position beyond the end of the stream as a missing record
+                if (body.contains(RECORDS_NOT_FOUND)) {
+                    return new ArrayList<>();
+                }
+                throw new IOException(String.format("Error reading Neptune Streams (%s): %s", statusCode, body));
+            }
+
+            List<StreamRecord> results = new ArrayList<>();
+            for (JsonNode record : mapper.readTree(body).path("records")) {
+                results.add(StreamRecord.fromJson(record));
+            }
+            return results;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,245 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.io.JsonResource;
+import com.amazonaws.services.neptune.propertygraph.schema.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Applies Neptune Streams change records to a previous property graph export. The net changes since the last
+ * sync are written to per-label delta files in a new 'deltas/&lt;first-event-id&gt;-&lt;last-event-id&gt;'
+ * directory, and the export's config.json schema and streams-sync.json checkpoint and stats are updated in place.
+ * The cost of a sync is proportional to the number of change records, not the size of the graph.
+ */
+public class IncrementalSync {
+
+    public static final String SYNC_STATE_FILE = "streams-sync.json";
+
+    private static final String CONFIG_FILE = "config.json";
+    private static final String DELTAS_DIRECTORY = "deltas";
+    private static final String MANIFEST_FILE = "manifest.json";
+
+    private final Path exportDirectory;
+    private final StreamRecordSource source;
+    private final ElementLabelResolver labelResolver;
+    private final long maxRecords;
+
+    public IncrementalSync(Path exportDirectory,
+                           StreamRecordSource source,
+                           ElementLabelResolver labelResolver,
+                           long maxRecords) {
+        this.exportDirectory = exportDirectory;
+        this.source = source;
+        this.labelResolver = labelResolver;
+        this.maxRecords = maxRecords;
+    }
+
+    /**
+     * Applies changes starting at the supplied event ID, or, if the event ID is null, immediately after the
+     * last event applied by the previous sync.
+     */
+    public Result execute(EventId fromEventId) throws Exception {
+
+        Path configFile = exportDirectory.resolve(CONFIG_FILE);
+        Path syncStateFile = exportDirectory.resolve(SYNC_STATE_FILE);
+
+        JsonResource<GraphSchema> configFileResource =
+                new JsonResource<>("Config file", configFile.toUri(), GraphSchema.class);
+        JsonResource<SyncState> syncStateResource =
+                new JsonResource<>("Sync state file", syncStateFile.toUri(), SyncState.class);
+
+        GraphSchema graphSchema = configFileResource.get();
+        SyncState previousState = Files.exists(syncStateFile) ? syncStateResource.get() : null;
+
+        EventId position;
+        boolean inclusive;
+
+        if (fromEventId != null) {
+            position = fromEventId;
+            inclusive = true;
+        } else if (previousState != null) {
+            position = previousState.lastEventId();
+            inclusive = false;
+        } else {
+            throw new IllegalStateException(String.format(
+                    "%s does not contain a %s file: you must supply the commit number from which to start applying changes",
+                    exportDirectory, SYNC_STATE_FILE));
+        }
+
+        StreamChangeSet changeSet = new StreamChangeSet();
+
+        while (maxRecords <= 0 || changeSet.recordCount() < maxRecords) {
+            List<StreamRecord> batch = source.nextBatch(position, inclusive);
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (StreamRecord record : batch) {
+                changeSet.apply(record);
+            }
+            position = changeSet.lastEventId();
+            inclusive = false;
+        }
+
+        if (changeSet.isEmpty()) {
+            return new Result(null, new SyncStats(), 0);
+        }
+
+        changeSet.resolveLabels(labelResolver);
+
+        Path deltaDirectory = exportDirectory
+                .resolve(DELTAS_DIRECTORY)
+                .resolve(String.format("%s-%s", changeSet.firstEventId(), changeSet.lastEventId()));
+        Files.createDirectories(deltaDirectory);
+
+        SyncStats stats = new SyncStats();
+
+        try (DeltaFileWriter writer = new DeltaFileWriter(deltaDirectory)) {
+            for (GraphElementType<?> graphElementType : GraphElementTypes.values()) {
+
+                GraphElementSchemas schemas = graphSchema.graphElementSchemasFor(graphElementType);
+                Set<Label> existingLabels = new HashSet<>(schemas.labels());
+
+                for (ElementChange change : changeSet.changes(graphElementType)) {
+                    writer.write(change);
+                    Label label = change.label();
+                    stats.increment(
+                            graphElementType,
+                            label == null ? DeltaFileWriter.UNRESOLVED_LABEL : label.fullyQualifiedLabel(),
+                            change.operation());
+                    if (label != null && change.operation() != ElementChange.Operation.delete) {
+                        for (LabelSchema labelSchema : labelSchemasFor(schemas, graphElementType, label)) {
+                            updateSchema(labelSchema, change, existingLabels.contains(labelSchema.label()));
+                        }
+                    }
+                }
+            }
+        }
+
+        writeManifest(deltaDirectory.resolve(MANIFEST_FILE), changeSet, stats);
+
+        SyncStats cumulativeStats = previousState != null ? previousState.stats() : new SyncStats();
+        cumulativeStats.add(stats);
+
+        configFileResource.save(graphSchema);
+        // Checkpoint last, so that an interrupted sync is repeated in full
+        syncStateResource.save(new SyncState(changeSet.lastEventId(), cumulativeStats));
+
+        return new Result(deltaDirectory, stats, changeSet.recordCount());
+    }
+
+    private Collection<LabelSchema> labelSchemasFor(GraphElementSchemas schemas, GraphElementType<?> graphElementType, Label label) {
+        if (schemas.hasSchemaFor(label) || graphElementType == GraphElementTypes.Nodes) {
+            return Collections.singletonList(schemas.getSchemaFor(label));
+        }
+
+        // Exports that qualify edge labels with their from and to vertex labels hold several schemas per edge label
+        List<LabelSchema> results = schemas.labels().stream()
+                .filter(l -> l.label().equals(label.label()))
+                .map(schemas::getSchemaFor)
+                .collect(Collectors.toList());
+
+        return results.isEmpty() ? Collections.singletonList(schemas.getSchemaFor(label)) : results;
+    }
+
+    private void updateSchema(LabelSchema labelSchema, ElementChange change, boolean isExistingLabel) {
+
+        Map<String, ElementChange.PropertyChange> properties = change.properties();
+        boolean isAdd = change.operation() == ElementChange.Operation.add;
+
+        if (isAdd) {
+            for (PropertySchema propertySchema : labelSchema.propertySchemas()) {
+                ElementChange.PropertyChange propertyChange = properties.get(String.valueOf(propertySchema.property()));
+                if (propertyChange == null || propertyChange.added().isEmpty()) {
+                    propertySchema.makeNullable();
+                }
+            }
+        }
+
+        for (Map.Entry<String, ElementChange.PropertyChange> entry : properties.entrySet()) {
+
+            String property = entry.getKey();
+            Map<JsonNode, DataType> added = entry.getValue().added();
+
+            if (added.isEmpty()) {
+                if (labelSchema.containsProperty(property)) {
+                    labelSchema.getPropertySchema(property).makeNullable();
+                }
+                continue;
+            }
+
+            if (!labelSchema.containsProperty(property)) {
+                PropertySchema propertySchema = new PropertySchema(property);
+                // Elements already in the export don't have this property
+                if (isExistingLabel || !isAdd) {
+                    propertySchema.makeNullable();
+                }
+                labelSchema.put(property, propertySchema);
+            }
+
+            PropertySchema propertySchema = labelSchema.getPropertySchema(property);
+            for (DataType dataType : added.values()) {
+                propertySchema.accept(dataType, added.size());
+            }
+        }
+    }
+
+    private void writeManifest(Path manifestFile, StreamChangeSet changeSet, SyncStats stats) throws IOException {
+        ObjectNode json = JsonNodeFactory.instance.objectNode();
+        json.set("firstEventId", changeSet.firstEventId().toJson());
+        json.set("lastEventId", changeSet.lastEventId().toJson());
+        json.put("records", changeSet.recordCount());
+        json.set("stats", stats.toJson());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(manifestFile.toFile(), json);
+    }
+
+    public static class Result {
+
+        private final Path deltaDirectory;
+        private final SyncStats stats;
+        private final long recordCount;
+
+        private Result(Path deltaDirectory, SyncStats stats, long recordCount) {
+            this.deltaDirectory = deltaDirectory;
+            this.stats = stats;
+            this.recordCount = recordCount;
+        }
+
+        public boolean hasChanges() {
+            return deltaDirectory != null;
+        }
+
+        public Path deltaDirectory() {
+            return deltaDirectory;
+        }
+
+        public SyncStats stats() {
+            return stats;
+        }
+
+        public long recordCount() {
+            return recordCount;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementTypes;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Collapses a sequence of change records into one net change per node and edge.
+ */
+public class StreamChangeSet {
+
+    private final Map<GraphElementType<?>, Map<String, ElementChange>> changes = new HashMap<>();
+    private EventId firstEventId;
+    private EventId lastEventId;
+    private long recordCount = 0;
+
+    public void apply(StreamRecord record) {
+
+        GraphElementType<?> graphElementType = record.graphElementType();
+
+        changes.computeIfAbsent(graphElementType, t -> new LinkedHashMap<>())
+                .computeIfAbsent(record.id(), id -> new ElementChange(graphElementType, id))
+                .apply(record);
+
+        if (firstEventId == null) {
+            firstEventId = record.eventId();
+        }
+        lastEventId = record.eventId();
+        recordCount++;
+    }
+
+    public void resolveLabels(ElementLabelResolver resolver) throws Exception {
+        for (GraphElementType<?> graphElementType : GraphElementTypes.values()) {
+
+            List<ElementChange> unlabelled = changes(graphElementType).stream()
+                    .filter(c -> c.label() == null)
+                    .collect(Collectors.toList());
+
+            if (unlabelled.isEmpty()) {
+                continue;
+            }
+
+            Map<String, Label> labels = resolver.resolve(
+                    graphElementType,
+                    unlabelled.stream().map(ElementChange::id).collect(Collectors.toList()));
+
+            for (ElementChange change : unlabelled) {
+                Label label = labels.get(change.id());
+                if (label != null) {
+                    change.resolveLabel(label);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the changes for a graph element type, excluding elements whose changes cancel each other out.
+     */
+    public Collection<ElementChange> changes(GraphElementType<?> graphElementType) {
+        return changes.getOrDefault(graphElementType, Collections.emptyMap()).values().stream()
+                .filter(c -> c.operation() != ElementChange.Operation.none)
+                .collect(Collectors.toList());
+    }
+
+    public boolean isEmpty() {
+        return recordCount == 0;
+    }
+
+    public long recordCount() {
+        return recordCount;
+    }
+
+    public EventId firstEventId() {
+        return firstEventId;
+    }
+
+    public EventId lastEventId() {
+        return lastEventId;
+    }
+}
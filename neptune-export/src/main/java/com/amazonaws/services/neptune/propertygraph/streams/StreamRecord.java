@@ -0,0 +1,144 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import com.amazonaws.services.neptune.propertygraph.schema.DataType;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementTypes;
+import com.fasterxml.jackson.databind.JsonNode;
+
+public class StreamRecord {
+
+    public static StreamRecord fromJson(JsonNode json) {
+
+        JsonNode eventId = json.path("eventId");
+        JsonNode data = json.path("data");
+
+        if (!eventId.isObject() || !data.isObject()) {
+            throw new IllegalArgumentException(String.format("Expected a Neptune Streams property graph record, but found: %s", json));
+        }
+
+        JsonNode value = data.path("value");
+
+        return new StreamRecord(
+                EventId.fromJson(eventId),
+                Operation.parse(json.path("op").textValue()),
+                data.path("id").asText(),
+                data.path("type").asText(),
+                data.path("key").asText(),
+                value.path("value"),
+                value.path("dataType").asText("String"),
+                data.path("from").textValue(),
+                data.path("to").textValue());
+    }
+
+    private final EventId eventId;
+    private final Operation op;
+    private final String id;
+    private final String type;
+    private final String key;
+    private final JsonNode value;
+    private final String dataType;
+    private final String from;
+    private final String to;
+
+    public StreamRecord(EventId eventId,
+                        Operation op,
+                        String id,
+                        String type,
+                        String key,
+                        JsonNode value,
+                        String dataType,
+                        String from,
+                        String to) {
+        this.eventId = eventId;
+        this.op = op;
+        this.id = id;
+        this.type = type;
+        this.key = key;
+        this.value = value;
+        this.dataType = dataType;
+        this.from = from;
+        this.to = to;
+    }
+
+    public EventId eventId() {
+        return eventId;
+    }
+
+    public Operation op() {
+        return op;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public GraphElementType<?> graphElementType() {
+        switch (type) {
+            case "vl":
+            case "vp":
+                return GraphElementTypes.Nodes;
+            case "e":
+            case "ep":
+                return GraphElementTypes.Edges;
+            default:
+                throw new IllegalArgumentException(String.format("Unexpected Neptune Streams record type: %s", type));
+        }
+    }
+
+    public boolean isLabelRecord() {
+        return type.equals("vl") || type.equals("e");
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public JsonNode value() {
+        return value;
+    }
+
+    public DataType dataType() {
+        // Neptune Streams uses Gremlin's short type names for integers
+        if (dataType.equals("Int")) {
+            return DataType.Integer;
+        }
+        try {
+            return DataType.valueOf(dataType);
+        } catch (IllegalArgumentException e) {
+            return DataType.String;
+        }
+    }
+
+    public String from() {
+        return from;
+    }
+
+    public String to() {
+        return to;
+    }
+
+    public enum Operation {
+        ADD,
+        REMOVE;
+
+        static Operation parse(String op) {
+            if (op == null) {
+                throw new IllegalArgumentException("Neptune Streams record is missing an op");
+            }
+            return Operation.valueOf(op.toUpperCase());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface StreamRecordSource extends AutoCloseable {
+
+    /**
+     * Returns the next batch of change records starting at (inclusive) or after (exclusive) the supplied event ID.
+     * An empty batch means there are no more records.
+     */
+    List<StreamRecord> nextBatch(EventId position, boolean inclusive) throws IOException;
+}
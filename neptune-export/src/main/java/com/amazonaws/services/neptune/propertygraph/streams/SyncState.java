@@ -0,0 +1,56 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import com.amazonaws.services.neptune.propertygraph.io.Jsonizable;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * The position up to which Neptune Streams changes have been applied to an export, together with the
+ * cumulative change counts since the export was created.
+ */
+public class SyncState implements Jsonizable {
+
+    public static SyncState fromJson(JsonNode json) {
+        return new SyncState(
+                EventId.fromJson(json.path("lastEventId")),
+                SyncStats.fromJson(json.path("stats")));
+    }
+
+    private final EventId lastEventId;
+    private final SyncStats stats;
+
+    public SyncState(EventId lastEventId, SyncStats stats) {
+        this.lastEventId = lastEventId;
+        this.stats = stats;
+    }
+
+    public EventId lastEventId() {
+        return lastEventId;
+    }
+
+    public SyncStats stats() {
+        return stats;
+    }
+
+    @Override
+    public JsonNode toJson() {
+        ObjectNode json = JsonNodeFactory.instance.objectNode();
+        json.set("lastEventId", lastEventId.toJson());
+        json.set("stats", stats.toJson());
+        return json;
+    }
+}
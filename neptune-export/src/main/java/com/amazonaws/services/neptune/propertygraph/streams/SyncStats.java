@@ -0,0 +1,135 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementType;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementTypes;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-label counts of added, updated and deleted elements.
+ */
+public class SyncStats {
+
+    public static SyncStats fromJson(JsonNode json) {
+
+        SyncStats stats = new SyncStats();
+
+        for (GraphElementType<?> graphElementType : GraphElementTypes.values()) {
+            for (JsonNode labelNode : json.path(graphElementType.name())) {
+                LabelCounts counts = stats.countsFor(graphElementType, labelNode.path("label").textValue());
+                counts.added = labelNode.path("added").asLong();
+                counts.updated = labelNode.path("updated").asLong();
+                counts.deleted = labelNode.path("deleted").asLong();
+            }
+        }
+
+        return stats;
+    }
+
+    private final Map<GraphElementType<?>, Map<String, LabelCounts>> counts = new HashMap<>();
+
+    public void increment(GraphElementType<?> graphElementType, String label, ElementChange.Operation operation) {
+        LabelCounts labelCounts = countsFor(graphElementType, label);
+        switch (operation) {
+            case add:
+                labelCounts.added++;
+                break;
+            case update:
+                labelCounts.updated++;
+                break;
+            case delete:
+                labelCounts.deleted++;
+                break;
+            default:
+                break;
+        }
+    }
+
+    public void add(SyncStats other) {
+        for (Map.Entry<GraphElementType<?>, Map<String, LabelCounts>> entry : other.counts.entrySet()) {
+            for (Map.Entry<String, LabelCounts> labelEntry : entry.getValue().entrySet()) {
+                LabelCounts labelCounts = countsFor(entry.getKey(), labelEntry.getKey());
+                labelCounts.added += labelEntry.getValue().added;
+                labelCounts.updated += labelEntry.getValue().updated;
+                labelCounts.deleted += labelEntry.getValue().deleted;
+            }
+        }
+    }
+
+    public long added(GraphElementType<?> graphElementType, String label) {
+        return countsFor(graphElementType, label).added;
+    }
+
+    public long updated(GraphElementType<?> graphElementType, String label) {
+        return countsFor(graphElementType, label).updated;
+    }
+
+    public long deleted(GraphElementType<?> graphElementType, String label) {
+        return countsFor(graphElementType, label).deleted;
+    }
+
+    public JsonNode toJson() {
+        ObjectNode json = JsonNodeFactory.instance.objectNode();
+
+        for (Map.Entry<GraphElementType<?>, Map<String, LabelCounts>> entry : counts.entrySet()) {
+            ArrayNode labelsNode = json.putArray(entry.getKey().name());
+            for (Map.Entry<String, LabelCounts> labelEntry : entry.getValue().entrySet()) {
+                ObjectNode labelNode = labelsNode.addObject();
+                labelNode.put("label", labelEntry.getKey());
+                labelNode.put("added", labelEntry.getValue().added);
+                labelNode.put("updated", labelEntry.getValue().updated);
+                labelNode.put("deleted", labelEntry.getValue().deleted);
+            }
+        }
+
+        return json;
+    }
+
+    public String formatStats() {
+        StringBuilder sb = new StringBuilder();
+
+        for (Map.Entry<GraphElementType<?>, Map<String, LabelCounts>> entry : counts.entrySet()) {
+            sb.append("  ").append(entry.getKey().name()).append(":").append(System.lineSeparator());
+            for (Map.Entry<String, LabelCounts> labelEntry : entry.getValue().entrySet()) {
+                LabelCounts labelCounts = labelEntry.getValue();
+                sb.append(String.format("    %s: added %s, updated %s, deleted %s",
+                        labelEntry.getKey(),
+                        labelCounts.added,
+                        labelCounts.updated,
+                        labelCounts.deleted)).append(System.lineSeparator());
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private LabelCounts countsFor(GraphElementType<?> graphElementType, String label) {
+        return counts.computeIfAbsent(graphElementType, t -> new TreeMap<>())
+                .computeIfAbsent(label, l -> new LabelCounts());
+    }
+
+    private static class LabelCounts {
+        private long added = 0;
+        private long updated = 0;
+        private long deleted = 0;
+    }
+}
@@ -14,25 +14,37 @@ package com.amazonaws.services.neptune.rdf;
 
 import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.neptune.auth.NeptuneApacheHttpSigV4Signer;
 import com.amazonaws.neptune.auth.NeptuneSigV4SignerException;
 import com.amazonaws.neptune.client.rdf4j.NeptuneSparqlRepository;
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
 import com.amazonaws.services.neptune.cluster.ConnectionConfig;
-import com.amazonaws.services.neptune.io.OutputWriter;
+import com.amazonaws.services.neptune.rdf.io.RdfStatementsWriter;
 import com.amazonaws.services.neptune.rdf.io.RdfTargetConfig;
 import com.amazonaws.services.neptune.util.EnvironmentVariableUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequestInterceptor;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.HttpClientUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.eclipse.rdf4j.http.client.HttpClientSessionManager;
 import org.eclipse.rdf4j.http.client.RDF4JProtocolSession;
 import org.eclipse.rdf4j.http.client.SPARQLProtocolSession;
+import org.eclipse.rdf4j.http.protocol.UnauthorizedException;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.MalformedQueryException;
 import org.eclipse.rdf4j.query.QueryResultHandlerException;
+import org.eclipse.rdf4j.query.TupleQueryResult;
 import org.eclipse.rdf4j.query.TupleQueryResultHandler;
 import org.eclipse.rdf4j.query.TupleQueryResultHandlerException;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.base.AbstractRepository;
 import org.eclipse.rdf4j.repository.sparql.SPARQLRepository;
@@ -42,39 +54,81 @@ import org.eclipse.rdf4j.rio.helpers.BasicParserSettings;
 import org.joda.time.DateTime;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 public class NeptuneSparqlClient implements AutoCloseable {
 
     private static final ParserConfig PARSER_CONFIG = new ParserConfig().addNonFatalError(BasicParserSettings.VERIFY_URI_SYNTAX);
+    private static final String DEFAULT_NAMED_GRAPH = "http://aws.amazon.com/neptune/vocab/v01/DefaultNamedGraph";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
 
     public static NeptuneSparqlClient create(ConnectionConfig config) {
+        return create(config, new ConcurrencyConfig(1));
+    }
+
+    public static NeptuneSparqlClient create(ConnectionConfig config, ConcurrencyConfig concurrencyConfig) {
+
+        List<CloseableHttpClient> httpClients = new ArrayList<>();
+
         if (config.useIamAuth()) {
             String serviceRegion = EnvironmentVariableUtils.getMandatoryEnv("SERVICE_REGION");
             AWSCredentialsProvider credentialsProvider = new DefaultAWSCredentialsProviderChain();
             return new NeptuneSparqlClient(
                     config.endpoints().stream().map(e -> {
                         try {
-                            return updateParser(new NeptuneSparqlRepository(sparqlEndpointForIam(e, config.port()), credentialsProvider, serviceRegion));
+                            NeptuneSparqlRepository repository = new NeptuneSparqlRepository(sparqlEndpointForIam(e, config.port()), credentialsProvider, serviceRegion);
+                            CloseableHttpClient httpClient = signingHttpClient(
+                                    concurrencyConfig.applyTo(HttpClientBuilder.create().useSystemProperties()),
+                                    new NeptuneApacheHttpSigV4Signer(serviceRegion, credentialsProvider));
+                            httpClients.add(httpClient);
+                            repository.setHttpClient(httpClient);
+                            return updateParser(repository);
                         } catch (NeptuneSigV4SignerException e1) {
                             throw new RuntimeException(e1);
                         }
                     }).
                             peek(AbstractRepository::init).
-                            collect(Collectors.toList()));
+                            collect(Collectors.toList()),
+                    httpClients);
         } else {
 
             return new NeptuneSparqlClient(
-                    config.endpoints().stream().map(e ->
-                            updateParser(new SPARQLRepository(sparqlEndpoint(e, config.port())))).
+                    config.endpoints().stream().map(e -> {
+                        SPARQLRepository repository = new SPARQLRepository(sparqlEndpoint(e, config.port()));
+                        CloseableHttpClient httpClient = concurrencyConfig.applyTo(HttpClientBuilder.create().useSystemProperties()).build();
+                        httpClients.add(httpClient);
+                        repository.setHttpClient(httpClient);
+                        return updateParser(repository);
+                    }).
                             peek(AbstractRepository::init).
-                            collect(Collectors.toList()));
+                            collect(Collectors.toList()),
+                    httpClients);
         }
     }
 
-    private static SPARQLRepository updateParser(SPARQLRepository repository) {
+    private static CloseableHttpClient signingHttpClient(HttpClientBuilder builder, NeptuneApacheHttpSigV4Signer signer) {
+        return builder.addInterceptorLast((HttpRequestInterceptor) (request, context) -> {
+            if (request instanceof HttpUriRequest) {
+                try {
+                    signer.signRequest((HttpUriRequest) request);
+                } catch (NeptuneSigV4SignerException e) {
+                    throw new HttpException("Problem signing the request: ", e);
+                }
+            } else {
+                throw new HttpException("Not an HttpUriRequest");
+            }
+        }).build();
+    }
+
+    static SPARQLRepository updateParser(SPARQLRepository repository) {
 
         HttpClientSessionManager sessionManager = repository.getHttpClientSessionManager();
         repository.setHttpClientSessionManager(new HttpClientSessionManager() {
@@ -87,6 +141,9 @@ public class NeptuneSparqlClient implements AutoCloseable {
             public SPARQLProtocolSession createSPARQLProtocolSession(String s, String s1) {
                 SPARQLProtocolSession session = sessionManager.createSPARQLProtocolSession(s, s1);
                 session.setParserConfig(PARSER_CONFIG);
+                // Binary results are the most compact and cheapest to parse; content negotiation
+                // falls back to one of the other supported formats if the server can't provide them
+                session.setPreferredTupleQueryResultFormat(TupleQueryResultFormat.BINARY);
                 return session;
             }
 
@@ -111,82 +168,206 @@ public class NeptuneSparqlClient implements AutoCloseable {
         return String.format("https://%s:%s", endpoint, port);
     }
 
-    private final List<SPARQLRepository> repositories;
+    private final List<SparqlEndpoint> endpoints;
+    private final List<CloseableHttpClient> httpClients;
     private final Random random = new Random(DateTime.now().getMillis());
 
-    private NeptuneSparqlClient(List<SPARQLRepository> repositories) {
-        this.repositories = repositories;
+    NeptuneSparqlClient(List<SPARQLRepository> repositories) {
+        this(repositories, Collections.emptyList());
+    }
+
+    private NeptuneSparqlClient(List<SPARQLRepository> repositories, List<CloseableHttpClient> httpClients) {
+        this.endpoints = repositories.stream().
+                map(r -> new SparqlEndpoint(r.toString(), r)).
+                collect(Collectors.toList());
+        this.httpClients = httpClients;
     }
 
     public void executeQuery(String sparql, RdfTargetConfig targetConfig) throws IOException {
-        SPARQLRepository repository = chooseRepository();
-        ValueFactory factory = repository.getValueFactory();
+        executeQuery(sparql, targetConfig, "statements");
+    }
 
-        try (RepositoryConnection connection = repository.getConnection();
-             OutputWriter outputWriter = targetConfig.createOutputWriter()) {
+    public void executeQuery(String sparql, RdfTargetConfig targetConfig, String outputName) throws IOException {
+        executeWithFailover((repository, onFirstResult) -> {
 
-            RDFWriter writer = targetConfig.createRDFWriter(outputWriter);
+            ValueFactory factory = repository.getValueFactory();
 
-            connection.prepareTupleQuery(sparql).evaluate(new TupleQueryResultHandler() {
-                @Override
-                public void handleBoolean(boolean value) throws QueryResultHandlerException {
+            try (RepositoryConnection connection = repository.getConnection();
+                 RdfStatementsWriter statementsWriter = targetConfig.createStatementsWriter(outputName)) {
 
-                }
+                RDFWriter writer = statementsWriter.rdfWriter();
 
-                @Override
-                public void handleLinks(List<String> linkUrls) throws QueryResultHandlerException {
+                connection.prepareTupleQuery(sparql).evaluate(new TupleQueryResultHandler() {
+                    @Override
+                    public void handleBoolean(boolean value) throws QueryResultHandlerException {
 
-                }
+                    }
 
-                @Override
-                public void startQueryResult(List<String> bindingNames) throws TupleQueryResultHandlerException {
-                    writer.startRDF();
-                }
+                    @Override
+                    public void handleLinks(List<String> linkUrls) throws QueryResultHandlerException {
+
+                    }
+
+                    @Override
+                    public void startQueryResult(List<String> bindingNames) throws TupleQueryResultHandlerException {
+                        onFirstResult.run();
+                        writer.startRDF();
+                    }
+
+                    @Override
+                    public void endQueryResult() throws TupleQueryResultHandlerException {
+                        writer.endRDF();
+                    }
+
+                    @Override
+                    public void handleSolution(BindingSet bindingSet) throws TupleQueryResultHandlerException {
+                        Value s = bindingSet.getValue("s");
+                        Value p = bindingSet.getValue("p");
+                        Value o = bindingSet.getValue("o");
+                        Value g = bindingSet.getValue("g");
+
+                        IRI subject = toIRI(s, factory);
+                        IRI predicate = toIRI(p, factory);
+                        IRI graph = getNonDefaultNamedGraph(g, factory);
+
+                        Statement statement = factory.createStatement(subject, predicate, o, graph);
+
+                        writer.handleStatement(statement);
+                    }
+
+                });
+            }
+
+            return null;
+        });
+    }
+
+    public List<String> namedGraphs() {
+        return executeWithFailover((repository, onFirstResult) -> {
 
-                @Override
-                public void endQueryResult() throws TupleQueryResultHandlerException {
-                    writer.endRDF();
+            List<String> namedGraphs = new ArrayList<>();
+
+            try (RepositoryConnection connection = repository.getConnection();
+                 TupleQueryResult result = connection.prepareTupleQuery("SELECT DISTINCT ?g WHERE { GRAPH ?g { ?s ?p ?o } }").evaluate()) {
+                onFirstResult.run();
+                while (result.hasNext()) {
+                    namedGraphs.add(result.next().getValue("g").stringValue());
                 }
+            }
+
+            return namedGraphs;
+        });
+    }
+
+    public List<String> endpointMetrics() {
+        return endpoints.stream().map(SparqlEndpoint::metrics).collect(Collectors.toList());
+    }
+
+    private <T> T executeWithFailover(SparqlOperation<T> operation) {
 
-                @Override
-                public void handleSolution(BindingSet bindingSet) throws TupleQueryResultHandlerException {
-                    Value s = bindingSet.getValue("s");
-                    Value p = bindingSet.getValue("p");
-                    Value o = bindingSet.getValue("o");
-                    Value g = bindingSet.getValue("g");
+        Set<SparqlEndpoint> failedEndpoints = new HashSet<>();
 
+        for (int attempt = 1; ; attempt++) {
 
-                    IRI subject = factory.createIRI(s.stringValue());
-                    IRI predicate = factory.createIRI(p.stringValue());
-                    IRI graph = getNonDefaultNamedGraph(g, factory);
+            SparqlEndpoint endpoint = chooseEndpoint(failedEndpoints);
+            AtomicBoolean resultsStarted = new AtomicBoolean(false);
+            long start = System.currentTimeMillis();
 
-                    Statement statement = factory.createStatement(subject, predicate, o, graph);
+            endpoint.requestStarted();
 
-                    writer.handleStatement(statement);
+            try {
+                T result = operation.execute(endpoint.repository(), () -> {
+                    resultsStarted.set(true);
+                    endpoint.firstResult(System.currentTimeMillis() - start);
+                });
+                endpoint.requestSucceeded();
+                return result;
+            } catch (Exception e) {
+                endpoint.requestFailed();
+
+                // Once results have started streaming to the output they can't be retried without duplicating them
+                if (resultsStarted.get() || !isRetryable(e) || attempt >= MAX_ATTEMPTS) {
+                    throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+                }
+
+                failedEndpoints.add(endpoint);
+                System.err.println(String.format("Request to %s failed (%s), retrying (attempt %s of %s)",
+                        endpoint, e, attempt + 1, MAX_ATTEMPTS));
+
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(ie);
                 }
+            }
+        }
+    }
 
-            });
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+    private boolean isRetryable(Exception e) {
+        Throwable t = e;
+        while (t != null) {
+            if (t instanceof MalformedQueryException || t instanceof UnauthorizedException) {
+                return false;
+            }
+            t = t.getCause();
         }
+        return true;
     }
 
     private IRI getNonDefaultNamedGraph(Value g, ValueFactory factory) {
         String s = g.stringValue();
 
-        if (StringUtils.isEmpty(s) || s.equalsIgnoreCase("http://aws.amazon.com/neptune/vocab/v01/DefaultNamedGraph")) {
+        if (StringUtils.isEmpty(s) || s.equalsIgnoreCase(DEFAULT_NAMED_GRAPH)) {
             return null;
         }
 
-        return factory.createIRI(s);
+        return toIRI(g, factory);
     }
 
-    private SPARQLRepository chooseRepository() {
-        return repositories.get(random.nextInt(repositories.size()));
+    private IRI toIRI(Value value, ValueFactory factory) {
+        // Reuse the IRI built by the results parser rather than copying it
+        return value instanceof IRI ? (IRI) value : factory.createIRI(value.stringValue());
+    }
+
+    private SparqlEndpoint chooseEndpoint(Set<SparqlEndpoint> failedEndpoints) {
+
+        long now = System.currentTimeMillis();
+
+        List<SparqlEndpoint> candidates = endpoints.stream().
+                filter(e -> !failedEndpoints.contains(e) && e.isAvailable(now)).
+                collect(Collectors.toList());
+
+        if (candidates.isEmpty()) {
+            candidates = endpoints.stream().filter(e -> !failedEndpoints.contains(e)).collect(Collectors.toList());
+        }
+        if (candidates.isEmpty()) {
+            candidates = endpoints;
+        }
+
+        // Least loaded endpoint first, then lowest latency; start from a random offset to spread ties
+        int offset = random.nextInt(candidates.size());
+        SparqlEndpoint selected = null;
+
+        for (int i = 0; i < candidates.size(); i++) {
+            SparqlEndpoint candidate = candidates.get((offset + i) % candidates.size());
+            if (selected == null ||
+                    candidate.inFlight() < selected.inFlight() ||
+                    (candidate.inFlight() == selected.inFlight() && candidate.latencyMillis() < selected.latencyMillis())) {
+                selected = candidate;
+            }
+        }
+
+        return selected;
     }
 
     @Override
     public void close() {
-        repositories.forEach(AbstractRepository::shutDown);
+        endpoints.forEach(e -> e.repository().shutDown());
+        httpClients.forEach(HttpClientUtils::closeQuietly);
+    }
+
+    private interface SparqlOperation<T> {
+        T execute(SPARQLRepository repository, Runnable onFirstResult) throws Exception;
     }
 }
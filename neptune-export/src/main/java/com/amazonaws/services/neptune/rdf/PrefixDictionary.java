@@ -0,0 +1,37 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.rdf;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe namespace-to-prefix dictionary shared by all the RDF writers in an export, so that a namespace
+ * is given the same prefix in every output file.
+ */
+public class PrefixDictionary {
+
+    private final Map<String, String> prefixes = new ConcurrentHashMap<>();
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public PrefixDictionary() {
+        prefixes.put("http://www.w3.org/1999/02/22-rdf-syntax-ns#", "rdf");
+        //prefixes.put("http://www.w3.org/2000/01/rdf-schema#", "rdfs");
+        prefixes.put("http://www.w3.org/2001/XMLSchema#", "xsd");
+    }
+
+    public String prefixFor(String namespace) {
+        return prefixes.computeIfAbsent(namespace, ns -> "s" + counter.getAndIncrement());
+    }
+}
@@ -12,77 +12,88 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.rdf;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.LineIterator;
 import org.eclipse.rdf4j.rio.RDFWriter;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.Map;
-
+/**
+ * Tracks the namespaces declared by a single RDF writer. Each writer declares a namespace the first time it
+ * encounters it, using the prefix from a {@link PrefixDictionary} that can be shared between writers running in
+ * parallel. Namespaces that have already been declared are found without allocating a substring: the table is
+ * keyed by the hash of the namespace region of the IRI, and entries are compared in place.
+ *
+ * Instances are not thread-safe: use one per writer.
+ */
 public class Prefixes {
 
-    private final Map<String, String> prefixes = new HashMap<>();
-    private final int offset;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final PrefixDictionary dictionary;
+    private String[] declaredNamespaces = new String[INITIAL_CAPACITY];
+    private int size = 0;
 
     public Prefixes() {
-        prefixes.put("http://www.w3.org/1999/02/22-rdf-syntax-ns#", "rdf");
-        //prefixes.put("http://www.w3.org/2000/01/rdf-schema#", "rdfs");
-        prefixes.put("http://www.w3.org/2001/XMLSchema#", "xsd");
+        this(new PrefixDictionary());
+    }
 
-        offset = prefixes.size();
+    public Prefixes(PrefixDictionary dictionary) {
+        this.dictionary = dictionary;
     }
 
     public void parse(String s, RDFWriter writer) {
 
-        int i = s.indexOf("#");
+        int i = s.indexOf('#');
 
         if (i > 0 && i < (s.length() - 1)) {
-            String uri = s.substring(0, i + 1);
 
-            if (!prefixes.containsKey(uri)) {
-                String prefix = "s" + (prefixes.size() - offset);
-                prefixes.put(uri, prefix);
-                writer.handleNamespace(prefix, uri);
+            int length = i + 1;
+
+            int hash = 0;
+            for (int k = 0; k < length; k++) {
+                hash = 31 * hash + s.charAt(k);
+            }
+
+            int mask = declaredNamespaces.length - 1;
+            int slot = spread(hash) & mask;
+
+            String namespace;
+            while ((namespace = declaredNamespaces[slot]) != null) {
+                if (namespace.length() == length && s.startsWith(namespace)) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
             }
+
+            String uri = s.substring(0, length);
+            writer.handleNamespace(dictionary.prefixFor(uri), uri);
+            add(uri);
         }
     }
 
-    public void addTo(Path filePath) throws IOException {
-        File source = filePath.toFile();
-        LineIterator lineIterator = FileUtils.lineIterator(source);
-        File tempFile = File.createTempFile(source.getName(), ".tmp");
-        BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile));
-        try {
-            writer.write(allHeaders());
-            while (lineIterator.hasNext()) {
-                writer.write(lineIterator.next());
-                writer.write(System.lineSeparator());
+    private void add(String namespace) {
+
+        if ((size + 1) * 2 > declaredNamespaces.length) {
+            String[] previous = declaredNamespaces;
+            declaredNamespaces = new String[previous.length * 2];
+            for (String ns : previous) {
+                if (ns != null) {
+                    insert(ns);
+                }
             }
-        } finally {
-            IOUtils.closeQuietly(writer);
-            LineIterator.closeQuietly(lineIterator);
         }
-        FileUtils.deleteQuietly(source);
-        FileUtils.moveFile(tempFile, source);
+
+        insert(namespace);
+        size++;
     }
 
-    private String allHeaders() {
-        StringBuilder builder = new StringBuilder();
-        for (Map.Entry<String, String> entry : prefixes.entrySet()) {
-            builder.append("@prefix ");
-            builder.append(entry.getValue());
-            builder.append(": <");
-            builder.append(entry.getKey());
-            builder.append("> .");
-            builder.append(System.lineSeparator());
+    private void insert(String namespace) {
+        int mask = declaredNamespaces.length - 1;
+        int slot = spread(namespace.hashCode()) & mask;
+        while (declaredNamespaces[slot] != null) {
+            slot = (slot + 1) & mask;
         }
-        builder.append(System.lineSeparator());
-        return builder.toString();
+        declaredNamespaces[slot] = namespace;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
     }
 }
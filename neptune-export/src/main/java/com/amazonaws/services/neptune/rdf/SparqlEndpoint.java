@@ -0,0 +1,94 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.rdf;
+
+import org.eclipse.rdf4j.repository.sparql.SPARQLRepository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A SPARQL repository together with the load and health metrics used to choose between endpoints.
+ * Latency is measured as the time to first result, smoothed with an exponentially weighted moving average.
+ */
+class SparqlEndpoint {
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final long BASE_COOL_DOWN_MILLIS = 5000;
+    private static final long MAX_COOL_DOWN_MILLIS = 60000;
+
+    private final String name;
+    private final SPARQLRepository repository;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile double latencyMillis = 0.0;
+    private volatile long unavailableUntil = 0;
+
+    SparqlEndpoint(String name, SPARQLRepository repository) {
+        this.name = name;
+        this.repository = repository;
+    }
+
+    SPARQLRepository repository() {
+        return repository;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    double latencyMillis() {
+        return latencyMillis;
+    }
+
+    boolean isAvailable(long now) {
+        return now >= unavailableUntil;
+    }
+
+    void requestStarted() {
+        requests.incrementAndGet();
+        inFlight.incrementAndGet();
+    }
+
+    void firstResult(long latency) {
+        double current = latencyMillis;
+        latencyMillis = current == 0.0 ?
+                latency :
+                (LATENCY_SMOOTHING * latency) + ((1 - LATENCY_SMOOTHING) * current);
+    }
+
+    void requestSucceeded() {
+        inFlight.decrementAndGet();
+        consecutiveFailures.set(0);
+    }
+
+    void requestFailed() {
+        inFlight.decrementAndGet();
+        failures.incrementAndGet();
+        int count = consecutiveFailures.incrementAndGet();
+        long coolDown = Math.min(BASE_COOL_DOWN_MILLIS * count, MAX_COOL_DOWN_MILLIS);
+        unavailableUntil = System.currentTimeMillis() + coolDown;
+    }
+
+    String metrics() {
+        return String.format("%s – requests: %s, failures: %s, avg time to first result: %.0f ms",
+                name, requests.get(), failures.get(), latencyMillis);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.rdf.io;
+
+import com.amazonaws.services.neptune.io.BinaryOutputWriter;
+import com.amazonaws.services.neptune.io.Status;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.rio.binary.BinaryRDFWriter;
+
+/**
+ * Writes statements in RDF4J's binary RDF format. Values that recur within the writer's buffer window are
+ * written once and thereafter referred to by ID, so repeated IRIs cost a few bytes rather than their full text.
+ */
+public class EnhancedBinaryRdfWriter extends BinaryRDFWriter {
+
+    private static final int STATEMENT_BUFFER_SIZE = 8192;
+
+    private final Status status = new Status();
+
+    public EnhancedBinaryRdfWriter(BinaryOutputWriter writer) {
+        super(writer.outputStream(), STATEMENT_BUFFER_SIZE);
+    }
+
+    @Override
+    protected void consumeStatement(Statement statement) {
+        super.consumeStatement(statement);
+        status.update();
+    }
+}
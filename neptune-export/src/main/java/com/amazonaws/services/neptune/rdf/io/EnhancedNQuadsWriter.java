@@ -14,36 +14,23 @@ package com.amazonaws.services.neptune.rdf.io;
 
 import com.amazonaws.services.neptune.io.OutputWriter;
 import com.amazonaws.services.neptune.io.Status;
-import com.amazonaws.services.neptune.rdf.Prefixes;
-import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.eclipse.rdf4j.rio.nquads.NQuadsWriter;
 
 public class EnhancedNQuadsWriter extends NQuadsWriter {
 
-
     private final OutputWriter writer;
-    private final Prefixes prefixes;
     private final Status status = new Status();
 
-    public EnhancedNQuadsWriter(OutputWriter writer, Prefixes prefixes) {
+    public EnhancedNQuadsWriter(OutputWriter writer) {
         super(writer.writer());
         this.writer = writer;
-        this.prefixes = prefixes;
     }
 
     @Override
     public void handleStatement(Statement statement) throws RDFHandlerException {
-        prefixes.parse(statement.getSubject().stringValue(), this);
-        prefixes.parse(statement.getPredicate().toString(), this);
-        prefixes.parse(statement.getObject().stringValue(), this);
-
-        Resource context = statement.getContext();
-        if (context != null){
-            prefixes.parse(context.stringValue(), this);
-        }
-
+        // N-Quads has no prefixes, so there's no need to parse namespaces
         writer.startCommit();
         super.handleStatement(statement);
         writer.endCommit();
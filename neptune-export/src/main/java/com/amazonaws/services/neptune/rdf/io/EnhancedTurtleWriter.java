@@ -15,8 +15,9 @@ package com.amazonaws.services.neptune.rdf.io;
 import com.amazonaws.services.neptune.io.Status;
 import com.amazonaws.services.neptune.io.OutputWriter;
 import com.amazonaws.services.neptune.rdf.Prefixes;
-import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.eclipse.rdf4j.rio.turtle.TurtleWriter;
 
@@ -37,14 +38,10 @@ public class EnhancedTurtleWriter extends TurtleWriter {
     @Override
     public void handleStatement(Statement statement) throws RDFHandlerException {
 
-        prefixes.parse(statement.getSubject().stringValue(), this);
-        prefixes.parse(statement.getPredicate().toString(), this);
-        prefixes.parse(statement.getObject().stringValue(), this);
-
-        Resource context = statement.getContext();
-        if (context != null){
-            prefixes.parse(context.stringValue(), this);
-        }
+        parsePrefixes(statement.getSubject());
+        parsePrefixes(statement.getPredicate());
+        parsePrefixes(statement.getObject());
+        parsePrefixes(statement.getContext());
 
         writer.startCommit();
         super.handleStatement(statement);
@@ -53,6 +50,13 @@ public class EnhancedTurtleWriter extends TurtleWriter {
         status.update();
     }
 
+    private void parsePrefixes(Value value) {
+        // Only IRIs can be abbreviated using a prefix
+        if (value instanceof IRI) {
+            prefixes.parse(value.stringValue(), this);
+        }
+    }
+
     @Override
     protected void writeNamespace(String prefix, String name)
             throws IOException {
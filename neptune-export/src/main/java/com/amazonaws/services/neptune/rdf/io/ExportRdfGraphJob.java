@@ -12,26 +12,127 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.rdf.io;
 
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import com.amazonaws.services.neptune.io.Target;
 import com.amazonaws.services.neptune.rdf.NeptuneSparqlClient;
 import com.amazonaws.services.neptune.util.Activity;
 import com.amazonaws.services.neptune.util.CheckedActivity;
 import com.amazonaws.services.neptune.util.Timer;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.rio.helpers.NTriplesUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ExportRdfGraphJob {
 
     private final NeptuneSparqlClient client;
     private final RdfTargetConfig targetConfig;
+    private final ConcurrencyConfig concurrencyConfig;
 
     public ExportRdfGraphJob(NeptuneSparqlClient client, RdfTargetConfig targetConfig) {
+        this(client, targetConfig, new ConcurrencyConfig(1));
+    }
+
+    public ExportRdfGraphJob(NeptuneSparqlClient client, RdfTargetConfig targetConfig, ConcurrencyConfig concurrencyConfig) {
         this.client = client;
         this.targetConfig = targetConfig;
+        this.concurrencyConfig = concurrencyConfig;
     }
 
     public void execute() throws Exception {
         Timer.timedActivity("exporting RDF as " + targetConfig.format().description(),
                 (CheckedActivity.Runnable) () -> {
-                    System.err.println("Creating statement files");
-                    client.executeQuery("SELECT * WHERE { GRAPH ?g { ?s ?p ?o } }", targetConfig);
+                    if (exportsNamedGraphsInParallel()) {
+                        exportNamedGraphsInParallel();
+                    } else {
+                        System.err.println("Creating statement files");
+                        client.executeQuery("SELECT * WHERE { GRAPH ?g { ?s ?p ?o } }", targetConfig);
+                    }
                 });
+
+        System.err.println("SPARQL endpoints:");
+        client.endpointMetrics().forEach(m -> System.err.println("  " + m));
+    }
+
+    /**
+     * Named graphs are exported in parallel to separate outputs. Writers that share stdout would interleave their
+     * statements and prefix declarations, so a stdout export always uses a single query and writer.
+     */
+    boolean exportsNamedGraphsInParallel() {
+        if (concurrencyConfig.concurrency() <= 1) {
+            return false;
+        }
+        if (targetConfig.output() == Target.stdout) {
+            System.err.println("Exporting named graphs sequentially, because concurrent exports cannot share stdout");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a query for the statements in a named graph. The graph's IRI is checked against the characters that
+     * SPARQL allows in an IRI reference, since NTriplesUtil does not escape all of them (a '>', for example, would
+     * otherwise end the IRI and let the rest of the name be read as query text).
+     */
+    static String namedGraphQuery(String namedGraph) {
+        for (int i = 0; i < namedGraph.length(); i++) {
+            char c = namedGraph.charAt(i);
+            if (c <= 0x20 || "<>\"{}|^`\\".indexOf(c) >= 0) {
+                throw new IllegalArgumentException(
+                        String.format("Named graph '%s' is not a valid IRI: it contains '%s'", namedGraph, c));
+            }
+        }
+        return String.format("SELECT * WHERE { VALUES ?g { %s } GRAPH ?g { ?s ?p ?o } }",
+                NTriplesUtil.toNTriplesString(SimpleValueFactory.getInstance().createIRI(namedGraph)));
+    }
+
+    private void exportNamedGraphsInParallel() throws Exception {
+
+        Queue<String> namedGraphs = Timer.timedActivity("getting named graphs",
+                (Activity.Callable<Queue<String>>) () -> new ConcurrentLinkedQueue<>(client.namedGraphs()));
+
+        int concurrency = Math.max(1, Math.min(concurrencyConfig.concurrency(), namedGraphs.size()));
+
+        System.err.println(String.format("Creating statement files for %s named graphs using %s threads",
+                namedGraphs.size(), concurrency));
+
+        AtomicInteger partitionIndex = new AtomicInteger();
+        ExecutorService taskExecutor = Executors.newFixedThreadPool(concurrency);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(taskExecutor.submit(() -> {
+                    String namedGraph;
+                    while ((namedGraph = namedGraphs.poll()) != null) {
+                        client.executeQuery(
+                                namedGraphQuery(namedGraph),
+                                targetConfig,
+                                "statements-" + partitionIndex.incrementAndGet());
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+
+        } finally {
+            taskExecutor.shutdownNow();
+        }
     }
 }
@@ -13,7 +13,9 @@ permissions and limitations under the License.
 package com.amazonaws.services.neptune.rdf.io;
 
 import com.amazonaws.services.neptune.io.OutputWriter;
+import com.amazonaws.services.neptune.io.Utf8StreamOutputWriter;
 import com.amazonaws.services.neptune.io.Status;
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import org.eclipse.rdf4j.model.Statement;
@@ -27,6 +29,8 @@ import java.util.Collection;
 
 public class NeptuneStreamsJsonNQuadsWriter implements RDFWriter {
 
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private final JsonGenerator generator;
     private final Status status = new Status();
     private final OutputWriter outputWriter;
@@ -34,7 +38,9 @@ public class NeptuneStreamsJsonNQuadsWriter implements RDFWriter {
     public NeptuneStreamsJsonNQuadsWriter(OutputWriter outputWriter) {
         this.outputWriter = outputWriter;
         try {
-            this.generator = new JsonFactory().createGenerator(outputWriter.writer());
+            this.generator = outputWriter instanceof Utf8StreamOutputWriter ?
+                    JSON_FACTORY.createGenerator(((Utf8StreamOutputWriter) outputWriter).outputStream(), JsonEncoding.UTF8) :
+                    JSON_FACTORY.createGenerator(outputWriter.writer());
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -72,7 +78,11 @@ public class NeptuneStreamsJsonNQuadsWriter implements RDFWriter {
 
     @Override
     public void endRDF() throws RDFHandlerException {
-        // Do nothing
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new RDFHandlerException(e);
+        }
     }
 
     @Override
@@ -108,7 +118,9 @@ public class NeptuneStreamsJsonNQuadsWriter implements RDFWriter {
 
             generator.writeStringField("op", "ADD");
             generator.writeEndObject();
-            generator.flush();
+            if (outputWriter.requiresFlushOnCommit()) {
+                generator.flush();
+            }
 
             outputWriter.endCommit();
 
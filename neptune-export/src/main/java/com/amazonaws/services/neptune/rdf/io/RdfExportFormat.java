@@ -12,16 +12,23 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.rdf.io;
 
+import com.amazonaws.services.neptune.io.BinaryOutputWriter;
 import com.amazonaws.services.neptune.io.FileExtension;
+import com.amazonaws.services.neptune.io.KinesisConfig;
 import com.amazonaws.services.neptune.io.OutputWriter;
+import com.amazonaws.services.neptune.io.Target;
 import com.amazonaws.services.neptune.rdf.Prefixes;
-import org.eclipse.rdf4j.rio.RDFWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
 
 public enum RdfExportFormat implements FileExtension {
     turtle {
         @Override
-        RDFWriter createWriter(OutputWriter writer, Prefixes prefixes) {
-            return new EnhancedTurtleWriter(writer, prefixes);
+        RdfStatementsWriter createStatementsWriter(Target target, Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, Prefixes prefixes) throws IOException {
+            OutputWriter writer = target.createOutputWriter(pathSupplier, kinesisConfig);
+            return new RdfStatementsWriter(writer, new EnhancedTurtleWriter(writer, prefixes));
         }
 
         @Override
@@ -37,8 +44,9 @@ public enum RdfExportFormat implements FileExtension {
     },
     nquads {
         @Override
-        RDFWriter createWriter(OutputWriter writer, Prefixes prefixes) {
-            return new EnhancedNQuadsWriter(writer, prefixes);
+        RdfStatementsWriter createStatementsWriter(Target target, Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, Prefixes prefixes) throws IOException {
+            OutputWriter writer = target.createOutputWriter(pathSupplier, kinesisConfig);
+            return new RdfStatementsWriter(writer, new EnhancedNQuadsWriter(writer));
         }
 
 
@@ -56,8 +64,9 @@ public enum RdfExportFormat implements FileExtension {
     },
     neptuneStreamsJson {
         @Override
-        RDFWriter createWriter(OutputWriter writer, Prefixes prefixes) {
-            return new NeptuneStreamsJsonNQuadsWriter(writer);
+        RdfStatementsWriter createStatementsWriter(Target target, Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, Prefixes prefixes) throws IOException {
+            OutputWriter writer = target.createOutputWriter(pathSupplier, kinesisConfig);
+            return new RdfStatementsWriter(writer, new NeptuneStreamsJsonNQuadsWriter(writer));
         }
 
         @Override
@@ -70,9 +79,27 @@ public enum RdfExportFormat implements FileExtension {
             return "JSON (Neptune Streams format)";
         }
 
+    },
+    binaryRdf {
+        @Override
+        RdfStatementsWriter createStatementsWriter(Target target, Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, Prefixes prefixes) throws IOException {
+            BinaryOutputWriter writer = target.createBinaryOutputWriter(pathSupplier);
+            return new RdfStatementsWriter(writer, new EnhancedBinaryRdfWriter(writer));
+        }
+
+        @Override
+        public String suffix() {
+            return "brf";
+        }
+
+        @Override
+        public String description() {
+            return "Binary RDF";
+        }
+
     };
 
-    abstract RDFWriter createWriter(OutputWriter writer, Prefixes prefixes);
+    abstract RdfStatementsWriter createStatementsWriter(Target target, Supplier<Path> pathSupplier, KinesisConfig kinesisConfig, Prefixes prefixes) throws IOException;
 
     public abstract String description();
 
@@ -0,0 +1,39 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.rdf.io;
+
+import org.eclipse.rdf4j.rio.RDFWriter;
+
+/**
+ * An RDF writer together with the output it writes to. Closing it closes the output.
+ */
+public class RdfStatementsWriter implements AutoCloseable {
+
+    private final AutoCloseable output;
+    private final RDFWriter rdfWriter;
+
+    RdfStatementsWriter(AutoCloseable output, RDFWriter rdfWriter) {
+        this.output = output;
+        this.rdfWriter = rdfWriter;
+    }
+
+    public RDFWriter rdfWriter() {
+        return rdfWriter;
+    }
+
+    @Override
+    public void close() throws Exception {
+        output.close();
+    }
+}
@@ -14,10 +14,9 @@ package com.amazonaws.services.neptune.rdf.io;
 
 import com.amazonaws.services.neptune.io.Directories;
 import com.amazonaws.services.neptune.io.KinesisConfig;
-import com.amazonaws.services.neptune.io.OutputWriter;
 import com.amazonaws.services.neptune.io.Target;
+import com.amazonaws.services.neptune.rdf.PrefixDictionary;
 import com.amazonaws.services.neptune.rdf.Prefixes;
-import org.eclipse.rdf4j.rio.RDFWriter;
 
 import java.io.IOException;
 
@@ -27,6 +26,7 @@ public class RdfTargetConfig {
     private final Target output;
     private final KinesisConfig kinesisConfig;
     private final RdfExportFormat format;
+    private final PrefixDictionary prefixDictionary = new PrefixDictionary();
 
     public RdfTargetConfig(Directories directories, KinesisConfig kinesisConfig, Target output, RdfExportFormat format) {
         this.directories = directories;
@@ -35,17 +35,23 @@ public class RdfTargetConfig {
         this.format = format;
     }
 
-    public OutputWriter createOutputWriter() throws IOException {
-        return output.createOutputWriter(
-                () -> directories.createStatementsFilePath("statements", format),
-                kinesisConfig);
+    public RdfStatementsWriter createStatementsWriter() throws IOException {
+        return createStatementsWriter("statements");
     }
 
-    public RDFWriter createRDFWriter(OutputWriter outputWriter) {
-        return format.createWriter(outputWriter, new Prefixes());
+    public RdfStatementsWriter createStatementsWriter(String name) throws IOException {
+        return format.createStatementsWriter(
+                output,
+                () -> directories.createStatementsFilePath(name, format),
+                kinesisConfig,
+                new Prefixes(prefixDictionary));
     }
 
     public RdfExportFormat format() {
         return format;
     }
+
+    public Target output() {
+        return output;
+    }
 }
@@ -0,0 +1,129 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.util;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.services.neptune.AmazonNeptune;
+import com.amazonaws.services.neptune.AmazonNeptuneClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Shares expensive clients between exports run by the same long-lived process, such as an AWS Lambda execution
+ * environment. Caching is disabled by default: each export then creates and shuts down its own clients.
+ * <p>
+ * Gremlin clusters are shared only between exports that use identical connection settings. A cluster that has
+ * been idle for longer than CLIENT_CACHE_MAX_IDLE_SECONDS (default 300) is replaced, because a frozen execution
+ * environment can't keep its connections alive.
+ */
+public class ClientCache {
+
+    private static final int MAX_GREMLIN_CLUSTERS = 4;
+    private static final long MAX_IDLE_MILLIS =
+            Long.parseLong(EnvironmentVariableUtils.getOptionalEnv("CLIENT_CACHE_MAX_IDLE_SECONDS", "300")) * 1000;
+
+    private static final ResourceCache<Cluster> GREMLIN_CLUSTERS = new ResourceCache<>(
+            MAX_GREMLIN_CLUSTERS,
+            MAX_IDLE_MILLIS,
+            cluster -> !cluster.isClosing() && !cluster.isClosed(),
+            Cluster::close);
+
+    private static volatile boolean enabled = false;
+    private static AmazonS3 s3;
+    private static final Map<Integer, AmazonS3> S3_BY_MAX_CONNECTIONS = new HashMap<>();
+    private static TransferManager transferManager;
+    private static AmazonNeptune neptune;
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static synchronized AmazonS3 s3() {
+        if (!enabled) {
+            return AmazonS3ClientBuilder.defaultClient();
+        }
+        if (s3 == null) {
+            s3 = AmazonS3ClientBuilder.defaultClient();
+        }
+        return s3;
+    }
+
+    /**
+     * Returns an S3 client with a connection pool of the given size. When caching is enabled, the client is shared
+     * with other callers that ask for the same pool size, and callers must not shut it down.
+     */
+    public static synchronized AmazonS3 s3(int maxConnections) {
+        if (!enabled) {
+            return createS3Client(maxConnections);
+        }
+        return S3_BY_MAX_CONNECTIONS.computeIfAbsent(maxConnections, ClientCache::createS3Client);
+    }
+
+    private static AmazonS3 createS3Client(int maxConnections) {
+        return AmazonS3ClientBuilder.standard()
+                .withClientConfiguration(new ClientConfiguration().withMaxConnections(maxConnections))
+                .build();
+    }
+
+    /**
+     * Returns the shared transfer manager. Callers must not shut it down.
+     */
+    public static synchronized TransferManager transferManager() {
+        if (!enabled) {
+            throw new IllegalStateException("Client cache is not enabled");
+        }
+        if (transferManager == null) {
+            transferManager = TransferManagerBuilder.standard().withS3Client(s3()).build();
+        }
+        return transferManager;
+    }
+
+    public static synchronized AmazonNeptune neptune() {
+        if (!enabled) {
+            return AmazonNeptuneClientBuilder.defaultClient();
+        }
+        if (neptune == null) {
+            neptune = AmazonNeptuneClientBuilder.defaultClient();
+        }
+        return neptune;
+    }
+
+    /**
+     * Shuts down a Neptune management client, unless it is the shared client.
+     */
+    public static synchronized void shutdown(AmazonNeptune client) {
+        if (client != null && client != neptune) {
+            client.shutdown();
+        }
+    }
+
+    public static Cluster acquireGremlinCluster(String key, Supplier<Cluster> factory) {
+        return GREMLIN_CLUSTERS.acquire(key, factory);
+    }
+
+    public static void releaseGremlinCluster(String key) {
+        GREMLIN_CLUSTERS.release(key);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.util;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, keyed cache of closeable resources. A resource is reused only if it is still usable and has been
+ * idle for no longer than the maximum idle time; otherwise it is closed and replaced. When the cache is full, the
+ * least recently used idle resources are closed.
+ */
+class ResourceCache<T> {
+
+    private final int maxSize;
+    private final long maxIdleMillis;
+    private final Predicate<T> isUsable;
+    private final Consumer<T> closer;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry<T>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    ResourceCache(int maxSize, long maxIdleMillis, Predicate<T> isUsable, Consumer<T> closer) {
+        this(maxSize, maxIdleMillis, isUsable, closer, System::currentTimeMillis);
+    }
+
+    ResourceCache(int maxSize, long maxIdleMillis, Predicate<T> isUsable, Consumer<T> closer, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.maxIdleMillis = maxIdleMillis;
+        this.isUsable = isUsable;
+        this.closer = closer;
+        this.clock = clock;
+    }
+
+    synchronized T acquire(String key, Supplier<T> factory) {
+
+        Entry<T> entry = entries.get(key);
+
+        if (entry != null && entry.users == 0 &&
+                (clock.getAsLong() - entry.lastUsed > maxIdleMillis || !isUsable.test(entry.resource))) {
+            entries.remove(key);
+            closer.accept(entry.resource);
+            entry = null;
+        }
+
+        if (entry == null) {
+            entry = new Entry<>(factory.get());
+            entry.users++;
+            entries.put(key, entry);
+            evictIdleEntries();
+        } else {
+            entry.users++;
+        }
+
+        return entry.resource;
+    }
+
+    synchronized void release(String key) {
+        Entry<T> entry = entries.get(key);
+        if (entry != null && entry.users > 0) {
+            entry.users--;
+            entry.lastUsed = clock.getAsLong();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictIdleEntries() {
+        Iterator<Entry<T>> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            Entry<T> entry = iterator.next();
+            if (entry.users == 0) {
+                iterator.remove();
+                closer.accept(entry.resource);
+            }
+        }
+    }
+
+    private static class Entry<T> {
+        private final T resource;
+        private int users = 0;
+        private long lastUsed;
+
+        private Entry(T resource) {
+            this.resource = resource;
+        }
+    }
+}
@@ -17,7 +17,10 @@ import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
 
 public class TransferManagerWrapper implements AutoCloseable {
 
-    private final TransferManager transferManager = TransferManagerBuilder.standard().build();
+    private final boolean isShared = ClientCache.isEnabled();
+    private final TransferManager transferManager = isShared ?
+            ClientCache.transferManager() :
+            TransferManagerBuilder.standard().build();
 
     public TransferManager get() {
         return transferManager;
@@ -25,6 +28,8 @@ public class TransferManagerWrapper implements AutoCloseable {
 
     @Override
     public void close() {
-        transferManager.shutdownNow();
+        if (!isShared) {
+            transferManager.shutdownNow();
+        }
     }
 }
@@ -0,0 +1,219 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.export;
+
+import com.amazonaws.services.neptune.util.S3ObjectInfo;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import com.amazonaws.util.BinaryUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static com.amazonaws.services.neptune.export.S3UploadScheduler.MB;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class S3UploadSchedulerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldUploadSmallFilesWithSingleRequest() {
+        assertEquals(0, S3UploadScheduler.partSize(0, 8));
+        assertEquals(16 * MB, S3UploadScheduler.partSize(16 * MB, 8));
+    }
+
+    @Test
+    public void shouldSpreadLargeFilesAcrossUploadThreads() {
+        assertEquals(8 * MB, S3UploadScheduler.partSize(20 * MB, 8));
+        assertEquals(128 * MB, S3UploadScheduler.partSize(1024 * MB, 8));
+        assertEquals(256 * MB, S3UploadScheduler.partSize(10 * 1024 * MB, 8));
+    }
+
+    @Test
+    public void shouldNotExceedMaximumNumberOfParts() {
+        long fileLength = 5L * 1024 * 1024 * MB;
+        long partSize = S3UploadScheduler.partSize(fileLength, 8);
+
+        assertTrue((fileLength + partSize - 1) / partSize <= S3UploadScheduler.MAX_PARTS);
+        assertEquals(0, partSize % MB);
+    }
+
+    @Test
+    public void shouldRecordSizeAndDigestsOfEachUploadedFileInManifest() throws Exception {
+        File directory = folder.newFolder("export");
+        File nodesFile = writeFile(new File(directory, "nodes/person-1.csv"), "~id,~label\n1,person\n");
+        File configFile = writeFile(new File(directory, "config.json"), "{}");
+
+        AmazonS3 s3 = mock(AmazonS3.class);
+        when(s3.putObject(any(PutObjectRequest.class))).thenReturn(new PutObjectResult());
+
+        try (S3UploadScheduler scheduler = new S3UploadScheduler(
+                s3, false, new S3ObjectInfo("s3://bucket/exports/"), directory.toPath(), new ObjectTagging(Collections.emptyList()), 2)) {
+
+            scheduler.schedule(nodesFile);
+            scheduler.scheduleRemaining();
+
+            Collection<S3UploadScheduler.UploadedFile> uploadedFiles = scheduler.awaitCompletion();
+            ObjectNode manifest = scheduler.createManifest(uploadedFiles);
+
+            assertEquals("s3://bucket/exports/", manifest.path("outputS3Path").textValue());
+            assertEquals(2, manifest.path("files").size());
+
+            JsonNode configEntry = manifest.path("files").get(0);
+            assertEquals("config.json", configEntry.path("path").textValue());
+            assertEquals("exports/config.json", configEntry.path("key").textValue());
+
+            JsonNode nodesEntry = manifest.path("files").get(1);
+            assertEquals("nodes/person-1.csv", nodesEntry.path("path").textValue());
+            assertEquals("exports/nodes/person-1.csv", nodesEntry.path("key").textValue());
+            assertEquals(nodesFile.length(), nodesEntry.path("size").longValue());
+            assertEquals(digest("MD5", FileUtils.readFileToByteArray(nodesFile)), nodesEntry.path("md5").textValue());
+            assertEquals(digest("SHA-256", FileUtils.readFileToByteArray(nodesFile)), nodesEntry.path("sha256").textValue());
+            assertFalse(nodesEntry.has("parts"));
+        }
+
+        verify(s3, times(2)).putObject(any(PutObjectRequest.class));
+        verify(s3).shutdown();
+    }
+
+    @Test
+    public void shouldNotUploadUnchangedFileTwice() throws Exception {
+        File directory = folder.newFolder("export");
+        File file = writeFile(new File(directory, "config.json"), "{}");
+
+        AmazonS3 s3 = mock(AmazonS3.class);
+        when(s3.putObject(any(PutObjectRequest.class))).thenReturn(new PutObjectResult());
+
+        try (S3UploadScheduler scheduler = new S3UploadScheduler(
+                s3, true, new S3ObjectInfo("s3://bucket/exports"), directory.toPath(), new ObjectTagging(Collections.emptyList()), 2)) {
+
+            scheduler.schedule(file);
+            scheduler.schedule(file);
+            scheduler.scheduleRemaining();
+
+            assertEquals(1, scheduler.awaitCompletion().size());
+        }
+
+        verify(s3, times(1)).putObject(any(PutObjectRequest.class));
+        verify(s3, never()).shutdown();
+    }
+
+    @Test
+    public void shouldUploadLargeFileInPartsWithPartDigests() throws Exception {
+        File directory = folder.newFolder("export");
+        byte[] bytes = new byte[(int) (20 * MB)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        File file = new File(directory, "edges/knows-1.csv");
+        FileUtils.writeByteArrayToFile(file, bytes);
+
+        AmazonS3 s3 = mock(AmazonS3.class);
+        InitiateMultipartUploadResult initiateResult = new InitiateMultipartUploadResult();
+        initiateResult.setUploadId("upload-1");
+        when(s3.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiateResult);
+        List<UploadPartRequest> partRequests = Collections.synchronizedList(new ArrayList<>());
+        when(s3.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            partRequests.add(request);
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag-" + request.getPartNumber());
+            return result;
+        });
+        when(s3.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .thenReturn(new CompleteMultipartUploadResult());
+
+        try (S3UploadScheduler scheduler = new S3UploadScheduler(
+                s3, true, new S3ObjectInfo("s3://bucket/exports"), directory.toPath(), new ObjectTagging(Collections.emptyList()), 4)) {
+
+            scheduler.schedule(file);
+
+            JsonNode entry = scheduler.createManifest(scheduler.awaitCompletion()).path("files").get(0);
+
+            assertEquals(20 * MB, entry.path("size").longValue());
+            assertEquals(3, entry.path("parts").size());
+            assertEquals(digest("SHA-256", bytes), entry.path("sha256").textValue());
+            assertTrue(entry.path("md5").textValue().endsWith("-3"));
+
+            JsonNode lastPart = entry.path("parts").get(2);
+            assertEquals(3, lastPart.path("partNumber").intValue());
+            assertEquals(16 * MB, lastPart.path("offset").longValue());
+            assertEquals(4 * MB, lastPart.path("size").longValue());
+            assertEquals(digest("SHA-256", Arrays.copyOfRange(bytes, (int) (16 * MB), bytes.length)),
+                    lastPart.path("sha256").textValue());
+        }
+
+        assertEquals(3, partRequests.size());
+        for (UploadPartRequest request : partRequests) {
+            assertNotNull(request.getMd5Digest());
+        }
+        verify(s3).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        verify(s3, never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+    }
+
+    @Test
+    public void shouldAbortMultipartUploadIfPartFails() throws Exception {
+        File directory = folder.newFolder("export");
+        File file = new File(directory, "edges/knows-1.csv");
+        FileUtils.writeByteArrayToFile(file, new byte[(int) (20 * MB)]);
+
+        AmazonS3 s3 = mock(AmazonS3.class);
+        InitiateMultipartUploadResult initiateResult = new InitiateMultipartUploadResult();
+        initiateResult.setUploadId("upload-1");
+        when(s3.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiateResult);
+        when(s3.uploadPart(any(UploadPartRequest.class))).thenThrow(new IllegalStateException("BadDigest"));
+
+        try (S3UploadScheduler scheduler = new S3UploadScheduler(
+                s3, true, new S3ObjectInfo("s3://bucket/exports"), directory.toPath(), new ObjectTagging(Collections.emptyList()), 2)) {
+
+            scheduler.schedule(file);
+
+            try {
+                scheduler.awaitCompletion();
+                fail("Expected upload to fail");
+            } catch (RuntimeException e) {
+                assertTrue(e.getMessage().contains("BadDigest"));
+            }
+        }
+
+        verify(s3).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+    }
+
+    private static File writeFile(File file, String contents) throws IOException {
+        FileUtils.writeStringToFile(file, contents, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static String digest(String algorithm, byte[] bytes) throws Exception {
+        return BinaryUtils.toHex(MessageDigest.getInstance(algorithm).digest(bytes));
+    }
+}
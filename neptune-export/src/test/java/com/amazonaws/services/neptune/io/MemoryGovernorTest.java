@@ -0,0 +1,104 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.io;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MemoryGovernorTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    public void shouldLimitOpenWritersPerTaskToHalfOfBudget() {
+        MemoryGovernor memoryGovernor = new MemoryGovernor(128 * MB, 4, 64);
+
+        // 64 MB for file buffers, shared by 4 tasks, each buffer 1 MB plus 64 KB overhead
+        assertEquals(15, memoryGovernor.maxOpenWritersPerTask(MB));
+    }
+
+    @Test
+    public void shouldAlwaysAllowAtLeastOneOpenWriterPerTask() {
+        MemoryGovernor memoryGovernor = new MemoryGovernor(MB, 16, 64);
+
+        assertEquals(1, memoryGovernor.maxOpenWritersPerTask(MB));
+    }
+
+    @Test
+    public void shouldShrinkWriterBuffersAsWritersAreOpened() {
+        MemoryGovernor memoryGovernor = new MemoryGovernor(8 * MB, 1, 64);
+
+        // 4 MB for file buffers: each writer takes half of what is not already held, up to 1 MB
+        assertEquals(MB, memoryGovernor.writerBufferSize((int) MB));
+
+        memoryGovernor.reserveBuffer(3 * MB);
+        assertEquals(512 * 1024, memoryGovernor.writerBufferSize((int) MB));
+
+        memoryGovernor.reserveBuffer(MB);
+        assertEquals(MemoryGovernor.MIN_WRITER_BUFFER_SIZE, memoryGovernor.writerBufferSize((int) MB));
+
+        memoryGovernor.releaseBuffer(4 * MB);
+        assertEquals(MB, memoryGovernor.writerBufferSize((int) MB));
+    }
+
+    @Test
+    public void shouldAllowMoreOpenWritersWithSmallerBuffers() {
+        MemoryGovernor memoryGovernor = new MemoryGovernor(8 * MB, 4, 64);
+
+        // 4 MB for file buffers, shared by 4 tasks, each buffer plus 64 KB overhead
+        assertEquals(1, memoryGovernor.maxOpenWritersPerTask(MB));
+        assertEquals(12, memoryGovernor.maxOpenWritersPerTask(MemoryGovernor.MIN_WRITER_BUFFER_SIZE));
+    }
+
+    @Test
+    public void shouldUseConfiguredBatchSizeForSmallElements() {
+        MemoryGovernor memoryGovernor = new MemoryGovernor(128 * MB, 4, 64);
+        memoryGovernor.recordBytesWritten(1000 * 200);
+        memoryGovernor.recordElementsWritten(1000);
+
+        assertEquals(64, memoryGovernor.resultBatchSize());
+        assertFalse(memoryGovernor.limitsResultBatchSize());
+    }
+
+    @Test
+    public void shouldReduceBatchSizeForLargeElements() {
+        MemoryGovernor memoryGovernor = new MemoryGovernor(128 * MB, 4, 64);
+        memoryGovernor.recordBytesWritten(10 * MB);
+        memoryGovernor.recordElementsWritten(10);
+
+        // 64 MB for results, shared by 4 tasks, each element estimated at 4 x 1 MB
+        assertEquals(4, memoryGovernor.resultBatchSize());
+        assertTrue(memoryGovernor.limitsResultBatchSize());
+    }
+
+    @Test
+    public void shouldTrackPeakBufferUsage() {
+        MemoryGovernor memoryGovernor = new MemoryGovernor(128 * MB, 4, 64);
+
+        memoryGovernor.reserveBuffer(MB);
+        memoryGovernor.reserveBuffer(MB);
+        memoryGovernor.releaseBuffer(MB);
+        memoryGovernor.reserveBuffer(MB);
+        memoryGovernor.releaseBuffer(MB);
+
+        assertEquals(MB, memoryGovernor.bufferBytes());
+        assertEquals(2 * MB, memoryGovernor.peakBufferBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectEmptyBudget() {
+        new MemoryGovernor(0, 4, 64);
+    }
+}
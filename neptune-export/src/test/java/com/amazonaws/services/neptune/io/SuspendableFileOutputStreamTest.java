@@ -0,0 +1,66 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class SuspendableFileOutputStreamTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldReopenFileInAppendModeAfterSuspend() throws IOException {
+        File file = folder.newFile("output.csv");
+        Files.write(file.toPath(), "stale".getBytes(StandardCharsets.UTF_8));
+        MemoryGovernor memoryGovernor = new MemoryGovernor(1024 * 1024, 1, 64);
+
+        try (SuspendableFileOutputStream stream = new SuspendableFileOutputStream(file, 16, memoryGovernor)) {
+            stream.write("first,".getBytes(StandardCharsets.UTF_8));
+            assertEquals(16, memoryGovernor.bufferBytes());
+
+            stream.suspend();
+            assertTrue(stream.isSuspended());
+            assertEquals(0, memoryGovernor.bufferBytes());
+
+            stream.write("second row longer than buffer,".getBytes(StandardCharsets.UTF_8));
+            stream.write('x');
+            assertFalse(stream.isSuspended());
+            assertEquals(16, memoryGovernor.bufferBytes());
+        }
+
+        assertEquals(0, memoryGovernor.bufferBytes());
+        assertEquals("first,second row longer than buffer,x",
+                new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotReopenClosedStream() throws IOException {
+        File file = folder.newFile("output.csv");
+        SuspendableFileOutputStream stream =
+                new SuspendableFileOutputStream(file, 16, new MemoryGovernor(1024 * 1024, 1, 64));
+
+        stream.close();
+        stream.write('x');
+    }
+}
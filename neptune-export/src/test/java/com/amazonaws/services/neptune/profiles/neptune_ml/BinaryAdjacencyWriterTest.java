@@ -0,0 +1,124 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.profiles.neptune_ml;
+
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.io.PrinterOptions;
+import com.amazonaws.services.neptune.propertygraph.schema.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class BinaryAdjacencyWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteIdsFeaturesAndAdjacencyArrays() throws IOException {
+
+        File root = folder.getRoot();
+
+        File nodesFile = new File(root, "person.csv");
+        Files.write(nodesFile.toPath(), ("~id,~label,name,age\n" +
+                "p1,Person,alice,31\n" +
+                "p2,Person,bob,\n" +
+                "p3,Person,carol,27\n").getBytes(StandardCharsets.UTF_8));
+
+        File edgesFile = new File(root, "knows.csv");
+        Files.write(edgesFile.toPath(), ("~id,~label,~from,~to,~fromLabels,~toLabels\n" +
+                "e1,knows,p1,p2,Person,Person\n" +
+                "e2,knows,p3,p1,Person,Person\n" +
+                "e3,knows,p1,p3,Person,Person\n" +
+                "e4,knows,p1,p9,Person,Person\n").getBytes(StandardCharsets.UTF_8));
+
+        Label personLabel = new Label(Collections.singletonList("Person"));
+        Label knowsLabel = new Label("knows", "Person", "Person");
+
+        GraphSchema graphSchema = new GraphSchema();
+
+        LabelSchema personSchema = new LabelSchema(personLabel);
+        personSchema.put("name", new PropertySchema("name", false, DataType.String, false));
+        personSchema.put("age", new PropertySchema("age", true, DataType.Integer, false));
+        graphSchema.graphElementSchemasFor(GraphElementTypes.Nodes)
+                .addLabelSchema(personSchema, Collections.singletonList(nodesFile.getAbsolutePath()));
+
+        graphSchema.graphElementSchemasFor(GraphElementTypes.Edges)
+                .addLabelSchema(new LabelSchema(knowsLabel), Collections.singletonList(edgesFile.getAbsolutePath()));
+
+        File binaryDirectory = new BinaryAdjacencyWriter(
+                graphSchema,
+                JobTrainingConfigurationFileWriter.COLUMN_NAME_WITHOUT_DATATYPE,
+                PrinterOptions.NULL_OPTIONS).write(root.toPath());
+
+        JsonNode manifest = new ObjectMapper().readTree(new File(binaryDirectory, BinaryAdjacencyWriter.MANIFEST_FILE));
+
+        JsonNode nodes = manifest.path("nodes").get(0);
+        assertEquals("Person", nodes.path("node_type").textValue());
+        assertEquals(3, nodes.path("count").intValue());
+        assertEquals("age", nodes.path("features").path("columns").get(0).textValue());
+        assertEquals(1, nodes.path("features").path("columns").size());
+
+        ByteBuffer offsets = read(binaryDirectory, nodes.path("ids").path("offsets").textValue());
+        byte[] ids = Files.readAllBytes(new File(binaryDirectory, nodes.path("ids").path("data").textValue()).toPath());
+        assertEquals(0, offsets.getLong(0));
+        assertEquals("p3", new String(ids, (int) offsets.getLong(16), (int) (offsets.getLong(24) - offsets.getLong(16)), StandardCharsets.UTF_8));
+
+        ByteBuffer features = read(binaryDirectory, nodes.path("features").path("file").textValue());
+        assertEquals(31.0f, features.getFloat(0), 0.0f);
+        assertTrue(Float.isNaN(features.getFloat(4)));
+        assertEquals(27.0f, features.getFloat(8), 0.0f);
+
+        JsonNode edges = manifest.path("edges").get(0);
+        assertEquals("knows", edges.path("edge_type").get(1).textValue());
+        assertEquals(3, edges.path("count").intValue());
+        assertEquals(1, edges.path("skipped").intValue());
+
+        assertArrayEquals(new int[]{0, 2, 0}, ints(read(binaryDirectory, edges.path("coo").path("src").textValue())));
+        assertArrayEquals(new int[]{1, 0, 2}, ints(read(binaryDirectory, edges.path("coo").path("dst").textValue())));
+
+        ByteBuffer indptr = read(binaryDirectory, edges.path("csr").path("indptr").textValue());
+        assertEquals(4 * Long.BYTES, indptr.capacity());
+        assertEquals(0, indptr.getLong(0));
+        assertEquals(2, indptr.getLong(8));
+        assertEquals(2, indptr.getLong(16));
+        assertEquals(3, indptr.getLong(24));
+
+        assertArrayEquals(new int[]{1, 2, 0}, ints(read(binaryDirectory, edges.path("csr").path("indices").textValue())));
+    }
+
+    private static ByteBuffer read(File directory, String path) throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(new File(directory, path).toPath())).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int[] ints(ByteBuffer buffer) {
+        int[] values = new int[buffer.capacity() / Integer.BYTES];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buffer.getInt(i * Integer.BYTES);
+        }
+        return values;
+    }
+}
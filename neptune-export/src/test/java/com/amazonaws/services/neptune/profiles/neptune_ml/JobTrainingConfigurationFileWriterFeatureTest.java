@@ -597,4 +597,66 @@ public class JobTrainingConfigurationFileWriterFeatureTest {
         }
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void shouldIncludeValueStatisticsForSingleValueNumericalFeature() throws IOException {
+
+        GraphSchema graphSchema = new GraphSchema();
+        GraphElementSchemas nodeSchemas = graphSchema.graphElementSchemasFor(GraphElementTypes.Nodes);
+
+        PropertySchema propertySchema = new PropertySchema("rating", false, DataType.Float, false);
+        LabelSchema labelSchema = new LabelSchema(new Label("Person"));
+        labelSchema.put("rating", propertySchema);
+        for (float rating : new float[]{1.0f, 2.0f, 3.0f, 4.0f, 5.0f}) {
+            labelSchema.recordObservation(propertySchema, rating, 1, true);
+        }
+
+        nodeSchemas.addLabelSchema(labelSchema, Collections.singletonList("person-1.csv"));
+
+        Output output = new Output();
+
+        new JobTrainingConfigurationFileWriter(graphSchema, output.generator(), JobTrainingConfigurationFileWriter.COLUMN_NAME_WITHOUT_DATATYPE, PrinterOptions.NULL_OPTIONS).write();
+
+        JsonNode stats = output.graph().get(0).path("features").get(0).path("stats");
+
+        assertEquals(5, stats.path("count").asLong());
+        assertEquals(1.0, stats.path("min").asDouble(), 0.0);
+        assertEquals(5.0, stats.path("max").asDouble(), 0.0);
+        assertEquals(3.0, stats.path("mean").asDouble(), 0.0000001);
+        assertEquals(2.0, stats.path("variance").asDouble(), 0.0000001);
+        assertEquals(3.0, stats.path("quantiles").path("0.5").asDouble(), 3.0 * 0.02);
+    }
+
+    @Test
+    public void shouldIncludeValueStatisticsForSingleValueCategoricalFeature() throws IOException {
+
+        GraphSchema graphSchema = new GraphSchema();
+        GraphElementSchemas nodeSchemas = graphSchema.graphElementSchemasFor(GraphElementTypes.Nodes);
+
+        PropertySchema propertySchema = new PropertySchema("class", false, DataType.String, false);
+        LabelSchema labelSchema = new LabelSchema(new Label("Movie"));
+        labelSchema.put("class", propertySchema);
+        for (String value : new String[]{"drama", "comedy", "drama", "horror", "drama", "comedy"}) {
+            labelSchema.recordObservation(propertySchema, value, 1, true);
+        }
+
+        nodeSchemas.addLabelSchema(labelSchema, Collections.singletonList("movie-1.csv"));
+
+        Output output = new Output();
+
+        new JobTrainingConfigurationFileWriter(graphSchema, output.generator(), JobTrainingConfigurationFileWriter.COLUMN_NAME_WITHOUT_DATATYPE, PrinterOptions.NULL_OPTIONS).write();
+
+        JsonNode stats = output.graph().get(0).path("features").get(0).path("stats");
+
+        assertEquals(6, stats.path("count").asLong());
+        assertEquals(3, stats.path("distinct_count").asLong());
+
+        ArrayNode topValues = (ArrayNode) stats.path("top_values");
+
+        assertEquals(3, topValues.size());
+        assertEquals("drama", topValues.get(0).path("value").textValue());
+        assertEquals(3, topValues.get(0).path("count").asLong());
+        assertEquals("comedy", topValues.get(1).path("value").textValue());
+        assertEquals(2, topValues.get(1).path("count").asLong());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.profiles.neptune_ml;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class NodeIdTableTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldFindIndexOfEveryIdAfterResizing() throws IOException {
+
+        int count = 10000;
+        NodeIdTable table = createTable(count);
+
+        assertEquals(count, table.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, table.indexOf(id(i)));
+        }
+    }
+
+    @Test
+    public void shouldReturnMinusOneForUnknownIds() throws IOException {
+
+        NodeIdTable table = createTable(100);
+
+        assertEquals(-1, table.indexOf("node-100"));
+        assertEquals(-1, table.indexOf("node-"));
+        assertEquals(-1, table.indexOf(""));
+        assertEquals(-1, table.indexOf("node-1é"));
+    }
+
+    private NodeIdTable createTable(int count) throws IOException {
+
+        File offsetsFile = folder.newFile();
+        File idsFile = folder.newFile();
+
+        NodeIdTable table = new NodeIdTable();
+        long offset = 0;
+
+        try (OutputStream offsets = new BufferedOutputStream(new FileOutputStream(offsetsFile));
+             OutputStream ids = new BufferedOutputStream(new FileOutputStream(idsFile))) {
+
+            offsets.write(littleEndian(offset));
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = id(i).getBytes(StandardCharsets.UTF_8);
+                table.add(bytes, i);
+                ids.write(bytes);
+                offset += bytes.length;
+                offsets.write(littleEndian(offset));
+            }
+        }
+
+        table.map(offsetsFile, idsFile);
+        return table;
+    }
+
+    private static String id(int i) {
+        return i % 7 == 0 ? "nöde-" + i : "node-" + i;
+    }
+
+    private static byte[] littleEndian(long value) {
+        return ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(value).array();
+    }
+}
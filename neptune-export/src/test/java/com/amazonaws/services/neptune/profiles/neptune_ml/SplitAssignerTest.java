@@ -0,0 +1,149 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.profiles.neptune_ml;
+
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class SplitAssignerTest {
+
+    private static final Collection<Double> SPLIT_RATES = Arrays.asList(0.7, 0.1, 0.2);
+
+    @Test
+    public void shouldAssignSameSplitToSameIdForSameSeed() {
+
+        SplitAssigner assigner1 = new SplitAssigner(SPLIT_RATES, new TrainingJobWriterConfig.SplitAssignmentConfig(42, false));
+        SplitAssigner assigner2 = new SplitAssigner(SPLIT_RATES, new TrainingJobWriterConfig.SplitAssignmentConfig(42, false));
+        SplitAssigner assigner3 = new SplitAssigner(SPLIT_RATES, new TrainingJobWriterConfig.SplitAssignmentConfig(7, false));
+
+        int differences = 0;
+        for (int i = 0; i < 1000; i++) {
+            String id = "node-" + i;
+            assertEquals(assigner1.assign(id, "a"), assigner2.assign(id, "b"));
+            if (assigner1.assign(id, "a") != assigner3.assign(id, "a")) {
+                differences++;
+            }
+        }
+
+        assertTrue(differences > 0);
+    }
+
+    @Test
+    public void shouldAssignSplitsInProportionToSplitRates() {
+
+        SplitAssigner assigner = new SplitAssigner(SPLIT_RATES, new TrainingJobWriterConfig.SplitAssignmentConfig(0, false));
+
+        int[] counts = new int[3];
+        for (int i = 0; i < 100000; i++) {
+            counts[assigner.assign("node-" + i, "a")]++;
+        }
+
+        assertEquals(70000, counts[SplitAssigner.TRAIN], 1000);
+        assertEquals(10000, counts[SplitAssigner.VALIDATION], 1000);
+        assertEquals(20000, counts[SplitAssigner.TEST], 1000);
+    }
+
+    @Test
+    public void shouldGiveEachLabelValueItsQuotaWhenStratifying() {
+
+        SplitAssigner assigner = new SplitAssigner(SPLIT_RATES, new TrainingJobWriterConfig.SplitAssignmentConfig(0, true));
+
+        for (int i = 0; i < 10000; i++) {
+            assigner.add("node-" + i, labelValue(i));
+        }
+
+        int[] rareCounts = new int[3];
+        for (int i = 0; i < 10000; i++) {
+            int split = assigner.assign("node-" + i, labelValue(i));
+            if (labelValue(i).equals("rare")) {
+                rareCounts[split]++;
+            }
+        }
+
+        assertEquals(70, rareCounts[SplitAssigner.TRAIN]);
+        assertEquals(10, rareCounts[SplitAssigner.VALIDATION]);
+        assertEquals(20, rareCounts[SplitAssigner.TEST]);
+    }
+
+    @Test
+    public void shouldAssignSameSplitsRegardlessOfOrderWhenStratifying() {
+
+        List<Integer> ordered = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            ordered.add(i);
+        }
+        List<Integer> shuffled = new ArrayList<>(ordered);
+        Collections.shuffle(shuffled, new Random(1));
+
+        Map<String, Integer> splits1 = stratifiedSplits(ordered);
+        Map<String, Integer> splits2 = stratifiedSplits(shuffled);
+
+        assertEquals(splits1, splits2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowExceptionIfAssigningStratifiedSplitForLabelValueWithNoIds() {
+
+        SplitAssigner assigner = new SplitAssigner(SPLIT_RATES, new TrainingJobWriterConfig.SplitAssignmentConfig(0, true));
+        assigner.add("node-1", "a");
+
+        assigner.assign("node-2", "b");
+    }
+
+    @Test
+    public void shouldParseSplitAssignmentFromTargetConfig() throws IOException {
+
+        JsonNode json = new ObjectMapper().readTree("{\"targets\": [" +
+                "{\"node\": \"Person\", \"property\": \"role\", \"split_assignment\": {\"seed\": 12, \"stratify\": true}}," +
+                "{\"node\": \"Movie\", \"property\": \"genre\", \"split_assignment\": true}," +
+                "{\"node\": \"Place\", \"property\": \"type\"}]}");
+
+        TrainingJobWriterConfig config = TrainingJobWriterConfig.fromJson(json).iterator().next();
+
+        TrainingJobWriterConfig.LabelConfig person = config.getNodeClassificationPropertyForNode(new Label("Person"));
+        assertEquals(12, person.splitAssignment().seed());
+        assertTrue(person.splitAssignment().stratify());
+
+        TrainingJobWriterConfig.LabelConfig movie = config.getNodeClassificationPropertyForNode(new Label("Movie"));
+        assertEquals(0, movie.splitAssignment().seed());
+        assertFalse(movie.splitAssignment().stratify());
+
+        assertFalse(config.getNodeClassificationPropertyForNode(new Label("Place")).hasSplitAssignment());
+    }
+
+    private Map<String, Integer> stratifiedSplits(List<Integer> order) {
+
+        SplitAssigner assigner = new SplitAssigner(SPLIT_RATES, new TrainingJobWriterConfig.SplitAssignmentConfig(3, true));
+        for (int i : order) {
+            assigner.add("node-" + i, labelValue(i));
+        }
+
+        Map<String, Integer> splits = new HashMap<>();
+        for (int i : order) {
+            splits.put("node-" + i, assigner.assign("node-" + i, labelValue(i)));
+        }
+        return splits;
+    }
+
+    private static String labelValue(int i) {
+        return i % 100 == 0 ? "rare" : "common";
+    }
+}
@@ -0,0 +1,152 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.DirectoryStructure;
+import com.amazonaws.services.neptune.io.MemoryGovernor;
+import com.amazonaws.services.neptune.io.Status;
+import com.amazonaws.services.neptune.io.Target;
+import com.amazonaws.services.neptune.propertygraph.*;
+import com.amazonaws.services.neptune.propertygraph.schema.FileSpecificLabelSchemas;
+import com.amazonaws.services.neptune.propertygraph.schema.GraphElementSchemas;
+import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ExportPropertyGraphTaskTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteInterleavedLabelsWithOneOpenWriter() throws Exception {
+
+        MemoryGovernor memoryGovernor = new MemoryGovernor(256 * 1024, 1, 64);
+        assertEquals(1, memoryGovernor.maxOpenWritersPerTask(MemoryGovernor.MIN_WRITER_BUFFER_SIZE));
+
+        Directories directories = Directories.createFor(DirectoryStructure.PropertyGraph, folder.getRoot(), "export-id", "");
+        PropertyGraphTargetConfig targetConfig = new PropertyGraphTargetConfig(
+                directories,
+                null,
+                PrinterOptions.NULL_OPTIONS,
+                PropertyGraphExportFormat.csv,
+                Target.files,
+                false,
+                false,
+                memoryGovernor);
+
+        List<Map<String, Object>> nodes = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            nodes.add(node(String.valueOf(i), i % 2 == 0 ? "Person" : "Place"));
+        }
+
+        GraphElementSchemas graphElementSchemas = new GraphElementSchemas();
+        graphElementSchemas.addLabelSchema(new LabelSchema(new Label("Person")));
+        graphElementSchemas.addLabelSchema(new LabelSchema(new Label("Place")));
+
+        NodesStub graphClient = new NodesStub(nodes);
+        LabelsFilter labelsFilter = new AllLabels(NodeLabelStrategy.nodeLabelsOnly);
+
+        ExportPropertyGraphTask<Map<String, Object>> task = new ExportPropertyGraphTask<>(
+                graphElementSchemas,
+                labelsFilter,
+                graphClient,
+                new NodesWriterFactory(),
+                targetConfig,
+                RangeFactory.create(graphClient, labelsFilter, new RangeConfig(100, 0, Long.MAX_VALUE, -1, -1), new ConcurrencyConfig(1)),
+                new Status(),
+                1);
+
+        FileSpecificLabelSchemas fileSpecificLabelSchemas = task.call();
+
+        assertEquals(2, fileSpecificLabelSchemas.labels().size());
+        assertEquals(0, memoryGovernor.bufferBytes());
+        assertTrue(memoryGovernor.peakBufferBytes() <= 64 * 1024);
+
+        Path nodesDirectory = directories.rootDirectory().resolve("nodes");
+        assertEquals(
+                Arrays.asList("~id,~label", "\"0\",\"Person\"", "\"2\",\"Person\"", "\"4\",\"Person\""),
+                Files.readAllLines(nodesDirectory.resolve("Person-1.csv"), StandardCharsets.UTF_8));
+        assertEquals(
+                Arrays.asList("~id,~label", "\"1\",\"Place\"", "\"3\",\"Place\"", "\"5\",\"Place\""),
+                Files.readAllLines(nodesDirectory.resolve("Place-1.csv"), StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Object> node(String id, String label) {
+        Map<String, Object> node = new HashMap<>();
+        node.put("~id", id);
+        node.put("~label", Collections.singletonList(label));
+        node.put("properties", new HashMap<>());
+        return node;
+    }
+
+    private static class NodesStub implements GraphClient<Map<String, Object>> {
+
+        private final List<Map<String, Object>> nodes;
+
+        private NodesStub(List<Map<String, Object>> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public String description() {
+            return "node";
+        }
+
+        @Override
+        public void queryForSchema(GraphElementHandler<Map<?, Object>> handler, Range range, LabelsFilter labelsFilter) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void queryForValues(GraphElementHandler<Map<String, Object>> handler, Range range, LabelsFilter labelsFilter, GraphElementSchemas graphElementSchemas) {
+            try {
+                for (Map<String, Object> node : nodes) {
+                    handler.handle(node, false);
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public long approxCount(LabelsFilter labelsFilter, RangeConfig rangeConfig) {
+            return nodes.size();
+        }
+
+        @Override
+        public Collection<Label> labels(LabelStrategy labelStrategy) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Label getLabelFor(Map<String, Object> input, LabelsFilter labelsFilter) {
+            return new Label((List<String>) input.get("~label"));
+        }
+
+        @Override
+        public void updateStats(Label label) {
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.io.OutputWriter;
+import com.amazonaws.services.neptune.io.PrintOutputWriter;
+import com.amazonaws.services.neptune.io.Target;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.DataType;
+import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+import com.amazonaws.services.neptune.propertygraph.schema.PropertySchema;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures JSON export throughput to a file, once through a character writer that is flushed after every row (as
+ * file targets were written before they exposed their UTF-8 byte stream) and once through the file target's byte
+ * stream. The first pair of figures is for a bare JSON generator, the second for JSON property graph rows printed
+ * through {@link PropertyGraphExportFormat#json}. Not a unit test: after mvn test-compile, run its main method with
+ * target/test-classes, target/classes and the module's dependencies on the classpath. The optional argument is the
+ * number of rows (default 2000000).
+ */
+public class JsonPropertyGraphPrinterBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private interface Round {
+        double run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        LabelSchema labelSchema = new LabelSchema(new Label("person"));
+        labelSchema.put("name", new PropertySchema("name", false, DataType.String, false));
+        labelSchema.put("age", new PropertySchema("age", false, DataType.Integer, false));
+        labelSchema.put("city", new PropertySchema("city", false, DataType.String, false));
+        labelSchema.put("tags", new PropertySchema("tags", false, DataType.String, true));
+
+        File directory = Files.createTempDirectory("json-benchmark").toFile();
+        File file = new File(directory, "nodes.json");
+
+        try {
+            System.out.printf("Rows per round : %d%n", rows);
+            report("Generator, writer", rows, measure(() -> generateToWriter(file, rows)));
+            report("Generator, stream", rows, measure(() -> generateToStream(file, rows)));
+            report("Printer, writer", rows, measure(() -> print(
+                    new PrintOutputWriter(file.getAbsolutePath(), new FileWriter(file)), labelSchema, rows)));
+            report("Printer, stream", rows, measure(() -> print(
+                    Target.files.createOutputWriter(file::toPath, null), labelSchema, rows)));
+        } finally {
+            Files.deleteIfExists(file.toPath());
+            Files.deleteIfExists(directory.toPath());
+        }
+    }
+
+    private static double measure(Round round) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round.run();
+        }
+        double millis = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            millis += round.run();
+        }
+        return millis / MEASURED_ROUNDS;
+    }
+
+    private static double generateToWriter(File file, int rows) throws Exception {
+        long start = System.nanoTime();
+        try (JsonGenerator generator = new JsonFactory().createGenerator(new FileWriter(file))) {
+            for (int i = 0; i < rows; i++) {
+                generate(generator, i);
+                generator.flush();
+            }
+        }
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static double generateToStream(File file, int rows) throws Exception {
+        long start = System.nanoTime();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(
+                new BufferedOutputStream(new FileOutputStream(file), Target.FILE_BUFFER_SIZE), JsonEncoding.UTF8)) {
+            for (int i = 0; i < rows; i++) {
+                generate(generator, i);
+            }
+        }
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static void generate(JsonGenerator generator, int i) throws Exception {
+        generator.writeStartObject();
+        generator.writeStringField("~id", "node-" + i);
+        generator.writeStringField("name", "name-" + i);
+        generator.writeNumberField("age", i % 100);
+        generator.writeStringField("city", i % 2 == 0 ? "London" : "M\u00fcnchen");
+        generator.writeEndObject();
+        generator.writeRaw(System.lineSeparator());
+    }
+
+    private static double print(OutputWriter outputWriter, LabelSchema labelSchema, int rows) throws Exception {
+
+        List<String> labels = Arrays.asList("person");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("tags", Arrays.asList("a", "b"));
+
+        long start = System.nanoTime();
+        try (PropertyGraphPrinter printer = PropertyGraphExportFormat.json.createPrinter(
+                outputWriter, labelSchema, PrinterOptions.NULL_OPTIONS)) {
+            for (int i = 0; i < rows; i++) {
+                properties.put("name", "name-" + i);
+                properties.put("age", i % 100);
+                properties.put("city", i % 2 == 0 ? "London" : "M\u00fcnchen");
+                printer.printStartRow();
+                printer.printNode("node-" + i, labels);
+                printer.printProperties(properties);
+                printer.printEndRow();
+            }
+        }
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static void report(String writer, int rows, double millis) {
+        System.out.printf("%-17s : %7.1f ms per round, %,.0f rows/s%n", writer, millis, rows / (millis / 1000));
+    }
+}
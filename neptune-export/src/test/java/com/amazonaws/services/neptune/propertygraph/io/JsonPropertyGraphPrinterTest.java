@@ -12,15 +12,24 @@ permissions and limitations under the License.
 
 package com.amazonaws.services.neptune.propertygraph.io;
 
+import com.amazonaws.services.neptune.io.MemoryGovernor;
+import com.amazonaws.services.neptune.io.OutputWriter;
 import com.amazonaws.services.neptune.io.PrintOutputWriter;
+import com.amazonaws.services.neptune.io.Target;
+import com.amazonaws.services.neptune.io.Utf8StreamOutputWriter;
 import com.amazonaws.services.neptune.propertygraph.Label;
 import com.amazonaws.services.neptune.propertygraph.schema.DataType;
 import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
 import com.amazonaws.services.neptune.propertygraph.schema.PropertySchema;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 
 import static com.amazonaws.services.neptune.util.MapUtils.entry;
@@ -30,6 +39,60 @@ import static org.junit.Assert.assertTrue;
 
 public class JsonPropertyGraphPrinterTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteUtf8JsonDirectlyToFileTargetOutputStream() throws Exception {
+
+        File file = new File(folder.getRoot(), "nodes.json");
+        OutputWriter outputWriter = Target.files.createOutputWriter(file::toPath, null);
+
+        assertTrue(outputWriter instanceof Utf8StreamOutputWriter);
+        assertFalse(outputWriter.requiresFlushOnCommit());
+
+        try (PropertyGraphPrinter propertyGraphPrinter = PropertyGraphExportFormat.json.createPrinterForInferredSchema(
+                outputWriter,
+                new LabelSchema(new Label("my-label")),
+                PrinterOptions.NULL_OPTIONS)) {
+
+            print(propertyGraphPrinter,
+                    map(entry("name", "Zo\u00eb")),
+                    map(entry("name", "\u6771\u4eac")));
+        }
+
+        assertEquals(
+                "{\"name\":\"Zo\u00eb\"}" + System.lineSeparator() + "{\"name\":\"\u6771\u4eac\"}",
+                new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldAppendToFileAfterPrinterHasBeenSuspended() throws Exception {
+
+        File file = new File(folder.getRoot(), "nodes.json");
+        MemoryGovernor memoryGovernor = new MemoryGovernor(64 * 1024 * 1024, 1, 64);
+        OutputWriter outputWriter = Target.files.createOutputWriter(file::toPath, null, memoryGovernor);
+
+        try (PropertyGraphPrinter propertyGraphPrinter = PropertyGraphExportFormat.json.createPrinterForInferredSchema(
+                outputWriter,
+                new LabelSchema(new Label("my-label")),
+                PrinterOptions.NULL_OPTIONS)) {
+
+            print(propertyGraphPrinter, map(entry("name", "a")));
+            assertEquals(Target.FILE_BUFFER_SIZE, memoryGovernor.bufferBytes());
+
+            propertyGraphPrinter.suspend();
+            assertEquals(0, memoryGovernor.bufferBytes());
+
+            print(propertyGraphPrinter, map(entry("name", "b")));
+        }
+
+        assertEquals(0, memoryGovernor.bufferBytes());
+        assertEquals(
+                "{\"name\":\"a\"}" + System.lineSeparator() + "{\"name\":\"b\"}",
+                new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
     @Test
     public void shouldPrintEdge() throws Exception {
 
@@ -0,0 +1,107 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.io;
+
+import com.amazonaws.services.neptune.io.PrintOutputWriter;
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.schema.LabelSchema;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.amazonaws.services.neptune.util.MapUtils.entry;
+import static com.amazonaws.services.neptune.util.MapUtils.map;
+import static org.junit.Assert.assertEquals;
+
+public class NeptuneStreamsJsonPropertyGraphPrinterTest {
+
+    @Test
+    public void shouldPrintOneRecordPerLabelAndPropertyValueWithTypedValues() throws Exception {
+
+        StringWriter stringWriter = new StringWriter();
+
+        try (PropertyGraphPrinter printer = PropertyGraphExportFormat.neptuneStreamsJson.createPrinter(
+                new PrintOutputWriter("test", stringWriter),
+                new LabelSchema(new Label("person")),
+                PrinterOptions.NULL_OPTIONS)) {
+
+            printer.printStartRow();
+            printer.printNode("node-1", Collections.singletonList("person"));
+            printer.printProperties("node-1", "vp", map(entry("age", 42), entry("tags", Arrays.asList("a", true))));
+            printer.printEndRow();
+        }
+
+        List<JsonNode> records = readRecords(stringWriter.toString());
+
+        assertEquals(4, records.size());
+
+        assertEquals("vl", records.get(0).path("data").path("type").textValue());
+        assertEquals("person", records.get(0).path("data").path("value").path("value").textValue());
+        assertEquals("String", records.get(0).path("data").path("value").path("dataType").textValue());
+
+        assertEquals("age", records.get(1).path("data").path("key").textValue());
+        assertEquals(42, records.get(1).path("data").path("value").path("value").intValue());
+        assertEquals("Integer", records.get(1).path("data").path("value").path("dataType").textValue());
+
+        assertEquals("tags", records.get(3).path("data").path("key").textValue());
+        assertEquals(true, records.get(3).path("data").path("value").path("value").booleanValue());
+        assertEquals("Boolean", records.get(3).path("data").path("value").path("dataType").textValue());
+
+        long commitNum = records.get(0).path("eventId").path("commitNum").longValue();
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(commitNum, records.get(i).path("eventId").path("commitNum").longValue());
+            assertEquals(i + 1, records.get(i).path("eventId").path("opNum").intValue());
+            assertEquals("ADD", records.get(i).path("op").textValue());
+        }
+    }
+
+    @Test
+    public void shouldAssignUniqueConsecutiveCommitNumbersWithinPrinter() throws Exception {
+
+        StringWriter stringWriter = new StringWriter();
+
+        try (PropertyGraphPrinter printer = PropertyGraphExportFormat.neptuneStreamsJson.createPrinter(
+                new PrintOutputWriter("test", stringWriter),
+                new LabelSchema(new Label("knows")),
+                PrinterOptions.NULL_OPTIONS)) {
+
+            for (int i = 0; i < 3000; i++) {
+                printer.printStartRow();
+                printer.printEdge("edge-" + i, "knows", "from-" + i, "to-" + i);
+                printer.printEndRow();
+            }
+        }
+
+        List<JsonNode> records = readRecords(stringWriter.toString());
+
+        assertEquals(3000, records.size());
+        assertEquals("from-0", records.get(0).path("data").path("from").textValue());
+        assertEquals("to-0", records.get(0).path("data").path("to").textValue());
+
+        long distinct = records.stream().mapToLong(r -> r.path("eventId").path("commitNum").longValue()).distinct().count();
+        assertEquals(3000, distinct);
+    }
+
+    private static List<JsonNode> readRecords(String json) throws Exception {
+        try (MappingIterator<JsonNode> iterator = new ObjectMapper().readerFor(JsonNode.class).readValues(json)) {
+            return iterator.readAll();
+        }
+    }
+}
@@ -159,4 +159,22 @@ public class LabelSchemaTest {
 
         assertFalse(labelSchema1.isSameAs(labelSchema2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldOnlyRecordValueStatisticsWhenRequested(){
+        LabelSchema labelSchema = new LabelSchema(new Label("my-label"));
+        PropertySchema propertySchema = new PropertySchema("p1", false, DataType.Integer, false);
+        labelSchema.put("p1", propertySchema);
+
+        labelSchema.recordObservation(propertySchema, 1, 1);
+
+        PropertySchemaStats stats = labelSchema.getPropertySchemaStats("p1");
+        assertEquals(1, stats.observationCount());
+        assertFalse(stats.valueStats().hasNumericValues());
+
+        labelSchema.recordObservation(propertySchema, 2, 1, true);
+
+        assertEquals(2, stats.observationCount());
+        assertEquals(1, stats.valueStats().numericCount());
+    }
+}
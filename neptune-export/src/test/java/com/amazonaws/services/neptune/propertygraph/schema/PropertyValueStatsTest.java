@@ -0,0 +1,152 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.schema;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PropertyValueStatsTest {
+
+    @Test
+    public void shouldCalculateNumericStatistics() {
+        PropertyValueStats stats = new PropertyValueStats();
+
+        for (int i = 1; i <= 5; i++) {
+            stats.record(i);
+        }
+
+        assertEquals(5, stats.numericCount());
+        assertEquals(1.0, stats.min(), 0.0);
+        assertEquals(5.0, stats.max(), 0.0);
+        assertEquals(3.0, stats.mean(), 0.0000001);
+        assertEquals(2.0, stats.variance(), 0.0000001);
+        assertFalse(stats.hasCategoricalValues());
+    }
+
+    @Test
+    public void mergedStatisticsShouldMatchStatisticsForAllValues() {
+        Random random = new Random(42);
+
+        PropertyValueStats all = new PropertyValueStats();
+        PropertyValueStats part1 = new PropertyValueStats();
+        PropertyValueStats part2 = new PropertyValueStats();
+
+        for (int i = 0; i < 10000; i++) {
+            double value = random.nextGaussian() * 100 + 50;
+            all.record(value);
+            if (i % 3 == 0) {
+                part1.record(value);
+            } else {
+                part2.record(value);
+            }
+        }
+
+        PropertyValueStats merged = part1.union(part2);
+
+        assertEquals(all.numericCount(), merged.numericCount());
+        assertEquals(all.min(), merged.min(), 0.0);
+        assertEquals(all.max(), merged.max(), 0.0);
+        assertEquals(all.mean(), merged.mean(), 0.0000001);
+        assertEquals(all.variance(), merged.variance(), 0.0001);
+        for (double q : new double[]{0.01, 0.25, 0.5, 0.75, 0.99}) {
+            assertEquals(all.quantile(q), merged.quantile(q), 0.0);
+        }
+    }
+
+    @Test
+    public void quantilesShouldBeWithinRelativeAccuracy() {
+        PropertyValueStats stats = new PropertyValueStats();
+
+        for (int i = 1; i <= 100000; i++) {
+            stats.record((long) i);
+        }
+
+        assertEquals(50000, stats.quantile(0.5), 50000 * 0.02);
+        assertEquals(99000, stats.quantile(0.99), 99000 * 0.02);
+        assertEquals(1000, stats.quantile(0.01), 1000 * 0.02);
+    }
+
+    @Test
+    public void shouldHandleNegativeAndZeroValuesInQuantiles() {
+        PropertyValueStats stats = new PropertyValueStats();
+
+        for (int i = -500; i <= 500; i++) {
+            stats.record(i);
+        }
+
+        assertEquals(0.0, stats.quantile(0.5), 0.0);
+        assertEquals(-250, stats.quantile(0.25), 250 * 0.02);
+        assertEquals(250, stats.quantile(0.75), 250 * 0.02);
+    }
+
+    @Test
+    public void shouldEstimateDistinctCountOfMergedCategoricalValues() {
+        PropertyValueStats part1 = new PropertyValueStats();
+        PropertyValueStats part2 = new PropertyValueStats();
+
+        for (int i = 0; i < 60000; i++) {
+            part1.record("value-" + i);
+        }
+        for (int i = 40000; i < 100000; i++) {
+            part2.record("value-" + i);
+        }
+
+        PropertyValueStats merged = part1.union(part2);
+
+        assertEquals(120000, merged.categoricalCount());
+        assertEquals(100000, merged.distinctCount(), 100000 * 0.05);
+        assertFalse(merged.hasNumericValues());
+    }
+
+    @Test
+    public void shouldEstimateDistinctCountOfSmallSets() {
+        PropertyValueStats stats = new PropertyValueStats();
+
+        stats.record(Arrays.asList("a", "b", "c"));
+        stats.record("a");
+        stats.record(true);
+
+        assertEquals(4, stats.distinctCount());
+    }
+
+    @Test
+    public void shouldFindMostFrequentValuesAcrossMergedStatistics() {
+        PropertyValueStats part1 = new PropertyValueStats();
+        PropertyValueStats part2 = new PropertyValueStats();
+
+        for (int i = 0; i < 1000; i++) {
+            part1.record("rare-" + i);
+            part2.record("unique-" + i);
+            if (i % 2 == 0) {
+                part1.record("toy");
+                part2.record("toy");
+            }
+            if (i % 5 == 0) {
+                part2.record("book");
+            }
+        }
+
+        List<Map.Entry<String, Long>> top = part1.union(part2).topValues(2);
+
+        assertEquals("toy", top.get(0).getKey());
+        assertTrue(top.get(0).getValue() >= 1000);
+        assertEquals("book", top.get(1).getKey());
+        assertTrue(top.get(1).getValue() >= 200);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.propertygraph.schema;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TopKSketchTest {
+
+    @Test
+    public void shouldCountValuesExactlyWhileBelowCapacity() {
+        TopKSketch sketch = new TopKSketch();
+
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j <= i; j++) {
+                sketch.add("value-" + i);
+            }
+        }
+
+        List<Map.Entry<String, Long>> top = sketch.top(3);
+
+        assertEquals(3, top.size());
+        assertEquals("value-9", top.get(0).getKey());
+        assertEquals(10L, (long) top.get(0).getValue());
+        assertEquals("value-8", top.get(1).getKey());
+        assertEquals(9L, (long) top.get(1).getValue());
+        assertEquals("value-7", top.get(2).getKey());
+        assertEquals(8L, (long) top.get(2).getValue());
+    }
+
+    @Test
+    public void shouldKeepFrequentValuesWhenManyInfrequentValuesEvictEachOther() {
+        TopKSketch sketch = new TopKSketch();
+
+        for (int i = 0; i < 100000; i++) {
+            sketch.add("unique-" + i);
+            if (i % 10 == 0) {
+                sketch.add("frequent");
+            }
+        }
+
+        Map.Entry<String, Long> top = sketch.top(1).get(0);
+
+        assertEquals("frequent", top.getKey());
+        assertTrue(top.getValue() >= 10000);
+    }
+
+    @Test
+    public void copyShouldBeIndependentOfOriginal() {
+        TopKSketch sketch = new TopKSketch();
+        sketch.add("a");
+        sketch.add("a");
+        sketch.add("b");
+
+        TopKSketch copy = sketch.createCopy();
+        copy.add("b");
+        copy.add("b");
+
+        assertEquals("a", sketch.top(1).get(0).getKey());
+        assertEquals("b", copy.top(1).get(0).getKey());
+        assertEquals(3L, (long) copy.top(1).get(0).getValue());
+    }
+}
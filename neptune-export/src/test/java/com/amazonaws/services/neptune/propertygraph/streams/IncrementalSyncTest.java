@@ -0,0 +1,253 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.propertygraph.streams;
+
+import com.amazonaws.services.neptune.propertygraph.Label;
+import com.amazonaws.services.neptune.propertygraph.io.JsonResource;
+import com.amazonaws.services.neptune.propertygraph.schema.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class IncrementalSyncTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteNetChangesToPerLabelDeltaFiles() throws Exception {
+
+        Path exportDirectory = createExport();
+
+        File streamsFile = createStreamsFile(
+                // New person
+                record(10, 1, "ADD", "v3", "vl", "label", "\"person\"", "String"),
+                record(10, 2, "ADD", "v3", "vp", "name", "\"carol\"", "String"),
+                record(10, 3, "ADD", "v3", "vp", "age", "31", "Int"),
+                // Updated person
+                record(11, 1, "REMOVE", "v1", "vp", "name", "\"alice\"", "String"),
+                record(11, 2, "ADD", "v1", "vp", "name", "\"alicia\"", "String"),
+                // Deleted edge
+                edgeRecord(12, 1, "REMOVE", "e1", "knows", "v1", "v2"),
+                // Created and then dropped
+                record(13, 1, "ADD", "v4", "vl", "label", "\"person\"", "String"),
+                record(14, 1, "REMOVE", "v4", "vl", "label", "\"person\"", "String"));
+
+        IncrementalSync.Result result = sync(exportDirectory, streamsFile, new EventId(10, 1), labels("v1", "person"));
+
+        assertTrue(result.hasChanges());
+        assertEquals(8, result.recordCount());
+        assertEquals(exportDirectory.resolve("deltas").resolve("10_1-14_1"), result.deltaDirectory());
+
+        List<JsonNode> personChanges = readDeltaFile(result.deltaDirectory().resolve("nodes").resolve("person.json"));
+        assertEquals(2, personChanges.size());
+
+        JsonNode added = personChanges.get(0);
+        assertEquals("add", added.path("~op").textValue());
+        assertEquals("v3", added.path("~id").textValue());
+        assertEquals("carol", added.path("add").path("name").path(0).textValue());
+        assertEquals(31, added.path("add").path("age").path(0).intValue());
+
+        JsonNode updated = personChanges.get(1);
+        assertEquals("update", updated.path("~op").textValue());
+        assertEquals("v1", updated.path("~id").textValue());
+        assertEquals("alicia", updated.path("add").path("name").path(0).textValue());
+        assertEquals("alice", updated.path("remove").path("name").path(0).textValue());
+
+        List<JsonNode> knowsChanges = readDeltaFile(result.deltaDirectory().resolve("edges").resolve("knows.json"));
+        assertEquals(1, knowsChanges.size());
+        assertEquals("delete", knowsChanges.get(0).path("~op").textValue());
+        assertEquals("v1", knowsChanges.get(0).path("~from").textValue());
+        assertEquals("v2", knowsChanges.get(0).path("~to").textValue());
+
+        assertEquals(1, result.stats().added(GraphElementTypes.Nodes, "person"));
+        assertEquals(1, result.stats().updated(GraphElementTypes.Nodes, "person"));
+        assertEquals(1, result.stats().deleted(GraphElementTypes.Edges, "knows"));
+    }
+
+    @Test
+    public void shouldUpdateSchemaAndContinueFromLastEventId() throws Exception {
+
+        Path exportDirectory = createExport();
+
+        File firstStreamsFile = createStreamsFile(
+                record(10, 1, "ADD", "v3", "vl", "label", "\"person\"", "String"),
+                record(10, 2, "ADD", "v3", "vp", "name", "\"carol\"", "String"),
+                record(10, 3, "ADD", "v3", "vp", "age", "31", "Int"),
+                record(11, 1, "ADD", "v5", "vl", "label", "\"city\"", "String"),
+                record(11, 2, "ADD", "v5", "vp", "name", "\"london\"", "String"));
+
+        sync(exportDirectory, firstStreamsFile, new EventId(10, 1), ElementLabelResolver.NONE);
+
+        GraphSchema graphSchema = new JsonResource<GraphSchema>(
+                "Config file",
+                exportDirectory.resolve("config.json").toUri(),
+                GraphSchema.class).get();
+
+        GraphElementSchemas nodeSchemas = graphSchema.graphElementSchemasFor(GraphElementTypes.Nodes);
+
+        PropertySchema age = nodeSchemas.getSchemaFor(new Label("person")).getPropertySchema("age");
+        assertEquals(DataType.Integer, age.dataType());
+        assertTrue(age.isNullable());
+
+        PropertySchema cityName = nodeSchemas.getSchemaFor(new Label("city")).getPropertySchema("name");
+        assertEquals(DataType.String, cityName.dataType());
+        assertFalse(cityName.isNullable());
+
+        File secondStreamsFile = createStreamsFile(
+                record(10, 1, "ADD", "v3", "vl", "label", "\"person\"", "String"),
+                record(10, 2, "ADD", "v3", "vp", "name", "\"carol\"", "String"),
+                record(10, 3, "ADD", "v3", "vp", "age", "31", "Int"),
+                record(11, 1, "ADD", "v5", "vl", "label", "\"city\"", "String"),
+                record(11, 2, "ADD", "v5", "vp", "name", "\"london\"", "String"),
+                record(12, 1, "REMOVE", "v3", "vl", "label", "\"person\"", "String"));
+
+        IncrementalSync.Result result = sync(exportDirectory, secondStreamsFile, null, ElementLabelResolver.NONE);
+
+        assertEquals(1, result.recordCount());
+        assertEquals(exportDirectory.resolve("deltas").resolve("12_1-12_1"), result.deltaDirectory());
+
+        SyncState syncState = new JsonResource<SyncState>(
+                "Sync state file",
+                exportDirectory.resolve(IncrementalSync.SYNC_STATE_FILE).toUri(),
+                SyncState.class).get();
+
+        assertEquals(new EventId(12, 1), syncState.lastEventId());
+        assertEquals(1, syncState.stats().added(GraphElementTypes.Nodes, "person"));
+        assertEquals(1, syncState.stats().deleted(GraphElementTypes.Nodes, "person"));
+        assertEquals(1, syncState.stats().added(GraphElementTypes.Nodes, "city"));
+
+        IncrementalSync.Result noChanges = sync(exportDirectory, secondStreamsFile, null, ElementLabelResolver.NONE);
+        assertFalse(noChanges.hasChanges());
+    }
+
+    @Test
+    public void shouldWriteAddForElementCreatedDroppedAndCreatedAgain() throws Exception {
+
+        Path exportDirectory = createExport();
+
+        File streamsFile = createStreamsFile(
+                record(10, 1, "ADD", "v9", "vl", "label", "\"person\"", "String"),
+                record(11, 1, "REMOVE", "v9", "vl", "label", "\"person\"", "String"),
+                record(12, 1, "ADD", "v9", "vl", "label", "\"person\"", "String"),
+                record(12, 2, "ADD", "v9", "vp", "name", "\"zed\"", "String"));
+
+        IncrementalSync.Result result = sync(exportDirectory, streamsFile, new EventId(10, 1), ElementLabelResolver.NONE);
+
+        List<JsonNode> personChanges = readDeltaFile(result.deltaDirectory().resolve("nodes").resolve("person.json"));
+        assertEquals(1, personChanges.size());
+        assertEquals("add", personChanges.get(0).path("~op").textValue());
+        assertEquals("v9", personChanges.get(0).path("~id").textValue());
+        assertEquals("zed", personChanges.get(0).path("add").path("name").path(0).textValue());
+        assertEquals(1, result.stats().added(GraphElementTypes.Nodes, "person"));
+    }
+
+    @Test
+    public void shouldWriteChangesForUnresolvedElementsToUnresolvedFile() throws Exception {
+
+        Path exportDirectory = createExport();
+
+        File streamsFile = createStreamsFile(
+                record(10, 1, "ADD", "v9", "vp", "name", "\"zed\"", "String"));
+
+        IncrementalSync.Result result = sync(exportDirectory, streamsFile, new EventId(1, 1), ElementLabelResolver.NONE);
+
+        List<JsonNode> changes = readDeltaFile(result.deltaDirectory().resolve("nodes").resolve("_unresolved.json"));
+        assertEquals(1, changes.size());
+        assertEquals("v9", changes.get(0).path("~id").textValue());
+        assertFalse(changes.get(0).has("~label"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowExceptionIfNoStartingPositionForFirstSync() throws Exception {
+
+        Path exportDirectory = createExport();
+        File streamsFile = createStreamsFile(
+                record(10, 1, "ADD", "v3", "vl", "label", "\"person\"", "String"));
+
+        sync(exportDirectory, streamsFile, null, ElementLabelResolver.NONE);
+    }
+
+    private IncrementalSync.Result sync(Path exportDirectory,
+                                        File streamsFile,
+                                        EventId from,
+                                        ElementLabelResolver labelResolver) throws Exception {
+        try (StreamRecordSource source = new FileStreamRecordSource(streamsFile, 2)) {
+            return new IncrementalSync(exportDirectory, source, labelResolver, -1).execute(from);
+        }
+    }
+
+    private Path createExport() throws IOException {
+        Path exportDirectory = folder.newFolder().toPath();
+
+        GraphSchema graphSchema = new GraphSchema();
+        graphSchema.graphElementSchemasFor(GraphElementTypes.Nodes).getSchemaFor(new Label("person"))
+                .put("name", new PropertySchema("name", false, DataType.String, false));
+        graphSchema.graphElementSchemasFor(GraphElementTypes.Edges).getSchemaFor(new Label("knows"));
+
+        new JsonResource<GraphSchema>(
+                "Config file",
+                exportDirectory.resolve("config.json").toUri(),
+                GraphSchema.class).save(graphSchema);
+
+        return exportDirectory;
+    }
+
+    private File createStreamsFile(String... records) throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), Arrays.asList(records), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private List<JsonNode> readDeltaFile(Path file) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        return Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                .map(line -> {
+                    try {
+                        return mapper.readTree(line);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                })
+                .collect(Collectors.toList());
+    }
+
+    private ElementLabelResolver labels(String id, String label) {
+        return (graphElementType, ids) -> graphElementType == GraphElementTypes.Nodes && ids.contains(id) ?
+                Collections.singletonMap(id, new Label(label)) :
+                Collections.emptyMap();
+    }
+
+    private String record(long commitNum, long opNum, String op, String id, String type, String key, String value, String dataType) {
+        return String.format("{\"eventId\":{\"commitNum\":%s,\"opNum\":%s},\"data\":{\"id\":\"%s\",\"type\":\"%s\",\"key\":\"%s\",\"value\":{\"value\":%s,\"dataType\":\"%s\"}},\"op\":\"%s\"}",
+                commitNum, opNum, id, type, key, value, dataType, op);
+    }
+
+    private String edgeRecord(long commitNum, long opNum, String op, String id, String label, String from, String to) {
+        return String.format("{\"eventId\":{\"commitNum\":%s,\"opNum\":%s},\"data\":{\"id\":\"%s\",\"type\":\"e\",\"key\":\"label\",\"value\":{\"value\":\"%s\",\"dataType\":\"String\"},\"from\":\"%s\",\"to\":\"%s\"},\"op\":\"%s\"}",
+                commitNum, opNum, id, label, from, to, op);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.rdf;
+
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.DirectoryStructure;
+import com.amazonaws.services.neptune.io.KinesisConfig;
+import com.amazonaws.services.neptune.io.Target;
+import com.amazonaws.services.neptune.rdf.io.RdfExportFormat;
+import com.amazonaws.services.neptune.rdf.io.RdfTargetConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.impl.MapBindingSet;
+import org.eclipse.rdf4j.query.resultio.QueryResultIO;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultWriter;
+import org.eclipse.rdf4j.repository.sparql.SPARQLRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Measures end-to-end RDF export throughput (HTTP, result parsing and N-Quads writing) against an in-process
+ * SPARQL endpoint stand-in, once with binary tuple results and once with SPARQL/XML results. Not a unit test:
+ * after mvn test-compile, run its main method with target/test-classes, target/classes and the module's
+ * dependencies on the classpath. The optional argument is the number of rows (default 300000).
+ */
+public class NeptuneSparqlClientBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+
+        byte[] binaryResults = results(TupleQueryResultFormat.BINARY, rows);
+        byte[] xmlResults = results(TupleQueryResultFormat.SPARQL, rows);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/binary", exchange -> respond(exchange, TupleQueryResultFormat.BINARY, binaryResults));
+        server.createContext("/xml", exchange -> respond(exchange, TupleQueryResultFormat.SPARQL, xmlResults));
+        server.start();
+
+        File directory = Files.createTempDirectory("sparql-benchmark").toFile();
+
+        try {
+            System.out.printf("Rows per query : %d%n", rows);
+            report("Binary", binaryResults.length, rows, measure(server, "binary", directory));
+            report("SPARQL/XML", xmlResults.length, rows, measure(server, "xml", directory));
+        } finally {
+            server.stop(0);
+            delete(directory);
+        }
+    }
+
+    private static double measure(HttpServer server, String path, File directory) throws Exception {
+
+        SPARQLRepository repository = new SPARQLRepository(
+                String.format("http://localhost:%s/%s", server.getAddress().getPort(), path));
+        repository.setHttpClient(new ConcurrencyConfig(1).applyTo(HttpClientBuilder.create()).build());
+        NeptuneSparqlClient.updateParser(repository).init();
+
+        Directories directories = Directories.createFor(DirectoryStructure.Rdf, directory, path, "");
+        RdfTargetConfig targetConfig =
+                new RdfTargetConfig(directories, new KinesisConfig(null, null), Target.files, RdfExportFormat.nquads);
+
+        long nanos = 0;
+        try (NeptuneSparqlClient client = new NeptuneSparqlClient(Collections.singletonList(repository))) {
+            for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+                long start = System.nanoTime();
+                client.executeQuery("SELECT * WHERE { GRAPH ?g { ?s ?p ?o } }", targetConfig, "statements-" + round);
+                if (round >= WARMUP_ROUNDS) {
+                    nanos += System.nanoTime() - start;
+                }
+            }
+        }
+        return nanos / 1e6 / MEASURED_ROUNDS;
+    }
+
+    private static void report(String format, int bytes, int rows, double millis) {
+        System.out.printf("%-10s : %6.1f MB response, %7.1f ms per query, %,.0f rows/s%n",
+                format, bytes / 1e6, millis, rows / (millis / 1000));
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange,
+                                TupleQueryResultFormat format,
+                                byte[] results) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", format.getDefaultMIMEType());
+        exchange.sendResponseHeaders(200, results.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(results);
+        }
+    }
+
+    private static byte[] results(TupleQueryResultFormat format, int rows) throws IOException {
+        ValueFactory factory = SimpleValueFactory.getInstance();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        TupleQueryResultWriter writer = QueryResultIO.createTupleWriter(format, output);
+        writer.startQueryResult(Arrays.asList("s", "p", "o", "g"));
+
+        for (int i = 0; i < rows; i++) {
+            MapBindingSet row = new MapBindingSet();
+            row.addBinding("s", factory.createIRI("http://example.org/resource/" + (i / 10)));
+            row.addBinding("p", factory.createIRI("http://example.org/property/" + (i % 10)));
+            row.addBinding("o", i % 2 == 0 ?
+                    factory.createLiteral("value " + i) :
+                    factory.createIRI("http://example.org/resource/" + (i * 7 % rows)));
+            row.addBinding("g", factory.createIRI(i % 3 == 0 ?
+                    "http://example.org/graph" :
+                    "http://aws.amazon.com/neptune/vocab/v01/DefaultNamedGraph"));
+            writer.handleSolution(row);
+        }
+
+        writer.endQueryResult();
+        return output.toByteArray();
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
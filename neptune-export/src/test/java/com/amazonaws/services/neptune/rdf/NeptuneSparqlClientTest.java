@@ -0,0 +1,170 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.rdf;
+
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import com.amazonaws.services.neptune.io.Directories;
+import com.amazonaws.services.neptune.io.DirectoryStructure;
+import com.amazonaws.services.neptune.io.KinesisConfig;
+import com.amazonaws.services.neptune.io.Target;
+import com.amazonaws.services.neptune.rdf.io.RdfExportFormat;
+import com.amazonaws.services.neptune.rdf.io.RdfTargetConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.impl.MapBindingSet;
+import org.eclipse.rdf4j.query.resultio.QueryResultIO;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultWriter;
+import org.eclipse.rdf4j.repository.sparql.SPARQLRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NeptuneSparqlClientTest {
+
+    private static final List<String> EXPECTED_STATEMENTS = Arrays.asList(
+            "<http://example.org/s1> <http://example.org/p> \"v1\" <http://example.org/g> .",
+            "<http://example.org/s2> <http://example.org/p> <http://example.org/o2> .");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicReference<String> acceptHeader = new AtomicReference<>();
+    private final AtomicInteger failedRequests = new AtomicInteger();
+    private HttpServer server;
+
+    @Before
+    public void startServer() throws IOException {
+        byte[] results = binaryResults();
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/sparql", exchange -> {
+            acceptHeader.set(exchange.getRequestHeaders().getFirst("Accept"));
+            exchange.getResponseHeaders().set("Content-Type", TupleQueryResultFormat.BINARY.getDefaultMIMEType());
+            exchange.sendResponseHeaders(200, results.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(results);
+            }
+        });
+        server.createContext("/unavailable", exchange -> {
+            failedRequests.incrementAndGet();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void shouldRequestBinaryResultsAndWriteStatements() throws Exception {
+
+        SPARQLRepository repository = createRepository("sparql");
+
+        try (NeptuneSparqlClient client = new NeptuneSparqlClient(Collections.singletonList(repository))) {
+            client.executeQuery("SELECT * WHERE { GRAPH ?g { ?s ?p ?o } }", createTargetConfig());
+        }
+
+        // The preferred format is the only one offered without a lower quality value
+        assertTrue(Arrays.asList(acceptHeader.get().split(",\\s*")).contains(TupleQueryResultFormat.BINARY.getDefaultMIMEType()));
+
+        assertEquals(EXPECTED_STATEMENTS, readStatements("statements.nq"));
+    }
+
+    @Test
+    public void shouldFailOverToAnotherEndpointAndAvoidFailedEndpoint() throws Exception {
+
+        List<SPARQLRepository> repositories = Arrays.asList(createRepository("unavailable"), createRepository("sparql"));
+        RdfTargetConfig targetConfig = createTargetConfig();
+
+        try (NeptuneSparqlClient client = new NeptuneSparqlClient(repositories)) {
+            for (int i = 0; i < 3; i++) {
+                client.executeQuery("SELECT * WHERE { GRAPH ?g { ?s ?p ?o } }", targetConfig, "statements-" + i);
+            }
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(EXPECTED_STATEMENTS, readStatements("statements-" + i + ".nq"));
+        }
+        assertTrue(failedRequests.get() <= 1);
+    }
+
+    private SPARQLRepository createRepository(String path) {
+        SPARQLRepository repository = new SPARQLRepository(
+                String.format("http://localhost:%s/%s", server.getAddress().getPort(), path));
+        repository.setHttpClient(new ConcurrencyConfig(4).applyTo(HttpClientBuilder.create()).build());
+        NeptuneSparqlClient.updateParser(repository).init();
+        return repository;
+    }
+
+    private RdfTargetConfig createTargetConfig() throws IOException {
+        Directories directories = Directories.createFor(DirectoryStructure.Rdf, folder.getRoot(), "test", "");
+        return new RdfTargetConfig(directories, new KinesisConfig(null, null), Target.files, RdfExportFormat.nquads);
+    }
+
+    private List<String> readStatements(String filename) throws IOException {
+        try (Stream<Path> paths = Files.walk(folder.getRoot().toPath())) {
+            Path statementsFile = paths.filter(p -> p.getFileName().toString().equals(filename)).findFirst().get();
+            return Files.readAllLines(statementsFile).stream().filter(l -> !l.isEmpty()).collect(Collectors.toList());
+        }
+    }
+
+    private static byte[] binaryResults() throws IOException {
+        ValueFactory factory = SimpleValueFactory.getInstance();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        TupleQueryResultWriter writer = QueryResultIO.createTupleWriter(TupleQueryResultFormat.BINARY, output);
+        writer.startQueryResult(Arrays.asList("s", "p", "o", "g"));
+
+        MapBindingSet row1 = new MapBindingSet();
+        row1.addBinding("s", factory.createIRI("http://example.org/s1"));
+        row1.addBinding("p", factory.createIRI("http://example.org/p"));
+        row1.addBinding("o", factory.createLiteral("v1"));
+        row1.addBinding("g", factory.createIRI("http://example.org/g"));
+        writer.handleSolution(row1);
+
+        MapBindingSet row2 = new MapBindingSet();
+        row2.addBinding("s", factory.createIRI("http://example.org/s2"));
+        row2.addBinding("p", factory.createIRI("http://example.org/p"));
+        row2.addBinding("o", factory.createIRI("http://example.org/o2"));
+        row2.addBinding("g", factory.createIRI("http://aws.amazon.com/neptune/vocab/v01/DefaultNamedGraph"));
+        writer.handleSolution(row2);
+
+        writer.endQueryResult();
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.rdf;
+
+import org.eclipse.rdf4j.rio.RDFWriter;
+import org.junit.Test;
+
+import static org.mockito.Mockito.*;
+
+public class PrefixesTest {
+
+    @Test
+    public void shouldDeclareNamespaceOnlyOnFirstUse() {
+        RDFWriter writer = mock(RDFWriter.class);
+        Prefixes prefixes = new Prefixes();
+
+        prefixes.parse("http://example.org/ontology#name", writer);
+        prefixes.parse("http://example.org/ontology#age", writer);
+        prefixes.parse("http://example.org/other#name", writer);
+
+        verify(writer, times(1)).handleNamespace("s0", "http://example.org/ontology#");
+        verify(writer, times(1)).handleNamespace("s1", "http://example.org/other#");
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    public void shouldUseSharedDictionaryPrefixesAcrossWriters() {
+        PrefixDictionary dictionary = new PrefixDictionary();
+        RDFWriter writer1 = mock(RDFWriter.class);
+        RDFWriter writer2 = mock(RDFWriter.class);
+        Prefixes prefixes1 = new Prefixes(dictionary);
+        Prefixes prefixes2 = new Prefixes(dictionary);
+
+        prefixes1.parse("http://example.org/a#x", writer1);
+        prefixes2.parse("http://example.org/b#x", writer2);
+        prefixes2.parse("http://example.org/a#y", writer2);
+
+        verify(writer1).handleNamespace("s0", "http://example.org/a#");
+        verify(writer2).handleNamespace("s1", "http://example.org/b#");
+        verify(writer2).handleNamespace("s0", "http://example.org/a#");
+    }
+
+    @Test
+    public void shouldIgnoreValuesWithoutLocalNameAfterHash() {
+        RDFWriter writer = mock(RDFWriter.class);
+        Prefixes prefixes = new Prefixes();
+
+        prefixes.parse("http://example.org/resource/1", writer);
+        prefixes.parse("http://example.org/ontology#", writer);
+        prefixes.parse("#name", writer);
+
+        verifyZeroInteractions(writer);
+    }
+
+    @Test
+    public void shouldDeclareEveryNamespaceWhenTableGrows() {
+        RDFWriter writer = mock(RDFWriter.class);
+        Prefixes prefixes = new Prefixes();
+
+        for (int i = 0; i < 200; i++) {
+            prefixes.parse("http://example.org/ns" + i + "#p", writer);
+        }
+        for (int i = 0; i < 200; i++) {
+            prefixes.parse("http://example.org/ns" + i + "#q", writer);
+        }
+
+        verify(writer, times(200)).handleNamespace(anyString(), anyString());
+    }
+}
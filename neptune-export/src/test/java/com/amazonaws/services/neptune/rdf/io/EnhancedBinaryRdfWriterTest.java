@@ -0,0 +1,75 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package com.amazonaws.services.neptune.rdf.io;
+
+import com.amazonaws.services.neptune.io.BinaryOutputWriter;
+import com.amazonaws.services.neptune.io.Target;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFWriter;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EnhancedBinaryRdfWriterTest {
+
+    @Test
+    public void shouldWriteStatementsThatCanBeReadBackAsBinaryRdf() throws Exception {
+
+        ValueFactory factory = SimpleValueFactory.getInstance();
+
+        List<Statement> statements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            statements.add(factory.createStatement(
+                    factory.createIRI("http://example.org/resource/" + i),
+                    factory.createIRI("http://example.org/ontology#name"),
+                    factory.createLiteral("name-" + i),
+                    i % 2 == 0 ? factory.createIRI("http://example.org/graph/1") : null));
+        }
+
+        Path path = Files.createTempFile("statements", ".brf");
+        File file = path.toFile();
+        file.deleteOnExit();
+
+        try (BinaryOutputWriter outputWriter = Target.files.createBinaryOutputWriter(() -> path)) {
+            RDFWriter writer = new EnhancedBinaryRdfWriter(outputWriter);
+            writer.startRDF();
+            for (Statement statement : statements) {
+                writer.handleStatement(statement);
+            }
+            writer.endRDF();
+        }
+
+        Model model;
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            model = Rio.parse(inputStream, "", RDFFormat.BINARY);
+        }
+
+        assertEquals(statements.size(), model.size());
+        for (Statement statement : statements) {
+            assertTrue(model.contains(statement));
+        }
+    }
+}
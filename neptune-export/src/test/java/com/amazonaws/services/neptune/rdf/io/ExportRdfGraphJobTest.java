@@ -0,0 +1,54 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.rdf.io;
+
+import com.amazonaws.services.neptune.cluster.ConcurrencyConfig;
+import com.amazonaws.services.neptune.io.Target;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ExportRdfGraphJobTest {
+
+    @Test
+    public void shouldWriteNamedGraphAsIriInQuery() {
+        assertEquals(
+                "SELECT * WHERE { VALUES ?g { <http://example.org/graph/caf\\u00E9> } GRAPH ?g { ?s ?p ?o } }",
+                ExportRdfGraphJob.namedGraphQuery("http://example.org/graph/café"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNamedGraphThatWouldEndIriEarly() {
+        ExportRdfGraphJob.namedGraphQuery("http://example.org/g> } ?s ?p ?o . FILTER(false) } #");
+    }
+
+    @Test
+    public void shouldExportNamedGraphsSequentiallyToStdOut() {
+        assertFalse(job(Target.stdout, 4).exportsNamedGraphsInParallel());
+        assertTrue(job(Target.files, 4).exportsNamedGraphsInParallel());
+        assertFalse(job(Target.files, 1).exportsNamedGraphsInParallel());
+    }
+
+    private static ExportRdfGraphJob job(Target output, int concurrency) {
+        return new ExportRdfGraphJob(
+                null,
+                new RdfTargetConfig(null, null, output, RdfExportFormat.turtle),
+                new ConcurrencyConfig(concurrency));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNamedGraphContainingWhitespace() {
+        ExportRdfGraphJob.namedGraphQuery("http://example.org/my graph");
+    }
+}
@@ -0,0 +1,135 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package com.amazonaws.services.neptune.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class ResourceCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(0);
+    private final AtomicInteger created = new AtomicInteger(0);
+    private final List<Resource> closed = new ArrayList<>();
+
+    @Test
+    public void shouldReuseResourceForSameKey() {
+        ResourceCache<Resource> cache = createCache(4, 1000);
+
+        Resource r1 = cache.acquire("a", this::create);
+        cache.release("a");
+
+        clock.addAndGet(500);
+
+        Resource r2 = cache.acquire("a", this::create);
+
+        assertSame(r1, r2);
+        assertEquals(1, created.get());
+        assertTrue(closed.isEmpty());
+    }
+
+    @Test
+    public void shouldReplaceResourceThatHasBeenIdleForTooLong() {
+        ResourceCache<Resource> cache = createCache(4, 1000);
+
+        Resource r1 = cache.acquire("a", this::create);
+        cache.release("a");
+
+        clock.addAndGet(1001);
+
+        Resource r2 = cache.acquire("a", this::create);
+
+        assertNotSame(r1, r2);
+        assertEquals(1, closed.size());
+        assertSame(r1, closed.get(0));
+    }
+
+    @Test
+    public void shouldReplaceResourceThatIsNoLongerUsable() {
+        ResourceCache<Resource> cache = createCache(4, 1000);
+
+        Resource r1 = cache.acquire("a", this::create);
+        cache.release("a");
+        r1.usable = false;
+
+        Resource r2 = cache.acquire("a", this::create);
+
+        assertNotSame(r1, r2);
+        assertSame(r1, closed.get(0));
+    }
+
+    @Test
+    public void shouldNotReplaceResourceThatIsInUse() {
+        ResourceCache<Resource> cache = createCache(4, 1000);
+
+        Resource r1 = cache.acquire("a", this::create);
+
+        clock.addAndGet(5000);
+
+        Resource r2 = cache.acquire("a", this::create);
+
+        assertSame(r1, r2);
+        assertTrue(closed.isEmpty());
+    }
+
+    @Test
+    public void shouldCloseLeastRecentlyUsedIdleResourcesWhenFull() {
+        ResourceCache<Resource> cache = createCache(2, 1000);
+
+        Resource a = cache.acquire("a", this::create);
+        cache.release("a");
+        Resource b = cache.acquire("b", this::create);
+        cache.release("b");
+
+        // Using 'a' makes 'b' the least recently used resource
+        cache.acquire("a", this::create);
+        cache.release("a");
+
+        cache.acquire("c", this::create);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, closed.size());
+        assertSame(b, closed.get(0));
+        assertFalse(closed.contains(a));
+    }
+
+    @Test
+    public void shouldNotCloseResourcesThatAreInUseWhenFull() {
+        ResourceCache<Resource> cache = createCache(1, 1000);
+
+        cache.acquire("a", this::create);
+        cache.acquire("b", this::create);
+
+        assertEquals(2, cache.size());
+        assertTrue(closed.isEmpty());
+    }
+
+    private ResourceCache<Resource> createCache(int maxSize, long maxIdleMillis) {
+        return new ResourceCache<>(maxSize, maxIdleMillis, r -> r.usable, closed::add, clock::get);
+    }
+
+    private Resource create() {
+        created.incrementAndGet();
+        return new Resource();
+    }
+
+    private static class Resource {
+        private boolean usable = true;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
+import org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Collects point lookups issued concurrently by many callers into multi-id traversals. A batch is sent
+ * when it reaches maxBatchSize, or maxDelay after its first lookup, whichever comes first. Lookups for
+ * an id that is already waiting in the current batch, or already in flight, share the same future.
+ * Ids are matched to results by value, so an Integer lookup matches a Long or String id returned by the
+ * server.
+ */
+public class BatchingGremlinClient<R> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchingGremlinClient.class);
+
+    public static <R> Builder<R> build(Function<Object[], Traversal<?, R>> batchTraversal,
+                                       Function<R, Object> idExtractor) {
+        return new Builder<>(batchTraversal, idExtractor);
+    }
+
+    public static Builder<Map<Object, Object>> vertexValueMaps(GraphTraversalSource g) {
+        return new Builder<>(
+                ids -> g.V(ids).valueMap().with(WithOptions.tokens),
+                result -> result.get(T.id));
+    }
+
+    public static Builder<Map<Object, Object>> vertexValueMaps(GremlinClient client) {
+        DriverRemoteConnection connection = DriverRemoteConnection.using(client);
+        return vertexValueMaps(AnonymousTraversalSource.traversal().withRemote(connection))
+                .closeOnClose(connection);
+    }
+
+    private static Object idKey(Object id) {
+        if (id instanceof Long || id instanceof Integer || id instanceof Short || id instanceof Byte) {
+            return String.valueOf(((Number) id).longValue());
+        }
+        if (id instanceof Number || id instanceof String) {
+            return id.toString();
+        }
+        return id;
+    }
+
+    private final Function<Object[], Traversal<?, R>> batchTraversal;
+    private final Function<R, Object> idExtractor;
+    private final int maxBatchSize;
+    private final long maxDelayMillis;
+    private final AutoCloseable onClose;
+    private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+    private final Map<Object, CompletableFuture<List<R>>> inFlight = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+
+    private Map<Object, Lookup<R>> currentBatch = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed = false;
+
+    private BatchingGremlinClient(Builder<R> builder) {
+        this.batchTraversal = builder.batchTraversal;
+        this.idExtractor = builder.idExtractor;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxDelayMillis = builder.maxDelayMillis;
+        this.onClose = builder.onClose;
+    }
+
+    /**
+     * Returns a future for the results with the given id. If the client has been closed, the future fails with
+     * an IllegalStateException.
+     */
+    public CompletableFuture<List<R>> submit(Object id) {
+
+        Object key = idKey(id);
+
+        Lookup<R> lookup;
+        Map<Object, Lookup<R>> batchToSend = null;
+
+        synchronized (lock) {
+            if (closed) {
+                CompletableFuture<List<R>> future = new CompletableFuture<>();
+                future.completeExceptionally(new IllegalStateException("Client has been closed"));
+                return future;
+            }
+            // Batches are moved to inFlight under the lock, so an id is always in one or the other until sent
+            CompletableFuture<List<R>> existing = inFlight.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            lookup = currentBatch.get(key);
+            if (lookup != null) {
+                return lookup.future;
+            }
+            lookup = new Lookup<>(id);
+            currentBatch.put(key, lookup);
+
+            if (currentBatch.size() >= maxBatchSize) {
+                batchToSend = takeCurrentBatch();
+            } else if (currentBatch.size() == 1) {
+                scheduledFlush = scheduledExecutorService.schedule(this::flush, maxDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (batchToSend != null) {
+            send(batchToSend);
+        }
+
+        return lookup.future;
+    }
+
+    public void flush() {
+        Map<Object, Lookup<R>> batchToSend;
+        synchronized (lock) {
+            batchToSend = takeCurrentBatch();
+        }
+        if (!batchToSend.isEmpty()) {
+            send(batchToSend);
+        }
+    }
+
+    // Must be called holding the lock
+    private Map<Object, Lookup<R>> takeCurrentBatch() {
+        Map<Object, Lookup<R>> batch = currentBatch;
+        batch.forEach((key, lookup) -> inFlight.put(key, lookup.future));
+        currentBatch = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void send(Map<Object, Lookup<R>> batch) {
+
+        logger.debug("Sending batch of {} ids", batch.size());
+
+        CompletableFuture<List<R>> results;
+        try {
+            Object[] ids = batch.values().stream().map(lookup -> lookup.id).toArray();
+            results = batchTraversal.apply(ids).promise(Traversal::toList);
+        } catch (Exception e) {
+            results = new CompletableFuture<>();
+            results.completeExceptionally(e);
+        }
+
+        results.whenComplete((list, throwable) -> {
+            Map<Object, List<R>> resultsByKey = new HashMap<>();
+            Throwable error = throwable;
+            try {
+                if (error == null) {
+                    for (R result : list) {
+                        resultsByKey.computeIfAbsent(idKey(idExtractor.apply(result)), k -> new ArrayList<>()).add(result);
+                    }
+                }
+            } catch (Throwable t) {
+                logger.warn("Error while handling results for batch of {} ids", batch.size(), t);
+                error = t;
+            } finally {
+                for (Map.Entry<Object, Lookup<R>> entry : batch.entrySet()) {
+                    inFlight.remove(entry.getKey(), entry.getValue().future);
+                }
+            }
+            for (Map.Entry<Object, Lookup<R>> entry : batch.entrySet()) {
+                if (error != null) {
+                    entry.getValue().future.completeExceptionally(error);
+                } else {
+                    entry.getValue().future.complete(resultsByKey.getOrDefault(entry.getKey(), Collections.emptyList()));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() throws Exception {
+        Map<Object, Lookup<R>> batchToSend;
+        synchronized (lock) {
+            closed = true;
+            batchToSend = takeCurrentBatch();
+        }
+        if (!batchToSend.isEmpty()) {
+            send(batchToSend);
+        }
+        scheduledExecutorService.shutdownNow();
+        if (onClose != null) {
+            onClose.close();
+        }
+    }
+
+    private static class Lookup<R> {
+
+        private final Object id;
+        private final CompletableFuture<List<R>> future = new CompletableFuture<>();
+
+        private Lookup(Object id) {
+            this.id = id;
+        }
+    }
+
+    public static class Builder<R> {
+
+        private final Function<Object[], Traversal<?, R>> batchTraversal;
+        private final Function<R, Object> idExtractor;
+        private int maxBatchSize = 64;
+        private long maxDelayMillis = 5;
+        private AutoCloseable onClose;
+
+        private Builder(Function<Object[], Traversal<?, R>> batchTraversal, Function<R, Object> idExtractor) {
+            this.batchTraversal = batchTraversal;
+            this.idExtractor = idExtractor;
+        }
+
+        public Builder<R> maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize must be at least 1");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder<R> maxDelay(long maxDelay, TimeUnit timeUnit) {
+            this.maxDelayMillis = timeUnit.toMillis(maxDelay);
+            return this;
+        }
+
+        private Builder<R> closeOnClose(AutoCloseable onClose) {
+            this.onClose = onClose;
+            return this;
+        }
+
+        public BatchingGremlinClient<R> create() {
+            return new BatchingGremlinClient<>(this);
+        }
+    }
+}
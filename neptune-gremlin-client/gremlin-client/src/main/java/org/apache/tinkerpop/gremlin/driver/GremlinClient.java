@@ -16,6 +16,8 @@ import org.apache.tinkerpop.gremlin.driver.exception.ConnectionException;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.neptune.metrics.GremlinClientMetrics;
+import software.amazon.neptune.metrics.NoOpGremlinClientMetrics;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -45,6 +47,8 @@ public class GremlinClient extends Client implements AutoCloseable {
     private final int refreshOnErrorThreshold;
     private final Supplier<Collection<String>> refreshOnErrorEventHandler;
     private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private final GremlinClientMetrics metrics;
+    private final ThreadLocal<String> chosenAddress = new ThreadLocal<>();
 
     GremlinClient(Cluster cluster,
                   Settings settings,
@@ -53,8 +57,28 @@ public class GremlinClient extends Client implements AutoCloseable {
                   Function<String, Cluster> clusterBuilder,
                   int refreshOnErrorThreshold,
                   Supplier<Collection<String>> refreshOnErrorEventHandler) {
+        this(cluster,
+                settings,
+                clientHolders,
+                clusterCollection,
+                clusterBuilder,
+                refreshOnErrorThreshold,
+                refreshOnErrorEventHandler,
+                NoOpGremlinClientMetrics.INSTANCE);
+    }
+
+    GremlinClient(Cluster cluster,
+                  Settings settings,
+                  List<ClientHolder> clientHolders,
+                  GremlinClusterCollection clusterCollection,
+                  Function<String, Cluster> clusterBuilder,
+                  int refreshOnErrorThreshold,
+                  Supplier<Collection<String>> refreshOnErrorEventHandler,
+                  GremlinClientMetrics metrics) {
         super(cluster, settings);
 
+        this.metrics = metrics;
+
         this.refreshOnErrorThreshold = refreshOnErrorThreshold;
         this.refreshOnErrorEventHandler = refreshOnErrorEventHandler;
         this.clientHolders.set(clientHolders);
@@ -75,6 +99,7 @@ public class GremlinClient extends Client implements AutoCloseable {
         List<ClientHolder> oldClientHolders = clientHolders.get();
         List<ClientHolder> newClientHolders = new ArrayList<>();
         List<String> addressesToRemove = new ArrayList<>();
+        List<String> addressesToAdd = new ArrayList<>();
 
         for (ClientHolder clientHolder : oldClientHolders) {
             String address = clientHolder.getAddress();
@@ -94,6 +119,7 @@ public class GremlinClient extends Client implements AutoCloseable {
                 clientHolder.init();
                 newClientHolders.add(clientHolder);
                 clusterCollection.add(address, cluster);
+                addressesToAdd.add(address);
             }
         }
 
@@ -106,6 +132,52 @@ public class GremlinClient extends Client implements AutoCloseable {
                 cluster.close();
             }
         }
+
+        metrics.endpointsRefreshed(addressesToAdd, addressesToRemove);
+    }
+
+    @Override
+    public CompletableFuture<ResultSet> submitAsync(RequestMessage msg) {
+
+        if (!metricsEnabled()) {
+            return super.submitAsync(msg);
+        }
+
+        long start = System.nanoTime();
+
+        CompletableFuture<ResultSet> future;
+        String address;
+
+        try {
+            future = super.submitAsync(msg);
+        } catch (RuntimeException e) {
+            address = chosenAddress.get();
+            chosenAddress.remove();
+            if (address != null) {
+                metrics.requestCompleted(address, System.nanoTime() - start, false);
+            }
+            throw e;
+        }
+
+        address = chosenAddress.get();
+        chosenAddress.remove();
+
+        if (address != null) {
+            future.whenComplete((resultSet, throwable) -> {
+                if (throwable != null) {
+                    metrics.requestCompleted(address, System.nanoTime() - start, false);
+                } else {
+                    resultSet.allItemsAvailableAsync().whenComplete((v, t) ->
+                            metrics.requestCompleted(address, System.nanoTime() - start, t == null));
+                }
+            });
+        }
+
+        return future;
+    }
+
+    private boolean metricsEnabled() {
+        return metrics != NoOpGremlinClientMetrics.INSTANCE;
     }
 
     @Override
@@ -117,6 +189,7 @@ public class GremlinClient extends Client implements AutoCloseable {
     protected Connection chooseConnection(RequestMessage msg) throws TimeoutException, ConnectionException {
 
         long start = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
 
         logger.debug("Choosing connection");
 
@@ -140,8 +213,16 @@ public class GremlinClient extends Client implements AutoCloseable {
             if (clientHolder.isAvailable()) {
                 connection = clientHolder.chooseConnection(msg);
                 resetErrorCount();
+                if (connection != null) {
+                    metrics.connectionChosen(clientHolder.getAddress(), System.nanoTime() - startNanos, connection.borrowed.get());
+                    if (metricsEnabled()) {
+                        // Only submitAsync() with metrics enabled reads and removes the address
+                        chosenAddress.set(clientHolder.getAddress());
+                    }
+                }
             } else {
                 logger.warn("Client for {} not available", clientHolder.getAddress());
+                metrics.endpointUnavailable(clientHolder.getAddress());
                 handleError();
             }
         }
@@ -157,6 +238,7 @@ public class GremlinClient extends Client implements AutoCloseable {
                 && !refreshing.get()) {
             consecutiveErrorCount.set(0);
             if (refreshOnErrorEventHandler != null) {
+                metrics.refreshOnErrorTriggered();
                 executorService.submit(
                         new RefreshOnErrorEventHandler(this, refreshing, refreshOnErrorEventHandler));
             }
@@ -14,6 +14,8 @@ package org.apache.tinkerpop.gremlin.driver;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.neptune.metrics.GremlinClientMetrics;
+import software.amazon.neptune.metrics.NoOpGremlinClientMetrics;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -34,16 +36,26 @@ public class GremlinCluster implements AutoCloseable {
     private final AtomicReference<CompletableFuture<Void>> closing = new AtomicReference<>(null);
     private final int refreshOnErrorThreshold;
     private final Supplier<Collection<String>> refreshOnErrorEventHandler;
+    private final GremlinClientMetrics metrics;
 
     public GremlinCluster(List<String> defaultAddresses,
                           Function<String, Cluster> clusterBuilder,
                           int refreshOnErrorThreshold,
                           Supplier<Collection<String>> refreshOnErrorEventHandler) {
+        this(defaultAddresses, clusterBuilder, refreshOnErrorThreshold, refreshOnErrorEventHandler, NoOpGremlinClientMetrics.INSTANCE);
+    }
+
+    public GremlinCluster(List<String> defaultAddresses,
+                          Function<String, Cluster> clusterBuilder,
+                          int refreshOnErrorThreshold,
+                          Supplier<Collection<String>> refreshOnErrorEventHandler,
+                          GremlinClientMetrics metrics) {
         logger.info("Created GremlinCluster, defaultAddresses: {}", defaultAddresses);
         this.defaultAddresses = defaultAddresses;
         this.clusterBuilder = clusterBuilder;
         this.refreshOnErrorThreshold = refreshOnErrorThreshold;
         this.refreshOnErrorEventHandler = refreshOnErrorEventHandler;
+        this.metrics = metrics;
     }
 
     public GremlinClient connect(List<String> addresses, Client.Settings settings) {
@@ -74,7 +86,8 @@ public class GremlinCluster implements AutoCloseable {
                 clusterCollection,
                 clusterBuilder,
                 refreshOnErrorThreshold,
-                refreshOnErrorEventHandler
+                refreshOnErrorEventHandler,
+                metrics
         );
     }
 
@@ -14,6 +14,8 @@ package org.apache.tinkerpop.gremlin.driver;
 
 import io.netty.handler.ssl.SslContext;
 import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
+import software.amazon.neptune.metrics.GremlinClientMetrics;
+import software.amazon.neptune.metrics.NoOpGremlinClientMetrics;
 
 import javax.net.ssl.TrustManager;
 import java.net.InetAddress;
@@ -69,6 +71,7 @@ public class GremlinClusterBuilder {
     private AuthProperties authProps = new AuthProperties();
     private int refreshOnErrorThreshold = -1;
     private Supplier<Collection<String>> refreshOnErrorEventHandler = null;
+    private GremlinClientMetrics metrics = NoOpGremlinClientMetrics.INSTANCE;
 
     private GremlinClusterBuilder() {
     }
@@ -83,6 +86,15 @@ public class GremlinClusterBuilder {
         return this;
     }
 
+    /**
+     * Receives per-endpoint request, connection and refresh measurements from clients created by this cluster.
+     * Defaults to a no-op implementation.
+     */
+    public GremlinClusterBuilder metrics(final GremlinClientMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
     /**
      * Size of the pool for handling request/response operations.  Defaults to the number of available processors.
      */
@@ -535,6 +547,6 @@ public class GremlinClusterBuilder {
                 builder = builder.addContactPoint(s);
             }
             return builder.create();
-        }, refreshOnErrorThreshold, refreshOnErrorEventHandler);
+        }, refreshOnErrorThreshold, refreshOnErrorEventHandler, metrics);
     }
 }
@@ -17,10 +17,14 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class ClusterEndpointsRefreshAgent implements AutoCloseable {
 
@@ -34,33 +38,95 @@ public class ClusterEndpointsRefreshAgent implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(ClusterEndpointsRefreshAgent.class);
 
     private final ClusterEndpointsFetchStrategy clusterEndpointsFetchStrategy;
+    private final ClusterMetadataPoller sharedPoller;
+    private final Collection<EndpointsSelector> selectors;
     private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicReference<Map<EndpointsSelector, Collection<String>>> previousAddresses = new AtomicReference<>();
+    private final AtomicReference<ClusterMetadataPoller.Subscription> subscription = new AtomicReference<>();
+    private final AtomicBoolean stopped = new AtomicBoolean(false);
 
     public ClusterEndpointsRefreshAgent(ClusterEndpointsFetchStrategy clusterEndpointsFetchStrategy) {
-        this.clusterEndpointsFetchStrategy = clusterEndpointsFetchStrategy;
+        this(clusterEndpointsFetchStrategy, null, Collections.emptyList());
     }
 
     public ClusterEndpointsRefreshAgent(String clusterId, EndpointsSelector... selectors) {
-        this(new GetEndpointsFromNeptuneManagementApi(clusterId, Arrays.asList(selectors)));
+        this(null, ClusterMetadataPoller.acquire(clusterId), Arrays.asList(selectors));
+    }
+
+    ClusterEndpointsRefreshAgent(ClusterEndpointsFetchStrategy clusterEndpointsFetchStrategy,
+                                         ClusterMetadataPoller sharedPoller,
+                                         Collection<EndpointsSelector> selectors) {
+        this.clusterEndpointsFetchStrategy = clusterEndpointsFetchStrategy;
+        this.sharedPoller = sharedPoller;
+        this.selectors = selectors;
     }
 
     public void startPollingNeptuneAPI(OnNewAddresses onNewAddresses,
                                        long delay,
                                        TimeUnit timeUnit) {
-        scheduledExecutorService.scheduleWithFixedDelay(() -> {
-            try{
-                Map<EndpointsSelector, Collection<String>> addresses = getAddresses();
-                logger.info("New addresses: {}", addresses);
-                onNewAddresses.apply(addresses);
-            } catch (Exception e){
-                logger.error("Error while getting addresses", e);
+        startPollingNeptuneAPI(onNewAddresses, delay, delay, timeUnit);
+    }
+
+    public void startPollingNeptuneAPI(OnNewAddresses onNewAddresses,
+                                       long minDelay,
+                                       long maxDelay,
+                                       TimeUnit timeUnit) {
+        if (stopped.get()) {
+            throw new IllegalStateException("Refresh agent has been stopped");
+        }
+        if (sharedPoller != null) {
+            ClusterMetadataPoller.Subscription newSubscription = sharedPoller.subscribe(
+                    metadata -> notifyIfChanged(onNewAddresses, metadata.getEndpoints(selectors)),
+                    minDelay,
+                    maxDelay,
+                    timeUnit);
+            ClusterMetadataPoller.Subscription oldSubscription = subscription.getAndSet(newSubscription);
+            if (oldSubscription != null) {
+                oldSubscription.close();
             }
+        } else {
+            PollingDelay pollingDelay = new PollingDelay(minDelay, maxDelay, timeUnit);
+            scheduleNextPoll(onNewAddresses, pollingDelay, pollingDelay.currentDelayMillis());
+        }
+    }
+
+    private void scheduleNextPoll(OnNewAddresses onNewAddresses, PollingDelay pollingDelay, long delayMillis) {
+        try {
+            scheduledExecutorService.schedule(() -> {
+                boolean changed = false;
+                try {
+                    changed = notifyIfChanged(onNewAddresses, clusterEndpointsFetchStrategy.getAddresses());
+                } catch (Exception e) {
+                    logger.error("Error while getting addresses", e);
+                }
+                scheduleNextPoll(onNewAddresses, pollingDelay, pollingDelay.next(changed));
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Agent has been stopped
+        }
+    }
 
-        }, delay, delay, timeUnit);
+    private boolean notifyIfChanged(OnNewAddresses onNewAddresses, Map<EndpointsSelector, Collection<String>> addresses) {
+        Map<EndpointsSelector, Collection<String>> previous = previousAddresses.getAndSet(addresses);
+        Map<EndpointsSelector, EndpointsDelta> deltas = EndpointsDelta.between(previous, addresses);
+        if (previous != null && EndpointsDelta.isEmpty(deltas)) {
+            logger.debug("Addresses unchanged: {}", addresses);
+            return false;
+        }
+        logger.info("New addresses: {}, changes: {}", addresses, deltas);
+        onNewAddresses.apply(addresses, deltas);
+        return true;
     }
 
     public void stop() {
+        ClusterMetadataPoller.Subscription currentSubscription = subscription.getAndSet(null);
+        if (currentSubscription != null) {
+            currentSubscription.close();
+        }
         scheduledExecutorService.shutdownNow();
+        if (sharedPoller != null && stopped.compareAndSet(false, true)) {
+            sharedPoller.release();
+        }
     }
 
     @Override
@@ -69,6 +135,10 @@ public class ClusterEndpointsRefreshAgent implements AutoCloseable {
     }
 
     public Map<EndpointsSelector, Collection<String>> getAddresses() {
-        return clusterEndpointsFetchStrategy.getAddresses();
+        Map<EndpointsSelector, Collection<String>> addresses = sharedPoller != null ?
+                sharedPoller.getClusterMetadata().getEndpoints(selectors) :
+                clusterEndpointsFetchStrategy.getAddresses();
+        previousAddresses.set(addresses);
+        return addresses;
     }
 }
@@ -0,0 +1,205 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package software.amazon.neptune.cluster;
+
+import com.amazonaws.services.neptune.AmazonNeptune;
+import com.amazonaws.services.neptune.AmazonNeptuneClientBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Polls the Neptune Management API on behalf of every refresh agent in the process that is watching
+ * the same cluster, so that N agents cost one set of describe calls per interval rather than N.
+ * Pollers are reference counted: each agent acquires the poller for its cluster and releases it when
+ * stopped. Releasing the last reference stops polling, removes the poller from the registry, and shuts
+ * down its Neptune client.
+ */
+class ClusterMetadataPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMetadataPoller.class);
+
+    private static final Map<String, ClusterMetadataPoller> pollers = new HashMap<>();
+
+    static ClusterMetadataPoller acquire(String clusterId) {
+        return acquire(clusterId, ClusterMetadataPoller::create);
+    }
+
+    static ClusterMetadataPoller acquire(String clusterId, Function<String, ClusterMetadataPoller> factory) {
+        synchronized (pollers) {
+            ClusterMetadataPoller poller = pollers.computeIfAbsent(clusterId, factory);
+            poller.references++;
+            return poller;
+        }
+    }
+
+    static boolean isRegistered(String clusterId) {
+        synchronized (pollers) {
+            return pollers.containsKey(clusterId);
+        }
+    }
+
+    private static ClusterMetadataPoller create(String clusterId) {
+        AmazonNeptune neptune = AmazonNeptuneClientBuilder.defaultClient();
+        GetEndpointsFromNeptuneManagementApi managementApi =
+                new GetEndpointsFromNeptuneManagementApi(clusterId, Collections.emptyList(), neptune);
+        return new ClusterMetadataPoller(clusterId, managementApi::getClusterMetadata, neptune::shutdown);
+    }
+
+    private final String clusterId;
+    private final Supplier<NeptuneClusterMetadata> metadataSupplier;
+    private final Runnable onStop;
+    private final Map<Subscription, Boolean> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicReference<NeptuneClusterMetadata> latestMetadata = new AtomicReference<>();
+    private ScheduledExecutorService scheduledExecutorService;
+    private volatile PollingDelay pollingDelay;
+    private int references = 0;
+
+    ClusterMetadataPoller(String clusterId, Supplier<NeptuneClusterMetadata> metadataSupplier, Runnable onStop) {
+        this.clusterId = clusterId;
+        this.metadataSupplier = metadataSupplier;
+        this.onStop = onStop;
+    }
+
+    void release() {
+        synchronized (pollers) {
+            if (--references > 0) {
+                return;
+            }
+            pollers.remove(clusterId, this);
+        }
+        synchronized (this) {
+            subscriptions.clear();
+            stopPolling();
+        }
+        onStop.run();
+    }
+
+    NeptuneClusterMetadata getClusterMetadata() {
+        NeptuneClusterMetadata metadata = latestMetadata.get();
+        if (metadata != null && isPolling()) {
+            return metadata;
+        }
+        metadata = metadataSupplier.get();
+        latestMetadata.set(metadata);
+        return metadata;
+    }
+
+    synchronized Subscription subscribe(Consumer<NeptuneClusterMetadata> listener,
+                                        long minDelay,
+                                        long maxDelay,
+                                        TimeUnit timeUnit) {
+
+        Subscription subscription = new Subscription(listener, timeUnit.toMillis(minDelay), timeUnit.toMillis(maxDelay));
+        subscriptions.put(subscription, true);
+
+        if (scheduledExecutorService == null) {
+            logger.info("Starting shared poller for cluster {}", clusterId);
+            pollingDelay = new PollingDelay(minDelay, maxDelay, timeUnit);
+            scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+            scheduleNextPoll(scheduledExecutorService, pollingDelay.currentDelayMillis());
+        } else {
+            updatePollingDelay();
+        }
+
+        return subscription;
+    }
+
+    private synchronized void unsubscribe(Subscription subscription) {
+        subscriptions.remove(subscription);
+        if (subscriptions.isEmpty()) {
+            stopPolling();
+        } else {
+            updatePollingDelay();
+        }
+    }
+
+    private void stopPolling() {
+        if (scheduledExecutorService != null) {
+            logger.info("Stopping shared poller for cluster {}", clusterId);
+            scheduledExecutorService.shutdownNow();
+            scheduledExecutorService = null;
+        }
+    }
+
+    private synchronized boolean isPolling() {
+        return scheduledExecutorService != null;
+    }
+
+    private void updatePollingDelay() {
+        // The most demanding subscriber determines how frequently the cluster is polled
+        long minDelayMillis = subscriptions.keySet().stream().mapToLong(s -> s.minDelayMillis).min().orElse(1);
+        long maxDelayMillis = subscriptions.keySet().stream().mapToLong(s -> s.maxDelayMillis).min().orElse(minDelayMillis);
+        pollingDelay.update(minDelayMillis, Math.max(minDelayMillis, maxDelayMillis), TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduleNextPoll(ScheduledExecutorService executor, long delayMillis) {
+        try {
+            executor.schedule(() -> poll(executor), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Poller has been stopped
+        }
+    }
+
+    private void poll(ScheduledExecutorService executor) {
+
+        boolean changing = false;
+
+        try {
+            NeptuneClusterMetadata metadata = metadataSupplier.get();
+            NeptuneClusterMetadata previous = latestMetadata.getAndSet(metadata);
+
+            changing = metadata.isInTransition() || !metadata.equals(previous);
+
+            for (Subscription subscription : subscriptions.keySet()) {
+                try {
+                    subscription.listener.accept(metadata);
+                } catch (Exception e) {
+                    logger.error("Error while notifying subscriber", e);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error while getting cluster metadata for {}", clusterId, e);
+        }
+
+        if (!executor.isShutdown()) {
+            scheduleNextPoll(executor, pollingDelay.next(changing));
+        }
+    }
+
+    class Subscription implements AutoCloseable {
+
+        private final Consumer<NeptuneClusterMetadata> listener;
+        private final long minDelayMillis;
+        private final long maxDelayMillis;
+
+        private Subscription(Consumer<NeptuneClusterMetadata> listener, long minDelayMillis, long maxDelayMillis) {
+            this.listener = listener;
+            this.minDelayMillis = minDelayMillis;
+            this.maxDelayMillis = maxDelayMillis;
+        }
+
+        @Override
+        public void close() {
+            unsubscribe(this);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package software.amazon.neptune.cluster;
+
+import java.util.*;
+
+public class EndpointsDelta {
+
+    public static EndpointsDelta between(Collection<String> previous, Collection<String> current) {
+
+        Collection<String> previousEndpoints = previous == null ? Collections.emptySet() : new HashSet<>(previous);
+        Collection<String> currentEndpoints = current == null ? Collections.emptySet() : new HashSet<>(current);
+
+        List<String> added = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+
+        for (String endpoint : currentEndpoints) {
+            if (!previousEndpoints.contains(endpoint)) {
+                added.add(endpoint);
+            }
+        }
+
+        for (String endpoint : previousEndpoints) {
+            if (!currentEndpoints.contains(endpoint)) {
+                removed.add(endpoint);
+            }
+        }
+
+        return new EndpointsDelta(added, removed);
+    }
+
+    public static Map<EndpointsSelector, EndpointsDelta> between(Map<EndpointsSelector, Collection<String>> previous,
+                                                                 Map<EndpointsSelector, Collection<String>> current) {
+        Map<EndpointsSelector, EndpointsDelta> results = new HashMap<>();
+        for (Map.Entry<EndpointsSelector, Collection<String>> entry : current.entrySet()) {
+            Collection<String> previousEndpoints = previous == null ? null : previous.get(entry.getKey());
+            results.put(entry.getKey(), between(previousEndpoints, entry.getValue()));
+        }
+        return results;
+    }
+
+    public static boolean isEmpty(Map<EndpointsSelector, EndpointsDelta> deltas) {
+        return deltas.values().stream().allMatch(EndpointsDelta::isEmpty);
+    }
+
+    private final Collection<String> added;
+    private final Collection<String> removed;
+
+    public EndpointsDelta(Collection<String> added, Collection<String> removed) {
+        this.added = added;
+        this.removed = removed;
+    }
+
+    public Collection<String> getAdded() {
+        return added;
+    }
+
+    public Collection<String> getRemoved() {
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointsDelta{" +
+                "added=" + added +
+                ", removed=" + removed +
+                '}';
+    }
+}
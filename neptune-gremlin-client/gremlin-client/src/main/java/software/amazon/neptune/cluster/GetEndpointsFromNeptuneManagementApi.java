@@ -26,24 +26,47 @@ public class GetEndpointsFromNeptuneManagementApi implements ClusterEndpointsFet
 
     private static final Logger logger = LoggerFactory.getLogger(GetEndpointsFromNeptuneManagementApi.class);
 
-    private static final Map<String, Map<String, String>> instanceTags = new HashMap<>();
-
     private final String clusterId;
     private final Collection<EndpointsSelector> selectors;
-    private final AtomicReference<Map<EndpointsSelector, Collection<String>>> previousResults = new AtomicReference<>();
+    private final AmazonNeptune neptune;
+    private final InstanceTagsCache instanceTagsCache;
+    private final AtomicReference<NeptuneClusterMetadata> previousMetadata = new AtomicReference<>();
 
     public GetEndpointsFromNeptuneManagementApi(String clusterId, Collection<EndpointsSelector> selectors) {
+        this(clusterId, selectors, null);
+    }
+
+    public GetEndpointsFromNeptuneManagementApi(String clusterId,
+                                                Collection<EndpointsSelector> selectors,
+                                                AmazonNeptune neptune) {
+        this(clusterId, selectors, neptune, InstanceTagsCache.shared());
+    }
+
+    public GetEndpointsFromNeptuneManagementApi(String clusterId,
+                                                Collection<EndpointsSelector> selectors,
+                                                AmazonNeptune neptune,
+                                                InstanceTagsCache instanceTagsCache) {
         this.clusterId = clusterId;
         this.selectors = selectors;
+        this.neptune = neptune;
+        this.instanceTagsCache = instanceTagsCache;
+    }
+
+    public String getClusterId() {
+        return clusterId;
     }
 
     @Override
     public Map<EndpointsSelector, Collection<String>> getAddresses() {
+        return getClusterMetadata().getEndpoints(selectors);
+    }
 
-        try {
+    public NeptuneClusterMetadata getClusterMetadata() {
 
+        // Without a caller-supplied client, create one for this call and shut it down afterwards
+        AmazonNeptune neptune = this.neptune != null ? this.neptune : AmazonNeptuneClientBuilder.defaultClient();
 
-            AmazonNeptune neptune = AmazonNeptuneClientBuilder.defaultClient();
+        try {
 
             DescribeDBClustersResult describeDBClustersResult = neptune
                     .describeDBClusters(new DescribeDBClustersRequest().withDBClusterIdentifier(clusterId));
@@ -77,6 +100,12 @@ public class GetEndpointsFromNeptuneManagementApi implements ClusterEndpointsFet
             DescribeDBInstancesResult describeDBInstancesResult = neptune
                     .describeDBInstances(describeDBInstancesRequest);
 
+            Map<String, Map<String, String>> tags = instanceTagsCache.getTags(
+                    describeDBInstancesResult.getDBInstances().stream()
+                            .map(DBInstance::getDBInstanceArn)
+                            .collect(Collectors.toList()),
+                    neptune);
+
             Collection<NeptuneInstanceProperties> instances = new ArrayList<>();
             describeDBInstancesResult.getDBInstances()
                     .forEach(c -> {
@@ -91,55 +120,36 @@ public class GetEndpointsFromNeptuneManagementApi implements ClusterEndpointsFet
                                         new NeptuneInstanceProperties(
                                                 c.getDBInstanceIdentifier(),
                                                 role,
-                                                c.getEndpoint().getAddress(),
+                                                c.getEndpoint() == null ? null : c.getEndpoint().getAddress(),
                                                 c.getDBInstanceStatus(),
                                                 c.getAvailabilityZone(),
                                                 c.getDBInstanceClass(),
-                                                getTags(c.getDBInstanceArn(), neptune)));
+                                                tags.get(c.getDBInstanceArn())));
                             }
                     );
 
-            neptune.shutdown();
+            NeptuneClusterMetadata metadata = new NeptuneClusterMetadata(clusterEndpoint, readerEndpoint, instances);
 
-            Map<EndpointsSelector, Collection<String>> results = new HashMap<>();
+            previousMetadata.set(metadata);
 
-            for (EndpointsSelector selector : selectors) {
-                results.put(selector, selector.getEndpoints(clusterEndpoint, readerEndpoint, instances));
-            }
-
-            previousResults.set(results);
-
-            return results;
+            return metadata;
 
         } catch (AmazonNeptuneException e) {
             if (e.getErrorCode().equals("Throttling")) {
-                Map<EndpointsSelector, Collection<String>> results = previousResults.get();
-                if (results != null) {
+                NeptuneClusterMetadata metadata = previousMetadata.get();
+                if (metadata != null) {
                     logger.warn("Calls to the Neptune Management API are being throttled. Reduce the refresh rate and stagger refresh agent requests, or use a NeptuneEndpointsInfoLambda proxy.");
-                    return results;
+                    return metadata;
                 } else {
                     throw e;
                 }
             } else {
                 throw e;
             }
+        } finally {
+            if (this.neptune == null) {
+                neptune.shutdown();
+            }
         }
     }
-
-    private Map<String, String> getTags(String dbInstanceArn, AmazonNeptune neptune) {
-        if (instanceTags.containsKey(dbInstanceArn)) {
-            return instanceTags.get(dbInstanceArn);
-        }
-
-        List<Tag> tagList = neptune.listTagsForResource(
-                new ListTagsForResourceRequest()
-                        .withResourceName(dbInstanceArn)).getTagList();
-
-        Map<String, String> tags = new HashMap<>();
-        tagList.forEach(t -> tags.put(t.getKey(), t.getValue()));
-
-        instanceTags.put(dbInstanceArn, tags);
-
-        return tags;
-    }
 }
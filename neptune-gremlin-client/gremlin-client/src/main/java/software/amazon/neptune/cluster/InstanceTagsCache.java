@@ -0,0 +1,216 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package software.amazon.neptune.cluster;
+
+import com.amazonaws.services.neptune.AmazonNeptune;
+import com.amazonaws.services.neptune.model.ListTagsForResourceRequest;
+import com.amazonaws.services.neptune.model.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-evicting cache of instance tags keyed by instance ARN. Expired and missing entries
+ * are refreshed as a batch, in parallel when more than one instance needs to be fetched. Once the cache
+ * has been closed, refreshes run on the calling thread.
+ */
+public class InstanceTagsCache implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstanceTagsCache.class);
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private static final InstanceTagsCache sharedCache =
+            new InstanceTagsCache(DEFAULT_MAX_SIZE, DEFAULT_TTL_MILLIS, DEFAULT_PARALLELISM);
+
+    public static InstanceTagsCache shared() {
+        return sharedCache;
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final ExecutorService executorService;
+    private final LongSupplier clock;
+    private final Map<String, CachedTags> cache;
+
+    public InstanceTagsCache(int maxSize, long ttlMillis, int parallelism) {
+        this(maxSize, ttlMillis, parallelism, System::currentTimeMillis);
+    }
+
+    InstanceTagsCache(int maxSize, long ttlMillis, int parallelism, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.cache = new LinkedHashMap<String, CachedTags>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedTags> eldest) {
+                return size() > InstanceTagsCache.this.maxSize;
+            }
+        };
+        this.executorService = Executors.newFixedThreadPool(parallelism, new DaemonThreadFactory());
+    }
+
+    public Map<String, String> getTags(String dbInstanceArn, AmazonNeptune neptune) {
+        return getTags(Collections.singletonList(dbInstanceArn), neptune).get(dbInstanceArn);
+    }
+
+    public Map<String, Map<String, String>> getTags(Collection<String> dbInstanceArns, AmazonNeptune neptune) {
+
+        long now = clock.getAsLong();
+
+        Map<String, Map<String, String>> results = new HashMap<>();
+        Map<String, CachedTags> staleEntries = new HashMap<>();
+
+        synchronized (cache) {
+            for (String dbInstanceArn : dbInstanceArns) {
+                CachedTags cachedTags = cache.get(dbInstanceArn);
+                if (cachedTags != null && !cachedTags.isExpired(now)) {
+                    results.put(dbInstanceArn, cachedTags.tags);
+                } else {
+                    staleEntries.put(dbInstanceArn, cachedTags);
+                }
+            }
+        }
+
+        if (staleEntries.isEmpty()) {
+            return results;
+        }
+
+        if (staleEntries.size() > 1) {
+            logger.debug("Refreshing tags for {} instances", staleEntries.size());
+        }
+
+        Map<String, Future<Map<String, String>>> futures = new HashMap<>();
+        for (String dbInstanceArn : staleEntries.keySet()) {
+            Callable<Map<String, String>> fetch = () -> fetchTags(dbInstanceArn, neptune);
+            Future<Map<String, String>> future = null;
+            if (staleEntries.size() > 1) {
+                try {
+                    future = executorService.submit(fetch);
+                } catch (RejectedExecutionException e) {
+                    // Cache has been closed
+                }
+            }
+            if (future == null) {
+                FutureTask<Map<String, String>> task = new FutureTask<>(fetch);
+                task.run();
+                future = task;
+            }
+            futures.put(dbInstanceArn, future);
+        }
+
+        Map<String, CachedTags> refreshedEntries = new HashMap<>();
+
+        for (Map.Entry<String, Future<Map<String, String>>> entry : futures.entrySet()) {
+            String dbInstanceArn = entry.getKey();
+            try {
+                Map<String, String> tags = entry.getValue().get();
+                refreshedEntries.put(dbInstanceArn, new CachedTags(tags, clock.getAsLong() + ttlMillis));
+                results.put(dbInstanceArn, tags);
+            } catch (Exception e) {
+                CachedTags previous = staleEntries.get(dbInstanceArn);
+                if (previous == null) {
+                    throw unwrap(e);
+                }
+                logger.warn("Unable to refresh tags for {}, using previous tags", dbInstanceArn, e);
+                results.put(dbInstanceArn, previous.tags);
+            }
+        }
+
+        synchronized (cache) {
+            cache.putAll(refreshedEntries);
+        }
+
+        return results;
+    }
+
+    public void invalidate(String dbInstanceArn) {
+        synchronized (cache) {
+            cache.remove(dbInstanceArn);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Shuts down the threads used for parallel refreshes. Do not close the shared cache.
+     */
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+    }
+
+    private Map<String, String> fetchTags(String dbInstanceArn, AmazonNeptune neptune) {
+        List<Tag> tagList = neptune.listTagsForResource(
+                new ListTagsForResourceRequest()
+                        .withResourceName(dbInstanceArn)).getTagList();
+
+        Map<String, String> tags = new HashMap<>();
+        tagList.forEach(t -> tags.put(t.getKey(), t.getValue()));
+
+        return Collections.unmodifiableMap(tags);
+    }
+
+    private RuntimeException unwrap(Exception e) {
+        Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        return new IllegalStateException("Unable to fetch instance tags", cause);
+    }
+
+    private static class CachedTags {
+        private final Map<String, String> tags;
+        private final long expiresAt;
+
+        private CachedTags(Map<String, String> tags, long expiresAt) {
+            this.tags = tags;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "instance-tags-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package software.amazon.neptune.cluster;
+
+import java.util.*;
+
+public class NeptuneClusterMetadata {
+
+    private final String clusterEndpoint;
+    private final String readerEndpoint;
+    private final Collection<NeptuneInstanceProperties> instances;
+
+    public NeptuneClusterMetadata(String clusterEndpoint,
+                                  String readerEndpoint,
+                                  Collection<NeptuneInstanceProperties> instances) {
+        this.clusterEndpoint = clusterEndpoint;
+        this.readerEndpoint = readerEndpoint;
+        this.instances = instances;
+    }
+
+    public String getClusterEndpoint() {
+        return clusterEndpoint;
+    }
+
+    public String getReaderEndpoint() {
+        return readerEndpoint;
+    }
+
+    public Collection<NeptuneInstanceProperties> getInstances() {
+        return instances;
+    }
+
+    public Collection<String> getEndpoints(EndpointsSelector selector) {
+        return selector.getEndpoints(clusterEndpoint, readerEndpoint, instances);
+    }
+
+    public Map<EndpointsSelector, Collection<String>> getEndpoints(Collection<EndpointsSelector> selectors) {
+        Map<EndpointsSelector, Collection<String>> results = new HashMap<>();
+        for (EndpointsSelector selector : selectors) {
+            results.put(selector, getEndpoints(selector));
+        }
+        return results;
+    }
+
+    public boolean isInTransition() {
+        // Instances that are creating, modifying, rebooting, failing over, etc
+        return instances.stream().anyMatch(i -> !i.isAvailable());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NeptuneClusterMetadata that = (NeptuneClusterMetadata) o;
+        return Objects.equals(clusterEndpoint, that.clusterEndpoint) &&
+                Objects.equals(readerEndpoint, that.readerEndpoint) &&
+                Objects.equals(new HashSet<>(instances), new HashSet<>(that.instances));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(clusterEndpoint, readerEndpoint, new HashSet<>(instances));
+    }
+
+    @Override
+    public String toString() {
+        return "NeptuneClusterMetadata{" +
+                "clusterEndpoint='" + clusterEndpoint + '\'' +
+                ", readerEndpoint='" + readerEndpoint + '\'' +
+                ", instances=" + instances +
+                '}';
+    }
+}
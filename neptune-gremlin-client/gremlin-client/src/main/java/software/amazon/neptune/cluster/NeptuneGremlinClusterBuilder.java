@@ -20,6 +20,7 @@ package software.amazon.neptune.cluster;
 import io.netty.handler.ssl.SslContext;
 import org.apache.tinkerpop.gremlin.driver.*;
 import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
+import software.amazon.neptune.metrics.GremlinClientMetrics;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -54,6 +55,11 @@ public class NeptuneGremlinClusterBuilder {
         return this;
     }
 
+    public NeptuneGremlinClusterBuilder metrics(final GremlinClientMetrics metrics) {
+        innerBuilder.metrics(metrics);
+        return this;
+    }
+
     public NeptuneGremlinClusterBuilder nioPoolSize(final int nioPoolSize) {
         innerBuilder.nioPoolSize(nioPoolSize);
         return this;
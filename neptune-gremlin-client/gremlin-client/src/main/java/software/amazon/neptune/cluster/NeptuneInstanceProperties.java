@@ -13,6 +13,7 @@ permissions and limitations under the License.
 package software.amazon.neptune.cluster;
 
 import java.util.Map;
+import java.util.Objects;
 
 public class NeptuneInstanceProperties {
 
@@ -96,6 +97,25 @@ public class NeptuneInstanceProperties {
         return getRole().equalsIgnoreCase("reader");
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NeptuneInstanceProperties that = (NeptuneInstanceProperties) o;
+        return Objects.equals(instanceId, that.instanceId) &&
+                Objects.equals(role, that.role) &&
+                Objects.equals(endpoint, that.endpoint) &&
+                Objects.equals(status, that.status) &&
+                Objects.equals(availabilityZone, that.availabilityZone) &&
+                Objects.equals(instanceType, that.instanceType) &&
+                Objects.equals(tags, that.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(instanceId, role, endpoint, status, availabilityZone, instanceType, tags);
+    }
+
     @Override
     public String toString() {
         return "NeptuneInstanceProperties{" +
@@ -17,4 +17,14 @@ import java.util.Map;
 
 public interface OnNewAddresses {
     void apply(Map<EndpointsSelector, Collection<String>> addresses);
+
+    /**
+     * Invoked only when at least one selector's endpoints have changed. The deltas contain just the
+     * endpoints that have been added or removed since the previous notification. Override to react to
+     * individual endpoint changes; the default implementation passes the full set of addresses to apply().
+     */
+    default void apply(Map<EndpointsSelector, Collection<String>> addresses,
+                       Map<EndpointsSelector, EndpointsDelta> deltas) {
+        apply(addresses);
+    }
 }
@@ -0,0 +1,63 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package software.amazon.neptune.cluster;
+
+import java.util.concurrent.TimeUnit;
+
+class PollingDelay {
+
+    private volatile long minDelayMillis;
+    private volatile long maxDelayMillis;
+    private volatile long currentDelayMillis;
+
+    PollingDelay(long minDelay, long maxDelay, TimeUnit timeUnit) {
+        update(minDelay, maxDelay, timeUnit);
+    }
+
+    synchronized void update(long minDelay, long maxDelay, TimeUnit timeUnit) {
+        if (minDelay <= 0) {
+            throw new IllegalArgumentException("Minimum delay must be greater than zero");
+        }
+        if (maxDelay < minDelay) {
+            throw new IllegalArgumentException("Maximum delay must be greater than or equal to minimum delay");
+        }
+        this.minDelayMillis = timeUnit.toMillis(minDelay);
+        this.maxDelayMillis = timeUnit.toMillis(maxDelay);
+        this.currentDelayMillis = minDelayMillis;
+    }
+
+    long currentDelayMillis() {
+        return currentDelayMillis;
+    }
+
+    long minDelayMillis() {
+        return minDelayMillis;
+    }
+
+    long maxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    /**
+     * Drop back to the minimum delay while the topology is changing, otherwise back off
+     * exponentially towards the maximum delay.
+     */
+    synchronized long next(boolean changing) {
+        if (changing) {
+            currentDelayMillis = minDelayMillis;
+        } else {
+            currentDelayMillis = Math.min(currentDelayMillis * 2, maxDelayMillis);
+        }
+        return currentDelayMillis;
+    }
+}
@@ -0,0 +1,313 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package software.amazon.neptune.cluster;
+
+import org.apache.tinkerpop.gremlin.driver.GremlinClient;
+import org.apache.tinkerpop.gremlin.driver.GremlinCluster;
+import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
+import org.apache.tinkerpop.gremlin.process.remote.RemoteConnection;
+import org.apache.tinkerpop.gremlin.process.remote.RemoteConnectionException;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.AbstractRemoteTraversal;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.RemoteTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.util.function.Lambda;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Routes mutating traversals to the writer and all other traversals to the read replicas. Within a
+ * session, reads submitted within readAfterWriteWindow of the session's last write are routed to the
+ * writer, so that they observe that write. The window is measured from the time the write completes.
+ * The refresh agent is owned by the caller: close it after closing this client.
+ */
+public class ReadWriteRoutingClient implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingClient.class);
+
+    // Source and traversal steps that never modify the graph. Any other step (addV, addE, property, drop,
+    // io().read(), or a step this list does not know about) routes the traversal to the writer. io() is
+    // listed so that io().write(), which exports the graph, can be routed to a reader.
+    private static final Set<String> READ_ONLY_STEPS = new HashSet<>(Arrays.asList(
+            "withBulk", "withComputer", "withPath", "withSack", "withSideEffect", "withStrategies",
+            "withoutStrategies", "with", "io", "write",
+            "V", "E", "inject", "none",
+            "aggregate", "and", "as", "barrier", "both", "bothE", "bothV", "branch", "by", "cap", "choose",
+            "coalesce", "coin", "constant", "count", "cyclicPath", "dedup", "elementMap", "emit", "filter",
+            "flatMap", "fold", "from", "group", "groupCount", "has", "hasId", "hasKey", "hasLabel", "hasNot",
+            "hasValue", "id", "identity", "in", "inE", "inV", "index", "is", "key", "label", "limit", "local",
+            "loops", "map", "match", "math", "max", "mean", "min", "not", "option", "optional", "or", "order",
+            "otherV", "out", "outE", "outV", "path", "profile", "project", "properties", "propertyMap", "range",
+            "repeat", "sack", "sample", "select", "sideEffect", "simplePath", "skip", "store", "subgraph", "sum",
+            "tail", "timeLimit", "times", "to", "toE", "toV", "tree", "unfold", "union", "until", "value",
+            "valueMap", "values", "where"));
+
+    public static Builder build(GremlinCluster cluster, ClusterEndpointsRefreshAgent refreshAgent) {
+        return new Builder(cluster, refreshAgent);
+    }
+
+    /**
+     * A traversal is treated as mutating unless every one of its steps, including those of its child
+     * traversals, is known to be read-only. Traversals carrying lambdas are treated as mutating, because
+     * their effects cannot be inspected.
+     */
+    public static boolean isMutating(Bytecode bytecode) {
+        for (Bytecode.Instruction instruction : bytecode.getInstructions()) {
+            if (!READ_ONLY_STEPS.contains(instruction.getOperator())) {
+                return true;
+            }
+            for (Object argument : instruction.getArguments()) {
+                if (argument instanceof Lambda) {
+                    return true;
+                }
+                if (argument instanceof Bytecode && isMutating((Bytecode) argument)) {
+                    return true;
+                }
+                if (argument instanceof Traversal && isMutating(((Traversal<?, ?>) argument).asAdmin().getBytecode())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private final GremlinClient writerClient;
+    private final GremlinClient readerClient;
+    private final RemoteConnection writerConnection;
+    private final RemoteConnection readerConnection;
+    private final long readAfterWriteWindowMillis;
+    private final Session defaultSession;
+    private volatile boolean closed = false;
+
+    private ReadWriteRoutingClient(GremlinClient writerClient,
+                                   GremlinClient readerClient,
+                                   long readAfterWriteWindowMillis) {
+        this(writerClient,
+                readerClient,
+                DriverRemoteConnection.using(writerClient),
+                DriverRemoteConnection.using(readerClient),
+                readAfterWriteWindowMillis);
+    }
+
+    ReadWriteRoutingClient(GremlinClient writerClient,
+                           GremlinClient readerClient,
+                           RemoteConnection writerConnection,
+                           RemoteConnection readerConnection,
+                           long readAfterWriteWindowMillis) {
+        this.writerClient = writerClient;
+        this.readerClient = readerClient;
+        this.writerConnection = writerConnection;
+        this.readerConnection = readerConnection;
+        this.readAfterWriteWindowMillis = readAfterWriteWindowMillis;
+        this.defaultSession = new Session();
+    }
+
+    public GremlinClient writerClient() {
+        return writerClient;
+    }
+
+    public GremlinClient readerClient() {
+        return readerClient;
+    }
+
+    /**
+     * Traversal source bound to a session shared by every user of this client. Use newSession() to
+     * limit read-after-write stickiness to an individual unit of work.
+     */
+    public GraphTraversalSource traversal() {
+        return defaultSession.traversal();
+    }
+
+    public Session newSession() {
+        return new Session();
+    }
+
+    private void refreshEndpoints(Collection<String> writerAddresses, Collection<String> readerAddresses) {
+        if (closed) {
+            return;
+        }
+        writerClient.refreshEndpoints(writerAddresses);
+        readerClient.refreshEndpoints(readerAddresses);
+    }
+
+    @Override
+    public void close() throws Exception {
+        closed = true;
+        writerConnection.close();
+        readerConnection.close();
+        writerClient.close();
+        readerClient.close();
+    }
+
+    public class Session implements RemoteConnection {
+
+        private final AtomicLong lastWriteMillis = new AtomicLong(0);
+
+        private Session() {
+        }
+
+        public GraphTraversalSource traversal() {
+            return AnonymousTraversalSource.traversal().withRemote(this);
+        }
+
+        @Override
+        public <E> CompletableFuture<RemoteTraversal<?, E>> submitAsync(Bytecode bytecode) throws RemoteConnectionException {
+            if (isMutating(bytecode)) {
+                // Record the write when it is submitted, when the server responds, and as its results are
+                // consumed, so that the read-after-write window runs from the time the write completes
+                recordWrite();
+                CompletableFuture<RemoteTraversal<?, E>> result = writerConnection.submitAsync(bytecode);
+                return result
+                        .whenComplete((traversal, throwable) -> recordWrite())
+                        .thenApply(traversal -> new WriteTrackingTraversal<>(traversal));
+            }
+            if (readAfterWriteWindowMillis > 0 &&
+                    System.currentTimeMillis() - lastWriteMillis.get() < readAfterWriteWindowMillis) {
+                logger.debug("Routing read to writer within read-after-write window");
+                return writerConnection.submitAsync(bytecode);
+            }
+            return readerConnection.submitAsync(bytecode);
+        }
+
+        private void recordWrite() {
+            lastWriteMillis.set(System.currentTimeMillis());
+        }
+
+        @Override
+        public void close() {
+            // Connections are owned by the ReadWriteRoutingClient
+        }
+
+        private class WriteTrackingTraversal<S, E> extends AbstractRemoteTraversal<S, E> {
+
+            private final RemoteTraversal<S, E> traversal;
+
+            private WriteTrackingTraversal(RemoteTraversal<S, E> traversal) {
+                this.traversal = traversal;
+            }
+
+            @Override
+            @SuppressWarnings("deprecation")
+            public org.apache.tinkerpop.gremlin.process.remote.traversal.RemoteTraversalSideEffects getSideEffects() {
+                return traversal.getSideEffects();
+            }
+
+            @Override
+            public Traverser.Admin<E> nextTraverser() {
+                try {
+                    return traversal.nextTraverser();
+                } finally {
+                    recordWrite();
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    return traversal.hasNext();
+                } finally {
+                    recordWrite();
+                }
+            }
+
+            @Override
+            public E next() {
+                try {
+                    return traversal.next();
+                } finally {
+                    recordWrite();
+                }
+            }
+
+            @Override
+            public void close() throws Exception {
+                traversal.close();
+            }
+        }
+    }
+
+    public static class Builder {
+
+        private final GremlinCluster cluster;
+        private final ClusterEndpointsRefreshAgent refreshAgent;
+        private EndpointsSelector writerSelector = EndpointsType.Primary;
+        private EndpointsSelector readerSelector = EndpointsType.ReadReplicas;
+        private long readAfterWriteWindowMillis = 0;
+        private long minRefreshDelayMillis = TimeUnit.SECONDS.toMillis(15);
+        private long maxRefreshDelayMillis = TimeUnit.SECONDS.toMillis(15);
+
+        private Builder(GremlinCluster cluster, ClusterEndpointsRefreshAgent refreshAgent) {
+            this.cluster = cluster;
+            this.refreshAgent = refreshAgent;
+        }
+
+        public Builder writerSelector(EndpointsSelector writerSelector) {
+            this.writerSelector = writerSelector;
+            return this;
+        }
+
+        public Builder readerSelector(EndpointsSelector readerSelector) {
+            this.readerSelector = readerSelector;
+            return this;
+        }
+
+        public Builder readAfterWriteWindow(long window, TimeUnit timeUnit) {
+            this.readAfterWriteWindowMillis = timeUnit.toMillis(window);
+            return this;
+        }
+
+        public Builder refreshDelay(long minDelay, long maxDelay, TimeUnit timeUnit) {
+            this.minRefreshDelayMillis = timeUnit.toMillis(minDelay);
+            this.maxRefreshDelayMillis = timeUnit.toMillis(maxDelay);
+            return this;
+        }
+
+        public ReadWriteRoutingClient create() {
+
+            Map<EndpointsSelector, Collection<String>> addresses = refreshAgent.getAddresses();
+
+            GremlinClient writerClient = cluster.connect(new ArrayList<>(getAddresses(addresses, writerSelector)));
+            GremlinClient readerClient = cluster.connect(new ArrayList<>(getAddresses(addresses, readerSelector)));
+
+            ReadWriteRoutingClient client = new ReadWriteRoutingClient(writerClient, readerClient, readAfterWriteWindowMillis);
+
+            refreshAgent.startPollingNeptuneAPI(
+                    newAddresses -> client.refreshEndpoints(
+                            getAddresses(newAddresses, writerSelector),
+                            getAddresses(newAddresses, readerSelector)),
+                    minRefreshDelayMillis,
+                    maxRefreshDelayMillis,
+                    TimeUnit.MILLISECONDS);
+
+            return client;
+        }
+
+        private static Collection<String> getAddresses(Map<EndpointsSelector, Collection<String>> addresses,
+                                                       EndpointsSelector selector) {
+            Collection<String> results = addresses.get(selector);
+            if (results == null) {
+                throw new IllegalStateException(
+                        String.format("Refresh agent does not supply endpoints for selector %s", selector));
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package software.amazon.neptune.metrics;
+
+public interface EndpointMetricsMXBean {
+
+    String getAddress();
+
+    long getRequestCount();
+
+    double getRequestsPerSecond();
+
+    long getErrorCount();
+
+    long getUnavailableCount();
+
+    int getInFlight();
+
+    int getConsecutiveUnavailable();
+
+    int getMaxConsecutiveUnavailable();
+
+    double getMeanLatencyMicros();
+
+    long getP50LatencyMicros();
+
+    long getP99LatencyMicros();
+
+    long getMaxLatencyMicros();
+
+    double getMeanWaitForConnectionMicros();
+
+    long getP99WaitForConnectionMicros();
+
+    long getP99InProcessOnConnection();
+}
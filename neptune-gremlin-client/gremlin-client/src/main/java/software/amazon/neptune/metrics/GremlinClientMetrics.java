@@ -0,0 +1,38 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package software.amazon.neptune.metrics;
+
+import java.util.Collection;
+
+/**
+ * Receives measurements from a GremlinClient. Implementations are invoked on request and I/O threads,
+ * so must be thread-safe and must not block.
+ */
+public interface GremlinClientMetrics {
+
+    /**
+     * A connection to the endpoint was chosen for a request.
+     *
+     * @param waitNanos             time spent waiting for the connection
+     * @param inProcessOnConnection number of requests in process on the chosen connection
+     */
+    void connectionChosen(String address, long waitNanos, int inProcessOnConnection);
+
+    void endpointUnavailable(String address);
+
+    void requestCompleted(String address, long latencyNanos, boolean succeeded);
+
+    void endpointsRefreshed(Collection<String> added, Collection<String> removed);
+
+    void refreshOnErrorTriggered();
+}
@@ -0,0 +1,79 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package software.amazon.neptune.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram with power-of-two buckets. Percentiles are approximate: they return the upper
+ * bound of the bucket containing the requested rank, so are accurate to within a factor of two.
+ */
+public class Histogram {
+
+    private static final int BUCKET_COUNT = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong(0);
+
+    public void record(long value) {
+        long v = Math.max(0, value);
+        buckets.incrementAndGet(bucketFor(v));
+        count.increment();
+        sum.add(v);
+        long currentMax = max.get();
+        while (v > currentMax && !max.compareAndSet(currentMax, v)) {
+            currentMax = max.get();
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double mean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public long percentile(double percentile) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(n * Math.min(Math.max(percentile, 0.0), 1.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= Math.max(rank, 1)) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    private static int bucketFor(long value) {
+        return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket == 0 ? 0 : bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
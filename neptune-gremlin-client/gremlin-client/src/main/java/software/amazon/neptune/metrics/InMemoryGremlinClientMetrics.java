@@ -0,0 +1,175 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package software.amazon.neptune.metrics;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+public class InMemoryGremlinClientMetrics implements GremlinClientMetrics {
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder refreshOnErrorCount = new LongAdder();
+    private final long startTimeNanos = System.nanoTime();
+
+    @Override
+    public void connectionChosen(String address, long waitNanos, int inProcessOnConnection) {
+        EndpointMetrics metrics = endpoint(address);
+        metrics.waitForConnectionMicros.record(TimeUnit.NANOSECONDS.toMicros(waitNanos));
+        metrics.inProcessOnConnection.record(inProcessOnConnection);
+        metrics.inFlight.incrementAndGet();
+        metrics.consecutiveUnavailable.set(0);
+    }
+
+    @Override
+    public void endpointUnavailable(String address) {
+        EndpointMetrics metrics = endpoint(address);
+        metrics.unavailableCount.increment();
+        int streak = metrics.consecutiveUnavailable.incrementAndGet();
+        metrics.maxConsecutiveUnavailable.accumulateAndGet(streak, Math::max);
+    }
+
+    @Override
+    public void requestCompleted(String address, long latencyNanos, boolean succeeded) {
+        EndpointMetrics metrics = endpoint(address);
+        metrics.inFlight.decrementAndGet();
+        metrics.requestCount.increment();
+        if (!succeeded) {
+            metrics.errorCount.increment();
+        }
+        metrics.latencyMicros.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    @Override
+    public void endpointsRefreshed(Collection<String> added, Collection<String> removed) {
+        refreshCount.increment();
+    }
+
+    @Override
+    public void refreshOnErrorTriggered() {
+        refreshOnErrorCount.increment();
+    }
+
+    public Map<String, EndpointMetrics> endpoints() {
+        return endpoints;
+    }
+
+    public EndpointMetrics endpoint(String address) {
+        return endpoints.computeIfAbsent(address, a -> new EndpointMetrics(a, startTimeNanos));
+    }
+
+    public long refreshCount() {
+        return refreshCount.sum();
+    }
+
+    public long refreshOnErrorCount() {
+        return refreshOnErrorCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "refreshCount: " + refreshCount() +
+                ", refreshOnErrorCount: " + refreshOnErrorCount() + System.lineSeparator() +
+                endpoints.values().stream()
+                        .map(e -> "  " + e.toString())
+                        .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    public static class EndpointMetrics {
+
+        private final String address;
+        private final long startTimeNanos;
+        private final LongAdder requestCount = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder unavailableCount = new LongAdder();
+        private final AtomicInteger inFlight = new AtomicInteger(0);
+        private final AtomicInteger consecutiveUnavailable = new AtomicInteger(0);
+        private final AtomicInteger maxConsecutiveUnavailable = new AtomicInteger(0);
+        private final Histogram latencyMicros = new Histogram();
+        private final Histogram waitForConnectionMicros = new Histogram();
+        private final Histogram inProcessOnConnection = new Histogram();
+
+        private EndpointMetrics(String address, long startTimeNanos) {
+            this.address = address;
+            this.startTimeNanos = startTimeNanos;
+        }
+
+        public String address() {
+            return address;
+        }
+
+        public long requestCount() {
+            return requestCount.sum();
+        }
+
+        public double requestsPerSecond() {
+            double elapsedSeconds = (System.nanoTime() - startTimeNanos) / 1_000_000_000.0;
+            return elapsedSeconds <= 0 ? 0.0 : requestCount() / elapsedSeconds;
+        }
+
+        public long errorCount() {
+            return errorCount.sum();
+        }
+
+        public long unavailableCount() {
+            return unavailableCount.sum();
+        }
+
+        public int inFlight() {
+            return inFlight.get();
+        }
+
+        public int consecutiveUnavailable() {
+            return consecutiveUnavailable.get();
+        }
+
+        public int maxConsecutiveUnavailable() {
+            return maxConsecutiveUnavailable.get();
+        }
+
+        public Histogram latencyMicros() {
+            return latencyMicros;
+        }
+
+        public Histogram waitForConnectionMicros() {
+            return waitForConnectionMicros;
+        }
+
+        public Histogram inProcessOnConnection() {
+            return inProcessOnConnection;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("{address: %s, requests: %s, errors: %s, rps: %.1f, inFlight: %s, " +
+                            "latencyMicros(p50/p99/max): %s/%s/%s, waitForConnectionMicros(p99): %s, " +
+                            "inProcessOnConnection(p99): %s, maxConsecutiveUnavailable: %s}",
+                    address,
+                    requestCount(),
+                    errorCount(),
+                    requestsPerSecond(),
+                    inFlight(),
+                    latencyMicros.percentile(0.5),
+                    latencyMicros.percentile(0.99),
+                    latencyMicros.max(),
+                    waitForConnectionMicros.percentile(0.99),
+                    inProcessOnConnection.percentile(0.99),
+                    maxConsecutiveUnavailable());
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package software.amazon.neptune.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes a RefreshMetricsMXBean under software.amazon.neptune:type=GremlinClient,name=&lt;name&gt;, and an
+ * EndpointMetricsMXBean per endpoint under software.amazon.neptune:type=GremlinClient,name=&lt;name&gt;,endpoint=&lt;address&gt;.
+ */
+public class JmxGremlinClientMetrics extends InMemoryGremlinClientMetrics implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JmxGremlinClientMetrics.class);
+
+    private final String name;
+    private final MBeanServer mBeanServer;
+    private final Map<String, ObjectName> registeredEndpoints = new ConcurrentHashMap<>();
+
+    public JmxGremlinClientMetrics(String name) {
+        this(name, ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public JmxGremlinClientMetrics(String name, MBeanServer mBeanServer) {
+        this.name = name;
+        this.mBeanServer = mBeanServer;
+        registerRefreshMetrics();
+    }
+
+    private void registerRefreshMetrics() {
+        try {
+            ObjectName objectName = new ObjectName(String.format(
+                    "software.amazon.neptune:type=GremlinClient,name=%s",
+                    ObjectName.quote(name)));
+            RefreshMetricsMXBean refreshMetrics = new RefreshMetricsMXBean() {
+                @Override
+                public long getRefreshCount() {
+                    return refreshCount();
+                }
+
+                @Override
+                public long getRefreshOnErrorCount() {
+                    return refreshOnErrorCount();
+                }
+            };
+            mBeanServer.registerMBean(refreshMetrics, objectName);
+            registeredEndpoints.put("", objectName);
+        } catch (Exception e) {
+            logger.warn("Unable to register JMX refresh metrics for {}", name, e);
+        }
+    }
+
+    @Override
+    public EndpointMetrics endpoint(String address) {
+        EndpointMetrics metrics = super.endpoint(address);
+        if (!registeredEndpoints.containsKey(address)) {
+            register(metrics);
+        }
+        return metrics;
+    }
+
+    private synchronized void register(EndpointMetrics metrics) {
+        if (registeredEndpoints.containsKey(metrics.address())) {
+            return;
+        }
+        try {
+            ObjectName objectName = new ObjectName(String.format(
+                    "software.amazon.neptune:type=GremlinClient,name=%s,endpoint=%s",
+                    ObjectName.quote(name),
+                    ObjectName.quote(metrics.address())));
+            mBeanServer.registerMBean(new JmxEndpointMetrics(metrics), objectName);
+            registeredEndpoints.put(metrics.address(), objectName);
+        } catch (Exception e) {
+            logger.warn("Unable to register JMX metrics for {}", metrics.address(), e);
+            registeredEndpoints.put(metrics.address(), ObjectName.WILDCARD);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        for (ObjectName objectName : registeredEndpoints.values()) {
+            try {
+                if (mBeanServer.isRegistered(objectName)) {
+                    mBeanServer.unregisterMBean(objectName);
+                }
+            } catch (Exception e) {
+                logger.warn("Unable to unregister JMX metrics {}", objectName, e);
+            }
+        }
+        registeredEndpoints.clear();
+    }
+
+    private static class JmxEndpointMetrics implements EndpointMetricsMXBean {
+
+        private final EndpointMetrics metrics;
+
+        private JmxEndpointMetrics(EndpointMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public String getAddress() {
+            return metrics.address();
+        }
+
+        @Override
+        public long getRequestCount() {
+            return metrics.requestCount();
+        }
+
+        @Override
+        public double getRequestsPerSecond() {
+            return metrics.requestsPerSecond();
+        }
+
+        @Override
+        public long getErrorCount() {
+            return metrics.errorCount();
+        }
+
+        @Override
+        public long getUnavailableCount() {
+            return metrics.unavailableCount();
+        }
+
+        @Override
+        public int getInFlight() {
+            return metrics.inFlight();
+        }
+
+        @Override
+        public int getConsecutiveUnavailable() {
+            return metrics.consecutiveUnavailable();
+        }
+
+        @Override
+        public int getMaxConsecutiveUnavailable() {
+            return metrics.maxConsecutiveUnavailable();
+        }
+
+        @Override
+        public double getMeanLatencyMicros() {
+            return metrics.latencyMicros().mean();
+        }
+
+        @Override
+        public long getP50LatencyMicros() {
+            return metrics.latencyMicros().percentile(0.5);
+        }
+
+        @Override
+        public long getP99LatencyMicros() {
+            return metrics.latencyMicros().percentile(0.99);
+        }
+
+        @Override
+        public long getMaxLatencyMicros() {
+            return metrics.latencyMicros().max();
+        }
+
+        @Override
+        public double getMeanWaitForConnectionMicros() {
+            return metrics.waitForConnectionMicros().mean();
+        }
+
+        @Override
+        public long getP99WaitForConnectionMicros() {
+            return metrics.waitForConnectionMicros().percentile(0.99);
+        }
+
+        @Override
+        public long getP99InProcessOnConnection() {
+            return metrics.inProcessOnConnection().percentile(0.99);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+package software.amazon.neptune.metrics;
+
+import java.util.Collection;
+
+public class NoOpGremlinClientMetrics implements GremlinClientMetrics {
+
+    public static final GremlinClientMetrics INSTANCE = new NoOpGremlinClientMetrics();
+
+    private NoOpGremlinClientMetrics() {
+    }
+
+    @Override
+    public void connectionChosen(String address, long waitNanos, int inProcessOnConnection) {
+        // Do nothing
+    }
+
+    @Override
+    public void endpointUnavailable(String address) {
+        // Do nothing
+    }
+
+    @Override
+    public void requestCompleted(String address, long latencyNanos, boolean succeeded) {
+        // Do nothing
+    }
+
+    @Override
+    public void endpointsRefreshed(Collection<String> added, Collection<String> removed) {
+        // Do nothing
+    }
+
+    @Override
+    public void refreshOnErrorTriggered() {
+        // Do nothing
+    }
+}
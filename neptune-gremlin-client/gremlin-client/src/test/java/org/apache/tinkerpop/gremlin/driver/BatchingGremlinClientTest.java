@@ -0,0 +1,304 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class BatchingGremlinClientTest {
+
+    private final List<List<Object>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void shouldSendLookupsInBatchesOfMaxBatchSize() throws Exception {
+
+        try (BatchingGremlinClient<Map<String, Object>> client = client(this::vertexFor, 3)) {
+
+            CompletableFuture<List<Map<String, Object>>> f1 = client.submit("a");
+            CompletableFuture<List<Map<String, Object>>> f2 = client.submit("b");
+            assertTrue(batches.isEmpty());
+
+            CompletableFuture<List<Map<String, Object>>> f3 = client.submit("c");
+
+            assertEquals(1, batches.size());
+            assertEquals(Arrays.asList("a", "b", "c"), batches.get(0));
+            assertEquals("a", f1.get(1, TimeUnit.SECONDS).get(0).get("id"));
+            assertEquals("b", f2.get(1, TimeUnit.SECONDS).get(0).get("id"));
+            assertEquals("c", f3.get(1, TimeUnit.SECONDS).get(0).get("id"));
+        }
+    }
+
+    @Test
+    public void shouldSendPartialBatchAfterMaxDelay() throws Exception {
+
+        try (BatchingGremlinClient<Map<String, Object>> client =
+                     BatchingGremlinClient.build(this::traversalFor, this::idOf)
+                             .maxBatchSize(10)
+                             .maxDelay(10, TimeUnit.MILLISECONDS)
+                             .create()) {
+
+            List<Map<String, Object>> results = client.submit("a").get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, results.size());
+            assertEquals(Collections.singletonList("a"), batches.get(0));
+        }
+    }
+
+    @Test
+    public void shouldShareFutureForDuplicateIdsInSameBatch() throws Exception {
+
+        try (BatchingGremlinClient<Map<String, Object>> client = client(this::vertexFor, 10)) {
+
+            CompletableFuture<List<Map<String, Object>>> f1 = client.submit("a");
+            CompletableFuture<List<Map<String, Object>>> f2 = client.submit("a");
+            client.flush();
+
+            assertSame(f1, f2);
+            assertEquals(Collections.singletonList("a"), batches.get(0));
+        }
+    }
+
+    @Test
+    public void shouldReturnEmptyListForIdsWithNoResult() throws Exception {
+
+        try (BatchingGremlinClient<Map<String, Object>> client = client(id -> null, 10)) {
+
+            CompletableFuture<List<Map<String, Object>>> future = client.submit("a");
+            client.flush();
+
+            assertTrue(future.get(1, TimeUnit.SECONDS).isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldMatchResultIdsOfADifferentTypeToLookupIds() throws Exception {
+
+        try (BatchingGremlinClient<Map<String, Object>> client =
+                     client(id -> vertex(Long.valueOf(String.valueOf(id))), 10)) {
+
+            CompletableFuture<List<Map<String, Object>>> intLookup = client.submit(1);
+            CompletableFuture<List<Map<String, Object>>> stringLookup = client.submit("2");
+            client.flush();
+
+            assertEquals(1L, intLookup.get(1, TimeUnit.SECONDS).get(0).get("id"));
+            assertEquals(2L, stringLookup.get(1, TimeUnit.SECONDS).get(0).get("id"));
+        }
+    }
+
+    @Test
+    public void shouldCompleteLookupsExceptionallyAndAllowRetryWhenResultHandlingFails() throws Exception {
+
+        Function<Object, Map<String, Object>> noIdThenVertex = new Function<Object, Map<String, Object>>() {
+            private boolean first = true;
+
+            @Override
+            public Map<String, Object> apply(Object id) {
+                if (first) {
+                    first = false;
+                    return Collections.singletonMap("name", "no-id");
+                }
+                return vertex(id);
+            }
+        };
+
+        try (BatchingGremlinClient<Map<String, Object>> client =
+                     BatchingGremlinClient.build(ids -> new ResultsTraversal<>(resultsFor(ids, noIdThenVertex)), this::requiredIdOf)
+                             .maxBatchSize(10)
+                             .maxDelay(1, TimeUnit.MINUTES)
+                             .create()) {
+
+            CompletableFuture<List<Map<String, Object>>> failed = client.submit("a");
+            client.flush();
+
+            try {
+                failed.get(1, TimeUnit.SECONDS);
+                fail("Expected ExecutionException");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+
+            CompletableFuture<List<Map<String, Object>>> retried = client.submit("a");
+            client.flush();
+
+            assertNotSame(failed, retried);
+            assertEquals("a", retried.get(1, TimeUnit.SECONDS).get(0).get("id"));
+        }
+    }
+
+    @Test
+    public void shouldCompleteLookupsExceptionallyWhenTraversalCannotBeCreated() throws Exception {
+
+        try (BatchingGremlinClient<Map<String, Object>> client =
+                     BatchingGremlinClient.<Map<String, Object>>build(ids -> {
+                         throw new IllegalArgumentException("bad ids");
+                     }, this::idOf).maxDelay(1, TimeUnit.MINUTES).create()) {
+
+            CompletableFuture<List<Map<String, Object>>> future = client.submit("a");
+            client.flush();
+
+            assertTrue(future.isCompletedExceptionally());
+            assertNotSame(future, client.submit("a"));
+        }
+    }
+
+    @Test
+    public void shouldShareFutureForIdsAlreadyInFlight() throws Exception {
+
+        CompletableFuture<Void> response = new CompletableFuture<>();
+
+        try (BatchingGremlinClient<Map<String, Object>> client =
+                     BatchingGremlinClient.build(ids -> new DelayedResultsTraversal<>(resultsFor(ids, this::vertexFor), response), this::idOf)
+                             .maxBatchSize(10)
+                             .maxDelay(1, TimeUnit.MINUTES)
+                             .create()) {
+
+            CompletableFuture<List<Map<String, Object>>> f1 = client.submit("a");
+            client.flush();
+
+            CompletableFuture<List<Map<String, Object>>> f2 = client.submit("a");
+            client.flush();
+
+            assertSame(f1, f2);
+            assertEquals(1, batches.size());
+
+            response.complete(null);
+
+            assertEquals("a", f2.get(1, TimeUnit.SECONDS).get(0).get("id"));
+        }
+    }
+
+    @Test
+    public void shouldFailLookupsSubmittedAfterClose() throws Exception {
+
+        BatchingGremlinClient<Map<String, Object>> client = client(this::vertexFor, 10);
+
+        CompletableFuture<List<Map<String, Object>>> beforeClose = client.submit("a");
+        client.close();
+        CompletableFuture<List<Map<String, Object>>> afterClose = client.submit("b");
+
+        assertEquals("a", beforeClose.get(1, TimeUnit.SECONDS).get(0).get("id"));
+        try {
+            afterClose.get(1, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(Collections.singletonList(Collections.singletonList("a")), batches);
+    }
+
+    private BatchingGremlinClient<Map<String, Object>> client(Function<Object, Map<String, Object>> lookup,
+                                                              int maxBatchSize) {
+        return BatchingGremlinClient.build(ids -> new ResultsTraversal<>(resultsFor(ids, lookup)), this::idOf)
+                .maxBatchSize(maxBatchSize)
+                .maxDelay(1, TimeUnit.MINUTES)
+                .create();
+    }
+
+    private Traversal<?, Map<String, Object>> traversalFor(Object[] ids) {
+        return new ResultsTraversal<>(resultsFor(ids, this::vertexFor));
+    }
+
+    private List<Map<String, Object>> resultsFor(Object[] ids, Function<Object, Map<String, Object>> lookup) {
+        batches.add(Arrays.asList(ids));
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Object id : ids) {
+            Map<String, Object> result = lookup.apply(id);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private Map<String, Object> vertexFor(Object id) {
+        return vertex(id);
+    }
+
+    private static Map<String, Object> vertex(Object id) {
+        Map<String, Object> vertex = new HashMap<>();
+        vertex.put("id", id);
+        return vertex;
+    }
+
+    private Object idOf(Map<String, Object> result) {
+        return result.get("id");
+    }
+
+    private Object requiredIdOf(Map<String, Object> result) {
+        if (!result.containsKey("id")) {
+            throw new IllegalStateException("Result has no id");
+        }
+        return result.get("id");
+    }
+
+    private static class DelayedResultsTraversal<R> extends ResultsTraversal<R> {
+
+        private final CompletableFuture<Void> response;
+
+        private DelayedResultsTraversal(List<R> results, CompletableFuture<Void> response) {
+            super(results);
+            this.response = response;
+        }
+
+        @Override
+        public <T> CompletableFuture<T> promise(Function<Traversal<Object, R>, T> traversalFunction) {
+            return response.thenApply(ignored -> traversalFunction.apply(this));
+        }
+    }
+
+    private static class ResultsTraversal<R> implements Traversal<Object, R> {
+
+        private final List<R> results;
+        private final Iterator<R> iterator;
+
+        private ResultsTraversal(List<R> results) {
+            this.results = results;
+            this.iterator = results.iterator();
+        }
+
+        @Override
+        public <T> CompletableFuture<T> promise(Function<Traversal<Object, R>, T> traversalFunction) {
+            return CompletableFuture.supplyAsync(() -> traversalFunction.apply(this));
+        }
+
+        @Override
+        public List<R> toList() {
+            return new ArrayList<>(results);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public R next() {
+            return iterator.next();
+        }
+
+        @Override
+        public Admin<Object, R> asAdmin() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
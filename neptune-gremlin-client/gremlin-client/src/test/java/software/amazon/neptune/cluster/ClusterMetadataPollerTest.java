@@ -0,0 +1,137 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package software.amazon.neptune.cluster;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ClusterMetadataPollerTest {
+
+    @Test
+    public void shouldKeepPollerRegisteredUntilLastReferenceIsReleased() {
+
+        String clusterId = "cluster-" + UUID.randomUUID();
+        AtomicInteger stopCount = new AtomicInteger();
+        AtomicInteger createCount = new AtomicInteger();
+
+        ClusterMetadataPoller first = ClusterMetadataPoller.acquire(clusterId, id -> {
+            createCount.incrementAndGet();
+            return new ClusterMetadataPoller(id, () -> metadata("r1"), stopCount::incrementAndGet);
+        });
+        ClusterMetadataPoller second = ClusterMetadataPoller.acquire(clusterId, id -> {
+            throw new AssertionError("Poller should be shared");
+        });
+
+        assertSame(first, second);
+        assertEquals(1, createCount.get());
+
+        first.release();
+
+        assertTrue(ClusterMetadataPoller.isRegistered(clusterId));
+        assertEquals(0, stopCount.get());
+
+        second.release();
+
+        assertFalse(ClusterMetadataPoller.isRegistered(clusterId));
+        assertEquals(1, stopCount.get());
+    }
+
+    @Test
+    public void shouldReleasePollerOnceWhenAgentIsStopped() throws Exception {
+
+        String clusterId = "cluster-" + UUID.randomUUID();
+        AtomicInteger stopCount = new AtomicInteger();
+
+        ClusterMetadataPoller poller = ClusterMetadataPoller.acquire(clusterId,
+                id -> new ClusterMetadataPoller(id, () -> metadata("r1"), stopCount::incrementAndGet));
+
+        ClusterEndpointsRefreshAgent agent = new ClusterEndpointsRefreshAgent(
+                null, poller, Collections.singletonList(EndpointsType.ReadReplicas));
+        agent.startPollingNeptuneAPI(addresses -> { }, 1, TimeUnit.MINUTES);
+
+        agent.stop();
+        agent.close();
+
+        assertFalse(ClusterMetadataPoller.isRegistered(clusterId));
+        assertEquals(1, stopCount.get());
+    }
+
+    @Test
+    public void shouldNotifyAgentOnlyWhenEndpointsChange() throws Exception {
+
+        Queue<NeptuneClusterMetadata> responses = new LinkedList<>(Arrays.asList(
+                metadata("r1"),
+                metadata("r1"),
+                metadata("r1", "r2"),
+                metadata("r2")));
+        CountDownLatch polled = new CountDownLatch(6);
+
+        ClusterMetadataPoller poller = new ClusterMetadataPoller("cluster", () -> {
+            polled.countDown();
+            return responses.size() > 1 ? responses.poll() : responses.peek();
+        }, () -> { });
+
+        List<Map<EndpointsSelector, EndpointsDelta>> notifications = new CopyOnWriteArrayList<>();
+
+        ClusterEndpointsRefreshAgent agent = new ClusterEndpointsRefreshAgent(
+                null, poller, Collections.singletonList(EndpointsType.ReadReplicas));
+        agent.startPollingNeptuneAPI(new OnNewAddresses() {
+            @Override
+            public void apply(Map<EndpointsSelector, Collection<String>> addresses) {
+                fail("Expected deltas");
+            }
+
+            @Override
+            public void apply(Map<EndpointsSelector, Collection<String>> addresses,
+                              Map<EndpointsSelector, EndpointsDelta> deltas) {
+                notifications.add(deltas);
+            }
+        }, 1, 2, TimeUnit.MILLISECONDS);
+
+        assertTrue(polled.await(5, TimeUnit.SECONDS));
+        agent.stop();
+
+        assertEquals(3, notifications.size());
+
+        EndpointsDelta initial = notifications.get(0).get(EndpointsType.ReadReplicas);
+        assertEquals(Collections.singletonList("r1"), initial.getAdded());
+        assertTrue(initial.getRemoved().isEmpty());
+
+        EndpointsDelta added = notifications.get(1).get(EndpointsType.ReadReplicas);
+        assertEquals(Collections.singletonList("r2"), added.getAdded());
+        assertTrue(added.getRemoved().isEmpty());
+
+        EndpointsDelta removed = notifications.get(2).get(EndpointsType.ReadReplicas);
+        assertTrue(removed.getAdded().isEmpty());
+        assertEquals(Collections.singletonList("r1"), removed.getRemoved());
+    }
+
+    private static NeptuneClusterMetadata metadata(String... readers) {
+        Collection<NeptuneInstanceProperties> instances = new ArrayList<>();
+        instances.add(new NeptuneInstanceProperties(
+                "w1", "writer", "w1", "available", "az-1", "db.r5.large", Collections.emptyMap()));
+        for (String reader : readers) {
+            instances.add(new NeptuneInstanceProperties(
+                    reader, "reader", reader, "available", "az-1", "db.r5.large", Collections.emptyMap()));
+        }
+        return new NeptuneClusterMetadata("cluster-endpoint", "reader-endpoint", instances);
+    }
+}
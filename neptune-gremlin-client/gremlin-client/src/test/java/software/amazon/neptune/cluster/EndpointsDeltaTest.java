@@ -0,0 +1,70 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package software.amazon.neptune.cluster;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class EndpointsDeltaTest {
+
+    @Test
+    public void shouldIdentifyAddedAndRemovedEndpoints() {
+        EndpointsDelta delta = EndpointsDelta.between(
+                Arrays.asList("a", "b", "c"),
+                Arrays.asList("b", "c", "d"));
+
+        assertEquals(Collections.singletonList("d"), delta.getAdded());
+        assertEquals(Collections.singletonList("a"), delta.getRemoved());
+        assertFalse(delta.isEmpty());
+    }
+
+    @Test
+    public void shouldIgnoreEndpointOrder() {
+        EndpointsDelta delta = EndpointsDelta.between(
+                Arrays.asList("a", "b"),
+                Arrays.asList("b", "a"));
+
+        assertTrue(delta.isEmpty());
+    }
+
+    @Test
+    public void shouldTreatAllEndpointsAsAddedIfNoPreviousEndpoints() {
+        EndpointsDelta delta = EndpointsDelta.between(null, Arrays.asList("a", "b"));
+
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), new HashSet<>(delta.getAdded()));
+        assertTrue(delta.getRemoved().isEmpty());
+    }
+
+    @Test
+    public void shouldCalculateDeltasPerSelector() {
+        Map<EndpointsSelector, Collection<String>> previous = new HashMap<>();
+        previous.put(EndpointsType.Primary, Collections.singletonList("w1"));
+        previous.put(EndpointsType.ReadReplicas, Arrays.asList("r1", "r2"));
+
+        Map<EndpointsSelector, Collection<String>> current = new HashMap<>();
+        current.put(EndpointsType.Primary, Collections.singletonList("w1"));
+        current.put(EndpointsType.ReadReplicas, Arrays.asList("r2", "r3"));
+
+        Map<EndpointsSelector, EndpointsDelta> deltas = EndpointsDelta.between(previous, current);
+
+        assertTrue(deltas.get(EndpointsType.Primary).isEmpty());
+        assertEquals(Collections.singletonList("r3"), deltas.get(EndpointsType.ReadReplicas).getAdded());
+        assertEquals(Collections.singletonList("r1"), deltas.get(EndpointsType.ReadReplicas).getRemoved());
+        assertFalse(EndpointsDelta.isEmpty(deltas));
+        assertTrue(EndpointsDelta.isEmpty(EndpointsDelta.between(current, current)));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package software.amazon.neptune.cluster;
+
+import com.amazonaws.services.neptune.AmazonNeptune;
+import com.amazonaws.services.neptune.model.ListTagsForResourceRequest;
+import com.amazonaws.services.neptune.model.ListTagsForResourceResult;
+import com.amazonaws.services.neptune.model.Tag;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class InstanceTagsCacheTest {
+
+    private static final long TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final AtomicLong now = new AtomicLong(1000);
+    private final StubNeptune stub = new StubNeptune();
+
+    @Test
+    public void shouldServeCachedTagsUntilTheyExpire() {
+        try (InstanceTagsCache cache = new InstanceTagsCache(10, TTL_MILLIS, 2, now::get)) {
+
+            assertEquals("v1", cache.getTags("arn-1", stub.neptune()).get("version"));
+            assertEquals("v1", cache.getTags("arn-1", stub.neptune()).get("version"));
+            assertEquals(1, stub.requests.size());
+
+            stub.version = "v2";
+            now.addAndGet(TTL_MILLIS - 1);
+
+            assertEquals("v1", cache.getTags("arn-1", stub.neptune()).get("version"));
+            assertEquals(1, stub.requests.size());
+
+            now.addAndGet(1);
+
+            assertEquals("v2", cache.getTags("arn-1", stub.neptune()).get("version"));
+            assertEquals(2, stub.requests.size());
+        }
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntriesAtCapacity() {
+        try (InstanceTagsCache cache = new InstanceTagsCache(2, TTL_MILLIS, 2, now::get)) {
+
+            cache.getTags("arn-1", stub.neptune());
+            cache.getTags("arn-2", stub.neptune());
+            cache.getTags("arn-1", stub.neptune());
+            cache.getTags("arn-3", stub.neptune());
+
+            assertEquals(2, cache.size());
+            assertEquals(3, stub.requests.size());
+
+            // arn-2 was the least recently used entry, and has been evicted
+            cache.getTags("arn-1", stub.neptune());
+            cache.getTags("arn-2", stub.neptune());
+
+            assertEquals(Arrays.asList("arn-1", "arn-2", "arn-3", "arn-2"), stub.requests);
+        }
+    }
+
+    @Test
+    public void shouldServeStaleTagsIfRefreshFails() {
+        try (InstanceTagsCache cache = new InstanceTagsCache(10, TTL_MILLIS, 2, now::get)) {
+
+            cache.getTags(Arrays.asList("arn-1", "arn-2"), stub.neptune());
+
+            stub.fail.set(true);
+            now.addAndGet(TTL_MILLIS);
+
+            Map<String, Map<String, String>> tags = cache.getTags(Arrays.asList("arn-1", "arn-2"), stub.neptune());
+
+            assertEquals("v1", tags.get("arn-1").get("version"));
+            assertEquals("v1", tags.get("arn-2").get("version"));
+            assertEquals(4, stub.requests.size());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowExceptionIfFetchFailsWithoutPreviousTags() {
+        try (InstanceTagsCache cache = new InstanceTagsCache(10, TTL_MILLIS, 2, now::get)) {
+            stub.fail.set(true);
+            cache.getTags("arn-1", stub.neptune());
+        }
+    }
+
+    @Test
+    public void shouldRefreshBatchesInParallelUntilClosed() {
+        InstanceTagsCache cache = new InstanceTagsCache(10, TTL_MILLIS, 2, now::get);
+
+        cache.getTags(Arrays.asList("arn-1", "arn-2", "arn-3"), stub.neptune());
+
+        assertEquals(3, stub.threads.size());
+        assertTrue(stub.threads.stream().allMatch(name -> name.startsWith("instance-tags-")));
+
+        cache.close();
+        stub.threads.clear();
+
+        cache.getTags(Arrays.asList("arn-4", "arn-5"), stub.neptune());
+
+        assertEquals(Arrays.asList(Thread.currentThread().getName(), Thread.currentThread().getName()), stub.threads);
+        assertEquals(5, cache.size());
+    }
+
+    private static class StubNeptune {
+
+        private final List<String> requests = new CopyOnWriteArrayList<>();
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean fail = new AtomicBoolean(false);
+        private volatile String version = "v1";
+
+        AmazonNeptune neptune() {
+            return (AmazonNeptune) Proxy.newProxyInstance(
+                    AmazonNeptune.class.getClassLoader(),
+                    new Class<?>[]{AmazonNeptune.class},
+                    (proxy, method, args) -> {
+                        if (!method.getName().equals("listTagsForResource")) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        requests.add(((ListTagsForResourceRequest) args[0]).getResourceName());
+                        threads.add(Thread.currentThread().getName());
+                        if (fail.get()) {
+                            throw new IllegalStateException("Throttled");
+                        }
+                        return new ListTagsForResourceResult()
+                                .withTagList(new Tag().withKey("version").withValue(version));
+                    });
+        }
+    }
+}
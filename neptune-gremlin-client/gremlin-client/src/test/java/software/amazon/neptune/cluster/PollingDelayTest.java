@@ -0,0 +1,75 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package software.amazon.neptune.cluster;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class PollingDelayTest {
+
+    @Test
+    public void shouldBackOffExponentiallyToMaximumDelayWhileUnchanged() {
+        PollingDelay pollingDelay = new PollingDelay(1, 10, TimeUnit.SECONDS);
+
+        assertEquals(1000, pollingDelay.currentDelayMillis());
+        assertEquals(2000, pollingDelay.next(false));
+        assertEquals(4000, pollingDelay.next(false));
+        assertEquals(8000, pollingDelay.next(false));
+        assertEquals(10000, pollingDelay.next(false));
+        assertEquals(10000, pollingDelay.next(false));
+    }
+
+    @Test
+    public void shouldDropBackToMinimumDelayWhenChanging() {
+        PollingDelay pollingDelay = new PollingDelay(100, 1000, TimeUnit.MILLISECONDS);
+
+        pollingDelay.next(false);
+        pollingDelay.next(false);
+
+        assertEquals(100, pollingDelay.next(true));
+        assertEquals(200, pollingDelay.next(false));
+    }
+
+    @Test
+    public void shouldPollAtFixedRateWhenMinimumAndMaximumDelaysAreEqual() {
+        PollingDelay pollingDelay = new PollingDelay(15, 15, TimeUnit.SECONDS);
+
+        assertEquals(15000, pollingDelay.next(false));
+        assertEquals(15000, pollingDelay.next(true));
+    }
+
+    @Test
+    public void shouldResetToNewMinimumDelayWhenUpdated() {
+        PollingDelay pollingDelay = new PollingDelay(100, 1000, TimeUnit.MILLISECONDS);
+        pollingDelay.next(false);
+
+        pollingDelay.update(50, 400, TimeUnit.MILLISECONDS);
+
+        assertEquals(50, pollingDelay.currentDelayMillis());
+        assertEquals(400, pollingDelay.maxDelayMillis());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionIfMinimumDelayIsNotPositive() {
+        new PollingDelay(0, 10, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionIfMaximumDelayIsLessThanMinimumDelay() {
+        new PollingDelay(10, 5, TimeUnit.SECONDS);
+    }
+}
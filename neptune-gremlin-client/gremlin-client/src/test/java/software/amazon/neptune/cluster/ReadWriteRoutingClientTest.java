@@ -0,0 +1,195 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package software.amazon.neptune.cluster;
+
+import org.apache.tinkerpop.gremlin.process.remote.RemoteConnection;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.AbstractRemoteTraversal;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraverser;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.RemoteTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.util.function.Lambda;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ReadWriteRoutingClientTest {
+
+    private final StubConnection writer = new StubConnection();
+    private final StubConnection reader = new StubConnection();
+
+    @Test
+    public void shouldIdentifyMutatingTraversals() {
+        assertTrue(ReadWriteRoutingClient.isMutating(__.addV("person").asAdmin().getBytecode()));
+        assertTrue(ReadWriteRoutingClient.isMutating(__.V().property("name", "alice").asAdmin().getBytecode()));
+        assertTrue(ReadWriteRoutingClient.isMutating(__.V().sideEffect(__.drop()).asAdmin().getBytecode()));
+        assertFalse(ReadWriteRoutingClient.isMutating(__.V().values("name").asAdmin().getBytecode()));
+        assertFalse(ReadWriteRoutingClient.isMutating(__.V().has("write", "drop").asAdmin().getBytecode()));
+    }
+
+    @Test
+    public void shouldNotTreatIoWriteAsMutating() {
+        Bytecode bytecode = new Bytecode();
+        bytecode.addSource("io", "graph.xml");
+        bytecode.addStep("write");
+
+        assertFalse(ReadWriteRoutingClient.isMutating(bytecode));
+    }
+
+    @Test
+    public void shouldTreatIoReadAsMutating() {
+        Bytecode bytecode = new Bytecode();
+        bytecode.addSource("io", "graph.xml");
+        bytecode.addStep("read");
+
+        assertTrue(ReadWriteRoutingClient.isMutating(bytecode));
+    }
+
+    @Test
+    public void shouldTreatUnknownStepsAsMutating() {
+        Bytecode bytecode = new Bytecode();
+        bytecode.addStep("V");
+        bytecode.addStep("mergeV");
+
+        assertTrue(ReadWriteRoutingClient.isMutating(bytecode));
+    }
+
+    @Test
+    public void shouldTreatTraversalsWithLambdasAsMutating() {
+        assertTrue(ReadWriteRoutingClient.isMutating(
+                __.V().map(Lambda.function("it.get()")).asAdmin().getBytecode()));
+        assertTrue(ReadWriteRoutingClient.isMutating(
+                __.V().local(__.sideEffect(Lambda.consumer("it.get()"))).asAdmin().getBytecode()));
+        assertFalse(ReadWriteRoutingClient.isMutating(
+                __.V().has("age", P.gt(30)).order().by("name", Order.desc).asAdmin().getBytecode()));
+    }
+
+    @Test
+    public void shouldRouteWritesToWriterAndReadsToReader() throws Exception {
+
+        ReadWriteRoutingClient client = new ReadWriteRoutingClient(null, null, writer, reader, 0);
+        ReadWriteRoutingClient.Session session = client.newSession();
+
+        session.submitAsync(__.addV("person").asAdmin().getBytecode()).get();
+        session.submitAsync(__.V().values("name").asAdmin().getBytecode()).get();
+
+        assertEquals(1, writer.submitted.size());
+        assertEquals(1, reader.submitted.size());
+    }
+
+    @Test
+    public void shouldRouteReadsToWriterWithinWindowMeasuredFromWriteCompletion() throws Exception {
+
+        long windowMillis = 200;
+        ReadWriteRoutingClient client = new ReadWriteRoutingClient(null, null, writer, reader, windowMillis);
+        ReadWriteRoutingClient.Session session = client.newSession();
+
+        CompletableFuture<RemoteTraversal<?, Object>> pendingWrite = new CompletableFuture<>();
+        writer.nextResponse = pendingWrite;
+
+        CompletableFuture<RemoteTraversal<?, Object>> write = session.submitAsync(__.addV("person").asAdmin().getBytecode());
+
+        // The write takes longer than the read-after-write window
+        Thread.sleep(windowMillis + 100);
+        pendingWrite.complete(new ListRemoteTraversal<>(Collections.singletonList("v1")));
+        RemoteTraversal<?, Object> traversal = write.get(1, TimeUnit.SECONDS);
+        while (traversal.hasNext()) {
+            traversal.next();
+        }
+
+        session.submitAsync(__.V().values("name").asAdmin().getBytecode()).get();
+
+        assertEquals(2, writer.submitted.size());
+        assertEquals(0, reader.submitted.size());
+
+        Thread.sleep(windowMillis + 100);
+
+        session.submitAsync(__.V().values("name").asAdmin().getBytecode()).get();
+
+        assertEquals(2, writer.submitted.size());
+        assertEquals(1, reader.submitted.size());
+    }
+
+    @Test
+    public void shouldNotApplyReadAfterWriteWindowAcrossSessions() throws Exception {
+
+        ReadWriteRoutingClient client = new ReadWriteRoutingClient(null, null, writer, reader, TimeUnit.MINUTES.toMillis(1));
+
+        client.newSession().submitAsync(__.addV("person").asAdmin().getBytecode()).get();
+        client.newSession().submitAsync(__.V().values("name").asAdmin().getBytecode()).get();
+
+        assertEquals(1, writer.submitted.size());
+        assertEquals(1, reader.submitted.size());
+    }
+
+    private static class StubConnection implements RemoteConnection {
+
+        private final List<Bytecode> submitted = new CopyOnWriteArrayList<>();
+        private volatile CompletableFuture<RemoteTraversal<?, Object>> nextResponse;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <E> CompletableFuture<RemoteTraversal<?, E>> submitAsync(Bytecode bytecode) {
+            submitted.add(bytecode);
+            CompletableFuture<RemoteTraversal<?, Object>> response = nextResponse;
+            nextResponse = null;
+            if (response == null) {
+                response = CompletableFuture.completedFuture(new ListRemoteTraversal<>(Collections.emptyList()));
+            }
+            return (CompletableFuture<RemoteTraversal<?, E>>) (CompletableFuture<?>) response;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class ListRemoteTraversal<E> extends AbstractRemoteTraversal<Object, E> {
+
+        private final Iterator<E> results;
+
+        private ListRemoteTraversal(List<E> results) {
+            this.results = results.iterator();
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public org.apache.tinkerpop.gremlin.process.remote.traversal.RemoteTraversalSideEffects getSideEffects() {
+            return null;
+        }
+
+        @Override
+        public Traverser.Admin<E> nextTraverser() {
+            return new DefaultRemoteTraverser<>(results.next(), 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return results.hasNext();
+        }
+
+        @Override
+        public E next() {
+            return results.next();
+        }
+    }
+}
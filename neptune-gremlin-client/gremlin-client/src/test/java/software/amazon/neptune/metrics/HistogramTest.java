@@ -0,0 +1,98 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package software.amazon.neptune.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class HistogramTest {
+
+    @Test
+    public void shouldReturnZeroForEmptyHistogram() {
+        Histogram histogram = new Histogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0.0, histogram.mean(), 0.0);
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.percentile(0.99));
+    }
+
+    @Test
+    public void shouldCalculateCountMeanAndMax() {
+        Histogram histogram = histogramOf(1, 100);
+
+        assertEquals(100, histogram.count());
+        assertEquals(50.5, histogram.mean(), 0.0);
+        assertEquals(100, histogram.max());
+    }
+
+    @Test
+    public void shouldReturnUpperBoundOfPowerOfTwoBucketContainingRank() {
+        Histogram histogram = histogramOf(1, 100);
+
+        // Ranks 32-63 fall in the bucket [32, 63]
+        assertEquals(63, histogram.percentile(0.5));
+        // Ranks 64-100 fall in the bucket [64, 127], which is capped at the maximum recorded value
+        assertEquals(100, histogram.percentile(0.99));
+        assertEquals(1, histogram.percentile(0.0));
+        assertEquals(100, histogram.percentile(1.0));
+    }
+
+    @Test
+    public void shouldBeAccurateToWithinFactorOfTwo() {
+        Histogram histogram = new Histogram();
+        for (int i = 0; i < 1000; i++) {
+            histogram.record(1000);
+        }
+
+        long p50 = histogram.percentile(0.5);
+
+        assertEquals(1000, p50);
+
+        histogram.record(5000);
+
+        long p99 = histogram.percentile(0.99);
+        long max = histogram.percentile(1.0);
+
+        assertEquals(1023, p99);
+        assertEquals(5000, max);
+    }
+
+    @Test
+    public void shouldRecordNegativeValuesAsZero() {
+        Histogram histogram = new Histogram();
+        histogram.record(-10);
+
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.percentile(0.5));
+    }
+
+    @Test
+    public void shouldClampPercentileToValidRange() {
+        Histogram histogram = histogramOf(1, 10);
+
+        assertEquals(histogram.percentile(0.0), histogram.percentile(-1.0));
+        assertEquals(histogram.percentile(1.0), histogram.percentile(2.0));
+    }
+
+    private static Histogram histogramOf(int from, int to) {
+        Histogram histogram = new Histogram();
+        for (int i = from; i <= to; i++) {
+            histogram.record(i);
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package software.amazon.neptune.metrics;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class InMemoryGremlinClientMetricsTest {
+
+    private static final String ADDRESS = "replica-1:8182";
+
+    @Test
+    public void shouldAggregateRequestsPerEndpoint() {
+        InMemoryGremlinClientMetrics metrics = new InMemoryGremlinClientMetrics();
+
+        metrics.connectionChosen(ADDRESS, TimeUnit.MICROSECONDS.toNanos(3), 2);
+        metrics.connectionChosen(ADDRESS, TimeUnit.MICROSECONDS.toNanos(5), 4);
+        metrics.connectionChosen("replica-2:8182", 0, 0);
+
+        InMemoryGremlinClientMetrics.EndpointMetrics endpoint = metrics.endpoint(ADDRESS);
+
+        assertEquals(2, endpoint.inFlight());
+        assertEquals(0, endpoint.requestCount());
+
+        metrics.requestCompleted(ADDRESS, TimeUnit.MILLISECONDS.toNanos(2), true);
+        metrics.requestCompleted(ADDRESS, TimeUnit.MILLISECONDS.toNanos(4), false);
+
+        assertEquals(0, endpoint.inFlight());
+        assertEquals(2, endpoint.requestCount());
+        assertEquals(1, endpoint.errorCount());
+        assertEquals(3000.0, endpoint.latencyMicros().mean(), 0.0);
+        assertEquals(4000, endpoint.latencyMicros().max());
+        assertEquals(5, endpoint.waitForConnectionMicros().max());
+        assertEquals(2, endpoint.inProcessOnConnection().count());
+        assertEquals(2, metrics.endpoints().size());
+    }
+
+    @Test
+    public void shouldTrackConsecutiveUnavailability() {
+        InMemoryGremlinClientMetrics metrics = new InMemoryGremlinClientMetrics();
+
+        metrics.endpointUnavailable(ADDRESS);
+        metrics.endpointUnavailable(ADDRESS);
+        metrics.endpointUnavailable(ADDRESS);
+        metrics.connectionChosen(ADDRESS, 0, 0);
+        metrics.endpointUnavailable(ADDRESS);
+
+        InMemoryGremlinClientMetrics.EndpointMetrics endpoint = metrics.endpoint(ADDRESS);
+
+        assertEquals(4, endpoint.unavailableCount());
+        assertEquals(1, endpoint.consecutiveUnavailable());
+        assertEquals(3, endpoint.maxConsecutiveUnavailable());
+    }
+
+    @Test
+    public void shouldCountRefreshes() {
+        InMemoryGremlinClientMetrics metrics = new InMemoryGremlinClientMetrics();
+
+        metrics.endpointsRefreshed(Collections.singletonList(ADDRESS), Collections.emptyList());
+        metrics.endpointsRefreshed(Collections.emptyList(), Collections.singletonList(ADDRESS));
+        metrics.refreshOnErrorTriggered();
+
+        assertEquals(2, metrics.refreshCount());
+        assertEquals(1, metrics.refreshOnErrorCount());
+    }
+}
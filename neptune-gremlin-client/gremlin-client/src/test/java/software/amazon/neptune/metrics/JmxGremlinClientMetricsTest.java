@@ -0,0 +1,92 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package software.amazon.neptune.metrics;
+
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class JmxGremlinClientMetricsTest {
+
+    private static final String ADDRESS = "replica-1:8182";
+
+    @Test
+    public void shouldRegisterRefreshAndEndpointMetrics() throws Exception {
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+
+        try (JmxGremlinClientMetrics metrics = new JmxGremlinClientMetrics("test-client", mBeanServer)) {
+
+            ObjectName refreshName = new ObjectName(
+                    "software.amazon.neptune:type=GremlinClient,name=\"test-client\"");
+            ObjectName endpointName = new ObjectName(
+                    "software.amazon.neptune:type=GremlinClient,name=\"test-client\",endpoint=\"" + ADDRESS + "\"");
+
+            assertTrue(mBeanServer.isRegistered(refreshName));
+            assertFalse(mBeanServer.isRegistered(endpointName));
+
+            metrics.endpointsRefreshed(Collections.singletonList(ADDRESS), Collections.emptyList());
+            metrics.connectionChosen(ADDRESS, 0, 0);
+            metrics.requestCompleted(ADDRESS, 1000, true);
+
+            assertEquals(1L, mBeanServer.getAttribute(refreshName, "RefreshCount"));
+            assertTrue(mBeanServer.isRegistered(endpointName));
+            assertEquals(ADDRESS, mBeanServer.getAttribute(endpointName, "Address"));
+            assertEquals(1L, mBeanServer.getAttribute(endpointName, "RequestCount"));
+        }
+    }
+
+    @Test
+    public void shouldUnregisterAllMetricsOnClose() throws Exception {
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        ObjectName pattern = new ObjectName("software.amazon.neptune:*");
+
+        JmxGremlinClientMetrics metrics = new JmxGremlinClientMetrics("test-client", mBeanServer);
+        metrics.connectionChosen(ADDRESS, 0, 0);
+        metrics.connectionChosen("replica-2:8182", 0, 0);
+
+        assertEquals(3, mBeanServer.queryNames(pattern, null).size());
+
+        metrics.close();
+
+        assertTrue(mBeanServer.queryNames(pattern, null).isEmpty());
+    }
+
+    @Test
+    public void shouldContinueCollectingMetricsIfNameIsAlreadyRegistered() throws Exception {
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+
+        ObjectName pattern = new ObjectName("software.amazon.neptune:*");
+
+        try (JmxGremlinClientMetrics first = new JmxGremlinClientMetrics("test-client", mBeanServer)) {
+
+            JmxGremlinClientMetrics second = new JmxGremlinClientMetrics("test-client", mBeanServer);
+
+            first.connectionChosen(ADDRESS, 0, 0);
+            second.connectionChosen(ADDRESS, 0, 0);
+            second.requestCompleted(ADDRESS, 1000, true);
+
+            assertEquals(1, second.endpoint(ADDRESS).requestCount());
+
+            // Closing the second instance leaves the first instance's MBeans in place
+            second.close();
+
+            assertEquals(2, mBeanServer.queryNames(pattern, null).size());
+        }
+    }
+}
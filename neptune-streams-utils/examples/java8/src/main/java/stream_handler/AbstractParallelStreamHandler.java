@@ -0,0 +1,134 @@
+/*
+Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+Licensed under the Apache License, Version 2.0 (the "License").
+You may not use this file except in compliance with the License.
+A copy of the License is located at
+    http://www.apache.org/licenses/LICENSE-2.0
+or in the "license" file accompanying this file. This file is distributed
+on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+express or implied. See the License for the specific language governing
+permissions and limitations under the License.
+*/
+
+
+package stream_handler;
+
+import com.amazonaws.neptune.StreamsRecord;
+import com.amazonaws.neptune.StreamsResponse;
+import com.amazonaws.neptune.config.CredentialsConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.EnvironmentVariablesUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Processes each batch of stream records in parallel while preserving per-element order. Records are
+ * partitioned by element ID, so that all the changes to an element are handled, in commit order, by the same
+ * partition, while different elements are handled concurrently. The batch's last event ID is only committed
+ * once every partition has completed successfully; if any partition fails, the whole batch is retried.
+ */
+public abstract class AbstractParallelStreamHandler extends AbstractStreamHandler {
+
+    private static final Logger logger = LogManager.getLogger(AbstractParallelStreamHandler.class);
+
+    protected final int concurrency;
+    private final ExecutorService executorService;
+
+    public AbstractParallelStreamHandler(String neptuneEndpoint,
+                                         Integer neptunePort,
+                                         CredentialsConfig credentialsConfig,
+                                         Map<String, Object> additionalParams) {
+        super(neptuneEndpoint, neptunePort, credentialsConfig, additionalParams);
+
+        this.concurrency = Integer.parseInt(EnvironmentVariablesUtils.getOptionalEnv("handler_concurrency", "4"));
+
+        if (concurrency < 1) {
+            throw new IllegalStateException(String.format("handler_concurrency must be at least 1: %s", concurrency));
+        }
+
+        this.executorService = Executors.newFixedThreadPool(concurrency);
+    }
+
+    /**
+     * Handles the records for one partition of the batch. Records are supplied in commit order, and every record
+     * for a given element ID in the batch belongs to the same partition.
+     */
+    protected abstract void handlePartition(List<StreamsRecord> records) throws Exception;
+
+    @Override
+    public void handleRecords(StreamsResponse streamsResponse) throws IOException {
+
+        List<StreamsRecord> records = new ArrayList<>(streamsResponse.getRecords());
+
+        if (records.isEmpty()) {
+            streamsResponse.setTotalRecords(0);
+            return;
+        }
+
+        List<List<StreamsRecord>> partitions = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            partitions.add(new ArrayList<>());
+        }
+
+        for (StreamsRecord record : records) {
+            String id = record.getData().getId();
+            partitions.get(Math.floorMod(id.hashCode(), concurrency)).add(record);
+        }
+
+        List<Future<?>> futures = new ArrayList<>(concurrency);
+        for (List<StreamsRecord> partition : partitions) {
+            if (!partition.isEmpty()) {
+                futures.add(executorService.submit(() -> {
+                    handlePartition(partition);
+                    return null;
+                }));
+            }
+        }
+
+        waitForPartitions(futures);
+
+        StreamsRecord lastRecord = records.get(records.size() - 1);
+
+        StreamsResponse.LastEventId lastEventId = new StreamsResponse.LastEventId();
+        lastEventId.setCommitNum(lastRecord.getEventId().getCommitNum());
+        lastEventId.setOpNum(lastRecord.getEventId().getOpNum());
+
+        streamsResponse.setLastEventId(lastEventId);
+        streamsResponse.setTotalRecords(records.size());
+    }
+
+    @Override
+    public void close() throws IOException {
+        executorService.shutdownNow();
+    }
+
+    private void waitForPartitions(List<Future<?>> futures) throws IOException {
+        IOException exception = null;
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                logger.error("Error handling partition", e.getCause());
+                if (exception == null) {
+                    exception = new IOException("Error handling stream records", e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while handling stream records", e);
+            }
+        }
+
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
@@ -13,7 +13,6 @@ permissions and limitations under the License.
 package stream_handler;
 
 import com.amazonaws.neptune.StreamsRecord;
-import com.amazonaws.neptune.StreamsResponse;
 import com.amazonaws.neptune.config.CredentialsConfig;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -26,15 +25,15 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 import utils.EnvironmentVariablesUtils;
 
 import java.io.IOException;
-import java.util.Map;
+import java.util.*;
 
-public class StreamHandler extends AbstractStreamHandler {
+public class StreamHandler extends AbstractParallelStreamHandler {
 
     private static final Logger logger = LogManager.getLogger(StreamHandler.class);
 
     private final GraphTraversalSource g;
     private final Cluster cluster;
-
+    private final int fetchBatchSize;
 
     public StreamHandler(String neptuneEndpoint,
                          Integer neptunePort,
@@ -42,6 +41,7 @@ public class StreamHandler extends AbstractStreamHandler {
                          Map<String, Object> additionalParams) {
         super(neptuneEndpoint, neptunePort, credentialsConfig, additionalParams);
 
+        this.fetchBatchSize = Integer.parseInt(EnvironmentVariablesUtils.getOptionalEnv("fetch_batch_size", "500"));
         this.cluster = createCluster();
         this.g = AnonymousTraversalSource
                 .traversal()
@@ -49,50 +49,61 @@ public class StreamHandler extends AbstractStreamHandler {
     }
 
     @Override
-    public void handleRecords(StreamsResponse streamsResponse) throws IOException {
-
-        StreamsResponse.LastEventId lastEventId = new StreamsResponse.LastEventId();
-        int recordCount = 0;
+    protected void handlePartition(List<StreamsRecord> records) {
 
-        for (StreamsRecord record : streamsResponse.getRecords()) {
+        Set<Object> vertexIds = new LinkedHashSet<>();
+        Set<Object> edgeIds = new LinkedHashSet<>();
 
-            String op = record.getOp();
-
-            if (op.equals("ADD")) {
+        for (StreamsRecord record : records) {
+            if (record.getOp().equals("ADD")) {
                 String id = record.getData().getId();
                 String type = record.getData().getType();
                 if (type.equals("vl")) {
-                    logger.info(g.V(id).valueMap(true).toList());
+                    vertexIds.add(id);
                 } else if (type.equals("e")) {
-                    logger.info(g.E(id).valueMap(true).toList());
+                    edgeIds.add(id);
                 }
             }
-
-            StreamsRecord.EventId eventId = record.getEventId();
-
-            lastEventId.setCommitNum(eventId.getCommitNum());
-            lastEventId.setOpNum(record.getEventId().getOpNum());
-
-            recordCount++;
         }
 
-        streamsResponse.setLastEventId(lastEventId);
-        streamsResponse.setTotalRecords(recordCount);
+        for (List<Object> ids : batches(vertexIds)) {
+            logger.info(g.V(ids.toArray()).valueMap(true).toList());
+        }
 
+        for (List<Object> ids : batches(edgeIds)) {
+            logger.info(g.E(ids.toArray()).valueMap(true).toList());
+        }
     }
 
     @Override
     public void close() throws IOException {
+        super.close();
         cluster.close();
     }
 
+    private List<List<Object>> batches(Set<Object> ids) {
+        List<List<Object>> batches = new ArrayList<>();
+        List<Object> batch = new ArrayList<>(fetchBatchSize);
+        for (Object id : ids) {
+            batch.add(id);
+            if (batch.size() == fetchBatchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(fetchBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
     private Cluster createCluster() {
         Cluster.Builder builder = Cluster.build()
                 .addContactPoint(String.valueOf(additionalParams.get("neptune_endpoint")))
                 .port((int) additionalParams.get("neptune_port"))
                 .enableSsl(true)
                 .minConnectionPoolSize(1)
-                .maxConnectionPoolSize(1)
+                .maxConnectionPoolSize(concurrency)
                 .serializer(Serializers.GRAPHBINARY_V1D0)
                 .reconnectInterval(2000);
 